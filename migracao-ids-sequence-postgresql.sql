@@ -0,0 +1,59 @@
+-- ====================================================================
+-- MIGRAÇÃO API_FEST_DB - IDs POR SEQUENCE (POOLED)
+-- ====================================================================
+-- As entidades deixaram de usar GenerationType.IDENTITY e passaram a
+-- usar GenerationType.SEQUENCE com allocationSize = 50 (otimizador
+-- pooled do Hibernate). Com IDENTITY o Hibernate precisa executar cada
+-- INSERT isoladamente para descobrir o ID gerado, o que desligava o
+-- hibernate.jdbc.batch_size=25 configurado no perfil prod.
+--
+-- Como o perfil prod usa ddl-auto=validate, as sequences precisam
+-- existir ANTES de subir a nova versão da aplicação.
+--
+-- Executar uma única vez (idempotente) com a aplicação parada:
+-- psql -U api_user -d api_fest_db -f migracao-ids-sequence-postgresql.sql
+-- ====================================================================
+
+BEGIN;
+
+DO $$
+DECLARE
+    tabela TEXT;
+    maior_id BIGINT;
+BEGIN
+    FOREACH tabela IN ARRAY ARRAY['clientes', 'restaurantes', 'produtos', 'pedidos',
+                                  'itens_pedido', 'usuarios', 'users']
+    LOOP
+        IF to_regclass('public.' || tabela) IS NULL THEN
+            RAISE NOTICE 'Tabela % não existe, ignorada', tabela;
+            CONTINUE;
+        END IF;
+
+        -- 1. Sequence com o mesmo incremento do allocationSize das entidades
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I INCREMENT BY 50', tabela || '_seq');
+
+        -- 2. Remover geração de ID pelo banco (identity ou serial)
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY IF EXISTS', tabela);
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP DEFAULT', tabela);
+
+        -- 3. Posicionar a sequence após o maior ID existente.
+        --    No otimizador pooled o valor lido da sequence é o TOPO do bloco
+        --    (bloco = valor - 49 .. valor), então o próximo valor precisa
+        --    ser maior_id + 50 para o bloco começar em maior_id + 1.
+        EXECUTE format('SELECT COALESCE(MAX(id), 0) FROM %I', tabela) INTO maior_id;
+        PERFORM setval(tabela || '_seq', maior_id + 50, false);
+
+        RAISE NOTICE 'Tabela %: sequence %_seq posicionada em %', tabela, tabela, maior_id + 50;
+    END LOOP;
+END
+$$;
+
+-- 4. Privilégios para o usuário da aplicação
+GRANT USAGE, SELECT, UPDATE ON ALL SEQUENCES IN SCHEMA public TO api_user;
+
+COMMIT;
+
+-- 5. Verificar sequences criadas
+SELECT sequencename, increment_by, last_value
+FROM pg_sequences
+WHERE schemaname = 'public' AND sequencename LIKE '%\_seq';
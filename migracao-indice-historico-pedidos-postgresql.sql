@@ -0,0 +1,25 @@
+-- ====================================================================
+-- MIGRAÇÃO API_FEST_DB - ÍNDICE DO HISTÓRICO DE PEDIDOS DO CLIENTE
+-- ====================================================================
+-- GET /api/pedidos/cliente/{clienteId} passou a ser paginado por cursor
+-- (keyset) sobre (data_pedido, id), mais recentes primeiro. Com este
+-- índice cada página é uma leitura de faixa a partir da posição do
+-- cursor, sem OFFSET e sem ordenar o histórico inteiro do cliente.
+--
+-- O perfil prod usa ddl-auto=validate, que não cria índices: criar
+-- antes (ou logo depois) de subir a nova versão da aplicação.
+--
+-- CONCURRENTLY não bloqueia escritas em pedidos, mas não pode rodar
+-- dentro de uma transação (sem BEGIN/COMMIT neste script).
+--
+-- Executar uma única vez (idempotente):
+-- psql -U api_user -d api_fest_db -f migracao-indice-historico-pedidos-postgresql.sql
+-- ====================================================================
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_pedidos_cliente_data_id
+    ON pedidos (cliente_id, data_pedido DESC, id DESC);
+
+-- Verificar índice criado
+SELECT indexname, indexdef
+FROM pg_indexes
+WHERE tablename = 'pedidos' AND indexname = 'idx_pedidos_cliente_data_id';
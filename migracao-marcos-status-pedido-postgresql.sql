@@ -0,0 +1,35 @@
+-- ====================================================================
+-- MIGRAÇÃO API_FEST_DB - MARCOS DE TEMPO DO PEDIDO
+-- ====================================================================
+-- A entidade Pedido passou a gravar o momento de cada transição de
+-- status da cozinha e da entrega, no mesmo UPDATE condicional da
+-- transição:
+--   CONFIRMADO → data_confirmacao
+--   PREPARANDO → data_inicio_preparo
+--   PRONTO     → data_pronto
+--   ENTREGUE   → data_entrega
+-- Esses marcos alimentam os percentis de tempo de preparo por
+-- restaurante (GET /api/restaurantes/{id}/tempos-preparacao).
+--
+-- Como o perfil prod usa ddl-auto=validate, as colunas precisam
+-- existir ANTES de subir a nova versão da aplicação. Pedidos antigos
+-- ficam com os marcos nulos e não entram nas medições.
+--
+-- Executar uma única vez (idempotente):
+-- psql -U api_user -d api_fest_db -f migracao-marcos-status-pedido-postgresql.sql
+-- ====================================================================
+
+BEGIN;
+
+ALTER TABLE pedidos ADD COLUMN IF NOT EXISTS data_confirmacao TIMESTAMP(6);
+ALTER TABLE pedidos ADD COLUMN IF NOT EXISTS data_inicio_preparo TIMESTAMP(6);
+ALTER TABLE pedidos ADD COLUMN IF NOT EXISTS data_pronto TIMESTAMP(6);
+ALTER TABLE pedidos ADD COLUMN IF NOT EXISTS data_entrega TIMESTAMP(6);
+
+COMMIT;
+
+-- Verificar colunas criadas
+SELECT column_name, data_type, is_nullable
+FROM information_schema.columns
+WHERE table_name = 'pedidos'
+  AND column_name IN ('data_confirmacao', 'data_inicio_preparo', 'data_pronto', 'data_entrega');
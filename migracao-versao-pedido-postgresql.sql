@@ -0,0 +1,24 @@
+-- ====================================================================
+-- MIGRAÇÃO API_FEST_DB - VERSÃO DO PEDIDO (@Version)
+-- ====================================================================
+-- A entidade Pedido passou a ter a coluna "versao" (lock otimista).
+-- As transições de status usam um UPDATE condicional que incrementa
+-- essa versão, e saves concorrentes do pedido falham com 409.
+--
+-- Como o perfil prod usa ddl-auto=validate, a coluna precisa existir
+-- ANTES de subir a nova versão da aplicação.
+--
+-- Executar uma única vez (idempotente):
+-- psql -U api_user -d api_fest_db -f migracao-versao-pedido-postgresql.sql
+-- ====================================================================
+
+BEGIN;
+
+ALTER TABLE pedidos ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
+
+COMMIT;
+
+-- Verificar coluna criada
+SELECT column_name, data_type, is_nullable, column_default
+FROM information_schema.columns
+WHERE table_name = 'pedidos' AND column_name = 'versao';
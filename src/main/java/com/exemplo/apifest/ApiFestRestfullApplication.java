@@ -3,6 +3,7 @@ package com.exemplo.apifest;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * ===============================================================================
@@ -13,6 +14,7 @@ import org.springframework.cache.annotation.EnableCaching;
  * 
  * ROTEIRO 10 - FUNCIONALIDADES HABILITADAS:
  * - @EnableCaching: Habilita cache automático com anotações
+ * - @EnableScheduling: Tarefas periódicas (reconciliação do ranking de mais vendidos)
  * 
  * @author DeliveryTech Development Team  
  * @version 1.0 - Roteiro 10 (Cache + Containerização)
@@ -21,6 +23,7 @@ import org.springframework.cache.annotation.EnableCaching;
  */
 @SpringBootApplication
 @EnableCaching
+@EnableScheduling
 public class ApiFestRestfullApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,249 @@
+package com.exemplo.apifest.cache;
+
+import com.exemplo.apifest.config.CacheConfig;
+import com.exemplo.apifest.config.CacheProperties;
+import com.exemplo.apifest.model.Restaurante;
+import com.exemplo.apifest.repository.RestauranteRepository;
+import com.exemplo.apifest.service.ProdutoService;
+import com.exemplo.apifest.service.RestauranteService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ===============================================================================
+ * AQUECIMENTO DOS CACHES NA SUBIDA
+ * ===============================================================================
+ *
+ * Evita que os primeiros minutos após um deploy caiam todos no banco com os
+ * caches vazios. Roda como ApplicationRunner: o Spring Boot só publica o
+ * readiness ACCEPTING_TRAFFIC (/actuator/health/readiness UP) depois que os
+ * runners terminam, então a instância só recebe tráfego já aquecida.
+ *
+ * O QUE É CARREGADO:
+ * - restaurantes: listagem de restaurantes disponíveis (GET /api/restaurantes/disponiveis)
+ * - produtos: cardápio de cada restaurante ativo (findByAtivoTrue)
+ * - produto:  ids mais acessados pela instância anterior, lidos do
+ *             instantâneo app.cache.aquecimento.arquivo
+ *
+ * O carregamento passa pelos próprios métodos @Cacheable do serviço, em
+ * paralelo, com no máximo app.cache.aquecimento.concorrencia consultas ao
+ * banco ao mesmo tempo. Falhas de itens isolados (produto removido ou
+ * indisponível) são ignoradas; ao esgotar o tempo-maximo a aplicação sobe
+ * com o que já carregou.
+ *
+ * No desligamento, as chaves mais quentes do cache "produto" (política do
+ * Caffeine) são gravadas no instantâneo para a próxima subida.
+ *
+ * @author DeliveryTech Development Team
+ * @version 1.0
+ * ===============================================================================
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class AquecimentoCache implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(AquecimentoCache.class);
+
+    private static final String PREFIXO_PRODUTO = "produto:";
+
+    @Autowired
+    private CacheProperties cacheProperties;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private RestauranteService restauranteService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (cacheProperties.getAquecimento().isHabilitado()) {
+            aquecer();
+        }
+    }
+
+    /**
+     * Carrega a listagem de restaurantes disponíveis, os cardápios dos
+     * restaurantes ativos e os produtos do instantâneo.
+     */
+    public Resultado aquecer() {
+        CacheProperties.Aquecimento config = cacheProperties.getAquecimento();
+        long inicio = System.nanoTime();
+
+        List<Long> restaurantes = restauranteRepository.findByAtivoTrue().stream()
+                .map(Restaurante::getId)
+                .toList();
+        List<Long> produtos = lerInstantaneo(config.getArquivo());
+
+        AtomicInteger listagens = new AtomicInteger();
+        AtomicInteger cardapios = new AtomicInteger();
+        AtomicInteger produtosCarregados = new AtomicInteger();
+        List<CompletableFuture<Void>> cargas = new ArrayList<>(1 + restaurantes.size() + produtos.size());
+
+        AtomicInteger contador = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, config.getConcorrencia()), tarefa -> {
+            Thread thread = new Thread(tarefa, "cache-aquecimento-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            cargas.add(CompletableFuture.runAsync(() -> {
+                if (carregar("listagem de restaurantes disponíveis", null,
+                        restauranteService::listarRestaurantesDisponiveis)) {
+                    listagens.incrementAndGet();
+                }
+            }, executor));
+            restaurantes.forEach(id -> cargas.add(CompletableFuture.runAsync(() -> {
+                if (carregar("cardápio do restaurante", id, () -> produtoService.buscarProdutosPorRestaurante(id))) {
+                    cardapios.incrementAndGet();
+                }
+            }, executor)));
+            produtos.forEach(id -> cargas.add(CompletableFuture.runAsync(() -> {
+                if (carregar("produto", id, () -> produtoService.buscarProdutoPorId(id))) {
+                    produtosCarregados.incrementAndGet();
+                }
+            }, executor)));
+
+            CompletableFuture.allOf(cargas.toArray(CompletableFuture[]::new))
+                    .get(config.getTempoMaximo().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            logger.warn("Aquecimento do cache interrompido após {}", config.getTempoMaximo());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            logger.warn("Falha no aquecimento do cache: {}", ex.getCause().getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Resultado resultado = new Resultado(listagens.get() > 0, cardapios.get(), produtosCarregados.get(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        logger.info("Cache aquecido: listagem de restaurantes {}, {} cardápios de {} restaurantes ativos "
+                + "e {} de {} produtos quentes em {} ms",
+                resultado.restaurantesDisponiveis() ? "carregada" : "não carregada",
+                resultado.cardapios(), restaurantes.size(), resultado.produtos(), produtos.size(),
+                resultado.duracaoMs());
+        return resultado;
+    }
+
+    private static boolean carregar(String descricao, Long id, Runnable carga) {
+        try {
+            carga.run();
+            return true;
+        } catch (RuntimeException ex) {
+            logger.debug("Aquecimento ignorou {} {}: {}", descricao, id != null ? id : "", ex.getMessage());
+            return false;
+        }
+    }
+
+    // ========== INSTANTÂNEO DOS PRODUTOS QUENTES ==========
+
+    /**
+     * Grava os ids dos produtos mais quentes para a próxima subida.
+     */
+    @PreDestroy
+    public void salvarInstantaneo() {
+        if (!cacheProperties.getAquecimento().isHabilitado()) {
+            return;
+        }
+        Path arquivo = cacheProperties.getAquecimento().getArquivo();
+        List<Long> quentes = produtosQuentes(cacheProperties.getAquecimento().getProdutosQuentes());
+        if (quentes.isEmpty()) {
+            return;     // Mantém o instantâneo anterior
+        }
+        try {
+            Path absoluto = arquivo.toAbsolutePath();
+            Files.createDirectories(absoluto.getParent());
+            Path temporario = Files.createTempFile(absoluto.getParent(), "cache-quentes", ".tmp");
+            Files.write(temporario, quentes.stream().map(String::valueOf).toList(), StandardCharsets.UTF_8);
+            Files.move(temporario, absoluto, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Instantâneo com {} produtos quentes gravado em {}", quentes.size(), absoluto);
+        } catch (IOException ex) {
+            logger.warn("Não foi possível gravar o instantâneo de produtos quentes em {}: {}", arquivo, ex.getMessage());
+        }
+    }
+
+    /**
+     * Ids das chaves mais quentes do cache "produto", da mais para a menos quente.
+     */
+    public List<Long> produtosQuentes(int limite) {
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUTO_CACHE);
+        if (cache == null
+                || !(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine)) {
+            return List.of();
+        }
+        return caffeine.policy().eviction()
+                .map(eviction -> eviction.hottest(limite).keySet().stream()
+                        .map(AquecimentoCache::idDoProduto)
+                        .filter(id -> id != null)
+                        .toList())
+                .orElse(List.of());
+    }
+
+    private static List<Long> lerInstantaneo(Path arquivo) {
+        if (!Files.isReadable(arquivo)) {
+            return List.of();
+        }
+        try {
+            return Files.readAllLines(arquivo, StandardCharsets.UTF_8).stream()
+                    .map(String::trim)
+                    .filter(linha -> !linha.isEmpty())
+                    .map(AquecimentoCache::paraLong)
+                    .filter(id -> id != null)
+                    .distinct()
+                    .toList();
+        } catch (IOException ex) {
+            logger.warn("Instantâneo de produtos quentes ilegível em {}: {}", arquivo, ex.getMessage());
+            return List.of();
+        }
+    }
+
+    private static Long idDoProduto(Object chave) {
+        String texto = String.valueOf(chave);
+        return texto.startsWith(PREFIXO_PRODUTO) ? paraLong(texto.substring(PREFIXO_PRODUTO.length())) : null;
+    }
+
+    private static Long paraLong(String texto) {
+        try {
+            return Long.valueOf(texto);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Resumo de um aquecimento: entradas carregadas e duração.
+     */
+    public record Resultado(boolean restaurantesDisponiveis, int cardapios, int produtos, long duracaoMs) {
+    }
+}
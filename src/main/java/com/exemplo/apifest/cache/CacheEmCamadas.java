@@ -0,0 +1,202 @@
+package com.exemplo.apifest.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * ===============================================================================
+ * CACHE EM DUAS CAMADAS: CAFFEINE (L1) + REDIS (L2)
+ * ===============================================================================
+ *
+ * LEITURA:
+ * 1. L1 local (Caffeine), sem rede
+ * 2. L2 compartilhado (Redis); o valor encontrado é copiado para o L1
+ * 3. Método original (get com valueLoader), gravando em L2 e L1
+ *
+ * ESCRITA / REMOÇÃO:
+ * - put, evict e clear alteram L2 e L1 e publicam uma invalidação para que os
+ *   demais nós descartem a chave (ou o cache inteiro) do seu L1
+ *
+ * RECARGA DO L1:
+ * - Com refresh-after-write na política do cache, uma entrada do L1 mais
+ *   antiga que o intervalo é relida do L2 em segundo plano no próximo acesso
+ *   (removida se o L2 não a tiver mais); isso limita a defasagem do L1 quando
+ *   uma mensagem de invalidação se perde
+ *
+ * As chaves do L1 são normalizadas para String, como o RedisCache faz no L2,
+ * de modo que a invalidação recebida por texto alcança a mesma entrada.
+ *
+ * Falhas do Redis não interrompem a requisição: a camada L2 é ignorada (com
+ * log) e o cache segue apenas com o L1.
+ *
+ * @author DeliveryTech Development Team
+ * @version 1.0
+ * ===============================================================================
+ */
+public class CacheEmCamadas extends AbstractValueAdaptingCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheEmCamadas.class);
+
+    private final String nome;
+    private final Cache<String, Object> local;
+    private final org.springframework.cache.Cache remoto;
+    private final PublicadorInvalidacao publicador;
+
+    public CacheEmCamadas(String nome, Caffeine<Object, Object> configuracaoLocal,
+                          org.springframework.cache.Cache remoto, PublicadorInvalidacao publicador) {
+        super(true);
+        this.nome = nome;
+        this.remoto = remoto;
+        this.publicador = publicador;
+        this.local = configuracaoLocal.build(new CacheLoader<String, Object>() {
+            @Override
+            public Object load(String chave) {
+                return recarregarDoRemoto(chave, null);
+            }
+
+            @Override
+            public Object reload(String chave, Object atual) {
+                return recarregarDoRemoto(chave, atual);
+            }
+        });
+    }
+
+    @Override
+    public String getName() {
+        return nome;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    // ========== LEITURA ==========
+
+    @Override
+    protected Object lookup(Object key) {
+        String chave = chave(key);
+        Object valor = local.getIfPresent(chave);
+        if (valor != null) {
+            return valor;
+        }
+
+        ValueWrapper remotoValor = noRemoto(() -> remoto.get(key), null);
+        if (remotoValor == null) {
+            return null;
+        }
+        Object armazenado = toStoreValue(remotoValor.get());
+        local.put(chave, armazenado);
+        return armazenado;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object armazenado = local.get(chave(key), chave -> {
+            ValueWrapper remotoValor = noRemoto(() -> remoto.get(key), null);
+            if (remotoValor != null) {
+                return toStoreValue(remotoValor.get());
+            }
+            T carregado = carregar(key, valueLoader);
+            noRemoto(() -> { remoto.put(key, carregado); return null; }, null);
+            return toStoreValue(carregado);
+        });
+        return (T) fromStoreValue(armazenado);
+    }
+
+    // ========== ESCRITA E REMOÇÃO ==========
+
+    @Override
+    public void put(Object key, Object value) {
+        noRemoto(() -> { remoto.put(key, value); return null; }, null);
+        local.put(chave(key), toStoreValue(value));
+        publicador.publicar(nome, chave(key));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existente = noRemoto(() -> remoto.putIfAbsent(key, value), null);
+        if (existente != null) {
+            local.put(chave(key), toStoreValue(existente.get()));
+            return existente;
+        }
+        local.put(chave(key), toStoreValue(value));
+        publicador.publicar(nome, chave(key));
+        return null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        noRemoto(() -> { remoto.evict(key); return null; }, null);
+        local.invalidate(chave(key));
+        publicador.publicar(nome, chave(key));
+    }
+
+    @Override
+    public void clear() {
+        noRemoto(() -> { remoto.clear(); return null; }, null);
+        local.invalidateAll();
+        publicador.publicar(nome, null);
+    }
+
+    // ========== INVALIDAÇÃO RECEBIDA DE OUTRO NÓ ==========
+
+    /**
+     * Descarta do L1 uma chave (ou todas, se nula) alterada por outro nó.
+     */
+    void invalidarLocal(String chave) {
+        if (chave == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(chave);
+        }
+    }
+
+    /**
+     * Relê a chave do L2 para o L1; nulo remove a entrada. Se o Redis falhar,
+     * mantém o valor atual.
+     */
+    private Object recarregarDoRemoto(String chave, Object atual) {
+        ValueWrapper seFalhar = atual != null ? new SimpleValueWrapper(atual) : null;
+        ValueWrapper remotoValor = noRemoto(() -> remoto.get(chave), seFalhar);
+        return remotoValor != null ? toStoreValue(remotoValor.get()) : null;
+    }
+
+    private static String chave(Object key) {
+        return String.valueOf(key);
+    }
+
+    private static <T> T carregar(Object key, Callable<T> valueLoader) {
+        try {
+            return valueLoader.call();
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+    }
+
+    private <T> T noRemoto(Supplier<T> operacao, T seFalhar) {
+        try {
+            return operacao.get();
+        } catch (RuntimeException ex) {
+            logger.warn("Cache L2 indisponível para [{}]: {}", nome, ex.getMessage());
+            return seFalhar;
+        }
+    }
+
+    /**
+     * Envia a invalidação de uma chave (nula = cache inteiro) aos demais nós.
+     */
+    @FunctionalInterface
+    public interface PublicadorInvalidacao {
+        void publicar(String cache, String chave);
+    }
+}
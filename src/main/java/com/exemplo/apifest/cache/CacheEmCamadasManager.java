@@ -0,0 +1,142 @@
+package com.exemplo.apifest.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractCacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * ===============================================================================
+ * CACHE MANAGER EM CAMADAS (CAFFEINE L1 + REDIS L2)
+ * ===============================================================================
+ *
+ * Cria um CacheEmCamadas para cada cache nomeado: o L2 vem do RedisCacheManager
+ * (TTL e serialização do RedisCacheConfiguration) e o L1 é um Caffeine local
+ * montado com a política do próprio cache.
+ *
+ * INVALIDAÇÃO ENTRE NÓS:
+ * - Cada put/evict/clear publica {origem, cache, chave} no canal configurado
+ *   (app.cache.canal-invalidacao)
+ * - Este manager também é o MessageListener do canal: ao receber mensagem de
+ *   outro nó, descarta a chave (ou o cache inteiro) do L1; as próprias
+ *   mensagens são ignoradas pela origem
+ *
+ * Uma mensagem perdida (Redis fora do ar, por exemplo) deixa o L1 do outro nó
+ * desatualizado no máximo até a expiração local.
+ *
+ * @author DeliveryTech Development Team
+ * @version 1.0
+ * ===============================================================================
+ */
+public class CacheEmCamadasManager extends AbstractCacheManager implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheEmCamadasManager.class);
+
+    private final List<String> nomesCaches;
+    private final RedisCacheManager redisCacheManager;
+    private final Function<String, Caffeine<Object, Object>> configuracaoLocal;
+    private final StringRedisTemplate redisTemplate;
+    private final String canalInvalidacao;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /** Identifica este nó nas mensagens de invalidação */
+    private final String origem = UUID.randomUUID().toString();
+
+    /** Caches em camadas por nome, sem decoração, para aplicar invalidações */
+    private final Map<String, CacheEmCamadas> camadas = new ConcurrentHashMap<>();
+
+    /** Decoração opcional de cada cache (ex.: stale-while-revalidate) */
+    private UnaryOperator<Cache> decorador = UnaryOperator.identity();
+
+    public CacheEmCamadasManager(List<String> nomesCaches, RedisCacheManager redisCacheManager,
+                                 Function<String, Caffeine<Object, Object>> configuracaoLocal,
+                                 StringRedisTemplate redisTemplate, String canalInvalidacao) {
+        this.nomesCaches = List.copyOf(nomesCaches);
+        this.redisCacheManager = redisCacheManager;
+        this.configuracaoLocal = configuracaoLocal;
+        this.redisTemplate = redisTemplate;
+        this.canalInvalidacao = canalInvalidacao;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        redisCacheManager.initializeCaches();
+        List<Cache> caches = new ArrayList<>(nomesCaches.size());
+        for (String nome : nomesCaches) {
+            CacheEmCamadas cache = new CacheEmCamadas(nome, configuracaoLocal.apply(nome),
+                redisCacheManager.getCache(nome), this::publicarInvalidacao);
+            camadas.put(nome, cache);
+            caches.add(cache);
+        }
+        return caches;
+    }
+
+    @Override
+    protected Cache decorateCache(Cache cache) {
+        return decorador.apply(cache);
+    }
+
+    /**
+     * Define a decoração aplicada a cada cache; chamar antes da inicialização.
+     */
+    public void setDecorador(UnaryOperator<Cache> decorador) {
+        this.decorador = decorador;
+    }
+
+    // ========== PUB/SUB DE INVALIDAÇÃO ==========
+
+    private void publicarInvalidacao(String cache, String chave) {
+        try {
+            String mensagem = objectMapper.writeValueAsString(new Invalidacao(origem, cache, chave));
+            redisTemplate.convertAndSend(canalInvalidacao, mensagem);
+        } catch (JsonProcessingException | RuntimeException ex) {
+            logger.warn("Falha ao publicar invalidação do cache [{}] chave [{}]: {}", cache, chave, ex.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Invalidacao invalidacao;
+        try {
+            invalidacao = objectMapper.readValue(
+                new String(message.getBody(), StandardCharsets.UTF_8), Invalidacao.class);
+        } catch (JsonProcessingException ex) {
+            logger.warn("Mensagem de invalidação de cache inválida: {}", ex.getMessage());
+            return;
+        }
+        if (origem.equals(invalidacao.origem())) {
+            return;
+        }
+        CacheEmCamadas cache = camadas.get(invalidacao.cache());
+        if (cache != null) {
+            cache.invalidarLocal(invalidacao.chave());
+        }
+    }
+
+    public String getCanalInvalidacao() {
+        return canalInvalidacao;
+    }
+
+    /**
+     * Mensagem publicada no canal de invalidação (chave nula = cache inteiro).
+     */
+    record Invalidacao(String origem, String cache, String chave) {
+    }
+}
@@ -0,0 +1,197 @@
+package com.exemplo.apifest.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * ===============================================================================
+ * STALE-WHILE-REVALIDATE SOBRE UM CACHE CAFFEINE
+ * ===============================================================================
+ *
+ * Decora um cache cujo cache nativo é Caffeine (CaffeineCache ou o L1 do
+ * CacheEmCamadas) e altera apenas o get com valueLoader, usado pelos
+ * métodos @Cacheable(sync = true):
+ *
+ * - Entrada ausente: carrega pelo cache decorado, que já faz single-flight
+ *   (um único chamador por chave executa o método; os demais aguardam)
+ * - Entrada com idade >= revalidarApos: devolve o valor atual na hora e
+ *   agenda UMA recarga em segundo plano para a chave; o put do resultado
+ *   reinicia a idade (e, no cache em camadas, atualiza o L2 e invalida o L1
+ *   dos demais nós)
+ * - O ttl do cache continua sendo o limite: entrada expirada é recarregada
+ *   em primeiro plano
+ *
+ * A recarga usa o carregador explícito do cache (chave -> valor, chamando o
+ * serviço pelo proxy do Spring, com transação e demais interceptors), nunca o
+ * valueLoader da requisição que a disparou: este já foi executado e
+ * prenderia os argumentos da requisição.
+ *
+ * Uma recarga que começou antes de uma invalidação não pode gravar o valor
+ * antigo depois dela. A versão da chave (VersoesCatalogo, incrementada antes
+ * e depois de cada remoção) é lida antes de carregar e conferida antes e
+ * depois do put: se mudou, o resultado é descartado (ou removido, se já foi
+ * gravado).
+ *
+ * Falhas na recarga ficam no log e o valor antigo segue servido até o ttl.
+ *
+ * @author DeliveryTech Development Team
+ * @version 1.0
+ * ===============================================================================
+ */
+public class CacheRevalidavel implements Cache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheRevalidavel.class);
+
+    private final Cache delegado;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> local;
+    private final Duration revalidarApos;
+    private final Executor executor;
+    private final Function<Object, Object> carregador;
+    private final Function<Object, OptionalLong> versao;
+
+    /** Chaves com recarga em andamento (no máximo uma por chave) */
+    private final ConcurrentHashMap<Object, Boolean> emRevalidacao = new ConcurrentHashMap<>();
+
+    /**
+     * @param carregador carrega o valor atual de uma chave, sem passar pelo cache
+     * @param versao     versão da chave (vazia se o cache não é versionado)
+     */
+    @SuppressWarnings("unchecked")
+    public CacheRevalidavel(Cache delegado, Duration revalidarApos, Executor executor,
+                            Function<Object, Object> carregador, Function<Object, OptionalLong> versao) {
+        if (!(delegado.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine)) {
+            throw new IllegalArgumentException("Cache [" + delegado.getName() + "] não é Caffeine");
+        }
+        this.delegado = delegado;
+        this.local = (com.github.benmanes.caffeine.cache.Cache<Object, Object>) caffeine;
+        this.revalidarApos = revalidarApos;
+        this.executor = executor;
+        this.carregador = carregador;
+        this.versao = versao;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper atual = delegado.get(key);
+        if (atual == null) {
+            return delegado.get(key, valueLoader);
+        }
+        if (vencida(key)) {
+            agendarRevalidacao(key);
+        }
+        return (T) atual.get();
+    }
+
+    private boolean vencida(Object key) {
+        return idade(key)
+                .or(() -> idade(String.valueOf(key)))   // L1 do cache em camadas usa chave texto
+                .map(idade -> idade.compareTo(revalidarApos) >= 0)
+                .orElse(false);
+    }
+
+    private Optional<Duration> idade(Object chave) {
+        return local.policy().expireAfterWrite().flatMap(expiracao -> expiracao.ageOf(chave));
+    }
+
+    private void agendarRevalidacao(Object key) {
+        if (emRevalidacao.putIfAbsent(key, Boolean.TRUE) != null) {
+            return;
+        }
+        try {
+            executor.execute(() -> revalidar(key));
+        } catch (RejectedExecutionException ex) {
+            emRevalidacao.remove(key);
+            logger.warn("Revalidação do cache [{}] chave [{}] recusada: {}", getName(), key, ex.getMessage());
+        }
+    }
+
+    private void revalidar(Object key) {
+        try {
+            OptionalLong antes = versao.apply(key);
+            Object valor = carregador.apply(key);
+            if (!antes.equals(versao.apply(key))) {
+                logger.debug("Revalidação do cache [{}] chave [{}] descartada: chave invalidada", getName(), key);
+                return;
+            }
+            delegado.put(key, valor);
+            if (!antes.equals(versao.apply(key))) {
+                // Invalidada entre a conferência e o put: o valor pode ser anterior a ela
+                delegado.evict(key);
+            }
+        } catch (RuntimeException ex) {
+            logger.warn("Falha ao revalidar cache [{}] chave [{}]: {}", getName(), key, ex.getMessage());
+        } finally {
+            emRevalidacao.remove(key);
+        }
+    }
+
+    // ========== DEMAIS OPERAÇÕES: DELEGADAS ==========
+
+    /**
+     * Cache decorado.
+     */
+    public Cache getDelegado() {
+        return delegado;
+    }
+
+    @Override
+    public String getName() {
+        return delegado.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegado.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegado.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegado.get(key, type);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegado.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegado.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegado.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegado.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegado.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegado.invalidate();
+    }
+}
@@ -0,0 +1,144 @@
+package com.exemplo.apifest.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+
+import java.util.OptionalLong;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+/**
+ * ===============================================================================
+ * CARGAS DO CACHE CONFERIDAS PELA VERSÃO DO CATÁLOGO
+ * ===============================================================================
+ *
+ * Decora os caches de DTOs do catálogo (produtos e restaurantes) e altera
+ * apenas o get com valueLoader, usado pelos métodos @Cacheable(sync = true).
+ *
+ * Uma carga que leu o banco antes do commit de uma escrita pode terminar
+ * depois da remoção feita pela InvalidacaoCatalogo; gravada, ela deixaria o
+ * corpo antigo no cache sob a ETag nova (e os 304 seguiriam até o ttl).
+ * Por isso a versão da chave (VersoesCatalogo) é lida antes de chamar o
+ * método e conferida ao fim:
+ *
+ * - Versão igual: o valor é gravado, como no cache decorado
+ * - Versão mudou: o valor é devolvido ao chamador mas não é gravado
+ * - Versão mudou logo depois da gravação: a entrada é removida
+ *
+ * Acertos não leem a versão; entradas não versionadas seguem direto para o
+ * cache decorado.
+ *
+ * @author DeliveryTech Development Team
+ * @version 1.0
+ * ===============================================================================
+ */
+public class CacheVersionado implements Cache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheVersionado.class);
+
+    private final Cache delegado;
+    private final Function<Object, OptionalLong> versao;
+
+    /**
+     * @param versao versão da chave (vazia se a entrada não é versionada)
+     */
+    public CacheVersionado(Cache delegado, Function<Object, OptionalLong> versao) {
+        this.delegado = delegado;
+        this.versao = versao;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        OptionalLong[] versaoDaCarga = new OptionalLong[1];
+        T valor;
+        try {
+            valor = delegado.get(key, () -> {
+                OptionalLong antes = versao.apply(key);
+                T carregado = valueLoader.call();
+                if (!antes.equals(versao.apply(key))) {
+                    throw new CargaDesatualizada(carregado);
+                }
+                versaoDaCarga[0] = antes;
+                return carregado;
+            });
+        } catch (ValueRetrievalException ex) {
+            if (ex.getCause() instanceof CargaDesatualizada desatualizada) {
+                logger.debug("Carga do cache [{}] chave [{}] não gravada: chave invalidada", getName(), key);
+                return (T) desatualizada.valor;
+            }
+            throw ex;
+        }
+        if (versaoDaCarga[0] != null && !versaoDaCarga[0].equals(versao.apply(key))) {
+            // Invalidada entre a conferência e a gravação: o valor pode ser anterior a ela
+            delegado.evict(key);
+        }
+        return valor;
+    }
+
+    /**
+     * Interrompe a gravação de uma carga feita antes de uma invalidação,
+     * levando o valor carregado ao chamador.
+     */
+    private static final class CargaDesatualizada extends RuntimeException {
+        private final transient Object valor;
+
+        private CargaDesatualizada(Object valor) {
+            super(null, null, false, false);
+            this.valor = valor;
+        }
+    }
+
+    // ========== DEMAIS OPERAÇÕES: DELEGADAS ==========
+
+    @Override
+    public String getName() {
+        return delegado.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegado.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegado.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegado.get(key, type);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegado.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegado.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegado.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegado.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegado.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegado.invalidate();
+    }
+}
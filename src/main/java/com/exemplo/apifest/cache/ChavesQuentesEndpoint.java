@@ -0,0 +1,106 @@
+package com.exemplo.apifest.cache;
+
+import com.exemplo.apifest.config.CacheConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ===============================================================================
+ * ACTUATOR - CHAVES MAIS QUENTES POR CACHE
+ * ===============================================================================
+ *
+ * Lista, por cache local, as chaves na ordem em que a política do Caffeine
+ * (W-TinyLFU) mais tende a mantê-las, com os bytes estimados e a idade de
+ * cada entrada. Com o cache cheio pesa a frequência de acesso; abaixo do
+ * limite prevalece a recência. Serve para ajustar TTL e memória de cada cache
+ * com base no acesso real.
+ *
+ * ENDPOINTS:
+ * - GET /actuator/chavesquentes?limite=10          todos os caches
+ * - GET /actuator/chavesquentes/{cache}?limite=10  um cache
+ *
+ * Só as chaves são expostas, nunca os valores. No cache em camadas a lista
+ * reflete o L1 do nó que respondeu.
+ *
+ * @author DeliveryTech Development Team
+ * @version 1.0
+ * ===============================================================================
+ */
+@Component
+@Endpoint(id = "chavesquentes")
+public class ChavesQuentesEndpoint {
+
+    private static final int LIMITE_PADRAO = 10;
+    private static final int LIMITE_MAXIMO = 100;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @ReadOperation
+    public Map<String, List<ChaveQuente>> chavesQuentes(@Nullable Integer limite) {
+        Map<String, List<ChaveQuente>> porCache = new LinkedHashMap<>();
+        for (String nome : CacheConfig.NOMES_CACHES) {
+            porCache.put(nome, chavesQuentesDoCache(nome, limite));
+        }
+        return porCache;
+    }
+
+    /**
+     * Chaves mais quentes de um cache (nulo = cache inexistente, 404).
+     */
+    @ReadOperation
+    public List<ChaveQuente> chavesQuentesDoCache(@Selector String cache, @Nullable Integer limite) {
+        if (!CacheConfig.NOMES_CACHES.contains(cache)) {
+            return null;
+        }
+        Cache spring = cacheManager.getCache(cache);
+        if (spring == null
+                || !(spring.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine)) {
+            return List.of();
+        }
+        return listar(caffeine, limiteValido(limite));
+    }
+
+    private static <K, V> List<ChaveQuente> listar(com.github.benmanes.caffeine.cache.Cache<K, V> caffeine, int limite) {
+        var politica = caffeine.policy();
+        var eviction = politica.eviction();
+        if (eviction.isEmpty()) {
+            return List.of();
+        }
+        List<ChaveQuente> chaves = new ArrayList<>(limite);
+        for (K chave : eviction.get().hottest(limite).keySet()) {
+            long bytes = eviction.get().weightOf(chave).orElse(0);
+            Long idadeSegundos = politica.expireAfterWrite()
+                    .flatMap(expiracao -> expiracao.ageOf(chave))
+                    .map(Duration::toSeconds)
+                    .orElse(null);
+            chaves.add(new ChaveQuente(String.valueOf(chave), bytes, idadeSegundos));
+        }
+        return chaves;
+    }
+
+    private static int limiteValido(Integer limite) {
+        if (limite == null) {
+            return LIMITE_PADRAO;
+        }
+        return Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+    }
+
+    /**
+     * Chave quente: bytes estimados da entrada e segundos desde a gravação.
+     */
+    public record ChaveQuente(String chave, long bytes, Long idadeSegundos) {
+    }
+}
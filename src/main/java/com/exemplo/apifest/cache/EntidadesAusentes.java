@@ -0,0 +1,102 @@
+package com.exemplo.apifest.cache;
+
+import com.exemplo.apifest.config.CacheConfig;
+import com.exemplo.apifest.exception.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * ===============================================================================
+ * CACHE NEGATIVO DE ENTIDADES INEXISTENTES
+ * ===============================================================================
+ *
+ * Robôs e links antigos repetem GETs por ids que não existem mais. Como os
+ * métodos @Cacheable lançam EntityNotFoundException, nada é guardado e cada
+ * repetição faz uma ida ao banco. Este componente lembra, no cache
+ * "ausencias" (TTL curto e próprio, app.cache.caches.ausencias.*), a
+ * mensagem de "não encontrado" de cada "<entidade>:<id>" consultado sem
+ * sucesso, e as buscas seguintes lançam a mesma exceção sem consultar o banco.
+ *
+ * USO NOS SERVIÇOS:
+ * - verificar(...)  antes da consulta ao banco
+ * - registrar(...)  quando a consulta não encontra a entidade, antes de
+ *                   lançar a EntityNotFoundException
+ * - criada(...)     ao salvar uma entidade nova: após o commit, o id deixa
+ *                   de ser ausente (ids são sequenciais, então um id sondado
+ *                   antes de existir é justamente o próximo a ser criado)
+ *
+ * Com app.cache.provider=redis o cache "ausencias" é em camadas como os
+ * demais: a remoção feita na criação também invalida o L1 dos outros nós.
+ *
+ * @author DeliveryTech Development Team
+ * @version 1.0
+ * ===============================================================================
+ */
+@Component
+public class EntidadesAusentes {
+
+    public static final String PRODUTO = "produto";
+    public static final String RESTAURANTE = "restaurante";
+    public static final String CLIENTE = "cliente";
+    public static final String PEDIDO = "pedido";
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    /**
+     * Lança a exceção de "não encontrado" se a entidade consta como ausente.
+     */
+    public void verificar(String entidade, Long id) {
+        Cache cache = cacheManager.getCache(CacheConfig.AUSENCIAS_CACHE);
+        if (cache == null || id == null) {
+            return;
+        }
+        String mensagem = cache.get(chave(entidade, id), String.class);
+        if (mensagem != null) {
+            throw new EntityNotFoundException(mensagem);
+        }
+    }
+
+    /**
+     * Registra a entidade como ausente, com a mensagem de "não encontrado".
+     */
+    public void registrar(String entidade, Long id, String mensagem) {
+        Cache cache = cacheManager.getCache(CacheConfig.AUSENCIAS_CACHE);
+        if (cache != null && id != null) {
+            cache.put(chave(entidade, id), mensagem);
+        }
+    }
+
+    /**
+     * Retira a entidade recém-criada do cache negativo, após o commit.
+     */
+    public void criada(String entidade, Long id) {
+        if (id == null) {
+            return;
+        }
+        Runnable remocao = () -> {
+            Cache cache = cacheManager.getCache(CacheConfig.AUSENCIAS_CACHE);
+            if (cache != null) {
+                cache.evict(chave(entidade, id));
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            remocao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remocao.run();
+            }
+        });
+    }
+
+    private static String chave(String entidade, Long id) {
+        return entidade + ":" + id;
+    }
+}
@@ -0,0 +1,235 @@
+package com.exemplo.apifest.cache;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.InaccessibleObjectException;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * ===============================================================================
+ * ESTIMADOR DE TAMANHO RETIDO DOS VALORES EM CACHE
+ * ===============================================================================
+ *
+ * Estima quantos bytes um valor cacheado mantém no heap, para que o Caffeine
+ * limite cada cache por memória (weigher) e não por número de entradas: uma
+ * lista com o cardápio inteiro de um restaurante pesa o que realmente ocupa,
+ * não o mesmo que um único ProdutoResponseDTO.
+ *
+ * MODELO (HotSpot 64 bits, compressed oops):
+ * - Cabeçalho de objeto 12 bytes, de array 16, referência 4, alinhamento 8
+ * - Tipos do JDK usados nos DTOs (String, wrappers, BigDecimal, java.time,
+ *   coleções e mapas) têm tamanho calculado diretamente
+ * - Classes da aplicação (DTOs, Money...) são percorridas por reflexão,
+ *   com a lista de campos calculada uma vez por classe
+ * - Outras classes contam só o cabeçalho e não são percorridas (evita
+ *   atravessar sessões do Hibernate ou objetos do Spring)
+ * - Objetos compartilhados no grafo contam uma vez; enums não contam
+ *
+ * É uma estimativa para planejamento de capacidade, não uma medição exata.
+ *
+ * @author DeliveryTech Development Team
+ * @version 1.0
+ * ===============================================================================
+ */
+public final class EstimadorTamanho {
+
+    private static final int CABECALHO_OBJETO = 12;
+    private static final int CABECALHO_ARRAY = 16;
+    private static final int REFERENCIA = 4;
+
+    /** Pacote cujas classes são percorridas campo a campo */
+    private static final String PACOTE_APLICACAO = "com.exemplo.apifest.";
+
+    private static final ClassValue<Layout> LAYOUTS = new ClassValue<>() {
+        @Override
+        protected Layout computeValue(Class<?> tipo) {
+            return Layout.de(tipo);
+        }
+    };
+
+    private EstimadorTamanho() {
+    }
+
+    /**
+     * Bytes retidos estimados pelo grafo a partir do objeto informado.
+     */
+    public static long estimar(Object raiz) {
+        if (raiz == null) {
+            return 0;
+        }
+        Set<Object> visitados = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Object> pendentes = new ArrayDeque<>();
+        pendentes.push(raiz);
+
+        long total = 0;
+        while (!pendentes.isEmpty()) {
+            Object objeto = pendentes.pop();
+            if (visitados.add(objeto)) {
+                total += tamanhoRaso(objeto, pendentes);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Tamanho do próprio objeto; empilha os objetos referenciados que devem
+     * ser somados.
+     */
+    private static long tamanhoRaso(Object objeto, Deque<Object> pendentes) {
+        if (objeto instanceof Enum<?> || objeto instanceof Class<?>) {
+            return 0;
+        }
+        if (objeto instanceof String texto) {
+            // Compact strings: 1 byte por caractere Latin-1 (cobre o português)
+            return alinhar(CABECALHO_OBJETO + 12) + alinhar(CABECALHO_ARRAY + texto.length());
+        }
+        if (objeto instanceof Long || objeto instanceof Double) {
+            return 24;
+        }
+        if (objeto instanceof Number && objeto.getClass().getName().startsWith("java.lang.")
+                || objeto instanceof Boolean || objeto instanceof Character) {
+            return 16;
+        }
+        if (objeto instanceof BigDecimal decimal) {
+            // Valores até 18 dígitos ficam no long compacto, sem BigInteger
+            return decimal.precision() <= 18 ? 40 : 40 + tamanhoBigInteger(decimal.unscaledValue());
+        }
+        if (objeto instanceof BigInteger inteiro) {
+            return tamanhoBigInteger(inteiro);
+        }
+        if (objeto instanceof LocalDateTime) {
+            return 24 + 24 + 24;
+        }
+        if (objeto instanceof LocalDate || objeto instanceof LocalTime || objeto instanceof Instant) {
+            return 24;
+        }
+        if (objeto instanceof UUID) {
+            return 32;
+        }
+        if (objeto instanceof Object[] array) {
+            empilhar(Arrays.asList(array), pendentes);
+            return alinhar(CABECALHO_ARRAY + (long) REFERENCIA * array.length);
+        }
+        if (objeto.getClass().isArray()) {
+            return tamanhoArrayPrimitivo(objeto);
+        }
+        if (objeto instanceof List<?> lista) {
+            // ArrayList + array de referências do tamanho da lista
+            empilhar(lista, pendentes);
+            return 24 + alinhar(CABECALHO_ARRAY + (long) REFERENCIA * lista.size());
+        }
+        if (objeto instanceof Collection<?> colecao) {
+            // HashSet: HashMap interno, tabela e um nó por elemento
+            empilhar(colecao, pendentes);
+            return 16 + tamanhoTabelaHash(colecao.size());
+        }
+        if (objeto instanceof Map<?, ?> mapa) {
+            empilhar(mapa.keySet(), pendentes);
+            empilhar(mapa.values(), pendentes);
+            return tamanhoTabelaHash(mapa.size());
+        }
+        if (!objeto.getClass().getName().startsWith(PACOTE_APLICACAO)) {
+            return alinhar(CABECALHO_OBJETO);
+        }
+
+        Layout layout = LAYOUTS.get(objeto.getClass());
+        for (Field campo : layout.referencias()) {
+            try {
+                Object valor = campo.get(objeto);
+                if (valor != null) {
+                    pendentes.push(valor);
+                }
+            } catch (IllegalAccessException ex) {
+                // Campo inacessível: conta só a referência
+            }
+        }
+        return layout.tamanhoRaso();
+    }
+
+    private static long tamanhoBigInteger(BigInteger inteiro) {
+        int palavras = (inteiro.bitLength() + 31) / 32;
+        return 40 + alinhar(CABECALHO_ARRAY + 4L * palavras);
+    }
+
+    private static long tamanhoTabelaHash(int elementos) {
+        int capacidade = Math.max(16, Integer.highestOneBit(Math.max(1, (int) (elementos / 0.75f))) << 1);
+        return 48 + alinhar(CABECALHO_ARRAY + (long) REFERENCIA * capacidade) + 32L * elementos;
+    }
+
+    private static long tamanhoArrayPrimitivo(Object array) {
+        int tamanhoElemento = tamanhoPrimitivo(array.getClass().getComponentType());
+        return alinhar(CABECALHO_ARRAY + (long) tamanhoElemento * Array.getLength(array));
+    }
+
+    private static void empilhar(Collection<?> elementos, Deque<Object> pendentes) {
+        for (Object elemento : elementos) {
+            if (elemento != null) {
+                pendentes.push(elemento);
+            }
+        }
+    }
+
+    private static int tamanhoPrimitivo(Class<?> tipo) {
+        if (tipo == long.class || tipo == double.class) {
+            return 8;
+        }
+        if (tipo == int.class || tipo == float.class) {
+            return 4;
+        }
+        if (tipo == short.class || tipo == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+
+    private static long alinhar(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * Tamanho raso e campos de referência de uma classe da aplicação.
+     */
+    private record Layout(long tamanhoRaso, List<Field> referencias) {
+
+        static Layout de(Class<?> tipo) {
+            long tamanho = CABECALHO_OBJETO;
+            List<Field> referencias = new ArrayList<>();
+            for (Class<?> atual = tipo; atual != null && atual != Object.class; atual = atual.getSuperclass()) {
+                for (Field campo : atual.getDeclaredFields()) {
+                    if (Modifier.isStatic(campo.getModifiers())) {
+                        continue;
+                    }
+                    if (campo.getType().isPrimitive()) {
+                        tamanho += tamanhoPrimitivo(campo.getType());
+                        continue;
+                    }
+                    tamanho += REFERENCIA;
+                    try {
+                        campo.setAccessible(true);
+                        referencias.add(campo);
+                    } catch (InaccessibleObjectException | SecurityException ex) {
+                        // Conta só a referência
+                    }
+                }
+            }
+            return new Layout(alinhar(tamanho), List.copyOf(referencias));
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.exemplo.apifest.cache;
+
+import com.exemplo.apifest.config.CacheConfig;
+import com.exemplo.apifest.dto.response.ProdutoResponseDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * ===============================================================================
+ * INVALIDAÇÃO DIRIGIDA DO CATÁLOGO DE PRODUTOS
+ * ===============================================================================
+ *
+ * Substitui o allEntries = true na alteração de produtos: em vez de esvaziar
+ * os caches "produto" e "produtos" inteiros (e provocar uma onda de faltas em
+ * todos os restaurantes), só as chaves afetadas são tocadas:
+ *
+ * - produto:{id}            recebe o DTO novo (write-through) se o produto
+ *                           segue disponível; senão é removido, já que
+ *                           buscarProdutoPorId não devolve indisponíveis
+ * - restaurante:{id}        cardápio removido para o restaurante atual e,
+ *                           se o produto mudou de restaurante, para o antigo
+ *
+ * Também concentra os demais efeitos das escritas no catálogo: produto
+ * cadastrado (cardápio do restaurante), restaurante cadastrado
+ * (restaurantes:disponiveis) e restaurante alterado (restaurantes:disponiveis,
+ * o cardápio e os produtos dele, já que ProdutoResponseDTO traz o nome do
+ * restaurante). A versão do cardápio ou da lista de
+ * restaurantes (VersoesCatalogo) é incrementada antes e depois de cada
+ * remoção: antes, para que uma carga iniciada com a versão anterior (ex.:
+ * recarga do stale-while-revalidate) não grave o estado antigo depois da
+ * remoção; depois, para mudar a ETag dos GETs correspondentes só quando o
+ * cache já não tem o corpo antigo.
+ *
+ * Dentro de uma transação as operações rodam só após o commit: uma leitura
+ * concorrente não recoloca no cache o estado anterior ao commit, e um
+ * rollback não deixa no cache um valor que nunca existiu no banco.
+ *
+ * @author DeliveryTech Development Team
+ * @version 1.0
+ * ===============================================================================
+ */
+@Component
+public class InvalidacaoCatalogo {
+
+    /** Chave da lista de restaurantes ativos no cache "restaurantes" */
+    public static final String RESTAURANTES_DISPONIVEIS = "restaurantes:disponiveis";
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private VersoesCatalogo versoesCatalogo;
+
+    /**
+     * Registra a alteração de um produto.
+     *
+     * @param produto         estado salvo do produto, já convertido em DTO
+     * @param disponivel      disponibilidade salva
+     * @param restaurantesIds restaurantes cujo cardápio mudou (atual e anterior)
+     */
+    public void produtoAlterado(ProdutoResponseDTO produto, boolean disponivel, Long... restaurantesIds) {
+        Set<Long> restaurantes = new LinkedHashSet<>();
+        for (Long restauranteId : restaurantesIds) {
+            if (restauranteId != null) {
+                restaurantes.add(restauranteId);
+            }
+        }
+        aposCommit(() -> aplicar(produto, disponivel, restaurantes));
+    }
+
+    /**
+     * Registra a alteração do cardápio de um restaurante (produto cadastrado).
+     */
+    public void cardapioAlterado(Long restauranteId) {
+        aposCommit(() -> removerCardapio(restauranteId));
+    }
+
+    /**
+     * Registra a alteração da lista de restaurantes (cadastro ou atualização).
+     */
+    public void restaurantesAlterados() {
+        aposCommit(() -> {
+            versoesCatalogo.restaurantesAlterados();
+            Cache cacheRestaurantes = cacheManager.getCache(CacheConfig.RESTAURANTES_CACHE);
+            if (cacheRestaurantes != null) {
+                cacheRestaurantes.evict(RESTAURANTES_DISPONIVEIS);
+            }
+            versoesCatalogo.restaurantesAlterados();
+        });
+    }
+
+    /**
+     * Registra a alteração de um restaurante existente: além da lista de
+     * restaurantes, o cardápio e os DTOs dos seus produtos trazem o nome dele.
+     *
+     * @param restauranteId ID do restaurante alterado
+     * @param produtosIds   IDs dos produtos do restaurante
+     */
+    public void restauranteAlterado(Long restauranteId, Collection<Long> produtosIds) {
+        restaurantesAlterados();
+        List<Long> produtos = List.copyOf(produtosIds);
+        aposCommit(() -> {
+            Cache cacheProduto = cacheManager.getCache(CacheConfig.PRODUTO_CACHE);
+            if (cacheProduto != null) {
+                produtos.forEach(produtoId -> cacheProduto.evict("produto:" + produtoId));
+            }
+            removerCardapio(restauranteId);
+        });
+    }
+
+    private void aplicar(ProdutoResponseDTO produto, boolean disponivel, Set<Long> restaurantes) {
+        Cache cacheProduto = cacheManager.getCache(CacheConfig.PRODUTO_CACHE);
+        if (cacheProduto != null) {
+            String chave = "produto:" + produto.getId();
+            if (disponivel) {
+                cacheProduto.put(chave, produto);
+            } else {
+                cacheProduto.evict(chave);
+            }
+        }
+
+        restaurantes.forEach(this::removerCardapio);
+    }
+
+    private void removerCardapio(Long restauranteId) {
+        versoesCatalogo.cardapioAlterado(restauranteId);
+        Cache cacheCardapios = cacheManager.getCache(CacheConfig.PRODUTOS_CACHE);
+        if (cacheCardapios != null) {
+            cacheCardapios.evict("restaurante:" + restauranteId);
+        }
+        versoesCatalogo.cardapioAlterado(restauranteId);
+    }
+
+    private static void aposCommit(Runnable operacao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            operacao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                operacao.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,79 @@
+package com.exemplo.apifest.cache;
+
+import com.exemplo.apifest.config.CacheConfig;
+import com.exemplo.apifest.config.CacheProperties;
+import com.github.benmanes.caffeine.cache.Policy;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.OptionalLong;
+
+/**
+ * ===============================================================================
+ * MÉTRICAS DE MEMÓRIA DOS CACHES
+ * ===============================================================================
+ *
+ * Publica, por cache nomeado, os bytes retidos estimados (soma dos pesos do
+ * Caffeine, ver EstimadorTamanho) e o orçamento configurado, para planejar a
+ * capacidade em MB:
+ *
+ * - cache.memoria.estimada{cache=...}  bytes hoje no cache local
+ * - cache.memoria.maxima{cache=...}    app.cache.caches.<nome>.memoria-maxima
+ *
+ * Vale para o Caffeine isolado e para o L1 do cache em camadas; sem cache
+ * Caffeine ativo os gauges ficam em zero.
+ *
+ * @author DeliveryTech Development Team
+ * @version 1.0
+ * ===============================================================================
+ */
+@Component
+public class MetricasMemoriaCache implements MeterBinder {
+
+    public static final String METRICA_MEMORIA_ESTIMADA = "cache.memoria.estimada";
+    public static final String METRICA_MEMORIA_MAXIMA = "cache.memoria.maxima";
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CacheProperties cacheProperties;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String nome : CacheConfig.NOMES_CACHES) {
+            Gauge.builder(METRICA_MEMORIA_ESTIMADA, this, metricas -> metricas.bytesEstimados(nome))
+                    .tag("cache", nome)
+                    .baseUnit("bytes")
+                    .description("Bytes retidos estimados pelo cache local")
+                    .register(registry);
+
+            Gauge.builder(METRICA_MEMORIA_MAXIMA, this,
+                            metricas -> cacheProperties.politica(nome).getMemoriaMaxima().toBytes())
+                    .tag("cache", nome)
+                    .baseUnit("bytes")
+                    .description("Memória máxima configurada para o cache local")
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Soma dos pesos (bytes estimados) das entradas do cache local.
+     */
+    public long bytesEstimados(String nomeCache) {
+        Cache cache = cacheManager.getCache(nomeCache);
+        if (cache == null
+                || !(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine)) {
+            return 0;
+        }
+        return caffeine.policy().eviction()
+                .map(Policy.Eviction::weightedSize)
+                .orElse(OptionalLong.empty())
+                .orElse(0);
+    }
+}
@@ -0,0 +1,216 @@
+package com.exemplo.apifest.cache;
+
+import com.exemplo.apifest.config.CacheProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * ===============================================================================
+ * RESPOSTAS JSON JÁ SERIALIZADAS DO CATÁLOGO
+ * ===============================================================================
+ *
+ * Mesmo com acerto no cache de DTOs, cada GET de catálogo serializa a lista
+ * inteira pelo Jackson e a comprime (server.compression), o que domina a CPU
+ * de um acerto. Este componente guarda os bytes JSON (e, opcionalmente, já em
+ * gzip) e os escreve direto no output stream da resposta.
+ *
+ * CHAVES E INVALIDAÇÃO:
+ * - Chave = "<cache>::<chave do CacheConfig>", ex.: produtos::restaurante:1
+ * - Cada resposta lembra (referência fraca) o objeto do cache de DTOs de que
+ *   foi serializada, e só é servida enquanto o cache devolve esse mesmo
+ *   objeto. Qualquer evento que tire a entrada do cache de DTOs (evict,
+ *   clear, TTL, invalidação do L1 via pub/sub, revalidação) troca o objeto
+ *   e a próxima chamada serializa de novo: as respostas seguem exatamente
+ *   as invalidações do cache de origem, sem ganchos próprios
+ *
+ * GZIP:
+ * - Só com server.compression.enabled, corpo >= min-response-size e cliente
+ *   que aceita gzip no Accept-Encoding (gzip ou *, com q > 0; "gzip;q=0"
+ *   recusa); a resposta sai com Content-Encoding: gzip e o Tomcat não a
+ *   comprime de novo
+ *
+ * Opcional: app.cache.respostas.habilitado (desligado por padrão). Corpos
+ * com campos gerados na hora (timestamp do ApiResponse) ficam com o valor
+ * do momento da serialização.
+ *
+ * MÉTRICA: cache.respostas{resultado=reaproveitada|serializada}
+ *
+ * @author DeliveryTech Development Team
+ * @version 1.0
+ * ===============================================================================
+ */
+@Component
+public class RespostasSerializadas {
+
+    public static final String METRICA_RESPOSTAS = "cache.respostas";
+
+    private static final String GZIP = "gzip";
+
+    @Autowired
+    private CacheProperties cacheProperties;
+
+    @Autowired
+    private ServerProperties serverProperties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Cache<String, Resposta> respostas;
+    private Counter reaproveitadas;
+    private Counter serializadas;
+
+    @PostConstruct
+    void inicializar() {
+        CacheProperties.Respostas config = cacheProperties.getRespostas();
+        respostas = Caffeine.newBuilder()
+                .maximumWeight(config.getMemoriaMaxima().toBytes())
+                .weigher((String chave, Resposta resposta) -> resposta.bytes())
+                .expireAfterWrite(config.getTtl())
+                .build();
+        reaproveitadas = Counter.builder(METRICA_RESPOSTAS).tag("resultado", "reaproveitada")
+                .description("Respostas de catálogo servidas com os bytes já serializados")
+                .register(meterRegistry);
+        serializadas = Counter.builder(METRICA_RESPOSTAS).tag("resultado", "serializada")
+                .description("Respostas de catálogo serializadas e guardadas")
+                .register(meterRegistry);
+    }
+
+    public boolean isHabilitado() {
+        return cacheProperties.getRespostas().isHabilitado();
+    }
+
+    /**
+     * Escreve a resposta 200 com os bytes guardados para o valor informado,
+     * serializando o corpo só quando o valor do cache de DTOs mudou.
+     *
+     * @param cache    cache de DTOs de origem (CacheConfig)
+     * @param chave    chave usada nesse cache
+     * @param valor    objeto devolvido pelo cache de DTOs
+     * @param corpo    corpo da resposta, montado a partir do valor
+     * @return false se desabilitado (o controller segue o caminho normal)
+     */
+    public boolean escrever(String cache, String chave, Object valor, Supplier<?> corpo,
+                            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!isHabilitado() || valor == null) {
+            return false;
+        }
+        String chaveResposta = cache + "::" + chave;
+        Resposta resposta = respostas.getIfPresent(chaveResposta);
+        if (resposta != null && resposta.serializadaDe(valor)) {
+            reaproveitadas.increment();
+        } else {
+            resposta = new Resposta(new WeakReference<>(valor), objectMapper.writeValueAsBytes(corpo.get()), null);
+            respostas.put(chaveResposta, resposta);
+            serializadas.increment();
+        }
+
+        byte[] bytes = resposta.json();
+        if (usarGzip(request, bytes.length)) {
+            if (resposta.gzip() == null) {
+                Resposta comGzip = resposta.comGzip(gzip(bytes));
+                respostas.asMap().replace(chaveResposta, resposta, comGzip);
+                resposta = comGzip;
+            }
+            bytes = resposta.gzip();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+        return true;
+    }
+
+    private boolean usarGzip(HttpServletRequest request, int tamanho) {
+        if (!cacheProperties.getRespostas().isGzip() || !serverProperties.getCompression().getEnabled()
+                || tamanho < serverProperties.getCompression().getMinResponseSize().toBytes()) {
+            return false;
+        }
+        return aceitaGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    /**
+     * Lê os tokens do Accept-Encoding: gzip explícito vale pelo seu q; sem ele,
+     * vale o do curinga "*". q=0 é recusa.
+     */
+    private static boolean aceitaGzip(String aceitos) {
+        if (aceitos == null) {
+            return false;
+        }
+        Double qGzip = null;
+        Double qCuringa = null;
+        for (String token : aceitos.split(",")) {
+            String[] partes = token.split(";");
+            String codificacao = partes[0].trim();
+            if (codificacao.equalsIgnoreCase(GZIP)) {
+                qGzip = qualidade(partes);
+            } else if (codificacao.equals("*")) {
+                qCuringa = qualidade(partes);
+            }
+        }
+        double q = qGzip != null ? qGzip : qCuringa != null ? qCuringa : 0;
+        return q > 0;
+    }
+
+    private static double qualidade(String[] partes) {
+        for (int i = 1; i < partes.length; i++) {
+            String parametro = partes[i].trim();
+            if (parametro.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Double.parseDouble(parametro.substring(2).trim());
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(json);
+        }
+        return saida.toByteArray();
+    }
+
+    /**
+     * Bytes guardados de uma resposta e o valor de que foram serializados.
+     */
+    private record Resposta(WeakReference<Object> origem, byte[] json, byte[] gzip) {
+
+        boolean serializadaDe(Object valor) {
+            return origem.get() == valor;
+        }
+
+        Resposta comGzip(byte[] comprimido) {
+            return new Resposta(origem, json, comprimido);
+        }
+
+        int bytes() {
+            return json.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+}
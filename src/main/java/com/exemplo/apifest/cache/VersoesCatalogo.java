@@ -0,0 +1,126 @@
+package com.exemplo.apifest.cache;
+
+import com.exemplo.apifest.config.CacheConfig;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.OptionalLong;
+
+/**
+ * ===============================================================================
+ * VERSÕES DO CATÁLOGO - ETAG E GET CONDICIONAL
+ * ===============================================================================
+ *
+ * Contadores de versão do cardápio de cada restaurante e da lista de
+ * restaurantes, incrementados após o commit das escritas de produtos e
+ * restaurantes (ver InvalidacaoCatalogo). Os GETs de catálogo usam a versão
+ * como ETag forte e respondem 304 a um If-None-Match que ainda casa, antes
+ * de consultar o cache de DTOs ou o banco.
+ *
+ * CHAVES:
+ * - cardapio:{restauranteId}  GET /api/produtos/restaurante/{id}
+ * - restaurantes              GETs de /api/restaurantes
+ *
+ * A mesma versão protege os caches de DTOs contra cargas concorrentes com
+ * uma invalidação (ver versaoDaEntrada): a InvalidacaoCatalogo incrementa a
+ * versão antes da remoção (quem carregou antes dela não grava) e depois
+ * (ETags entregues enquanto a remoção não tinha acontecido deixam de valer).
+ * As cargas @Cacheable(sync = true) (CacheVersionado) e as recargas em
+ * segundo plano (CacheRevalidavel) leem a versão antes de ir ao banco e não
+ * gravam se ela mudou. Como o controller lê a ETag antes de buscar o corpo,
+ * o corpo entregue nunca é mais antigo que a versão da ETag.
+ *
+ * Uma chave nunca alterada vale a versão base (instante em que os contadores
+ * foram criados) e cada alteração soma 1 a partir dela; assim um contador
+ * recriado não repete uma versão já entregue.
+ *
+ * IMPLEMENTAÇÕES (CacheConfig):
+ * - VersoesCatalogoLocais: memória do nó (provider caffeine)
+ * - VersoesCatalogoRedis:  contadores compartilhados no Redis (provider redis)
+ *
+ * Sem versão disponível (Redis fora), o GET segue sem ETag.
+ *
+ * @author DeliveryTech Development Team
+ * @version 1.0
+ * ===============================================================================
+ */
+public abstract class VersoesCatalogo {
+
+    public static final String RESTAURANTES = "restaurantes";
+
+    /**
+     * Chave da versão do cardápio de um restaurante.
+     */
+    public static String cardapio(Long restauranteId) {
+        return "cardapio:" + restauranteId;
+    }
+
+    /**
+     * Chave da versão que cobre uma entrada de cache (nula se a entrada não é versionada).
+     *
+     * @param nomeCache nome do cache (CacheConfig)
+     * @param chave     chave da entrada no cache
+     */
+    public static String chaveDaEntrada(String nomeCache, Object chave) {
+        String texto = String.valueOf(chave);
+        if (CacheConfig.PRODUTOS_CACHE.equals(nomeCache) && texto.startsWith("restaurante:")) {
+            return "cardapio:" + texto.substring("restaurante:".length());
+        }
+        if (CacheConfig.RESTAURANTES_CACHE.equals(nomeCache) && InvalidacaoCatalogo.RESTAURANTES_DISPONIVEIS.equals(texto)) {
+            return RESTAURANTES;
+        }
+        return null;
+    }
+
+    /**
+     * Versão atual da chave que cobre uma entrada de cache (vazia se não versionada ou indisponível).
+     */
+    public OptionalLong versaoDaEntrada(String nomeCache, Object chave) {
+        String chaveVersao = chaveDaEntrada(nomeCache, chave);
+        return chaveVersao != null ? versao(chaveVersao) : OptionalLong.empty();
+    }
+
+    /**
+     * Versão atual da chave (vazia se indisponível).
+     */
+    public abstract OptionalLong versao(String chave);
+
+    /**
+     * Incrementa a versão da chave.
+     */
+    protected abstract void incrementar(String chave);
+
+    public void cardapioAlterado(Long restauranteId) {
+        incrementar(cardapio(restauranteId));
+    }
+
+    public void restaurantesAlterados() {
+        incrementar(RESTAURANTES);
+    }
+
+    /**
+     * ETag forte da versão atual da chave (nulo se indisponível).
+     */
+    public String etag(String chave) {
+        OptionalLong versao = versao(chave);
+        return versao.isPresent() ? "\"" + chave.replace(':', '-') + "-" + versao.getAsLong() + "\"" : null;
+    }
+
+    /**
+     * Grava ETag e Cache-Control: no-cache na resposta e, se o If-None-Match
+     * ainda casa com a versão atual, responde 304.
+     *
+     * @return true se respondeu 304 (o controller não deve montar o corpo)
+     */
+    public boolean naoModificado(String chave, HttpServletRequest request, HttpServletResponse response) {
+        String etag = etag(chave);
+        if (etag == null) {
+            return false;
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        return new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+}
@@ -0,0 +1,28 @@
+package com.exemplo.apifest.cache;
+
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versões do catálogo na memória do nó (provider caffeine, um único nó).
+ *
+ * Só chaves alteradas ocupam memória; as demais valem a versão base.
+ */
+public class VersoesCatalogoLocais extends VersoesCatalogo {
+
+    private final long base = System.currentTimeMillis();
+
+    private final ConcurrentHashMap<String, AtomicLong> versoes = new ConcurrentHashMap<>();
+
+    @Override
+    public OptionalLong versao(String chave) {
+        AtomicLong versao = versoes.get(chave);
+        return OptionalLong.of(versao != null ? versao.get() : base);
+    }
+
+    @Override
+    protected void incrementar(String chave) {
+        versoes.computeIfAbsent(chave, c -> new AtomicLong(base)).incrementAndGet();
+    }
+}
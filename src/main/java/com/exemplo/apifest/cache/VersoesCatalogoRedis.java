@@ -0,0 +1,62 @@
+package com.exemplo.apifest.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.OptionalLong;
+
+/**
+ * Versões do catálogo compartilhadas entre os nós no Redis (provider redis).
+ *
+ * Cada chave é um contador (INCR) em apifest:versao:<chave>; a versão base é
+ * gravada uma vez por SETNX em apifest:versao:base, a mesma para todos os
+ * nós. Falhas de leitura deixam o GET sem ETag; falhas ao incrementar ficam
+ * no log.
+ */
+public class VersoesCatalogoRedis extends VersoesCatalogo {
+
+    private static final Logger logger = LoggerFactory.getLogger(VersoesCatalogoRedis.class);
+
+    private static final String PREFIXO = "apifest:versao:";
+    private static final String CHAVE_BASE = PREFIXO + "base";
+
+    private final StringRedisTemplate redis;
+
+    private volatile String base;
+
+    public VersoesCatalogoRedis(StringRedisTemplate redis) {
+        this.redis = redis;
+    }
+
+    @Override
+    public OptionalLong versao(String chave) {
+        try {
+            String versao = redis.opsForValue().get(PREFIXO + chave);
+            return OptionalLong.of(Long.parseLong(versao != null ? versao : base()));
+        } catch (RuntimeException ex) {
+            logger.debug("Versão [{}] indisponível: {}", chave, ex.getMessage());
+            return OptionalLong.empty();
+        }
+    }
+
+    @Override
+    protected void incrementar(String chave) {
+        try {
+            redis.opsForValue().setIfAbsent(PREFIXO + chave, base());
+            redis.opsForValue().increment(PREFIXO + chave);
+        } catch (RuntimeException ex) {
+            logger.warn("Não foi possível incrementar a versão [{}]: {}", chave, ex.getMessage());
+        }
+    }
+
+    private String base() {
+        String atual = base;
+        if (atual == null) {
+            redis.opsForValue().setIfAbsent(CHAVE_BASE, String.valueOf(System.currentTimeMillis()));
+            atual = redis.opsForValue().get(CHAVE_BASE);
+            base = atual;
+        }
+        return atual;
+    }
+}
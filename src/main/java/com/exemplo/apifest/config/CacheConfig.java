@@ -1,6 +1,10 @@
 package com.exemplo.apifest.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 
 import org.springframework.cache.CacheManager;
@@ -17,13 +21,35 @@ import java.util.List;
 import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
 
+import com.exemplo.apifest.cache.CacheEmCamadasManager;
+import com.exemplo.apifest.cache.CacheRevalidavel;
+import com.exemplo.apifest.cache.CacheVersionado;
+import com.exemplo.apifest.cache.EstimadorTamanho;
+import com.exemplo.apifest.cache.VersoesCatalogo;
+import com.exemplo.apifest.cache.VersoesCatalogoLocais;
+import com.exemplo.apifest.cache.VersoesCatalogoRedis;
+import com.exemplo.apifest.service.ProdutoService;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
-import java.util.concurrent.TimeUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 
 /**
@@ -33,15 +59,23 @@ import org.springframework.beans.factory.annotation.Autowired;
  * 
  * Esta classe configura o sistema de cache da aplicação suportando:
  * - Cache Local (Caffeine) para desenvolvimento
- * - Cache Distribuído (Redis) para produção
- * - Configuração híbrida com fallback automático
+ * - Cache em camadas (Caffeine L1 + Redis L2) para produção, com invalidação
+ *   do L1 dos demais nós via Redis pub/sub (app.cache.provider=redis)
  * 
  * ESTRATÉGIAS IMPLEMENTADAS:
  * ✅ Cache local com Caffeine (alta performance, baixa latência)
  * ✅ Cache distribuído com Redis (escalabilidade, persistência)
  * ✅ Configuração por profiles (dev/test/prod)
- * ✅ TTL configurável por cache
+ * ✅ TTL, refresh, memória máxima e log de remoções por cache (app.cache.caches.<nome>.*)
+ * ✅ Single-flight nas leituras @Cacheable(sync = true) e stale-while-revalidate
+ *    opcional (app.cache.caches.<nome>.revalidar-apos)
  * ✅ Tratamento de erros customizado
+ * ✅ Estatísticas do Caffeine no Micrometer/Prometheus e chaves mais
+ *    quentes em /actuator/chavesquentes
+ * ✅ Aquecimento na subida, antes do readiness (AquecimentoCache)
+ * ✅ ETag/304 nos GETs de catálogo por contadores de versão (VersoesCatalogo),
+ *    sem gravar no cache cargas que concorreram com uma invalidação (CacheVersionado)
+ * ✅ Cache negativo de ids inexistentes, com TTL curto (EntidadesAusentes)
  * 
  * CACHES CONFIGURADOS:
  * - produtos: Lista de produtos por restaurante (TTL: 10min)
@@ -49,6 +83,7 @@ import org.springframework.beans.factory.annotation.Autowired;
  * - pedidos: Pedidos do cliente (TTL: 2min)
  * - restaurantes: Lista de restaurantes (TTL: 30min)
  * - clientes: Dados do cliente (TTL: 15min)
+ * - ausencias: Ids consultados e não encontrados (TTL: 30s)
  * 
  * @author DeliveryTech Development Team
  * @version 1.0 - Roteiro 10
@@ -59,9 +94,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 @EnableCaching
 public class CacheConfig implements CachingConfigurer {
 
+    private static final Logger logger = LoggerFactory.getLogger(CacheConfig.class);
+
     @Autowired
     private CacheProperties cacheProperties;
 
+    @Autowired
+    private ObjectProvider<ProdutoService> produtoService;
+
+    @Autowired
+    private ObjectProvider<VersoesCatalogo> versoesCatalogo;
+
+    /** Recargas do stale-while-revalidate, criado no primeiro uso */
+    private ExecutorService executorRevalidacao;
+
     // ========== CACHE NAMES CONSTANTS ==========
     
     public static final String PRODUTOS_CACHE = "produtos";
@@ -69,6 +115,17 @@ public class CacheConfig implements CachingConfigurer {
     public static final String PEDIDOS_CACHE = "pedidos";
     public static final String RESTAURANTES_CACHE = "restaurantes";
     public static final String CLIENTES_CACHE = "clientes";
+    public static final String AUSENCIAS_CACHE = "ausencias";
+
+    /** Caches nomeados criados pelos cache managers */
+    public static final List<String> NOMES_CACHES = List.of(
+        PRODUTOS_CACHE,
+        PRODUTO_CACHE,
+        PEDIDOS_CACHE,
+        RESTAURANTES_CACHE,
+        CLIENTES_CACHE,
+        AUSENCIAS_CACHE
+    );
 
     // ========== LOCAL CACHE CONFIG (Caffeine) ==========
 
@@ -81,54 +138,207 @@ public class CacheConfig implements CachingConfigurer {
     @Profile({"dev", "test"})
     @ConditionalOnProperty(name = "app.cache.provider", havingValue = "caffeine", matchIfMissing = true)
     public CacheManager caffeineCacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected org.springframework.cache.Cache adaptCaffeineCache(String name,
+                    com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return decorar(super.adaptCaffeineCache(name, cache));
+            }
+        };
         
         // Configurar caches específicos
-        cacheManager.setCacheNames(List.of(
-            PRODUTOS_CACHE, 
-            PRODUTO_CACHE, 
-            PEDIDOS_CACHE, 
-            RESTAURANTES_CACHE, 
-            CLIENTES_CACHE
-        ));
+        cacheManager.setCacheNames(NOMES_CACHES);
         
-        // Configuração do Caffeine
-        cacheManager.setCaffeine(caffeineConfig());
+        // Cada cache com a sua política (TTL, memória máxima, listener de remoção)
+        NOMES_CACHES.forEach(nome ->
+                cacheManager.registerCustomCache(nome, caffeineConfig(nome, false).build()));
         
         return cacheManager;
     }
 
     /**
-     * Configuração específica do Caffeine.
+     * Configuração do Caffeine de um cache a partir da sua política
+     * (app.cache.caches.<nome>.*).
+     *
+     * refresh-after-write só se aplica ao L1 do cache em camadas, que tem de
+     * onde recarregar (o L2); no Caffeine isolado a entrada apenas expira.
+     */
+    public Caffeine<Object, Object> caffeineConfig(String nomeCache, boolean recarregaDoL2) {
+        CacheProperties.Politica politica = cacheProperties.politica(nomeCache);
+
+        Caffeine<Object, Object> caffeine = Caffeine.newBuilder()
+                .maximumWeight(politica.getMemoriaMaxima().toBytes())
+                .weigher(CacheConfig::pesoEmBytes)      // Peso = bytes retidos estimados
+                .expireAfterWrite(politica.getTtl());
+
+        if (cacheProperties.getStats().isEnabled()) {
+            caffeine.recordStats();                    // Estatísticas exportadas ao Micrometer
+        }
+
+        if (recarregaDoL2 && politica.getRefreshAfterWrite() != null) {
+            caffeine.refreshAfterWrite(politica.getRefreshAfterWrite());
+        }
+        if (politica.isRegistrarRemocoes()) {
+            caffeine.evictionListener((chave, valor, causa) ->
+                    logger.info("Cache [{}] removeu a chave [{}] ({})", nomeCache, chave, causa));
+        }
+        return caffeine;
+    }
+
+    /**
+     * Decoradores dos caches nomeados: conferência de versão nas cargas do
+     * catálogo e, por cima dela, stale-while-revalidate.
+     */
+    private org.springframework.cache.Cache decorar(org.springframework.cache.Cache cache) {
+        return comRevalidacao(comVersao(cache));
+    }
+
+    /**
+     * Cargas dos caches versionados do catálogo (produtos e restaurantes) só
+     * são gravadas se a versão não mudou durante a carga (CacheVersionado).
+     */
+    private org.springframework.cache.Cache comVersao(org.springframework.cache.Cache cache) {
+        String nome = cache.getName();
+        if (!PRODUTOS_CACHE.equals(nome) && !RESTAURANTES_CACHE.equals(nome)) {
+            return cache;
+        }
+        return new CacheVersionado(cache, chave -> versoesCatalogo.getObject().versaoDaEntrada(nome, chave));
+    }
+
+    /**
+     * Aplica stale-while-revalidate ao cache cuja política define revalidar-apos.
+     */
+    private org.springframework.cache.Cache comRevalidacao(org.springframework.cache.Cache cache) {
+        String nome = cache.getName();
+        Duration revalidarApos = cacheProperties.politica(nome).getRevalidarApos();
+        if (revalidarApos == null) {
+            return cache;
+        }
+        return new CacheRevalidavel(cache, revalidarApos, tarefa -> executorRevalidacao().execute(tarefa),
+                carregador(nome), chave -> versoesCatalogo.getObject().versaoDaEntrada(nome, chave));
+    }
+
+    /**
+     * Carregador explícito das recargas em segundo plano de um cache: chama o
+     * serviço pelo proxy (transação somente leitura), sem passar pelo cache.
+     *
+     * @throws IllegalStateException se o cache não tem carregador (revalidar-apos não suportado)
+     */
+    private Function<Object, Object> carregador(String nomeCache) {
+        if (PRODUTOS_CACHE.equals(nomeCache)) {
+            return chave -> produtoService.getObject().carregarProdutosPorRestaurante(
+                    Long.valueOf(String.valueOf(chave).substring("restaurante:".length())));
+        }
+        throw new IllegalStateException("Cache [" + nomeCache + "] não suporta revalidar-apos: sem carregador explícito");
+    }
+
+    private synchronized ExecutorService executorRevalidacao() {
+        if (executorRevalidacao == null) {
+            AtomicInteger contador = new AtomicInteger();
+            executorRevalidacao = Executors.newFixedThreadPool(cacheProperties.getThreadsRevalidacao(), tarefa -> {
+                Thread thread = new Thread(tarefa, "cache-revalidacao-" + contador.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executorRevalidacao;
+    }
+
+    @PreDestroy
+    public synchronized void encerrarRevalidacao() {
+        if (executorRevalidacao != null) {
+            executorRevalidacao.shutdownNow();
+        }
+    }
+
+    /**
+     * Peso de uma entrada: bytes estimados da chave e do valor.
+     */
+    private static int pesoEmBytes(Object chave, Object valor) {
+        long bytes = EstimadorTamanho.estimar(chave) + EstimadorTamanho.estimar(valor);
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    // ========== DISTRIBUTED CACHE CONFIG (Caffeine L1 + Redis L2) ==========
+
+    /**
+     * Cache em duas camadas: Caffeine local na frente do Redis compartilhado.
+     * Ativado com app.cache.provider=redis (perfil prod).
      */
     @Bean
-    public Caffeine<Object, Object> caffeineConfig() {
-        return Caffeine.newBuilder()
-                .maximumSize(cacheProperties.getMaxSize())                    // Configurável via properties
-                .expireAfterWrite(cacheProperties.getDefaultTtl(), TimeUnit.MINUTES) // TTL configurável
-                .recordStats();                        // Habilita estatísticas de cache
+    @Primary
+    @ConditionalOnProperty(name = "app.cache.provider", havingValue = "redis")
+    public CacheEmCamadasManager cacheEmCamadasManager(RedisConnectionFactory connectionFactory,
+                                                       StringRedisTemplate stringRedisTemplate) {
+        CacheEmCamadasManager cacheManager = new CacheEmCamadasManager(NOMES_CACHES,
+                redisCacheManager(connectionFactory), nome -> caffeineConfig(nome, true),
+                stringRedisTemplate, cacheProperties.getCanalInvalidacao());
+        cacheManager.setDecorador(this::decorar);
+        return cacheManager;
     }
 
-    // ========== DISTRIBUTED CACHE CONFIG (Redis) ==========
+    /**
+     * Assinatura do canal de invalidação: descarta do L1 local as chaves
+     * alteradas por outros nós.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.provider", havingValue = "redis")
+    public RedisMessageListenerContainer cacheInvalidacaoListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                          CacheEmCamadasManager cacheEmCamadasManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheEmCamadasManager,
+                new ChannelTopic(cacheEmCamadasManager.getCanalInvalidacao()));
+        return container;
+    }
+
+    /**
+     * Versões do catálogo compartilhadas no Redis: todos os nós geram a mesma
+     * ETag e enxergam as alterações feitas pelos demais.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.provider", havingValue = "redis")
+    public VersoesCatalogo versoesCatalogoRedis(StringRedisTemplate stringRedisTemplate) {
+        return new VersoesCatalogoRedis(stringRedisTemplate);
+    }
 
     /**
-     * Configuração de Cache Distribuído com Redis.
-     * Usado em perfil de produção.
+     * Versões do catálogo na memória do nó (provider caffeine).
      */
     @Bean
-    // Note: Redis configuration temporarily disabled to avoid compilation issues
-    // Can be enabled when Redis dependencies are fully configured
+    @ConditionalOnProperty(name = "app.cache.provider", havingValue = "caffeine", matchIfMissing = true)
+    public VersoesCatalogo versoesCatalogoLocais() {
+        return new VersoesCatalogoLocais();
+    }
+
+    /**
+     * Camada Redis dos caches nomeados, cada um com o TTL da sua política.
+     */
+    public RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory) {
+        Map<String, RedisCacheConfiguration> configuracoes = new LinkedHashMap<>();
+        NOMES_CACHES.forEach(nome -> configuracoes.put(nome,
+                redisCacheConfiguration().entryTtl(cacheProperties.politica(nome).getTtl())));
+
+        return RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(redisCacheConfiguration())
+                .withInitialCacheConfigurations(configuracoes)
+                .build();
+    }
 
     /**
-     * Configuração específica do Redis Cache.
+     * Configuração da camada Redis: chaves texto, valores JSON com tipo
+     * (inclusive datas java.time) e TTL padrão de app.cache.default-ttl.
      */
-    public org.springframework.data.redis.cache.RedisCacheConfiguration redisCacheConfiguration() {
-        return org.springframework.data.redis.cache.RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(10))                    // TTL padrão de 10 minutos
-                .serializeKeysWith(org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair
+    public RedisCacheConfiguration redisCacheConfiguration() {
+        GenericJackson2JsonRedisSerializer serializadorValores = new GenericJackson2JsonRedisSerializer()
+                .configure(objectMapper -> objectMapper.registerModule(new JavaTimeModule()));
+
+        return RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(Duration.ofMinutes(cacheProperties.getDefaultTtl()))
+                .serializeKeysWith(RedisSerializationContext.SerializationPair
                         .fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair
-                        .fromSerializer(new GenericJackson2JsonRedisSerializer()));
+                .serializeValuesWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(serializadorValores));
     }
 
     /**
@@ -202,24 +412,15 @@ public class CacheConfig implements CachingConfigurer {
     // ========== CACHE STATISTICS BEANS ==========
 
     /**
-     * Bean para monitoramento de estatísticas de cache.
+     * Vincula ao MeterRegistry todo cache cujo cache nativo é Caffeine (o L1
+     * do cache em camadas e os caches com stale-while-revalidate, que o
+     * Spring Boot só reconheceria como CaffeineCache): cache.gets (hit/miss),
+     * cache.puts, cache.evictions e cache.load.duration, com tag cache=<nome>.
      */
     @Bean
-    public CacheStatsService cacheStatsService() {
-        return new CacheStatsService();
-    }
-
-    /**
-     * Serviço para coleta de estatísticas de cache.
-     */
-    public static class CacheStatsService {
-        
-        public void logCacheStats(String cacheName, Object stats) {
-            System.out.println("📊 Cache [" + cacheName + "] Stats: " + stats);
-        }
-        
-        public void clearCache(String cacheName) {
-            System.out.println("🗑️ Cache [" + cacheName + "] cleared manually");
-        }
+    public CacheMeterBinderProvider<org.springframework.cache.Cache> caffeineNativoMeterBinderProvider() {
+        return (cache, tags) -> cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine
+                ? new CaffeineCacheMetrics<>(caffeine, cache.getName(), tags)
+                : null;
     }
 }
\ No newline at end of file
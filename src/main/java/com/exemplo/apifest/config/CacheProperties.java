@@ -2,6 +2,12 @@ package com.exemplo.apifest.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Configurações de Cache do Sistema
@@ -12,25 +18,66 @@ import org.springframework.stereotype.Component;
 public class CacheProperties {
 
     /**
-     * Provedor de cache (caffeine ou redis)
+     * Provedor de cache (caffeine ou redis = Caffeine L1 + Redis L2)
      */
     private String provider = "caffeine";
 
+    /**
+     * Canal Redis pub/sub das invalidações do L1 entre nós (provider redis)
+     */
+    private String canalInvalidacao = "apifest:cache:invalidacao";
+
     /**
      * TTL padrão em minutos
      */
     private long defaultTtl = 10;
 
     /**
-     * Tamanho máximo do cache
+     * Memória máxima estimada de cada cache local
+     */
+    private DataSize memoriaMaxima = DataSize.ofMegabytes(4);
+
+    /**
+     * Política de cada cache nomeado (app.cache.caches.<nome>.*); o que não
+     * for informado usa default-ttl e memoria-maxima
+     */
+    private Map<String, Politica> caches = new LinkedHashMap<>();
+
+    /**
+     * Threads que recalculam em segundo plano as entradas servidas vencidas
+     * (stale-while-revalidate)
      */
-    private long maxSize = 1000;
+    private int threadsRevalidacao = 2;
 
     /**
      * Configurações de estatísticas
      */
     private Stats stats = new Stats();
 
+    /**
+     * Aquecimento dos caches na subida, antes do readiness
+     */
+    private Aquecimento aquecimento = new Aquecimento();
+
+    /**
+     * Respostas JSON já serializadas dos endpoints de catálogo (opcional)
+     */
+    private Respostas respostas = new Respostas();
+
+    /**
+     * Política efetiva de um cache: a configurada, completada pelos padrões.
+     */
+    public Politica politica(String nomeCache) {
+        Politica configurada = caches.getOrDefault(nomeCache, new Politica());
+        Politica efetiva = new Politica();
+        efetiva.setTtl(configurada.getTtl() != null ? configurada.getTtl() : Duration.ofMinutes(defaultTtl));
+        efetiva.setRefreshAfterWrite(configurada.getRefreshAfterWrite());
+        efetiva.setMemoriaMaxima(configurada.getMemoriaMaxima() != null ? configurada.getMemoriaMaxima() : memoriaMaxima);
+        efetiva.setRevalidarApos(configurada.getRevalidarApos());
+        efetiva.setRegistrarRemocoes(configurada.isRegistrarRemocoes());
+        return efetiva;
+    }
+
     // Getters e Setters
     public String getProvider() {
         return provider;
@@ -40,6 +87,14 @@ public class CacheProperties {
         this.provider = provider;
     }
 
+    public String getCanalInvalidacao() {
+        return canalInvalidacao;
+    }
+
+    public void setCanalInvalidacao(String canalInvalidacao) {
+        this.canalInvalidacao = canalInvalidacao;
+    }
+
     public long getDefaultTtl() {
         return defaultTtl;
     }
@@ -48,12 +103,28 @@ public class CacheProperties {
         this.defaultTtl = defaultTtl;
     }
 
-    public long getMaxSize() {
-        return maxSize;
+    public DataSize getMemoriaMaxima() {
+        return memoriaMaxima;
     }
 
-    public void setMaxSize(long maxSize) {
-        this.maxSize = maxSize;
+    public void setMemoriaMaxima(DataSize memoriaMaxima) {
+        this.memoriaMaxima = memoriaMaxima;
+    }
+
+    public int getThreadsRevalidacao() {
+        return threadsRevalidacao;
+    }
+
+    public void setThreadsRevalidacao(int threadsRevalidacao) {
+        this.threadsRevalidacao = threadsRevalidacao;
+    }
+
+    public Map<String, Politica> getCaches() {
+        return caches;
+    }
+
+    public void setCaches(Map<String, Politica> caches) {
+        this.caches = caches;
     }
 
     public Stats getStats() {
@@ -64,6 +135,22 @@ public class CacheProperties {
         this.stats = stats;
     }
 
+    public Aquecimento getAquecimento() {
+        return aquecimento;
+    }
+
+    public void setAquecimento(Aquecimento aquecimento) {
+        this.aquecimento = aquecimento;
+    }
+
+    public Respostas getRespostas() {
+        return respostas;
+    }
+
+    public void setRespostas(Respostas respostas) {
+        this.respostas = respostas;
+    }
+
     /**
      * Configurações de estatísticas do cache
      */
@@ -78,4 +165,179 @@ public class CacheProperties {
             this.enabled = enabled;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Aquecimento dos caches na subida (ver AquecimentoCache)
+     */
+    public static class Aquecimento {
+
+        /** Aquece os caches antes de a aplicação aceitar tráfego */
+        private boolean habilitado = true;
+
+        /** Instantâneo com os ids dos produtos mais acessados, gravado no desligamento */
+        private Path arquivo = Path.of("cache-produtos-quentes.txt");
+
+        /** Quantos produtos quentes o instantâneo guarda */
+        private int produtosQuentes = 200;
+
+        /** Consultas simultâneas ao banco durante o aquecimento */
+        private int concorrencia = 4;
+
+        /** Tempo máximo de aquecimento; ao esgotar, a aplicação sobe com o que carregou */
+        private Duration tempoMaximo = Duration.ofSeconds(60);
+
+        public boolean isHabilitado() {
+            return habilitado;
+        }
+
+        public void setHabilitado(boolean habilitado) {
+            this.habilitado = habilitado;
+        }
+
+        public Path getArquivo() {
+            return arquivo;
+        }
+
+        public void setArquivo(Path arquivo) {
+            this.arquivo = arquivo;
+        }
+
+        public int getProdutosQuentes() {
+            return produtosQuentes;
+        }
+
+        public void setProdutosQuentes(int produtosQuentes) {
+            this.produtosQuentes = produtosQuentes;
+        }
+
+        public int getConcorrencia() {
+            return concorrencia;
+        }
+
+        public void setConcorrencia(int concorrencia) {
+            this.concorrencia = concorrencia;
+        }
+
+        public Duration getTempoMaximo() {
+            return tempoMaximo;
+        }
+
+        public void setTempoMaximo(Duration tempoMaximo) {
+            this.tempoMaximo = tempoMaximo;
+        }
+    }
+
+    /**
+     * Respostas serializadas do catálogo (ver RespostasSerializadas)
+     */
+    public static class Respostas {
+
+        /** Guarda e reaproveita os bytes JSON das respostas de catálogo */
+        private boolean habilitado = false;
+
+        /** Guarda também a versão gzip, para clientes que aceitam gzip */
+        private boolean gzip = true;
+
+        /** Memória máxima das respostas guardadas */
+        private DataSize memoriaMaxima = DataSize.ofMegabytes(8);
+
+        /** Tempo de vida de uma resposta guardada */
+        private Duration ttl = Duration.ofMinutes(10);
+
+        public boolean isHabilitado() {
+            return habilitado;
+        }
+
+        public void setHabilitado(boolean habilitado) {
+            this.habilitado = habilitado;
+        }
+
+        public boolean isGzip() {
+            return gzip;
+        }
+
+        public void setGzip(boolean gzip) {
+            this.gzip = gzip;
+        }
+
+        public DataSize getMemoriaMaxima() {
+            return memoriaMaxima;
+        }
+
+        public void setMemoriaMaxima(DataSize memoriaMaxima) {
+            this.memoriaMaxima = memoriaMaxima;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+
+    /**
+     * Política de um cache nomeado
+     */
+    public static class Politica {
+
+        /** Tempo de vida da entrada (L1 e L2) */
+        private Duration ttl;
+
+        /** Idade a partir da qual o L1 recarrega a entrada do L2 em segundo plano (provider redis) */
+        private Duration refreshAfterWrite;
+
+        /**
+         * Stale-while-revalidate: a partir desta idade a entrada ainda é servida
+         * e uma única chamada a recalcula em segundo plano (até o ttl)
+         */
+        private Duration revalidarApos;
+
+        /** Memória máxima estimada do cache local (ver EstimadorTamanho) */
+        private DataSize memoriaMaxima;
+
+        /** Registra em log as entradas removidas por tamanho ou expiração */
+        private boolean registrarRemocoes;
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public Duration getRefreshAfterWrite() {
+            return refreshAfterWrite;
+        }
+
+        public void setRefreshAfterWrite(Duration refreshAfterWrite) {
+            this.refreshAfterWrite = refreshAfterWrite;
+        }
+
+        public DataSize getMemoriaMaxima() {
+            return memoriaMaxima;
+        }
+
+        public void setMemoriaMaxima(DataSize memoriaMaxima) {
+            this.memoriaMaxima = memoriaMaxima;
+        }
+
+        public Duration getRevalidarApos() {
+            return revalidarApos;
+        }
+
+        public void setRevalidarApos(Duration revalidarApos) {
+            this.revalidarApos = revalidarApos;
+        }
+
+        public boolean isRegistrarRemocoes() {
+            return registrarRemocoes;
+        }
+
+        public void setRegistrarRemocoes(boolean registrarRemocoes) {
+            this.registrarRemocoes = registrarRemocoes;
+        }
+    }
+}
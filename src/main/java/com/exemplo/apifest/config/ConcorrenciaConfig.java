@@ -0,0 +1,97 @@
+package com.exemplo.apifest.config;
+
+import com.exemplo.apifest.ratelimit.LimitadorConcorrencia;
+import com.exemplo.apifest.ratelimit.TabelaRotas;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuração do limite adaptativo de concorrência (load shedding)
+ *
+ * Cada grupo de app.concorrencia.grupos tem o seu LimitadorConcorrencia,
+ * resolvido pela rota com a mesma TabelaRotas do rate limiting. O rate
+ * limiting protege de um cliente abusivo; este limite protege o banco de
+ * todos os clientes juntos: escrita de pedidos, leitura de catálogo e
+ * autenticação não disputam as mesmas vagas, e o excesso recebe 503 com
+ * Retry-After em vez de esperar uma conexão do pool.
+ *
+ * MÉTRICAS (tag grupo):
+ * - concorrencia.limite        requisições simultâneas aceitas hoje
+ * - concorrencia.em-andamento  requisições simultâneas em execução
+ * - concorrencia.rejeicoes     requisições rejeitadas por excesso
+ */
+@Configuration
+public class ConcorrenciaConfig {
+
+    public static final String METRICA_LIMITE = "concorrencia.limite";
+    public static final String METRICA_EM_ANDAMENTO = "concorrencia.em-andamento";
+    public static final String METRICA_REJEICOES = "concorrencia.rejeicoes";
+
+    @Autowired
+    private ConcorrenciaProperties concorrenciaProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, LimitadorConcorrencia> limitadores = new LinkedHashMap<>();
+
+    private TabelaRotas<LimitadorConcorrencia> tabelaRotas;
+
+    @PostConstruct
+    void inicializar() {
+        concorrenciaProperties.getGrupos().forEach((nome, grupo) -> {
+            LimitadorConcorrencia limitador = new LimitadorConcorrencia(nome, grupo.getRotas(),
+                    grupo.getLimiteInicial(), grupo.getLimiteMinimo(), grupo.getLimiteMaximo(),
+                    concorrenciaProperties.getTolerancia(), concorrenciaProperties.getSuavizacao());
+            limitadores.put(nome, limitador);
+            registrarMetricas(limitador);
+        });
+        tabelaRotas = new TabelaRotas<>(limitadores.values(), LimitadorConcorrencia::getRotas, null);
+    }
+
+    /**
+     * Limitador do grupo da requisição, ou null se a rota não é limitada.
+     *
+     * @param metodo método HTTP
+     * @param uri    caminho da requisição (ver TabelaRotas.caminho)
+     */
+    public LimitadorConcorrencia resolverLimitador(String metodo, String uri) {
+        return concorrenciaProperties.isHabilitado() ? tabelaRotas.resolver(metodo, uri) : null;
+    }
+
+    /**
+     * Limitador pelo nome do grupo, ou null se não configurado.
+     */
+    public LimitadorConcorrencia getLimitador(String grupo) {
+        return limitadores.get(grupo);
+    }
+
+    /**
+     * Retry-After das requisições rejeitadas, em segundos (mínimo 1).
+     */
+    public long retryAfterSegundos() {
+        return Math.max(1, concorrenciaProperties.getRetryAfter().toSeconds());
+    }
+
+    private void registrarMetricas(LimitadorConcorrencia limitador) {
+        Gauge.builder(METRICA_LIMITE, limitador, LimitadorConcorrencia::getLimite)
+                .tag("grupo", limitador.getNome())
+                .description("Requisições simultâneas aceitas pelo grupo")
+                .register(meterRegistry);
+        Gauge.builder(METRICA_EM_ANDAMENTO, limitador, LimitadorConcorrencia::getEmAndamento)
+                .tag("grupo", limitador.getNome())
+                .description("Requisições do grupo em execução")
+                .register(meterRegistry);
+        FunctionCounter.builder(METRICA_REJEICOES, limitador, LimitadorConcorrencia::getRejeitadas)
+                .tag("grupo", limitador.getNome())
+                .description("Requisições rejeitadas por excesso de concorrência")
+                .register(meterRegistry);
+    }
+}
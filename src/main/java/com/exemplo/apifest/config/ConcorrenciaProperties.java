@@ -0,0 +1,135 @@
+package com.exemplo.apifest.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configurações do limite adaptativo de concorrência por grupo de rotas
+ */
+@Component
+@ConfigurationProperties(prefix = "app.concorrencia")
+public class ConcorrenciaProperties {
+
+    /**
+     * Liga o limite de concorrência; desligado, nenhuma requisição é rejeitada
+     */
+    private boolean habilitado = true;
+
+    /**
+     * Valor do Retry-After das requisições rejeitadas por excesso
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /**
+     * Quanto a latência pode subir acima da referência antes de o limite cair
+     */
+    private double tolerancia = 1.5;
+
+    /**
+     * Peso de cada ajuste no limite (0 a 1); menor = mais estável
+     */
+    private double suavizacao = 0.2;
+
+    /**
+     * Grupos de rotas com limite próprio (app.concorrencia.grupos.<nome>.*);
+     * rotas fora dos grupos não são limitadas
+     */
+    private Map<String, Grupo> grupos = new LinkedHashMap<>();
+
+    // Getters e Setters
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    public void setHabilitado(boolean habilitado) {
+        this.habilitado = habilitado;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    public void setRetryAfter(Duration retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+
+    public double getTolerancia() {
+        return tolerancia;
+    }
+
+    public void setTolerancia(double tolerancia) {
+        this.tolerancia = tolerancia;
+    }
+
+    public double getSuavizacao() {
+        return suavizacao;
+    }
+
+    public void setSuavizacao(double suavizacao) {
+        this.suavizacao = suavizacao;
+    }
+
+    public Map<String, Grupo> getGrupos() {
+        return grupos;
+    }
+
+    public void setGrupos(Map<String, Grupo> grupos) {
+        this.grupos = grupos;
+    }
+
+    /**
+     * Grupo de rotas com limite de concorrência próprio
+     */
+    public static class Grupo {
+
+        /** Rotas do grupo: "[MÉTODO] /padrão", como nas políticas de rate limiting */
+        private List<String> rotas = new ArrayList<>();
+
+        /** Requisições simultâneas aceitas na subida */
+        private int limiteInicial = 10;
+
+        /** Piso do limite, mesmo com latência alta */
+        private int limiteMinimo = 1;
+
+        /** Teto do limite, mesmo com latência baixa */
+        private int limiteMaximo = 100;
+
+        public List<String> getRotas() {
+            return rotas;
+        }
+
+        public void setRotas(List<String> rotas) {
+            this.rotas = rotas;
+        }
+
+        public int getLimiteInicial() {
+            return limiteInicial;
+        }
+
+        public void setLimiteInicial(int limiteInicial) {
+            this.limiteInicial = limiteInicial;
+        }
+
+        public int getLimiteMinimo() {
+            return limiteMinimo;
+        }
+
+        public void setLimiteMinimo(int limiteMinimo) {
+            this.limiteMinimo = limiteMinimo;
+        }
+
+        public int getLimiteMaximo() {
+            return limiteMaximo;
+        }
+
+        public void setLimiteMaximo(int limiteMaximo) {
+            this.limiteMaximo = limiteMaximo;
+        }
+    }
+}
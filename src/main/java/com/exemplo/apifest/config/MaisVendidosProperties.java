@@ -0,0 +1,54 @@
+package com.exemplo.apifest.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configurações do ranking de produtos mais vendidos mantido em memória
+ */
+@Component
+@ConfigurationProperties(prefix = "app.mais-vendidos")
+public class MaisVendidosProperties {
+
+    /**
+     * Produtos monitorados no ranking geral (memória fixa, independente do catálogo)
+     */
+    private int capacidadeGlobal = 200;
+
+    /**
+     * Produtos monitorados no ranking de cada restaurante
+     */
+    private int capacidadeRestaurante = 50;
+
+    /**
+     * Intervalo entre reconciliações exatas com o banco, que corrigem o desvio do ranking
+     */
+    private Duration intervaloReconciliacao = Duration.ofMinutes(15);
+
+    // Getters e Setters
+    public int getCapacidadeGlobal() {
+        return capacidadeGlobal;
+    }
+
+    public void setCapacidadeGlobal(int capacidadeGlobal) {
+        this.capacidadeGlobal = capacidadeGlobal;
+    }
+
+    public int getCapacidadeRestaurante() {
+        return capacidadeRestaurante;
+    }
+
+    public void setCapacidadeRestaurante(int capacidadeRestaurante) {
+        this.capacidadeRestaurante = capacidadeRestaurante;
+    }
+
+    public Duration getIntervaloReconciliacao() {
+        return intervaloReconciliacao;
+    }
+
+    public void setIntervaloReconciliacao(Duration intervaloReconciliacao) {
+        this.intervaloReconciliacao = intervaloReconciliacao;
+    }
+}
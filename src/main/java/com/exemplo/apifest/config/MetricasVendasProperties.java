@@ -0,0 +1,41 @@
+package com.exemplo.apifest.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configurações dos contadores de vendas mantidos em memória
+ */
+@Component
+@ConfigurationProperties(prefix = "app.metricas-vendas")
+public class MetricasVendasProperties {
+
+    /**
+     * Intervalo entre reconciliações exatas com o banco, que trazem as escritas das outras instâncias
+     */
+    private Duration intervaloReconciliacao = Duration.ofMinutes(5);
+
+    /**
+     * Idade máxima de um pedido em andamento acompanhado em memória; os mais antigos ficam só com a reconciliação
+     */
+    private Duration expiracaoEmAndamento = Duration.ofDays(2);
+
+    // Getters e Setters
+    public Duration getIntervaloReconciliacao() {
+        return intervaloReconciliacao;
+    }
+
+    public void setIntervaloReconciliacao(Duration intervaloReconciliacao) {
+        this.intervaloReconciliacao = intervaloReconciliacao;
+    }
+
+    public Duration getExpiracaoEmAndamento() {
+        return expiracaoEmAndamento;
+    }
+
+    public void setExpiracaoEmAndamento(Duration expiracaoEmAndamento) {
+        this.expiracaoEmAndamento = expiracaoEmAndamento;
+    }
+}
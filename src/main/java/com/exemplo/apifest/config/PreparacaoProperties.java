@@ -0,0 +1,67 @@
+package com.exemplo.apifest.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configurações da medição dos tempos de preparo e entrega de pedidos
+ */
+@Component
+@ConfigurationProperties(prefix = "app.preparacao")
+public class PreparacaoProperties {
+
+    /**
+     * Janela em minutos dos percentis p50/p90/p99 (amostras mais antigas saem da conta)
+     */
+    private long janelaMinutos = 60;
+
+    /**
+     * Partes em que a janela é dividida; a cada janela/partes minutos a parte mais antiga é descartada
+     */
+    private int partesJanela = 6;
+
+    /**
+     * Idade máxima de um pedido em andamento acompanhado em memória; os mais antigos deixam de ser medidos
+     */
+    private Duration expiracaoEmAndamento = Duration.ofDays(2);
+
+    /**
+     * Máximo de pedidos em andamento acompanhados em memória
+     */
+    private long maximoEmAndamento = 100_000;
+
+    // Getters e Setters
+    public long getJanelaMinutos() {
+        return janelaMinutos;
+    }
+
+    public void setJanelaMinutos(long janelaMinutos) {
+        this.janelaMinutos = janelaMinutos;
+    }
+
+    public int getPartesJanela() {
+        return partesJanela;
+    }
+
+    public void setPartesJanela(int partesJanela) {
+        this.partesJanela = partesJanela;
+    }
+
+    public Duration getExpiracaoEmAndamento() {
+        return expiracaoEmAndamento;
+    }
+
+    public void setExpiracaoEmAndamento(Duration expiracaoEmAndamento) {
+        this.expiracaoEmAndamento = expiracaoEmAndamento;
+    }
+
+    public long getMaximoEmAndamento() {
+        return maximoEmAndamento;
+    }
+
+    public void setMaximoEmAndamento(long maximoEmAndamento) {
+        this.maximoEmAndamento = maximoEmAndamento;
+    }
+}
@@ -0,0 +1,207 @@
+package com.exemplo.apifest.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configurações do rate limiting: políticas por rota e armazenamento dos buckets
+ */
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * Onde ficam os buckets: local (memória do nó), redis (compartilhado pelo
+     * cluster) ou memoria (modelo compartilhado em mapa local, para testes)
+     */
+    private String backend = "local";
+
+    /**
+     * Políticas de limite (app.rate-limit.politicas.<nome>.*), casadas pelas
+     * suas rotas
+     */
+    private Map<String, Politica> politicas = new LinkedHashMap<>();
+
+    /**
+     * Política das requisições que não casam com nenhuma rota
+     */
+    private String politicaPadrao = "geral";
+
+    /**
+     * Máximo de buckets guardados por política; acima disso as chaves (IPs ou
+     * usuários) menos usadas são descartadas
+     */
+    private long maximoBuckets = 100_000;
+
+    /**
+     * Tempo sem requisições após o qual um bucket é descartado; nunca menor
+     * que o maior período de recarga da política (o bucket já estaria cheio)
+     */
+    private Duration ociosidade = Duration.ofMinutes(2);
+
+    /**
+     * Arrendamento de tokens do backend compartilhado
+     */
+    private Distribuido distribuido = new Distribuido();
+
+    // Getters e Setters
+    public String getBackend() {
+        return backend;
+    }
+
+    public void setBackend(String backend) {
+        this.backend = backend;
+    }
+
+    public Map<String, Politica> getPoliticas() {
+        return politicas;
+    }
+
+    public void setPoliticas(Map<String, Politica> politicas) {
+        this.politicas = politicas;
+    }
+
+    public String getPoliticaPadrao() {
+        return politicaPadrao;
+    }
+
+    public void setPoliticaPadrao(String politicaPadrao) {
+        this.politicaPadrao = politicaPadrao;
+    }
+
+    public long getMaximoBuckets() {
+        return maximoBuckets;
+    }
+
+    public void setMaximoBuckets(long maximoBuckets) {
+        this.maximoBuckets = maximoBuckets;
+    }
+
+    public Duration getOciosidade() {
+        return ociosidade;
+    }
+
+    public void setOciosidade(Duration ociosidade) {
+        this.ociosidade = ociosidade;
+    }
+
+    public Distribuido getDistribuido() {
+        return distribuido;
+    }
+
+    public void setDistribuido(Distribuido distribuido) {
+        this.distribuido = distribuido;
+    }
+
+    /**
+     * Arrendamento de tokens do bucket compartilhado (ver ArrendamentoTokens)
+     */
+    public static class Distribuido {
+
+        /** Tokens retirados de uma vez do bucket compartilhado (no máximo 10% do menor limite da política) */
+        private long lote = 10;
+
+        /** Validade de um lote; tokens não usados até lá são descartados */
+        private Duration validadeLote = Duration.ofSeconds(2);
+
+        /** Tempo no limite local do nó após uma falha do backend, antes de testá-lo de novo (ver DisjuntorBackend) */
+        private Duration pausaAposFalha = Duration.ofSeconds(10);
+
+        public long getLote() {
+            return lote;
+        }
+
+        public void setLote(long lote) {
+            this.lote = lote;
+        }
+
+        public Duration getValidadeLote() {
+            return validadeLote;
+        }
+
+        public void setValidadeLote(Duration validadeLote) {
+            this.validadeLote = validadeLote;
+        }
+
+        public Duration getPausaAposFalha() {
+            return pausaAposFalha;
+        }
+
+        public void setPausaAposFalha(Duration pausaAposFalha) {
+            this.pausaAposFalha = pausaAposFalha;
+        }
+    }
+
+    /**
+     * Política de rate limiting (ver TabelaRotas e PoliticaRateLimit)
+     */
+    public static class Politica {
+
+        /** Rotas cobertas: "[MÉTODO] /padrão", com * ou {var} para um segmento e ** no fim para o resto */
+        private List<String> rotas = new ArrayList<>();
+
+        /** Chave dos buckets: principal (usuário do JWT, ou IP sem autenticação) ou ip */
+        private String chave = "principal";
+
+        /** Limites aplicados juntos; a requisição precisa de token em todos */
+        private List<Limite> limites = new ArrayList<>();
+
+        public List<String> getRotas() {
+            return rotas;
+        }
+
+        public void setRotas(List<String> rotas) {
+            this.rotas = rotas;
+        }
+
+        public String getChave() {
+            return chave;
+        }
+
+        public void setChave(String chave) {
+            this.chave = chave;
+        }
+
+        public List<Limite> getLimites() {
+            return limites;
+        }
+
+        public void setLimites(List<Limite> limites) {
+            this.limites = limites;
+        }
+    }
+
+    /**
+     * Um limite da política: capacidade requisições a cada período
+     */
+    public static class Limite {
+
+        /** Requisições permitidas por período (e tamanho da rajada) */
+        private long capacidade;
+
+        /** Período de recarga completa do limite */
+        private Duration periodo = Duration.ofMinutes(1);
+
+        public long getCapacidade() {
+            return capacidade;
+        }
+
+        public void setCapacidade(long capacidade) {
+            this.capacidade = capacidade;
+        }
+
+        public Duration getPeriodo() {
+            return periodo;
+        }
+
+        public void setPeriodo(Duration periodo) {
+            this.periodo = periodo;
+        }
+    }
+}
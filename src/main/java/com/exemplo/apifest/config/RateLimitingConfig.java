@@ -1,91 +1,412 @@
 package com.exemplo.apifest.config;
 
+import com.exemplo.apifest.ratelimit.ArrendamentoTokens;
+import com.exemplo.apifest.ratelimit.DisjuntorBackend;
+import com.exemplo.apifest.ratelimit.PoliticaRateLimit;
+import com.exemplo.apifest.ratelimit.ProxyManagerMemoria;
+import com.exemplo.apifest.ratelimit.TabelaRotas;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.TimeMeter;
+import io.github.bucket4j.distributed.ExpirationAfterWriteStrategy;
+import io.github.bucket4j.distributed.proxy.ClientSideConfig;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.github.bucket4j.redis.lettuce.cas.LettuceBasedProxyManager;
+import io.lettuce.core.AbstractRedisClient;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.cluster.RedisClusterClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Configuração para Rate Limiting usando Bucket4j
- * Implementa controle de taxa de requisições por IP
+ * Implementa controle de taxa de requisições por usuário ou IP
+ *
+ * POLÍTICAS (app.rate-limit.politicas.<nome>):
+ * - rotas:   "[MÉTODO] /padrão" que a política cobre, compiladas na subida
+ *            em uma TabelaRotas; o que não casa usa app.rate-limit.politica-padrao
+ * - chave:   principal (usuário do JWT, ou IP sem autenticação) ou ip
+ * - limites: um ou mais (capacidade por período), todos aplicados juntos
+ *
+ * Os buckets ficam em Caffeines por política: um por IP, com o endereço como
+ * chave, e (nas políticas por principal) outro por usuário autenticado, com o
+ * subject do JWT como chave; a requisição não monta chave nenhuma. Cada
+ * Caffeine é limitado a app.rate-limit.maximo-buckets entradas e descarta o bucket que ficou
+ * app.rate-limit.ociosidade sem requisições: IPs de NAT de operadoras,
+ * scanners e X-Forwarded-For forjados não fazem o mapa crescer para sempre.
+ * Tamanho e remoções de cada política vão para o Micrometer (cache.size,
+ * cache.evictions com cache=rate-limit.<politica>).
+ *
+ * BACKEND (app.rate-limit.backend):
+ * - local:   bucket na memória de cada nó (o limite real cresce com o número
+ *            de réplicas)
+ * - redis:   bucket único no Redis para todo o cluster (ProxyManager do
+ *            Bucket4j sobre Lettuce, chave apifest:rate-limit:<politica>:<chave>)
+ * - memoria: mesmo modelo do redis num mapa local (ProxyManagerMemoria),
+ *            para testes
+ *
+ * Com backend compartilhado, cada nó retira os tokens em lotes
+ * (ArrendamentoTokens) em vez de ir à rede por requisição. Se o backend
+ * falhar, as requisições passam a ser limitadas pelo bucket local do nó, sem
+ * tocar no backend, por app.rate-limit.distribuido.pausa-apos-falha
+ * (DisjuntorBackend); depois uma requisição testa se ele voltou.
  */
 @Configuration
 @EnableCaching
 @EnableAspectJAutoProxy
 public class RateLimitingConfig {
 
-    private final Map<String, Bucket> bucketMap = new ConcurrentHashMap<>();
+    public static final String BACKEND_LOCAL = "local";
+    public static final String BACKEND_REDIS = "redis";
+    public static final String BACKEND_MEMORIA = "memoria";
+
+    public static final String CHAVE_PRINCIPAL = "principal";
+    public static final String CHAVE_IP = "ip";
+
+    public static final String POLITICA_ADMIN = "admin";
+    public static final String POLITICA_AUTH = "auth";
+
+    private static final String PREFIXO_REDIS = "apifest:rate-limit:";
+
+    @Autowired
+    private RateLimitProperties rateLimitProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectProvider<RedisConnectionFactory> redisConnectionFactory;
+
+    private final Map<String, PoliticaRateLimit> politicas = new LinkedHashMap<>();
+
+    private TabelaRotas<PoliticaRateLimit> tabelaRotas;
+
+    private final Map<String, Armazenamento<Bucket>> bucketsLocais = new HashMap<>();
+
+    private final Map<String, Armazenamento<ArrendamentoTokens>> bucketsCompartilhados = new HashMap<>();
+
+    /** Backend compartilhado; null com backend local */
+    private ProxyManager<String> proxyManager;
+
+    /** Desvia para o bucket local enquanto o backend compartilhado está fora */
+    private DisjuntorBackend disjuntor;
+
+    @PostConstruct
+    void inicializar() {
+        rateLimitProperties.getPoliticas().forEach((nome, politica) -> politicas.put(nome, compilar(nome, politica)));
+        PoliticaRateLimit padrao = politicas.get(rateLimitProperties.getPoliticaPadrao());
+        if (padrao == null) {
+            throw new IllegalStateException("app.rate-limit.politica-padrao sem política configurada: "
+                    + rateLimitProperties.getPoliticaPadrao());
+        }
+        tabelaRotas = new TabelaRotas<>(politicas.values(), PoliticaRateLimit::getRotas, padrao);
+
+        proxyManager = criarProxyManager(rateLimitProperties.getBackend());
+        disjuntor = new DisjuntorBackend(rateLimitProperties.getDistribuido().getPausaAposFalha(),
+                TimeMeter.SYSTEM_NANOTIME);
+        for (PoliticaRateLimit politica : politicas.values()) {
+            String nome = "rate-limit." + politica.getNome();
+            if (proxyManager == null) {
+                bucketsLocais.put(politica.getNome(), novoArmazenamento(nome, politica));
+            } else {
+                bucketsCompartilhados.put(politica.getNome(), novoArmazenamento(nome, politica));
+                bucketsLocais.put(politica.getNome(), novoArmazenamento(nome + ".local", politica));
+            }
+        }
+    }
+
+    /**
+     * Política que se aplica à requisição (ver TabelaRotas).
+     *
+     * @param metodo método HTTP
+     * @param uri    caminho da requisição (ver TabelaRotas.caminho)
+     * @return política da rota mais específica, ou a padrão
+     */
+    public PoliticaRateLimit resolverPolitica(String metodo, String uri) {
+        return tabelaRotas.resolver(metodo, uri);
+    }
+
+    /**
+     * Política pelo nome, ou null se não configurada.
+     */
+    public PoliticaRateLimit getPolitica(String nome) {
+        return politicas.get(nome);
+    }
+
+    /**
+     * Consome um token do usuário autenticado na política informada.
+     *
+     * @param politica política da rota (por principal)
+     * @param usuario  subject do JWT
+     * @return resultado do consumo (tokens restantes ou espera até a recarga)
+     */
+    public ConsumptionProbe consumirPorPrincipal(PoliticaRateLimit politica, String usuario) {
+        return consumir(politica, true, usuario);
+    }
+
+    /**
+     * Consome um token do IP na política informada.
+     *
+     * @param politica  política da rota
+     * @param ipAddress endereço IP do cliente
+     * @return resultado do consumo (tokens restantes ou espera até a recarga)
+     */
+    public ConsumptionProbe consumirPorIp(PoliticaRateLimit politica, String ipAddress) {
+        return consumir(politica, false, ipAddress);
+    }
+
+    private ConsumptionProbe consumir(PoliticaRateLimit politica, boolean principal, String chave) {
+        if (proxyManager != null && disjuntor.permitir()) {
+            try {
+                ConsumptionProbe probe = arrendamento(politica, principal, chave).consumir();
+                disjuntor.sucesso();
+                return probe;
+            } catch (RuntimeException ex) {
+                disjuntor.falha(ex);
+            }
+        }
+        return bucketLocal(politica, principal, chave).tryConsumeAndReturnRemaining(1);
+    }
 
     /**
      * Cria um bucket para controle de rate limiting por IP
-     * Permite 100 requisições por minuto por IP
-     * 
+     * Usa os limites da política padrão
+     *
      * @param ipAddress endereço IP do cliente
      * @return bucket configurado para o IP
      */
     public Bucket createNewBucket(String ipAddress) {
-        Bandwidth limit = Bandwidth.builder()
-                .capacity(100)
-                .refillIntervally(100, Duration.ofMinutes(1))
-                .build();
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
+        return tabelaRotas.getPadrao().novoBucketLocal();
+    }
+
+    /**
+     * Obtém o bucket de um IP na política informada (compartilhado, se
+     * houver backend compartilhado)
+     * Cria um novo bucket se não existir
+     *
+     * @param politica  política de limite
+     * @param ipAddress endereço IP do cliente
+     * @return bucket do IP na política
+     */
+    public Bucket resolveBucket(PoliticaRateLimit politica, String ipAddress) {
+        return resolveBucket(politica, false, ipAddress);
+    }
+
+    /**
+     * Obtém o bucket de um usuário autenticado na política informada
+     * (compartilhado, se houver backend compartilhado)
+     *
+     * @param politica política de limite (por principal)
+     * @param usuario  subject do JWT
+     * @return bucket do usuário na política
+     */
+    public Bucket resolvePrincipalBucket(PoliticaRateLimit politica, String usuario) {
+        return resolveBucket(politica, true, usuario);
+    }
+
+    private Bucket resolveBucket(PoliticaRateLimit politica, boolean principal, String chave) {
+        return proxyManager != null
+                ? arrendamento(politica, principal, chave).getBucket()
+                : bucketLocal(politica, principal, chave);
     }
 
     /**
-     * Obtém o bucket para um IP específico
+     * Obtém o bucket para um IP específico na política padrão
      * Cria um novo bucket se não existir
-     * 
+     *
      * @param ipAddress endereço IP do cliente
      * @return bucket para o IP
      */
     public Bucket resolveBucket(String ipAddress) {
-        return bucketMap.computeIfAbsent(ipAddress, this::createNewBucket);
+        return resolveBucket(tabelaRotas.getPadrao(), ipAddress);
     }
 
     /**
-     * Configuração de bucket para endpoints administrativos
-     * Limite mais restritivo: 20 requisições por minuto
-     * 
+     * Bucket do IP na política de endpoints administrativos
+     *
      * @param ipAddress endereço IP do cliente
      * @return bucket configurado para endpoints admin
      */
     public Bucket resolveAdminBucket(String ipAddress) {
-        String adminKey = "admin_" + ipAddress;
-        return bucketMap.computeIfAbsent(adminKey, ip -> {
-            Bandwidth limit = Bandwidth.builder()
-                    .capacity(20)
-                    .refillIntervally(20, Duration.ofMinutes(1))
-                    .build();
-            return Bucket.builder()
-                    .addLimit(limit)
-                    .build();
-        });
+        return resolveBucket(politicaObrigatoria(POLITICA_ADMIN), ipAddress);
     }
 
     /**
-     * Configuração de bucket para endpoints de autenticação
-     * Limite mais restritivo: 10 tentativas por minuto
-     * 
+     * Bucket do IP na política de endpoints de autenticação
+     *
      * @param ipAddress endereço IP do cliente
      * @return bucket configurado para endpoints de auth
      */
     public Bucket resolveAuthBucket(String ipAddress) {
-        String authKey = "auth_" + ipAddress;
-        return bucketMap.computeIfAbsent(authKey, ip -> {
-            Bandwidth limit = Bandwidth.builder()
-                    .capacity(10)
-                    .refillIntervally(10, Duration.ofMinutes(1))
-                    .build();
-            return Bucket.builder()
-                    .addLimit(limit)
-                    .build();
+        return resolveBucket(politicaObrigatoria(POLITICA_AUTH), ipAddress);
+    }
+
+    /**
+     * Quantidade estimada de buckets guardados na política (IPs e usuários).
+     */
+    public long bucketsGuardados(String politica) {
+        return (proxyManager != null ? bucketsCompartilhados.get(politica) : bucketsLocais.get(politica)).tamanho();
+    }
+
+    /**
+     * Backend compartilhado em uso, ou null com backend local.
+     */
+    public ProxyManager<String> getProxyManager() {
+        return proxyManager;
+    }
+
+    /**
+     * Tokens que um nó retira de uma vez do bucket compartilhado: o lote
+     * configurado, limitado a 10% do menor limite da política (auth, com
+     * 10/min, consome token a token).
+     */
+    public long loteDaPolitica(PoliticaRateLimit politica) {
+        return Math.max(1, Math.min(rateLimitProperties.getDistribuido().getLote(),
+                politica.getMenorCapacidade() / 10));
+    }
+
+    private Bucket bucketLocal(PoliticaRateLimit politica, boolean principal, String chave) {
+        return bucketsLocais.get(politica.getNome()).de(principal).get(chave,
+                k -> politica.novoBucketLocal());
+    }
+
+    private ArrendamentoTokens arrendamento(PoliticaRateLimit politica, boolean principal, String chave) {
+        return bucketsCompartilhados.get(politica.getNome()).de(principal).get(chave, k -> {
+            // Chave no Redis montada só na criação: apifest:rate-limit:<politica>:sub:<usuário> ou :ip:<endereço>
+            String chaveRedis = PREFIXO_REDIS + politica.getNome() + (principal ? ":sub:" : ":ip:") + k;
+            Bucket compartilhado = proxyManager.builder().build(chaveRedis, politica::configuracao);
+            return new ArrendamentoTokens(compartilhado, loteDaPolitica(politica),
+                    rateLimitProperties.getDistribuido().getValidadeLote(), TimeMeter.SYSTEM_NANOTIME);
         });
     }
-}
\ No newline at end of file
+
+    private PoliticaRateLimit politicaObrigatoria(String nome) {
+        PoliticaRateLimit politica = politicas.get(nome);
+        if (politica == null) {
+            throw new IllegalStateException("Política de rate limiting não configurada: " + nome);
+        }
+        return politica;
+    }
+
+    private static PoliticaRateLimit compilar(String nome, RateLimitProperties.Politica politica) {
+        if (!CHAVE_PRINCIPAL.equals(politica.getChave()) && !CHAVE_IP.equals(politica.getChave())) {
+            throw new IllegalStateException("Chave inválida na política " + nome + ": " + politica.getChave());
+        }
+        List<Bandwidth> limites = new ArrayList<>();
+        for (RateLimitProperties.Limite limite : politica.getLimites()) {
+            if (limite.getCapacidade() <= 0 || limite.getPeriodo() == null || limite.getPeriodo().isZero()
+                    || limite.getPeriodo().isNegative()) {
+                throw new IllegalStateException("Limite inválido na política " + nome);
+            }
+            limites.add(Bandwidth.builder()
+                    .capacity(limite.getCapacidade())
+                    .refillIntervally(limite.getCapacidade(), limite.getPeriodo())
+                    .build());
+        }
+        return new PoliticaRateLimit(nome, politica.getRotas(), CHAVE_PRINCIPAL.equals(politica.getChave()), limites);
+    }
+
+    private ProxyManager<String> criarProxyManager(String backend) {
+        switch (backend) {
+            case BACKEND_LOCAL:
+                return null;
+            case BACKEND_MEMORIA:
+                return new ProxyManagerMemoria();
+            case BACKEND_REDIS:
+                return proxyManagerRedis();
+            default:
+                throw new IllegalStateException("app.rate-limit.backend inválido: " + backend);
+        }
+    }
+
+    /**
+     * ProxyManager do Bucket4j sobre o cliente Lettuce do Spring Data Redis;
+     * cada bucket expira no Redis quando já estaria cheio de novo.
+     */
+    private ProxyManager<String> proxyManagerRedis() {
+        if (!(redisConnectionFactory.getIfAvailable() instanceof LettuceConnectionFactory lettuce)) {
+            throw new IllegalStateException("app.rate-limit.backend=redis requer o Redis com Lettuce");
+        }
+        AbstractRedisClient cliente = lettuce.getRequiredNativeClient();
+        LettuceBasedProxyManager.LettuceBasedProxyManagerBuilder<byte[]> builder =
+                cliente instanceof RedisClusterClient cluster
+                        ? LettuceBasedProxyManager.builderFor(cluster)
+                        : LettuceBasedProxyManager.builderFor((RedisClient) cliente);
+        return builder
+                .withClientSideConfig(ClientSideConfig.getDefault()
+                        .withExpirationAfterWriteStrategy(ExpirationAfterWriteStrategy.basedOnTimeForRefillingBucketUpToMax(
+                                rateLimitProperties.getOciosidade())))
+                .build()
+                .withMapper(chave -> chave.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Buckets da política por IP e, se ela é por principal, por usuário.
+     */
+    private <V> Armazenamento<V> novoArmazenamento(String nome, PoliticaRateLimit politica) {
+        return new Armazenamento<>(novoCache(nome, politica),
+                politica.isPorPrincipal() ? novoCache(nome + ".principal", politica) : null);
+    }
+
+    private <V> Cache<String, V> novoCache(String nome, PoliticaRateLimit politica) {
+        Cache<String, V> cache = Caffeine.newBuilder()
+                .maximumSize(rateLimitProperties.getMaximoBuckets())
+                .expireAfterAccess(ociosidade(politica))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, nome, "cache.manager", "rateLimitingConfig");
+        return cache;
+    }
+
+    /**
+     * Bucket ocioso pelo maior período de recarga da política já estaria
+     * cheio: descartá-lo não muda o limite.
+     */
+    private Duration ociosidade(PoliticaRateLimit politica) {
+        return rateLimitProperties.getOciosidade().compareTo(politica.getMaiorPeriodo()) < 0
+                ? politica.getMaiorPeriodo()
+                : rateLimitProperties.getOciosidade();
+    }
+
+    /**
+     * Buckets de uma política, separados pelo tipo de chave.
+     */
+    private record Armazenamento<V>(Cache<String, V> porIp, Cache<String, V> porPrincipal) {
+
+        Cache<String, V> de(boolean principal) {
+            if (principal && porPrincipal == null) {
+                throw new IllegalStateException("Política sem chave por principal");
+            }
+            return principal ? porPrincipal : porIp;
+        }
+
+        long tamanho() {
+            porIp.cleanUp();
+            long tamanho = porIp.estimatedSize();
+            if (porPrincipal != null) {
+                porPrincipal.cleanUp();
+                tamanho += porPrincipal.estimatedSize();
+            }
+            return tamanho;
+        }
+    }
+}
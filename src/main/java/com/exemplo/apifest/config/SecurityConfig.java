@@ -1,6 +1,7 @@
 package com.exemplo.apifest.config;
 
 import com.exemplo.apifest.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -83,6 +84,9 @@ public class SecurityConfig {
             
             // ========== Authorization Configuration ==========
             .authorizeHttpRequests(auth -> auth
+                // Dispatch assíncrono dos streams SSE (a requisição original já foi autorizada)
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 // Endpoints públicos sempre acessíveis
                 .requestMatchers(
                     "/",                      // Root endpoint
@@ -0,0 +1,91 @@
+package com.exemplo.apifest.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configurações do stream SSE de status de pedidos
+ */
+@Component
+@ConfigurationProperties(prefix = "app.sse")
+public class SseProperties {
+
+    /**
+     * Eventos pendentes por assinante; ao estourar, o assinante lento é desconectado
+     */
+    private int bufferPorAssinante = 16;
+
+    /**
+     * Intervalo do heartbeat em segundos (mantém proxies e load balancers com a conexão aberta)
+     */
+    private long heartbeatSegundos = 20;
+
+    /**
+     * Tempo máximo de uma conexão em minutos; o cliente reconecta automaticamente
+     */
+    private long timeoutMinutos = 30;
+
+    /**
+     * Threads que escrevem os eventos nas conexões; cada escrita travada ocupa uma até o timeout do container
+     */
+    private int threadsEnvio = 8;
+
+    /**
+     * Envios aguardando uma thread; com a fila cheia o heartbeat é descartado e o assinante de um evento, desconectado
+     */
+    private int filaEnvio = 1_024;
+
+    /**
+     * Tempo máximo de uma escrita em milissegundos; acima disso o cliente parou de ler e é desconectado
+     */
+    private long timeoutEnvioMs = 5_000;
+
+    // Getters e Setters
+    public int getBufferPorAssinante() {
+        return bufferPorAssinante;
+    }
+
+    public void setBufferPorAssinante(int bufferPorAssinante) {
+        this.bufferPorAssinante = bufferPorAssinante;
+    }
+
+    public long getHeartbeatSegundos() {
+        return heartbeatSegundos;
+    }
+
+    public void setHeartbeatSegundos(long heartbeatSegundos) {
+        this.heartbeatSegundos = heartbeatSegundos;
+    }
+
+    public long getTimeoutMinutos() {
+        return timeoutMinutos;
+    }
+
+    public void setTimeoutMinutos(long timeoutMinutos) {
+        this.timeoutMinutos = timeoutMinutos;
+    }
+
+    public int getThreadsEnvio() {
+        return threadsEnvio;
+    }
+
+    public void setThreadsEnvio(int threadsEnvio) {
+        this.threadsEnvio = threadsEnvio;
+    }
+
+    public int getFilaEnvio() {
+        return filaEnvio;
+    }
+
+    public void setFilaEnvio(int filaEnvio) {
+        this.filaEnvio = filaEnvio;
+    }
+
+    public long getTimeoutEnvioMs() {
+        return timeoutEnvioMs;
+    }
+
+    public void setTimeoutEnvioMs(long timeoutEnvioMs) {
+        this.timeoutEnvioMs = timeoutEnvioMs;
+    }
+}
@@ -1,5 +1,6 @@
 package com.exemplo.apifest.config;
 
+import com.exemplo.apifest.interceptor.LimiteConcorrenciaInterceptor;
 import com.exemplo.apifest.interceptor.RateLimitInterceptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
@@ -17,9 +18,13 @@ public class WebConfig implements WebMvcConfigurer {
     @Autowired
     private RateLimitInterceptor rateLimitInterceptor;
 
+    @Autowired
+    private LimiteConcorrenciaInterceptor limiteConcorrenciaInterceptor;
+
     /**
      * Registra interceptors da aplicação
-     * Inclui rate limiting para todas as rotas da API
+     * Inclui rate limiting para todas as rotas da API e, depois dele, o
+     * limite de concorrência (só o que passou do rate limiting ocupa vaga)
      */
     @Override
     public void addInterceptors(@NonNull InterceptorRegistry registry) {
@@ -31,5 +36,13 @@ public class WebConfig implements WebMvcConfigurer {
                     "/api/v3/api-docs/**",
                     "/actuator/**"
                 );
+        registry.addInterceptor(limiteConcorrenciaInterceptor)
+                .addPathPatterns("/api/**")
+                .excludePathPatterns(
+                    "/api/docs/**",
+                    "/api/swagger-ui/**",
+                    "/api/v3/api-docs/**",
+                    "/actuator/**"
+                );
     }
 }
\ No newline at end of file
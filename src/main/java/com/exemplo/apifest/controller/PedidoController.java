@@ -1,11 +1,15 @@
 package com.exemplo.apifest.controller;
 
+import com.exemplo.apifest.dto.AtualizacaoStatusLoteDTO;
 import com.exemplo.apifest.dto.ItemPedidoDTO;
 import com.exemplo.apifest.dto.PedidoDTO;
 import com.exemplo.apifest.dto.response.PedidoResponseDTO;
+import com.exemplo.apifest.dto.response.CursorPagedResponse;
 import com.exemplo.apifest.dto.response.PedidoResumoDTO;
+import com.exemplo.apifest.dto.response.ResultadoAtualizacaoStatusDTO;
 import com.exemplo.apifest.model.StatusPedido;
 import com.exemplo.apifest.service.PedidoService;
+import com.exemplo.apifest.service.StatusPedidoStreamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -13,9 +17,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import jakarta.validation.Valid;
 import java.math.BigDecimal;
@@ -34,6 +40,9 @@ import java.util.List;
  * - GET    /api/pedidos/{id}               → Buscar pedido completo (200)
  * - GET    /api/clientes/{clienteId}/pedidos → Histórico do cliente (200)
  * - PATCH  /api/pedidos/{id}/status        → Atualizar status (200)
+ * - PATCH  /api/pedidos/status/lote        → Atualizar status em lote (200)
+ * - GET    /api/pedidos/{id}/eventos       → Stream SSE de status do pedido
+ * - GET    /api/pedidos/cliente/{clienteId}/eventos → Stream SSE de status dos pedidos do cliente
  * - DELETE /api/pedidos/{id}               → Cancelar pedido (200)
  * - POST   /api/pedidos/calcular           → Calcular total (200)
  * 
@@ -51,6 +60,9 @@ public class PedidoController {
     @Autowired
     private PedidoService pedidoService;
 
+    @Autowired
+    private StatusPedidoStreamService statusPedidoStreamService;
+
     /**
      * POST /api/pedidos - Criar novo pedido (OPERAÇÃO MAIS CRÍTICA)
      * 
@@ -97,22 +109,63 @@ public class PedidoController {
     }
 
     /**
-     * GET /api/clientes/{clienteId}/pedidos - Histórico de pedidos do cliente
+     * GET /api/pedidos/cliente/{clienteId} - Histórico de pedidos do cliente
+     * 
+     * Paginação por cursor: a primeira página é pedida sem cursor; as seguintes
+     * repassam o nextCursor da resposta anterior.
      */
     @Operation(summary = "Buscar pedidos por cliente", 
-               description = "Lista o histórico de pedidos de um cliente específico")
+               description = "Lista o histórico de pedidos de um cliente específico, mais recentes primeiro, paginado por cursor")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Lista de pedidos retornada com sucesso"),
+        @ApiResponse(responseCode = "200", description = "Página de pedidos retornada com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido ou tamanho fora do limite"),
         @ApiResponse(responseCode = "404", description = "Cliente não encontrado")
     })
     @GetMapping("/cliente/{clienteId}")
     @PreAuthorize("hasAuthority('ADMIN') or (hasAuthority('CLIENTE') and authentication.principal.id == #clienteId)")
-    public ResponseEntity<List<PedidoResumoDTO>> buscarPedidosPorCliente(
-        @Parameter(description = "ID do cliente") @PathVariable Long clienteId) {
-        List<PedidoResumoDTO> pedidos = pedidoService.buscarPedidosPorCliente(clienteId);
+    public ResponseEntity<CursorPagedResponse<PedidoResumoDTO>> buscarPedidosPorCliente(
+        @Parameter(description = "ID do cliente") @PathVariable Long clienteId,
+        @Parameter(description = "Token nextCursor da página anterior") @RequestParam(required = false) String cursor,
+        @Parameter(description = "Pedidos por página (máximo 100)") @RequestParam(defaultValue = "20") int tamanho) {
+        CursorPagedResponse<PedidoResumoDTO> pedidos = pedidoService.buscarPedidosPorCliente(clienteId, cursor, tamanho);
         return ResponseEntity.ok(pedidos);
     }
 
+    /**
+     * GET /api/pedidos/{id}/eventos - Stream SSE de status do pedido
+     * 
+     * Substitui o polling de GET /api/pedidos/{id}. O primeiro evento "status"
+     * traz o status atual; os seguintes, cada transição.
+     */
+    @Operation(summary = "Acompanhar status do pedido (SSE)", 
+               description = "Abre um stream Server-Sent Events com as transições de status do pedido")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream aberto"),
+        @ApiResponse(responseCode = "404", description = "Pedido não encontrado")
+    })
+    @GetMapping(value = "/{id}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAuthority('ADMIN') or @pedidoService.podeVerPedido(#id, authentication.principal)")
+    public SseEmitter acompanharPedido(
+        @Parameter(description = "ID do pedido") @PathVariable Long id) {
+        return statusPedidoStreamService.assinarPedido(id);
+    }
+
+    /**
+     * GET /api/pedidos/cliente/{clienteId}/eventos - Stream SSE de status dos pedidos do cliente
+     */
+    @Operation(summary = "Acompanhar pedidos do cliente (SSE)", 
+               description = "Abre um stream Server-Sent Events com as transições de status de todos os pedidos do cliente")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stream aberto"),
+        @ApiResponse(responseCode = "404", description = "Cliente não encontrado")
+    })
+    @GetMapping(value = "/cliente/{clienteId}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAuthority('ADMIN') or (hasAuthority('CLIENTE') and authentication.principal.id == #clienteId)")
+    public SseEmitter acompanharPedidosDoCliente(
+        @Parameter(description = "ID do cliente") @PathVariable Long clienteId) {
+        return statusPedidoStreamService.assinarCliente(clienteId);
+    }
+
     /**
      * PATCH /api/pedidos/{id}/status - Atualizar status do pedido
      * 
@@ -122,11 +175,13 @@ public class PedidoController {
      * }
      */
     @Operation(summary = "Atualizar status do pedido", 
-               description = "Atualiza o status do pedido (PENDENTE, CONFIRMADO, PREPARANDO, etc.)")
+               description = "Atualiza o status do pedido (PENDENTE, CONFIRMADO, PREPARANDO, etc.). "
+                           + "Retorna apenas o ID e o novo status do pedido.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Status atualizado com sucesso"),
         @ApiResponse(responseCode = "404", description = "Pedido não encontrado"),
-        @ApiResponse(responseCode = "400", description = "Status inválido")
+        @ApiResponse(responseCode = "400", description = "Status inválido ou igual ao atual"),
+        @ApiResponse(responseCode = "409", description = "Pedido alterado concorrentemente")
     })
     @PatchMapping("/{id}/status")
     @PreAuthorize("hasAuthority('ADMIN') or hasAuthority('RESTAURANTE')")
@@ -137,6 +192,31 @@ public class PedidoController {
         return ResponseEntity.ok(pedidoAtualizado);
     }
 
+    /**
+     * PATCH /api/pedidos/status/lote - Atualizar status de vários pedidos
+     * 
+     * EXEMPLO DE REQUEST:
+     * {
+     *   "itens": [
+     *     {"pedidoId": 10, "status": "CONFIRMADO"},
+     *     {"pedidoId": 11, "status": "PRONTO"}
+     *   ]
+     * }
+     */
+    @Operation(summary = "Atualizar status em lote", 
+               description = "Aplica várias transições de status em uma única transação e retorna o resultado de cada pedido")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lote processado (ver resultado de cada pedido)"),
+        @ApiResponse(responseCode = "400", description = "Lote vazio, grande demais ou com dados inválidos")
+    })
+    @PatchMapping("/status/lote")
+    @PreAuthorize("hasAuthority('ADMIN') or hasAuthority('RESTAURANTE')")
+    public ResponseEntity<List<ResultadoAtualizacaoStatusDTO>> atualizarStatusEmLote(
+            @Valid @RequestBody AtualizacaoStatusLoteDTO lote) {
+        List<ResultadoAtualizacaoStatusDTO> resultados = pedidoService.atualizarStatusEmLote(lote);
+        return ResponseEntity.ok(resultados);
+    }
+
     /**
      * DELETE /api/pedidos/{id} - Cancelar pedido
      */
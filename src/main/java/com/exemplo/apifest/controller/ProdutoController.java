@@ -1,8 +1,13 @@
 package com.exemplo.apifest.controller;
 
+import com.exemplo.apifest.cache.RespostasSerializadas;
+import com.exemplo.apifest.cache.VersoesCatalogo;
+import com.exemplo.apifest.config.CacheConfig;
 import com.exemplo.apifest.dto.ProdutoDTO;
+import com.exemplo.apifest.dto.response.ProdutoMaisVendidoDTO;
 import com.exemplo.apifest.dto.response.ProdutoResponseDTO;
 import com.exemplo.apifest.service.ProdutoService;
+import com.exemplo.apifest.service.ProdutosMaisVendidosService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -14,7 +19,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.access.prepost.PreAuthorize;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -32,6 +40,12 @@ import java.util.List;
  * - PUT    /api/produtos/{id}                      → Atualizar produto (200)
  * - PATCH  /api/produtos/{id}/disponibilidade     → Alterar disponibilidade (200)
  * - GET    /api/produtos/categoria/{categoria}    → Por categoria (200)
+ * - GET    /api/produtos/mais-vendidos             → Ranking geral (200)
+ * - GET    /api/produtos/restaurante/{restauranteId}/mais-vendidos → Ranking do restaurante (200)
+ * 
+ * GET CONDICIONAL: o cardápio do restaurante envia ETag da versão do cardápio
+ * e responde 304 a If-None-Match que ainda casa, sem consultar cache nem
+ * banco (VersoesCatalogo).
  * 
  * @author DeliveryTech Development Team
  * @version 1.0 - Roteiro 4
@@ -47,6 +61,15 @@ public class ProdutoController {
     @Autowired
     private ProdutoService produtoService;
 
+    @Autowired
+    private ProdutosMaisVendidosService produtosMaisVendidosService;
+
+    @Autowired
+    private RespostasSerializadas respostasSerializadas;
+
+    @Autowired
+    private VersoesCatalogo versoesCatalogo;
+
     /**
      * POST /api/produtos - Cadastrar novo produto
      */
@@ -83,18 +106,29 @@ public class ProdutoController {
 
     /**
      * GET /api/restaurantes/{restauranteId}/produtos - Produtos do restaurante
+     * Com app.cache.respostas.habilitado, os bytes JSON do cardápio são
+     * reaproveitados enquanto o cache "produtos" não muda (RespostasSerializadas).
      */
     @Operation(summary = "Buscar produtos por restaurante", 
                description = "Lista todos os produtos de um restaurante específico")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Lista de produtos retornada com sucesso"),
+        @ApiResponse(responseCode = "304", description = "Cardápio não modificado (If-None-Match)"),
         @ApiResponse(responseCode = "404", description = "Restaurante não encontrado")
     })
     @GetMapping("/restaurante/{restauranteId}")
     @PreAuthorize("permitAll()")
     public ResponseEntity<List<ProdutoResponseDTO>> buscarProdutosPorRestaurante(
-        @Parameter(description = "ID do restaurante") @PathVariable Long restauranteId) {
+        @Parameter(description = "ID do restaurante") @PathVariable Long restauranteId,
+        HttpServletRequest httpRequest, HttpServletResponse httpResponse) throws IOException {
+        if (versoesCatalogo.naoModificado(VersoesCatalogo.cardapio(restauranteId), httpRequest, httpResponse)) {
+            return null;    // 304
+        }
         List<ProdutoResponseDTO> produtos = produtoService.buscarProdutosPorRestaurante(restauranteId);
+        if (respostasSerializadas.escrever(CacheConfig.PRODUTOS_CACHE, "restaurante:" + restauranteId,
+                produtos, () -> produtos, httpRequest, httpResponse)) {
+            return null;    // Corpo já escrito
+        }
         return ResponseEntity.ok(produtos);
     }
 
@@ -150,4 +184,37 @@ public class ProdutoController {
         List<ProdutoResponseDTO> produtos = produtoService.buscarProdutosPorCategoria(categoria);
         return ResponseEntity.ok(produtos);
     }
-}
\ No newline at end of file
+
+    /**
+     * GET /api/produtos/mais-vendidos - Ranking geral de mais vendidos
+     */
+    @Operation(summary = "Produtos mais vendidos", 
+               description = "Ranking mantido em memória, reconciliado periodicamente com o banco")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Ranking retornado com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Limite inválido")
+    })
+    @GetMapping("/mais-vendidos")
+    @PreAuthorize("permitAll()")
+    public ResponseEntity<List<ProdutoMaisVendidoDTO>> buscarMaisVendidos(
+        @Parameter(description = "Quantidade de posições") @RequestParam(defaultValue = "10") int limite) {
+        return ResponseEntity.ok(produtosMaisVendidosService.maisVendidos(limite));
+    }
+
+    /**
+     * GET /api/produtos/restaurante/{restauranteId}/mais-vendidos - Ranking do restaurante
+     */
+    @Operation(summary = "Produtos mais vendidos do restaurante", 
+               description = "Ranking do restaurante mantido em memória, reconciliado periodicamente com o banco")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Ranking retornado com sucesso"),
+        @ApiResponse(responseCode = "400", description = "Limite inválido")
+    })
+    @GetMapping("/restaurante/{restauranteId}/mais-vendidos")
+    @PreAuthorize("permitAll()")
+    public ResponseEntity<List<ProdutoMaisVendidoDTO>> buscarMaisVendidosDoRestaurante(
+        @Parameter(description = "ID do restaurante") @PathVariable Long restauranteId,
+        @Parameter(description = "Quantidade de posições") @RequestParam(defaultValue = "10") int limite) {
+        return ResponseEntity.ok(produtosMaisVendidosService.maisVendidosDoRestaurante(restauranteId, limite));
+    }
+}
@@ -1,9 +1,15 @@
 package com.exemplo.apifest.controller;
 
+import com.exemplo.apifest.cache.InvalidacaoCatalogo;
+import com.exemplo.apifest.cache.RespostasSerializadas;
+import com.exemplo.apifest.cache.VersoesCatalogo;
+import com.exemplo.apifest.config.CacheConfig;
 import com.exemplo.apifest.dto.RestauranteDTO;
 import com.exemplo.apifest.dto.response.ApiResponse;
 import com.exemplo.apifest.dto.response.RestauranteResponseDTO;
+import com.exemplo.apifest.dto.response.TemposPreparacaoDTO;
 import com.exemplo.apifest.service.RestauranteService;
+import com.exemplo.apifest.service.TemposPreparacaoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,7 +22,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.access.prepost.PreAuthorize;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.List;
 
@@ -37,6 +46,11 @@ import java.util.List;
  * - GET    /api/restaurantes/categoria/{categoria}  → Por categoria
  * - GET    /api/restaurantes/{id}/taxa-entrega/{cep} → Calcular taxa
  * - GET    /api/restaurantes/proximos/{cep}         → Restaurantes próximos
+ * - GET    /api/restaurantes/{id}/tempos-preparacao  → Percentis de preparo e entrega
+ * 
+ * GET CONDICIONAL: listagem, busca por ID e por categoria enviam ETag da
+ * versão da lista de restaurantes e respondem 304 a If-None-Match que ainda
+ * casa, sem consultar cache nem banco (VersoesCatalogo).
  * 
  * @author DeliveryTech Development Team
  * @version 2.0 - Roteiro 5
@@ -52,6 +66,15 @@ public class RestauranteController {
     @Autowired
     private RestauranteService restauranteService;
 
+    @Autowired
+    private TemposPreparacaoService temposPreparacaoService;
+
+    @Autowired
+    private RespostasSerializadas respostasSerializadas;
+
+    @Autowired
+    private VersoesCatalogo versoesCatalogo;
+
     /**
      * POST /api/restaurantes - Cadastrar novo restaurante
      */
@@ -87,6 +110,8 @@ public class RestauranteController {
 
     /**
      * GET /api/restaurantes - Listar restaurantes com filtros opcionais
+     * Sem filtro de categoria, com app.cache.respostas.habilitado, os bytes
+     * JSON da lista são reaproveitados enquanto o cache "restaurantes" não muda.
      */
     @GetMapping
     @PreAuthorize("permitAll()")
@@ -95,23 +120,36 @@ public class RestauranteController {
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
             responseCode = "200", 
-            description = "Lista de restaurantes retornada com sucesso")
+            description = "Lista de restaurantes retornada com sucesso"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "304", 
+            description = "Não modificado (If-None-Match)")
     })
     public ResponseEntity<ApiResponse<List<RestauranteResponseDTO>>> listarRestaurantes(
             @Parameter(description = "Filtrar por categoria", example = "Italiana")
             @RequestParam(required = false) String categoria,
             
             @Parameter(description = "Filtrar por status ativo", example = "true")
-            @RequestParam(required = false, defaultValue = "true") Boolean ativo) {
+            @RequestParam(required = false, defaultValue = "true") Boolean ativo,
+
+            HttpServletRequest httpRequest, HttpServletResponse httpResponse) throws IOException {
         
+        if (versoesCatalogo.naoModificado(VersoesCatalogo.RESTAURANTES, httpRequest, httpResponse)) {
+            return null;    // 304
+        }
+
         List<RestauranteResponseDTO> restaurantes;
         
         if (categoria != null) {
             restaurantes = restauranteService.buscarPorCategoria(categoria);
-        } else if (ativo != null) {
-            restaurantes = restauranteService.listarRestaurantesDisponiveis();
         } else {
-            restaurantes = restauranteService.listarRestaurantesDisponiveis();
+            List<RestauranteResponseDTO> disponiveis = restauranteService.listarRestaurantesDisponiveis();
+            if (respostasSerializadas.escrever(CacheConfig.RESTAURANTES_CACHE, InvalidacaoCatalogo.RESTAURANTES_DISPONIVEIS,
+                    disponiveis, () -> ApiResponse.success(disponiveis, "Restaurantes listados com sucesso"),
+                    httpRequest, httpResponse)) {
+                return null;    // Corpo já escrito
+            }
+            restaurantes = disponiveis;
         }
         
         ApiResponse<List<RestauranteResponseDTO>> response = ApiResponse.success(
@@ -131,14 +169,22 @@ public class RestauranteController {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
             responseCode = "200", 
             description = "Restaurante encontrado"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "304", 
+            description = "Não modificado (If-None-Match)"),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
             responseCode = "404", 
             description = "Restaurante não encontrado")
     })
     public ResponseEntity<ApiResponse<RestauranteResponseDTO>> buscarPorId(
             @Parameter(description = "ID do restaurante", example = "1")
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            HttpServletRequest httpRequest, HttpServletResponse httpResponse) {
         
+        if (versoesCatalogo.naoModificado(VersoesCatalogo.RESTAURANTES, httpRequest, httpResponse)) {
+            return null;    // 304
+        }
+
         RestauranteResponseDTO restaurante = restauranteService.buscarPorId(id);
         ApiResponse<RestauranteResponseDTO> response = ApiResponse.success(
                 restaurante, "Restaurante encontrado com sucesso");
@@ -221,12 +267,20 @@ public class RestauranteController {
     @ApiResponses(value = {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
             responseCode = "200", 
-            description = "Lista de restaurantes da categoria")
+            description = "Lista de restaurantes da categoria"),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "304", 
+            description = "Não modificado (If-None-Match)")
     })
     public ResponseEntity<ApiResponse<List<RestauranteResponseDTO>>> buscarPorCategoria(
             @Parameter(description = "Categoria do restaurante", example = "Italiana")
-            @PathVariable String categoria) {
+            @PathVariable String categoria,
+            HttpServletRequest httpRequest, HttpServletResponse httpResponse) {
         
+        if (versoesCatalogo.naoModificado(VersoesCatalogo.RESTAURANTES, httpRequest, httpResponse)) {
+            return null;    // 304
+        }
+
         List<RestauranteResponseDTO> restaurantes = restauranteService.buscarPorCategoria(categoria);
         ApiResponse<List<RestauranteResponseDTO>> response = ApiResponse.success(
                 restaurantes, "Restaurantes da categoria " + categoria + " listados com sucesso");
@@ -290,4 +344,29 @@ public class RestauranteController {
         
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    /**
+     * GET /api/restaurantes/{id}/tempos-preparacao - Tempos de preparo e entrega
+     * 
+     * Servido pelos percentis mantidos em memória (sem consulta ao banco).
+     */
+    @GetMapping("/{id}/tempos-preparacao")
+    @PreAuthorize("hasAuthority('ADMIN') or (hasAuthority('RESTAURANTE') and authentication.principal.restauranteId == #id)")
+    @Operation(summary = "Tempos de preparo do restaurante", 
+               description = "Quantidade, média e percentis p50/p90/p99 das etapas espera, preparo e entrega dos pedidos")
+    @ApiResponses(value = {
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200", 
+            description = "Tempos retornados com sucesso")
+    })
+    public ResponseEntity<ApiResponse<TemposPreparacaoDTO>> buscarTemposPreparacao(
+            @Parameter(description = "ID do restaurante", example = "1")
+            @PathVariable Long id) {
+        
+        TemposPreparacaoDTO tempos = temposPreparacaoService.temposDoRestaurante(id);
+        ApiResponse<TemposPreparacaoDTO> response = ApiResponse.success(
+                tempos, "Tempos de preparo calculados com sucesso");
+        
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,61 @@
+package com.exemplo.apifest.dto;
+
+import com.exemplo.apifest.model.StatusPedido;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para atualização de status de vários pedidos de uma vez
+ * 
+ * Usado pelos tablets dos restaurantes, que confirmam ou marcam pedidos
+ * como prontos em rajadas. Todas as transições são aplicadas em uma
+ * única transação e cada pedido recebe seu próprio resultado.
+ * 
+ * @author DeliveryTech Team
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AtualizacaoStatusLoteDTO {
+
+    /** Limite de pedidos por requisição */
+    public static final int TAMANHO_MAXIMO_LOTE = 200;
+
+    /**
+     * Pares (pedidoId, status) a serem aplicados, na ordem informada
+     * O mesmo pedido pode aparecer mais de uma vez (ex: CONFIRMADO e depois PREPARANDO)
+     */
+    @NotEmpty(message = "Lote deve conter pelo menos um pedido")
+    @Size(max = TAMANHO_MAXIMO_LOTE, message = "Lote deve ter no máximo " + TAMANHO_MAXIMO_LOTE + " pedidos")
+    @Valid
+    private List<ItemStatusDTO> itens;
+
+    /**
+     * Transição de status de um pedido dentro do lote
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemStatusDTO {
+
+        /**
+         * ID do pedido a ser atualizado
+         */
+        @NotNull(message = "Pedido ID é obrigatório")
+        private Long pedidoId;
+
+        /**
+         * Novo status do pedido
+         */
+        @NotNull(message = "Status é obrigatório")
+        private StatusPedido status;
+    }
+}
@@ -0,0 +1,40 @@
+package com.exemplo.apifest.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resposta paginada por cursor (keyset)
+ *
+ * Diferente de PagedResponse, não informa total de elementos nem número
+ * de página: a próxima página é pedida com o token opaco nextCursor.
+ * Assim o custo de cada página não depende da profundidade da rolagem.
+ *
+ * @param <T> Tipo dos itens na lista
+ *
+ * @author DeliveryTech Team
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resposta paginada por cursor")
+public class CursorPagedResponse<T> {
+
+    @Schema(description = "Lista de itens da página atual")
+    private List<T> content;
+
+    @Schema(description = "Tamanho da página solicitado", example = "20")
+    private int size;
+
+    @Schema(description = "Indica se existe próxima página", example = "true")
+    private boolean hasNext;
+
+    @Schema(description = "Token opaco para buscar a próxima página (nulo na última)",
+            example = "MjAyNC0wMS0xNVQxMjozMDowMHw0Mg")
+    private String nextCursor;
+}
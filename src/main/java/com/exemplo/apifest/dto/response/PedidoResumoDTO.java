@@ -59,4 +59,17 @@ public class PedidoResumoDTO {
      * Quantidade de itens no pedido
      */
     private Integer quantidadeItens;
-}
\ No newline at end of file
+
+    /**
+     * Construtor usado pela projeção JPQL do histórico do cliente
+     * (evita carregar a entidade e mapear via ModelMapper).
+     */
+    public PedidoResumoDTO(Long id, LocalDateTime dataPedido, StatusPedido status,
+                           Double valor, String clienteNome) {
+        this.id = id;
+        this.dataPedido = dataPedido;
+        this.status = status;
+        this.valor = valor != null ? BigDecimal.valueOf(valor) : null;
+        this.clienteNome = clienteNome;
+    }
+}
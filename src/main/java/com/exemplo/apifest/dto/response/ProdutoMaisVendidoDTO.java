@@ -0,0 +1,35 @@
+package com.exemplo.apifest.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de resposta com uma posição do ranking de produtos mais vendidos
+ *
+ * A quantidade é estimada pelo ranking em memória e nunca fica abaixo da
+ * real; a real é de no mínimo quantidade - erroMaximo. Após cada
+ * reconciliação com o banco o erro volta a zero.
+ *
+ * @author DeliveryTech Team
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Produto do ranking de mais vendidos")
+public class ProdutoMaisVendidoDTO {
+
+    @Schema(description = "ID do produto", example = "1")
+    private Long produtoId;
+
+    @Schema(description = "Nome do produto", example = "Pizza Margherita")
+    private String produtoNome;
+
+    @Schema(description = "Quantidade vendida estimada", example = "342")
+    private long quantidade;
+
+    @Schema(description = "Quanto a estimativa pode exceder a quantidade real", example = "0")
+    private long erroMaximo;
+}
@@ -0,0 +1,67 @@
+package com.exemplo.apifest.dto.response;
+
+import com.exemplo.apifest.model.StatusPedido;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de resposta com o resultado da atualização de status de um pedido
+ * dentro de um lote
+ * 
+ * Cada item do lote gera um resultado, na mesma ordem da requisição.
+ * 
+ * @author DeliveryTech Team
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoAtualizacaoStatusDTO {
+
+    /**
+     * Identificador do pedido
+     */
+    private Long pedidoId;
+
+    /**
+     * Status anterior do pedido (nulo se o pedido não existe)
+     */
+    private StatusPedido statusAnterior;
+
+    /**
+     * Status solicitado
+     */
+    private StatusPedido status;
+
+    /**
+     * Resultado da transição
+     */
+    private Resultado resultado;
+
+    /**
+     * Mensagem explicativa quando a transição não foi aplicada
+     */
+    private String mensagem;
+
+    /**
+     * Indica se a transição foi aplicada
+     */
+    public boolean isSucesso() {
+        return resultado == Resultado.ATUALIZADO;
+    }
+
+    /**
+     * Possíveis resultados de uma transição no lote
+     */
+    public enum Resultado {
+        /** Status alterado */
+        ATUALIZADO,
+        /** Pedido não existe */
+        NAO_ENCONTRADO,
+        /** Transição não permitida a partir do status atual */
+        TRANSICAO_INVALIDA,
+        /** Pedido alterado por outra requisição durante o lote */
+        CONFLITO
+    }
+}
@@ -0,0 +1,65 @@
+package com.exemplo.apifest.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de resposta com os tempos de preparo e entrega de um restaurante
+ *
+ * Os percentis consideram apenas a janela recente configurada em
+ * app.preparacao.janela-minutos; quantidade e média consideram todas as
+ * amostras desde o início da aplicação.
+ *
+ * @author DeliveryTech Team
+ * @version 1.0
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Tempos de preparo e entrega de um restaurante")
+public class TemposPreparacaoDTO {
+
+    @Schema(description = "ID do restaurante", example = "1")
+    private Long restauranteId;
+
+    @Schema(description = "Janela dos percentis em minutos", example = "60")
+    private long janelaMinutos;
+
+    @Schema(description = "Estatísticas por etapa do pedido")
+    private List<EtapaDTO> etapas;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Estatísticas de uma etapa do pedido")
+    public static class EtapaDTO {
+
+        @Schema(description = "Etapa medida", example = "PREPARO")
+        private String etapa;
+
+        @Schema(description = "Status em que a etapa começa", example = "PREPARANDO")
+        private String inicio;
+
+        @Schema(description = "Status em que a etapa termina", example = "PRONTO")
+        private String fim;
+
+        @Schema(description = "Quantidade de pedidos medidos", example = "128")
+        private long amostras;
+
+        @Schema(description = "Duração média em minutos", example = "17.5")
+        private double mediaMinutos;
+
+        @Schema(description = "Mediana da duração em minutos (janela recente)", example = "16.0")
+        private double p50Minutos;
+
+        @Schema(description = "Percentil 90 da duração em minutos (janela recente)", example = "24.0")
+        private double p90Minutos;
+
+        @Schema(description = "Percentil 99 da duração em minutos (janela recente)", example = "38.0")
+        private double p99Minutos;
+    }
+}
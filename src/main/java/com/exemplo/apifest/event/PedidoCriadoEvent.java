@@ -0,0 +1,80 @@
+package com.exemplo.apifest.event;
+
+import com.exemplo.apifest.model.StatusPedido;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Evento publicado quando um pedido é criado
+ *
+ * Publicado por PedidoServiceImpl.criarPedido e consumido após o commit
+ * pelos contadores em memória (MetricasVendasService, TemposPreparacaoService,
+ * ProdutosMaisVendidosService), que assim passam a acompanhar o pedido sem
+ * reler o banco.
+ *
+ * @author DeliveryTech Team
+ * @version 1.0
+ */
+public class PedidoCriadoEvent {
+
+    /** Pedido criado */
+    private final Long pedidoId;
+
+    /** Restaurante do pedido */
+    private final Long restauranteId;
+
+    /** Status inicial do pedido */
+    private final StatusPedido status;
+
+    /** Valor total do pedido em reais */
+    private final Double valor;
+
+    /** Data e hora do pedido */
+    private final LocalDateTime dataPedido;
+
+    /** Itens inseridos com o pedido */
+    private final List<ItemVendido> itens;
+
+    public PedidoCriadoEvent(Long pedidoId, Long restauranteId, StatusPedido status,
+                             Double valor, LocalDateTime dataPedido) {
+        this(pedidoId, restauranteId, status, valor, dataPedido, List.of());
+    }
+
+    public PedidoCriadoEvent(Long pedidoId, Long restauranteId, StatusPedido status,
+                             Double valor, LocalDateTime dataPedido, List<ItemVendido> itens) {
+        this.pedidoId = pedidoId;
+        this.restauranteId = restauranteId;
+        this.status = status;
+        this.valor = valor;
+        this.dataPedido = dataPedido;
+        this.itens = List.copyOf(itens);
+    }
+
+    public Long getPedidoId() { return pedidoId; }
+    public Long getRestauranteId() { return restauranteId; }
+    public StatusPedido getStatus() { return status; }
+    public Double getValor() { return valor; }
+    public LocalDateTime getDataPedido() { return dataPedido; }
+    public List<ItemVendido> getItens() { return itens; }
+
+    /**
+     * Produto e quantidade de um item do pedido
+     */
+    public static class ItemVendido {
+
+        private final Long produtoId;
+        private final String produtoNome;
+        private final int quantidade;
+
+        public ItemVendido(Long produtoId, String produtoNome, int quantidade) {
+            this.produtoId = produtoId;
+            this.produtoNome = produtoNome;
+            this.quantidade = quantidade;
+        }
+
+        public Long getProdutoId() { return produtoId; }
+        public String getProdutoNome() { return produtoNome; }
+        public int getQuantidade() { return quantidade; }
+    }
+}
@@ -0,0 +1,65 @@
+package com.exemplo.apifest.event;
+
+import com.exemplo.apifest.model.StatusPedido;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento publicado a cada transição de status de um pedido
+ * 
+ * Publicado por PedidoServiceImpl (atualização individual, em lote e
+ * cancelamento) e entregue aos assinantes do stream SSE após o commit.
+ * Também é o payload JSON dos eventos "status" enviados aos clientes.
+ * 
+ * @author DeliveryTech Team
+ * @version 1.0
+ */
+public class StatusPedidoAlteradoEvent {
+
+    /** Pedido alterado */
+    private final Long pedidoId;
+
+    /** Cliente dono do pedido (nulo quando quem publica não o conhece) */
+    private final Long clienteId;
+
+    /** Status anterior (nulo quando não é conhecido sem reler o pedido) */
+    private final StatusPedido statusAnterior;
+
+    /** Novo status do pedido */
+    private final StatusPedido status;
+
+    /** Momento da transição */
+    private final LocalDateTime dataHora;
+
+    public StatusPedidoAlteradoEvent(Long pedidoId, Long clienteId, StatusPedido statusAnterior, StatusPedido status) {
+        this(pedidoId, clienteId, statusAnterior, status, LocalDateTime.now());
+    }
+
+    /**
+     * @param dataHora Momento da transição, o mesmo gravado no pedido
+     */
+    public StatusPedidoAlteradoEvent(Long pedidoId, Long clienteId, StatusPedido statusAnterior,
+                                     StatusPedido status, LocalDateTime dataHora) {
+        this.pedidoId = pedidoId;
+        this.clienteId = clienteId;
+        this.statusAnterior = statusAnterior;
+        this.status = status;
+        this.dataHora = dataHora;
+    }
+
+    /**
+     * Cópia do evento com o cliente preenchido
+     * 
+     * @param clienteId Cliente dono do pedido
+     * @return Novo evento com o mesmo conteúdo e o clienteId informado
+     */
+    public StatusPedidoAlteradoEvent comClienteId(Long clienteId) {
+        return new StatusPedidoAlteradoEvent(pedidoId, clienteId, statusAnterior, status, dataHora);
+    }
+
+    public Long getPedidoId() { return pedidoId; }
+    public Long getClienteId() { return clienteId; }
+    public StatusPedido getStatusAnterior() { return statusAnterior; }
+    public StatusPedido getStatus() { return status; }
+    public LocalDateTime getDataHora() { return dataHora; }
+}
@@ -1,6 +1,7 @@
 package com.exemplo.apifest.exception;
 
 import com.exemplo.apifest.dto.response.ErrorResponse;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -25,6 +26,7 @@ import java.util.Map;
  * - BusinessException → 400 Bad Request
  * - ValidationException → 422 Unprocessable Entity
  * - ConflictException → 409 Conflict
+ * - OptimisticLockingFailureException → 409 Conflict (@Version)
  * - MethodArgumentNotValidException → 400 Bad Request (Bean Validation)
  * - ConstraintViolationException → 400 Bad Request
  * - Exception (genérica) → 500 Internal Server Error
@@ -122,6 +124,22 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
     }
 
+    /**
+     * Trata falhas de lock otimista (@Version).
+     * 
+     * CENÁRIOS:
+     * - Pedido alterado por outra transação entre a leitura e o save
+     * 
+     * @return 409 Conflict
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(OptimisticLockingFailureException ex, WebRequest request) {
+        String path = extractPath(request);
+        ErrorResponse errorResponse = ErrorResponse.conflict(
+            "O recurso foi alterado por outra requisição. Recarregue e tente novamente.", path);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
     /**
      * Trata exceções de validação Bean Validation (@Valid).
      * 
@@ -0,0 +1,78 @@
+package com.exemplo.apifest.interceptor;
+
+import com.exemplo.apifest.config.ConcorrenciaConfig;
+import com.exemplo.apifest.ratelimit.LimitadorConcorrencia;
+import com.exemplo.apifest.ratelimit.TabelaRotas;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Interceptor do limite adaptativo de concorrência
+ * Reserva uma vaga no grupo da rota antes do controller e a devolve com a
+ * latência da requisição; sem vaga, responde 503 com Retry-After na hora
+ */
+@Component
+public class LimiteConcorrenciaInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ATRIBUTO_LIMITADOR = LimiteConcorrenciaInterceptor.class.getName() + ".limitador";
+    private static final String ATRIBUTO_INICIO = LimiteConcorrenciaInterceptor.class.getName() + ".inicio";
+
+    @Autowired
+    private ConcorrenciaConfig concorrenciaConfig;
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) throws Exception {
+        // O despacho de volta de uma requisição assíncrona já foi contado
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+
+        LimitadorConcorrencia limitador = concorrenciaConfig.resolverLimitador(request.getMethod(), TabelaRotas.caminho(request));
+        if (limitador == null) {
+            return true;
+        }
+
+        if (limitador.tentarAdquirir()) {
+            request.setAttribute(ATRIBUTO_LIMITADOR, limitador);
+            request.setAttribute(ATRIBUTO_INICIO, System.nanoTime());
+            return true;
+        }
+
+        // Servidor sobrecarregado: rejeita já, sem ocupar conexão do pool
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.addHeader(HttpHeaders.RETRY_AFTER, String.valueOf(concorrenciaConfig.retryAfterSegundos()));
+        response.getWriter().write("Service overloaded - Try again later");
+        return false;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, @Nullable Exception ex) {
+        LimitadorConcorrencia limitador = (LimitadorConcorrencia) request.getAttribute(ATRIBUTO_LIMITADOR);
+        if (limitador == null) {
+            return;
+        }
+        request.removeAttribute(ATRIBUTO_LIMITADOR);
+        long latencia = System.nanoTime() - (Long) request.getAttribute(ATRIBUTO_INICIO);
+        limitador.liberar(latencia, ex != null || response.getStatus() >= 500);
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                               @NonNull Object handler) {
+        // Streams (SSE) não seguram conexão do banco: libera a vaga sem amostra
+        LimitadorConcorrencia limitador = (LimitadorConcorrencia) request.getAttribute(ATRIBUTO_LIMITADOR);
+        if (limitador != null) {
+            request.removeAttribute(ATRIBUTO_LIMITADOR);
+            limitador.liberarSemAmostra();
+        }
+    }
+}
@@ -1,19 +1,24 @@
 package com.exemplo.apifest.interceptor;
 
 import com.exemplo.apifest.config.RateLimitingConfig;
-import io.github.bucket4j.Bucket;
+import com.exemplo.apifest.ratelimit.PoliticaRateLimit;
+import com.exemplo.apifest.ratelimit.TabelaRotas;
 import io.github.bucket4j.ConsumptionProbe;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 
 /**
  * Interceptor para Rate Limiting
- * Aplica controle de taxa baseado no IP do cliente
+ * Aplica a política de rate limiting da rota (RateLimitingConfig), com
+ * buckets por usuário autenticado ou por IP do cliente
  */
 @Component
 public class RateLimitInterceptor implements HandlerInterceptor {
@@ -23,21 +28,12 @@ public class RateLimitInterceptor implements HandlerInterceptor {
 
     @Override
     public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) throws Exception {
-        String ipAddress = getClientIpAddress(request);
-        String requestURI = request.getRequestURI();
+        PoliticaRateLimit politica = rateLimitingConfig.resolverPolitica(request.getMethod(), TabelaRotas.caminho(request));
 
-        Bucket bucket;
-        
-        // Aplicar diferentes limites baseados no endpoint
-        if (requestURI.startsWith("/api/auth")) {
-            bucket = rateLimitingConfig.resolveAuthBucket(ipAddress);
-        } else if (requestURI.startsWith("/api/admin")) {
-            bucket = rateLimitingConfig.resolveAdminBucket(ipAddress);
-        } else {
-            bucket = rateLimitingConfig.resolveBucket(ipAddress);
-        }
-
-        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+        String usuario = usuarioAutenticado(politica);
+        ConsumptionProbe probe = usuario != null
+                ? rateLimitingConfig.consumirPorPrincipal(politica, usuario)
+                : rateLimitingConfig.consumirPorIp(politica, getClientIpAddress(request));
         
         if (probe.isConsumed()) {
             // Adicionar headers informativos sobre rate limiting
@@ -55,6 +51,21 @@ public class RateLimitInterceptor implements HandlerInterceptor {
         }
     }
 
+    /**
+     * Usuário do JWT, se a política é por principal e a requisição está
+     * autenticada; null quando o bucket é o do IP do cliente
+     */
+    private String usuarioAutenticado(PoliticaRateLimit politica) {
+        if (politica.isPorPrincipal()) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.isAuthenticated()
+                    && !(authentication instanceof AnonymousAuthenticationToken)) {
+                return authentication.getName();
+            }
+        }
+        return null;
+    }
+
     /**
      * Extrai o endereço IP real do cliente considerando proxies e load balancers
      */
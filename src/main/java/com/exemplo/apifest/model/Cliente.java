@@ -22,7 +22,8 @@ import java.time.LocalDateTime;
 public class Cliente {
     /** Identificador único do cliente (chave primária) */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "clientes_seq")
+    @SequenceGenerator(name = "clientes_seq", sequenceName = "clientes_seq", allocationSize = 50)
     private Long id;
     
     /** Nome completo do cliente */
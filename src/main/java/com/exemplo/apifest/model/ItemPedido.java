@@ -29,7 +29,8 @@ import java.math.BigDecimal;
 public class ItemPedido {
     /** Identificador único do item de pedido (chave primária) */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "itens_pedido_seq")
+    @SequenceGenerator(name = "itens_pedido_seq", sequenceName = "itens_pedido_seq", allocationSize = 50)
     private Long id;
 
     /** Pedido ao qual este item pertence - ROTEIRO 3 */
@@ -119,6 +120,16 @@ public class ItemPedido {
     public void setObservacoes(String observacoes) { this.observacoes = observacoes; }
 
     // Business methods
+
+    /**
+     * Define quantidade e preços já calculados pela precificação do pedido
+     * (PrecificacaoPedidoService), sem recalcular o total em BigDecimal
+     */
+    public void precificar(Integer quantidade, BigDecimal precoUnitario, BigDecimal precoTotal) {
+        this.quantidade = quantidade;
+        this.precoUnitario = precoUnitario;
+        this.precoTotal = precoTotal;
+    }
     
     /**
      * Calcula automaticamente o preço total do item
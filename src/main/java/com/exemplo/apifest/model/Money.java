@@ -0,0 +1,132 @@
+package com.exemplo.apifest.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * ===============================================================================
+ * VALOR MONETÁRIO EM CENTAVOS (PONTO FIXO)
+ * ===============================================================================
+ *
+ * Valor em reais guardado como long de centavos. Soma e multiplicação por
+ * quantidade são exatas e feitas em long; estouro lança ArithmeticException
+ * em vez de perder o valor.
+ *
+ * CONVERSÕES:
+ * - BigDecimal → Money: arredonda para 2 casas (HALF_UP, como a coluna numeric)
+ * - Money → BigDecimal: escala 2, sem arredondamento
+ * - Money → Double: o double mais próximo do valor exato (Pedido.valor)
+ *
+ * JSON: número decimal com 2 casas (ex.: 12.50). As entidades seguem com
+ * BigDecimal; Money é usado nos cálculos da precificação.
+ *
+ * Em laços de precificação, use as operações estáticas centavosDe/multiplicar
+ * sobre long e crie o Money apenas no resultado. A conversão de um BigDecimal
+ * (centavosDe) ainda aloca; o ganho está em não encadear multiply/add em
+ * BigDecimal por item.
+ *
+ * @author DeliveryTech Development Team
+ * @version 1.0
+ * ===============================================================================
+ */
+public final class Money implements Comparable<Money>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Casas decimais do real */
+    private static final int ESCALA = 2;
+
+    public static final Money ZERO = new Money(0);
+
+    private final long centavos;
+
+    private Money(long centavos) {
+        this.centavos = centavos;
+    }
+
+    // ========== CRIAÇÃO ==========
+
+    public static Money ofCentavos(long centavos) {
+        return centavos == 0 ? ZERO : new Money(centavos);
+    }
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static Money of(BigDecimal valor) {
+        return ofCentavos(centavosDe(valor));
+    }
+
+    public static Money of(String valor) {
+        return of(new BigDecimal(valor));
+    }
+
+    // ========== OPERAÇÕES SOBRE CENTAVOS ==========
+
+    /**
+     * Centavos de um valor em reais, arredondado para 2 casas.
+     *
+     * @param valor Valor em reais
+     * @return Valor em centavos
+     * @throws ArithmeticException se o valor não couber em long
+     */
+    public static long centavosDe(BigDecimal valor) {
+        return valor.setScale(ESCALA, RoundingMode.HALF_UP).movePointRight(ESCALA).longValueExact();
+    }
+
+    /**
+     * Valor de uma quantidade de itens a um preço unitário.
+     *
+     * @throws ArithmeticException em caso de estouro
+     */
+    public static long multiplicar(long centavos, int quantidade) {
+        return Math.multiplyExact(centavos, (long) quantidade);
+    }
+
+    // ========== ARITMÉTICA ==========
+
+    public Money plus(Money outro) {
+        return ofCentavos(Math.addExact(centavos, outro.centavos));
+    }
+
+    public Money times(int quantidade) {
+        return ofCentavos(multiplicar(centavos, quantidade));
+    }
+
+    // ========== CONVERSÕES ==========
+
+    public long getCentavos() {
+        return centavos;
+    }
+
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(centavos, ESCALA);
+    }
+
+    public double toDouble() {
+        return centavos / 100.0;
+    }
+
+    @Override
+    public int compareTo(Money outro) {
+        return Long.compare(centavos, outro.centavos);
+    }
+
+    @Override
+    public boolean equals(Object outro) {
+        return this == outro || (outro instanceof Money money && money.centavos == centavos);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(centavos);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
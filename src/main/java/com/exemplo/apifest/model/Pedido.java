@@ -27,11 +27,15 @@ import java.util.List;
  * @since Roteiro 3 - Implementação da Camada de Dados
  */
 @Entity
-@Table(name = "pedidos")
+@Table(name = "pedidos", indexes = {
+    // Histórico do cliente paginado por cursor (dataPedido, id) - ver PedidoRepository
+    @Index(name = "idx_pedidos_cliente_data_id", columnList = "cliente_id, data_pedido DESC, id DESC")
+})
 public class Pedido {
     /** Identificador único do pedido (chave primária) */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pedidos_seq")
+    @SequenceGenerator(name = "pedidos_seq", sequenceName = "pedidos_seq", allocationSize = 50)
     private Long id;
     
     /** Descrição geral do pedido */
@@ -59,6 +63,23 @@ public class Pedido {
     /** Flag indicando se o pedido está ativo no sistema */
     private Boolean ativo;
 
+    /** Momento em que o pedido foi confirmado */
+    private LocalDateTime dataConfirmacao;
+
+    /** Momento em que a cozinha iniciou o preparo */
+    private LocalDateTime dataInicioPreparo;
+
+    /** Momento em que o pedido ficou pronto */
+    private LocalDateTime dataPronto;
+
+    /** Momento em que o pedido foi entregue */
+    private LocalDateTime dataEntrega;
+
+    /** Versão para controle de concorrência otimista (incrementada a cada transição de status) */
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
     // Constructors
     
     /**
@@ -105,6 +126,21 @@ public class Pedido {
     public Boolean getAtivo() { return ativo; }
     public void setAtivo(Boolean ativo) { this.ativo = ativo; }
 
+    public LocalDateTime getDataConfirmacao() { return dataConfirmacao; }
+    public void setDataConfirmacao(LocalDateTime dataConfirmacao) { this.dataConfirmacao = dataConfirmacao; }
+
+    public LocalDateTime getDataInicioPreparo() { return dataInicioPreparo; }
+    public void setDataInicioPreparo(LocalDateTime dataInicioPreparo) { this.dataInicioPreparo = dataInicioPreparo; }
+
+    public LocalDateTime getDataPronto() { return dataPronto; }
+    public void setDataPronto(LocalDateTime dataPronto) { this.dataPronto = dataPronto; }
+
+    public LocalDateTime getDataEntrega() { return dataEntrega; }
+    public void setDataEntrega(LocalDateTime dataEntrega) { this.dataEntrega = dataEntrega; }
+
+    public Long getVersao() { return versao; }
+    public void setVersao(Long versao) { this.versao = versao; }
+
     public List<ItemPedido> getItens() { return itens; }
     public void setItens(List<ItemPedido> itens) { this.itens = itens; }
 
@@ -29,7 +29,8 @@ import java.math.BigDecimal;
 public class Produto {
     /** Identificador único do produto (chave primária) */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "produtos_seq")
+    @SequenceGenerator(name = "produtos_seq", sequenceName = "produtos_seq", allocationSize = 50)
     private Long id;
     
     /** Nome do produto */
@@ -28,7 +28,8 @@ import java.time.LocalTime;
 public class Restaurante {
     /** Identificador único do restaurante (chave primária) */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "restaurantes_seq")
+    @SequenceGenerator(name = "restaurantes_seq", sequenceName = "restaurantes_seq", allocationSize = 50)
     private Long id;
     
     /** Nome do restaurante */
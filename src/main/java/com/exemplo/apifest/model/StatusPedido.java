@@ -1,5 +1,11 @@
 package com.exemplo.apifest.model;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * ROTEIRO 3 - ENUM STATUS PEDIDO
  * 
@@ -35,6 +41,21 @@ public enum StatusPedido {
 
     private final String descricao;
 
+    /** Predecessores permitidos de cada status, derivados de podeTransicionarPara */
+    private static final Map<StatusPedido, Set<StatusPedido>> PREDECESSORES = new EnumMap<>(StatusPedido.class);
+
+    static {
+        for (StatusPedido destino : values()) {
+            EnumSet<StatusPedido> origens = EnumSet.noneOf(StatusPedido.class);
+            for (StatusPedido origem : values()) {
+                if (origem.podeTransicionarPara(destino)) {
+                    origens.add(origem);
+                }
+            }
+            PREDECESSORES.put(destino, Collections.unmodifiableSet(origens));
+        }
+    }
+
     /**
      * Construtor do enum com a descrição legível do status
      * 
@@ -53,6 +74,35 @@ public enum StatusPedido {
         return descricao;
     }
 
+    /**
+     * Regras de transição do fluxo do pedido.
+     * ENTREGUE e CANCELADO são estados finais.
+     *
+     * @param novoStatus Status de destino
+     * @return true se a transição deste status para novoStatus é permitida
+     */
+    public boolean podeTransicionarPara(StatusPedido novoStatus) {
+        return switch (this) {
+            case PENDENTE -> novoStatus == CONFIRMADO || novoStatus == CANCELADO;
+            case CONFIRMADO -> novoStatus == PREPARANDO || novoStatus == CANCELADO;
+            case PREPARANDO -> novoStatus == PRONTO || novoStatus == CANCELADO;
+            case PRONTO -> novoStatus == SAIU_PARA_ENTREGA;
+            case SAIU_PARA_ENTREGA -> novoStatus == ENTREGUE;
+            case ENTREGUE, CANCELADO -> false; // Estados finais
+        };
+    }
+
+    /**
+     * Status a partir dos quais é permitido chegar em novoStatus.
+     * Usado no UPDATE condicional (compare-and-set) de status.
+     *
+     * @param novoStatus Status de destino
+     * @return Conjunto imutável de status de origem permitidos (vazio para PENDENTE)
+     */
+    public static Set<StatusPedido> predecessoresDe(StatusPedido novoStatus) {
+        return PREDECESSORES.get(novoStatus);
+    }
+
     /**
      * Retorna a descrição do status quando convertido para String
      * 
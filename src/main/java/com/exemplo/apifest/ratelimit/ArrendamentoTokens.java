@@ -0,0 +1,69 @@
+package com.exemplo.apifest.ratelimit;
+
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.EstimationProbe;
+import io.github.bucket4j.TimeMeter;
+
+import java.time.Duration;
+
+/**
+ * Bucket de um IP com arrendamento local de tokens.
+ *
+ * Com o bucket compartilhado (Redis), consumir token a token custaria uma ida
+ * à rede por requisição. Aqui o nó retira do bucket compartilhado um lote de
+ * até {@code lote} tokens de uma vez e os gasta localmente; só volta à rede
+ * quando o lote acaba ou vence ({@code validade}).
+ *
+ * Os tokens do lote já saíram do bucket compartilhado, então o cluster nunca
+ * aceita mais que o limite: o erro é só para baixo (tokens arrendados por um
+ * nó e não usados até vencer). Com lote 1 cada consumo vai direto ao bucket.
+ */
+public class ArrendamentoTokens {
+
+    private final Bucket bucket;
+    private final long lote;
+    private final long validadeNanos;
+    private final TimeMeter relogio;
+
+    private long disponiveis;
+    private long venceEm;
+
+    public ArrendamentoTokens(Bucket bucket, long lote, Duration validade, TimeMeter relogio) {
+        this.bucket = bucket;
+        this.lote = Math.max(1, lote);
+        this.validadeNanos = validade.toNanos();
+        this.relogio = relogio;
+    }
+
+    public Bucket getBucket() {
+        return bucket;
+    }
+
+    public long getLote() {
+        return lote;
+    }
+
+    /**
+     * Consome um token, do lote local ou, se ele acabou ou venceu, de um
+     * novo lote retirado do bucket.
+     */
+    public synchronized ConsumptionProbe consumir() {
+        if (lote == 1) {
+            return bucket.tryConsumeAndReturnRemaining(1);
+        }
+
+        long agora = relogio.currentTimeNanos();
+        if (disponiveis == 0 || agora - venceEm >= 0) {
+            disponiveis = bucket.tryConsumeAsMuchAsPossible(lote);
+            venceEm = agora + validadeNanos;
+            if (disponiveis == 0) {
+                EstimationProbe estimativa = bucket.estimateAbilityToConsume(1);
+                return ConsumptionProbe.rejected(estimativa.getRemainingTokens(),
+                        estimativa.getNanosToWaitForRefill(), estimativa.getNanosToWaitForRefill());
+            }
+        }
+        disponiveis--;
+        return ConsumptionProbe.consumed(disponiveis, 0);
+    }
+}
@@ -0,0 +1,78 @@
+package com.exemplo.apifest.ratelimit;
+
+import io.github.bucket4j.TimeMeter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Disjuntor do backend compartilhado de rate limiting (Redis).
+ *
+ * Com o Redis fora, cada consumo esperaria o timeout do comando antes de cair
+ * no bucket local do nó, e dentro do ArrendamentoTokens (sincronizado) as
+ * demais requisições da chave esperariam junto. Depois de uma falha o
+ * disjuntor abre: por {@code pausa} as requisições vão direto ao bucket
+ * local, sem tocar no backend. Vencida a pausa, UMA requisição testa o
+ * backend (as demais seguem no local); sucesso fecha o disjuntor, falha
+ * reabre por mais uma pausa.
+ *
+ * O log sai uma vez por mudança de estado (WARN ao abrir, INFO ao fechar),
+ * não por requisição.
+ */
+public class DisjuntorBackend {
+
+    private static final Logger logger = LoggerFactory.getLogger(DisjuntorBackend.class);
+
+    private final long pausaNanos;
+    private final TimeMeter relogio;
+
+    private final AtomicBoolean aberto = new AtomicBoolean();
+    private final AtomicLong proximaTentativa = new AtomicLong();
+
+    public DisjuntorBackend(Duration pausa, TimeMeter relogio) {
+        this.pausaNanos = pausa.toNanos();
+        this.relogio = relogio;
+    }
+
+    /**
+     * true se a requisição deve usar o backend: disjuntor fechado, ou aberto
+     * com a pausa vencida e nenhuma outra requisição testando o backend.
+     */
+    public boolean permitir() {
+        if (!aberto.get()) {
+            return true;
+        }
+        long agora = relogio.currentTimeNanos();
+        long tentativa = proximaTentativa.get();
+        return agora - tentativa >= 0 && proximaTentativa.compareAndSet(tentativa, agora + pausaNanos);
+    }
+
+    /**
+     * Operação no backend concluída: fecha o disjuntor.
+     */
+    public void sucesso() {
+        if (aberto.get() && aberto.compareAndSet(true, false)) {
+            logger.info("Backend de rate limiting disponível de novo, voltando ao limite compartilhado");
+        }
+    }
+
+    /**
+     * Operação no backend falhou: abre (ou mantém aberto) o disjuntor por mais uma pausa.
+     */
+    public void falha(RuntimeException ex) {
+        proximaTentativa.set(relogio.currentTimeNanos() + pausaNanos);
+        if (aberto.compareAndSet(false, true)) {
+            logger.warn("Backend de rate limiting indisponível, usando o limite local do nó por {} ms: {}",
+                    pausaNanos / 1_000_000, ex.getMessage());
+        } else {
+            logger.debug("Backend de rate limiting segue indisponível: {}", ex.getMessage());
+        }
+    }
+
+    public boolean isAberto() {
+        return aberto.get();
+    }
+}
@@ -0,0 +1,157 @@
+package com.exemplo.apifest.ratelimit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limite adaptativo de requisições simultâneas de um grupo de rotas.
+ *
+ * Em vez de deixar as 200 threads do Tomcat disputarem as conexões do pool,
+ * cada grupo aceita no máximo {@code limite} requisições em andamento e
+ * rejeita as demais na hora. O limite segue a latência observada (gradiente,
+ * como o Gradient do concurrency-limits da Netflix):
+ *
+ * - latência atual: média móvel rápida das últimas requisições
+ * - referência: menor latência das duas últimas janelas de amostras, a
+ *   latência "sem fila"; as janelas giram para acompanhar mudanças reais
+ *   (deploy mais lento, outro plano de execução)
+ * - gradiente = tolerancia * referência / atual, entre 0,5 e 1
+ * - novo limite = limite * gradiente + sqrt(limite), suavizado
+ *
+ * Latência estável mantém gradiente 1 e o limite cresce pela folga
+ * sqrt(limite); fila se formando sobe a latência atual e o limite cai até
+ * ela voltar à referência. Erros (5xx, exceções, timeouts do pool) cortam o
+ * limite em 10% (decremento multiplicativo). O limite só cresce quando ao
+ * menos metade dele está em uso: sem demanda não há sinal de capacidade.
+ */
+public class LimitadorConcorrencia {
+
+    private static final double FATOR_ERRO = 0.9;
+    private static final double JANELA_CURTA = 10;
+    private static final int JANELA_REFERENCIA = 600;
+
+    private final String nome;
+    private final List<String> rotas;
+    private final int limiteMinimo;
+    private final int limiteMaximo;
+    private final double tolerancia;
+    private final double suavizacao;
+
+    private final AtomicInteger emAndamento = new AtomicInteger();
+    private final AtomicLong rejeitadas = new AtomicLong();
+
+    private volatile double limite;
+
+    // Protegidas pelo monitor da instância
+    private double latenciaAtual;
+    private double referenciaAnterior = Double.MAX_VALUE;
+    private double referenciaJanela = Double.MAX_VALUE;
+    private int amostrasJanela;
+
+    public LimitadorConcorrencia(String nome, List<String> rotas, int limiteInicial, int limiteMinimo,
+                                 int limiteMaximo, double tolerancia, double suavizacao) {
+        if (limiteMinimo < 1 || limiteMaximo < limiteMinimo) {
+            throw new IllegalStateException("Limites de concorrência inválidos em " + nome);
+        }
+        this.nome = nome;
+        this.rotas = List.copyOf(rotas);
+        this.limiteMinimo = limiteMinimo;
+        this.limiteMaximo = limiteMaximo;
+        this.tolerancia = tolerancia;
+        this.suavizacao = suavizacao;
+        this.limite = Math.max(limiteMinimo, Math.min(limiteMaximo, limiteInicial));
+    }
+
+    /**
+     * Reserva uma vaga, se houver.
+     *
+     * @return false se o grupo já está no limite (a requisição deve ser rejeitada)
+     */
+    public boolean tentarAdquirir() {
+        int atual;
+        do {
+            atual = emAndamento.get();
+            if (atual >= getLimite()) {
+                rejeitadas.incrementAndGet();
+                return false;
+            }
+        } while (!emAndamento.compareAndSet(atual, atual + 1));
+        return true;
+    }
+
+    /**
+     * Devolve a vaga e ajusta o limite com a latência da requisição.
+     *
+     * @param latenciaNanos duração da requisição
+     * @param erro          true se a requisição falhou por sobrecarga ou erro do servidor
+     */
+    public void liberar(long latenciaNanos, boolean erro) {
+        int emAndamentoAntes = emAndamento.getAndDecrement();
+        atualizar(latenciaNanos, emAndamentoAntes, erro);
+    }
+
+    /**
+     * Devolve a vaga sem amostra de latência (ex.: requisição que virou assíncrona).
+     */
+    public void liberarSemAmostra() {
+        emAndamento.decrementAndGet();
+    }
+
+    private synchronized void atualizar(long latenciaNanos, int emAndamentoAntes, boolean erro) {
+        double atual = limite;
+        if (erro) {
+            limite = Math.max(limiteMinimo, atual * FATOR_ERRO);
+            return;
+        }
+
+        double amostra = Math.max(1, latenciaNanos);
+        latenciaAtual = latenciaAtual == 0 ? amostra : latenciaAtual + (amostra - latenciaAtual) / JANELA_CURTA;
+        referenciaJanela = Math.min(referenciaJanela, amostra);
+        if (++amostrasJanela >= JANELA_REFERENCIA) {
+            referenciaAnterior = referenciaJanela;
+            referenciaJanela = Double.MAX_VALUE;
+            amostrasJanela = 0;
+        }
+        if (emAndamentoAntes * 2 < atual) {
+            return;
+        }
+
+        double referencia = Math.min(referenciaAnterior, referenciaJanela);
+        double gradiente = Math.max(0.5, Math.min(1.0, tolerancia * referencia / latenciaAtual));
+        double novo = atual * gradiente + Math.sqrt(atual);
+        novo = atual * (1 - suavizacao) + novo * suavizacao;
+        limite = Math.max(limiteMinimo, Math.min(limiteMaximo, novo));
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public List<String> getRotas() {
+        return rotas;
+    }
+
+    /**
+     * Requisições simultâneas aceitas hoje.
+     */
+    public int getLimite() {
+        return (int) limite;
+    }
+
+    public int getEmAndamento() {
+        return emAndamento.get();
+    }
+
+    /**
+     * Requisições rejeitadas por excesso desde a subida.
+     */
+    public long getRejeitadas() {
+        return rejeitadas.get();
+    }
+
+    @Override
+    public String toString() {
+        return nome;
+    }
+}
@@ -0,0 +1,97 @@
+package com.exemplo.apifest.ratelimit;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConfigurationBuilder;
+import io.github.bucket4j.local.LocalBucketBuilder;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Política de rate limiting já validada (app.rate-limit.politicas.<nome>).
+ *
+ * Reúne as rotas que a política cobre, se os buckets são por usuário
+ * autenticado ou por IP e os limites simultâneos (ex.: 30/min e 5/10s): uma
+ * requisição só passa se houver token em todos eles.
+ */
+public final class PoliticaRateLimit {
+
+    private final String nome;
+    private final List<String> rotas;
+    private final boolean porPrincipal;
+    private final List<Bandwidth> limites;
+    private final long menorCapacidade;
+    private final Duration maiorPeriodo;
+
+    public PoliticaRateLimit(String nome, List<String> rotas, boolean porPrincipal, List<Bandwidth> limites) {
+        if (limites.isEmpty()) {
+            throw new IllegalStateException("Política de rate limiting sem limites: " + nome);
+        }
+        this.nome = nome;
+        this.rotas = List.copyOf(rotas);
+        this.porPrincipal = porPrincipal;
+        this.limites = List.copyOf(limites);
+        this.menorCapacidade = limites.stream().mapToLong(Bandwidth::getCapacity).min().getAsLong();
+        this.maiorPeriodo = Duration.ofNanos(limites.stream().mapToLong(Bandwidth::getRefillPeriodNanos).max().getAsLong());
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public List<String> getRotas() {
+        return rotas;
+    }
+
+    /**
+     * true se os buckets são por usuário do JWT (IP quando sem autenticação);
+     * false se sempre por IP.
+     */
+    public boolean isPorPrincipal() {
+        return porPrincipal;
+    }
+
+    public List<Bandwidth> getLimites() {
+        return limites;
+    }
+
+    /**
+     * Capacidade do limite mais apertado da política.
+     */
+    public long getMenorCapacidade() {
+        return menorCapacidade;
+    }
+
+    /**
+     * Período de recarga do limite mais longo: um bucket ocioso por esse
+     * tempo já estaria cheio.
+     */
+    public Duration getMaiorPeriodo() {
+        return maiorPeriodo;
+    }
+
+    /**
+     * Configuração de bucket com todos os limites da política.
+     */
+    public BucketConfiguration configuracao() {
+        ConfigurationBuilder builder = BucketConfiguration.builder();
+        limites.forEach(builder::addLimit);
+        return builder.build();
+    }
+
+    /**
+     * Bucket em memória com todos os limites da política.
+     */
+    public Bucket novoBucketLocal() {
+        LocalBucketBuilder builder = Bucket.builder();
+        limites.forEach(builder::addLimit);
+        return builder.build();
+    }
+
+    @Override
+    public String toString() {
+        return nome;
+    }
+}
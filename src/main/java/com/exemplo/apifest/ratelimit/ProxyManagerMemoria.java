@@ -0,0 +1,95 @@
+package com.exemplo.apifest.ratelimit;
+
+import io.github.bucket4j.distributed.proxy.ClientSideConfig;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.AbstractCompareAndSwapBasedProxyManager;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.AsyncCompareAndSwapOperation;
+import io.github.bucket4j.distributed.proxy.generic.compare_and_swap.CompareAndSwapOperation;
+import io.github.bucket4j.distributed.remote.RemoteBucketState;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Backend de buckets compartilhados em memória (app.rate-limit.backend=memoria).
+ *
+ * Mesmo modelo do backend Redis (ProxyManager do Bucket4j com compare-and-swap
+ * sobre o estado serializado do bucket), mas num mapa local: vários
+ * RateLimitingConfig sobre a mesma instância se comportam como nós de um
+ * cluster. Com um TimeMeter controlado no ClientSideConfig, os testes de
+ * limite e de arrendamento de tokens ficam determinísticos.
+ *
+ * Conta as operações no estado (leituras e trocas), o equivalente às idas
+ * ao Redis.
+ */
+public class ProxyManagerMemoria extends AbstractCompareAndSwapBasedProxyManager<String> {
+
+    private final ConcurrentMap<String, byte[]> estados = new ConcurrentHashMap<>();
+
+    private final AtomicLong operacoes = new AtomicLong();
+
+    public ProxyManagerMemoria() {
+        this(ClientSideConfig.getDefault());
+    }
+
+    public ProxyManagerMemoria(ClientSideConfig clientSideConfig) {
+        super(clientSideConfig);
+    }
+
+    /**
+     * Operações feitas no estado compartilhado desde a criação.
+     */
+    public long operacoes() {
+        return operacoes.get();
+    }
+
+    @Override
+    protected CompareAndSwapOperation beginCompareAndSwapOperation(String chave) {
+        return new CompareAndSwapOperation() {
+            @Override
+            public Optional<byte[]> getStateData(Optional<Long> timeoutNanos) {
+                operacoes.incrementAndGet();
+                return Optional.ofNullable(estados.get(chave));
+            }
+
+            @Override
+            public boolean compareAndSwap(byte[] original, byte[] novo, RemoteBucketState estado,
+                                          Optional<Long> timeoutNanos) {
+                operacoes.incrementAndGet();
+                boolean[] trocado = {false};
+                estados.compute(chave, (k, atual) -> {
+                    if (Arrays.equals(atual, original)) {
+                        trocado[0] = true;
+                        return novo;
+                    }
+                    return atual;
+                });
+                return trocado[0];
+            }
+        };
+    }
+
+    @Override
+    protected AsyncCompareAndSwapOperation beginAsyncCompareAndSwapOperation(String chave) {
+        throw new UnsupportedOperationException("Backend em memória não tem modo assíncrono");
+    }
+
+    @Override
+    public void removeProxy(String chave) {
+        estados.remove(chave);
+    }
+
+    @Override
+    protected CompletableFuture<Void> removeAsync(String chave) {
+        removeProxy(chave);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public boolean isAsyncModeSupported() {
+        return false;
+    }
+}
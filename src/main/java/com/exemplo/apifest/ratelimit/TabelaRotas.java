@@ -0,0 +1,198 @@
+package com.exemplo.apifest.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Tabela de rotas compilada na subida: associa cada requisição ao valor (ex.:
+ * política de rate limiting, limitador de concorrência) da rota que casa.
+ *
+ * Cada rota é "[MÉTODO] /padrão": segmentos literais, * ou {variavel} para
+ * exatamente um segmento e ** no fim para qualquer resto (inclusive nada).
+ * Sem método, a rota vale para todos.
+ *
+ * As regras ficam ordenadas da mais específica para a mais genérica (mais
+ * segmentos literais, depois mais segmentos, sem ** antes de com **, com
+ * método antes de sem método, e por fim a ordem de declaração) e separadas
+ * em um array por método HTTP. resolver() percorre o array do método
+ * comparando a URI segmento a segmento com regionMatches, sem split, regex
+ * nem objetos novos: roda em toda requisição da API.
+ *
+ * A URI comparada é a de caminho(): o caminho dentro da aplicação, sem o
+ * context path, decodificado e sem ";parâmetros", o mesmo que o Spring MVC
+ * usa para achar o controller. Com a getRequestURI() crua, /api/%70edidos
+ * ou /api/pedidos;x=1 escapariam da política de /api/pedidos.
+ */
+public final class TabelaRotas<T> {
+
+    private static final Set<String> METODOS_PADRAO =
+            Set.of("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS", "TRACE");
+
+    private final Map<String, Regra<T>[]> regrasPorMetodo = new HashMap<>();
+    private final Regra<T>[] regrasSemMetodo;
+    private final T padrao;
+
+    /**
+     * @param valores valores da tabela
+     * @param rotas   rotas de cada valor
+     * @param padrao  valor das requisições que não casam com nenhuma rota (pode ser null)
+     */
+    public TabelaRotas(Collection<T> valores, Function<T, List<String>> rotas, T padrao) {
+        this.padrao = padrao;
+
+        List<Regra<T>> regras = new ArrayList<>();
+        for (T valor : valores) {
+            for (String rota : rotas.apply(valor)) {
+                regras.add(Regra.compilar(rota, valor, regras.size()));
+            }
+        }
+        regras.sort(Regra.ESPECIFICIDADE);
+
+        regrasSemMetodo = filtrar(regras, null);
+        Set<String> metodos = new TreeSet<>(METODOS_PADRAO);
+        regras.stream().filter(regra -> regra.metodo != null).forEach(regra -> metodos.add(regra.metodo));
+        for (String metodo : metodos) {
+            regrasPorMetodo.put(metodo, filtrar(regras, metodo));
+        }
+    }
+
+    /**
+     * Valor da requisição: o da regra mais específica que casa, ou o padrão.
+     *
+     * @param metodo método HTTP (ex.: POST)
+     * @param uri    caminho da requisição, sem query string
+     */
+    public T resolver(String metodo, String uri) {
+        Regra<T>[] regras = regrasPorMetodo.get(metodo);
+        if (regras == null) {
+            regras = regrasSemMetodo;
+        }
+        for (Regra<T> regra : regras) {
+            if (regra.casa(uri)) {
+                return regra.valor;
+            }
+        }
+        return padrao;
+    }
+
+    /**
+     * Caminho da requisição no formato que resolver() espera: sem context
+     * path, decodificado e sem ";parâmetros".
+     */
+    public static String caminho(HttpServletRequest request) {
+        return UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+    }
+
+    public T getPadrao() {
+        return padrao;
+    }
+
+    /**
+     * Regras sem método mais as do método informado, na ordem de especificidade.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Regra<T>[] filtrar(List<Regra<T>> regras, String metodo) {
+        return regras.stream()
+                .filter(regra -> regra.metodo == null || regra.metodo.equals(metodo))
+                .toArray(Regra[]::new);
+    }
+
+    /**
+     * Rota compilada: segmentos literais (null = um segmento qualquer) e se
+     * termina em **.
+     */
+    private static final class Regra<T> {
+
+        static final Comparator<Regra<?>> ESPECIFICIDADE = Comparator
+                .comparingInt((Regra<?> regra) -> -regra.literais)
+                .thenComparingInt(regra -> -regra.segmentos.length)
+                .thenComparing(regra -> regra.restoQualquer)
+                .thenComparing(regra -> regra.metodo == null)
+                .thenComparingInt(regra -> regra.ordem);
+
+        final String metodo;
+        final String[] segmentos;
+        final boolean restoQualquer;
+        final int literais;
+        final T valor;
+        final int ordem;
+
+        private Regra(String metodo, String[] segmentos, boolean restoQualquer, T valor, int ordem) {
+            this.metodo = metodo;
+            this.segmentos = segmentos;
+            this.restoQualquer = restoQualquer;
+            this.valor = valor;
+            this.ordem = ordem;
+            int contagem = 0;
+            for (String segmento : segmentos) {
+                if (segmento != null) {
+                    contagem++;
+                }
+            }
+            this.literais = contagem;
+        }
+
+        static <T> Regra<T> compilar(String rota, T valor, int ordem) {
+            String[] partes = rota.trim().split("\\s+");
+            if (partes.length > 2 || !partes[partes.length - 1].startsWith("/")) {
+                throw new IllegalStateException("Rota inválida em " + valor + ": " + rota);
+            }
+            String metodo = partes.length == 2 ? partes[0].toUpperCase(Locale.ROOT) : null;
+
+            List<String> segmentos = new ArrayList<>();
+            boolean restoQualquer = false;
+            for (String segmento : partes[partes.length - 1].split("/")) {
+                if (segmento.isEmpty()) {
+                    continue;
+                }
+                if (restoQualquer) {
+                    throw new IllegalStateException("** só pode ser o último segmento: " + rota);
+                }
+                if (segmento.equals("**")) {
+                    restoQualquer = true;
+                } else if (segmento.equals("*") || (segmento.startsWith("{") && segmento.endsWith("}"))) {
+                    segmentos.add(null);
+                } else {
+                    segmentos.add(segmento);
+                }
+            }
+            return new Regra<>(metodo, segmentos.toArray(new String[0]), restoQualquer, valor, ordem);
+        }
+
+        boolean casa(String uri) {
+            int tamanho = uri.length();
+            int posicao = 0;
+            for (String segmento : segmentos) {
+                if (posicao >= tamanho || uri.charAt(posicao) != '/') {
+                    return false;
+                }
+                int inicio = posicao + 1;
+                int fim = uri.indexOf('/', inicio);
+                if (fim < 0) {
+                    fim = tamanho;
+                }
+                if (segmento == null) {
+                    if (fim == inicio) {
+                        return false;
+                    }
+                } else if (fim - inicio != segmento.length() || !uri.regionMatches(inicio, segmento, 0, segmento.length())) {
+                    return false;
+                }
+                posicao = fim;
+            }
+            // Sem **, aceita só o fim da URI ou uma barra final
+            return restoQualquer || posicao == tamanho || (posicao == tamanho - 1 && uri.charAt(posicao) == '/');
+        }
+    }
+}
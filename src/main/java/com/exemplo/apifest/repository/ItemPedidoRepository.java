@@ -63,6 +63,18 @@ public interface ItemPedidoRepository extends JpaRepository<ItemPedido, Long> {
            "ORDER BY totalVendido DESC")
     List<Object[]> produtosMaisVendidos();
 
+    /**
+     * Reconciliação do ranking de mais vendidos (ProdutosMaisVendidosService)
+     * Soma exata das quantidades por produto em pedidos não cancelados
+     * 
+     * @return Array de Objects contendo [produto_id, nome_produto, restaurante_id, quantidade_total]
+     */
+    @Query("SELECT ip.produto.id, ip.produto.nome, ip.produto.restaurante.id, SUM(ip.quantidade) " +
+           "FROM ItemPedido ip " +
+           "WHERE ip.pedido.status <> com.exemplo.apifest.model.StatusPedido.CANCELADO " +
+           "GROUP BY ip.produto.id, ip.produto.nome, ip.produto.restaurante.id")
+    List<Object[]> totalizarQuantidadesPorProduto();
+
     /**
      * Relatório: Faturamento total de um restaurante específico
      * Calcula soma dos valores de itens entregues de um restaurante
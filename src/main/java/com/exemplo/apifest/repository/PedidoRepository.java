@@ -1,16 +1,21 @@
 package com.exemplo.apifest.repository;
 
+import com.exemplo.apifest.dto.response.PedidoResumoDTO;
 import com.exemplo.apifest.model.Pedido;
 import com.exemplo.apifest.model.StatusPedido;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * ROTEIRO 3 - REPOSITORY DO PEDIDO
@@ -123,6 +128,153 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
     @Query("SELECT c.nome, COUNT(p) FROM Pedido p JOIN p.cliente c WHERE p.ativo = true GROUP BY c.id, c.nome ORDER BY COUNT(p) DESC")
     List<Object[]> rankingClientesPorNumeroPedidos();
 
+    // ========== TRANSIÇÃO DE STATUS (COMPARE-AND-SET) ==========
+
+    /**
+     * UPDATE condicional de status: só altera se o status atual estiver entre os
+     * predecessores permitidos, incrementando a versão (@Version) do pedido.
+     * Substitui o ciclo findById → validação em Java → save.
+     *
+     * O marco de tempo do novo status (dataConfirmacao, dataInicioPreparo,
+     * dataPronto ou dataEntrega) é gravado no mesmo UPDATE.
+     *
+     * @param id ID do pedido
+     * @param novoStatus Status de destino
+     * @param predecessores Status a partir dos quais a transição é permitida
+     * @param dataHora Momento da transição
+     * @return 1 se a transição foi aplicada, 0 caso contrário
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Pedido p SET p.status = :novoStatus, p.versao = p.versao + 1, "
+         + "p.dataConfirmacao = CASE WHEN :novoStatus = com.exemplo.apifest.model.StatusPedido.CONFIRMADO "
+         + "THEN :dataHora ELSE p.dataConfirmacao END, "
+         + "p.dataInicioPreparo = CASE WHEN :novoStatus = com.exemplo.apifest.model.StatusPedido.PREPARANDO "
+         + "THEN :dataHora ELSE p.dataInicioPreparo END, "
+         + "p.dataPronto = CASE WHEN :novoStatus = com.exemplo.apifest.model.StatusPedido.PRONTO "
+         + "THEN :dataHora ELSE p.dataPronto END, "
+         + "p.dataEntrega = CASE WHEN :novoStatus = com.exemplo.apifest.model.StatusPedido.ENTREGUE "
+         + "THEN :dataHora ELSE p.dataEntrega END "
+         + "WHERE p.id = :id AND p.status IN :predecessores")
+    int atualizarStatusSeAtualEm(@Param("id") Long id,
+                                 @Param("novoStatus") StatusPedido novoStatus,
+                                 @Param("predecessores") Collection<StatusPedido> predecessores,
+                                 @Param("dataHora") LocalDateTime dataHora);
+
+    /**
+     * Lê apenas o status atual do pedido.
+     * Usado para diagnosticar uma transição não aplicada pelo UPDATE condicional.
+     *
+     * @param id ID do pedido
+     * @return Status atual, ou vazio se o pedido não existe
+     */
+    @Query("SELECT p.status FROM Pedido p WHERE p.id = :id")
+    Optional<StatusPedido> findStatusById(@Param("id") Long id);
+
+    /**
+     * Lê apenas o status atual de vários pedidos em uma única consulta.
+     * Usado na atualização de status em lote.
+     *
+     * @param ids IDs dos pedidos
+     * @return Array de Objects contendo [id, status] (IDs inexistentes são ignorados)
+     */
+    @Query("SELECT p.id, p.status FROM Pedido p WHERE p.id IN :ids")
+    List<Object[]> findStatusByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Lê apenas o ID do cliente dono do pedido.
+     * Usado para notificar assinantes do stream de status de um cliente.
+     *
+     * @param id ID do pedido
+     * @return ID do cliente, ou vazio se o pedido não existe
+     */
+    @Query("SELECT p.cliente.id FROM Pedido p WHERE p.id = :id")
+    Optional<Long> findClienteIdById(@Param("id") Long id);
+
+    // ========== HISTÓRICO DO CLIENTE (KEYSET) ==========
+
+    /**
+     * Primeira página do histórico do cliente, mais recentes primeiro.
+     * Projeta direto para o DTO resumido e usa o índice
+     * idx_pedidos_cliente_data_id (cliente_id, data_pedido, id).
+     *
+     * @param clienteId ID do cliente
+     * @param limite Quantidade máxima de linhas
+     * @return Pedidos resumidos ordenados por (dataPedido, id) decrescente
+     */
+    @Query("SELECT new com.exemplo.apifest.dto.response.PedidoResumoDTO("
+         + "p.id, p.dataPedido, p.status, p.valor, c.nome) "
+         + "FROM Pedido p JOIN p.cliente c WHERE c.id = :clienteId "
+         + "ORDER BY p.dataPedido DESC, p.id DESC")
+    List<PedidoResumoDTO> findHistoricoCliente(@Param("clienteId") Long clienteId, Limit limite);
+
+    /**
+     * Página seguinte do histórico do cliente: pedidos estritamente anteriores
+     * à posição (dataPedido, id) do último item já entregue.
+     *
+     * A condição "dataPedido <= :dataPedido" repetida fora do OR permite ao
+     * banco iniciar a varredura do índice direto na posição do cursor, sem
+     * OFFSET: o custo é o mesmo em qualquer profundidade.
+     *
+     * @param clienteId ID do cliente
+     * @param dataPedido Data do último pedido da página anterior
+     * @param id ID do último pedido da página anterior
+     * @param limite Quantidade máxima de linhas
+     * @return Pedidos resumidos ordenados por (dataPedido, id) decrescente
+     */
+    @Query("SELECT new com.exemplo.apifest.dto.response.PedidoResumoDTO("
+         + "p.id, p.dataPedido, p.status, p.valor, c.nome) "
+         + "FROM Pedido p JOIN p.cliente c WHERE c.id = :clienteId "
+         + "AND p.dataPedido <= :dataPedido "
+         + "AND (p.dataPedido < :dataPedido OR p.id < :id) "
+         + "ORDER BY p.dataPedido DESC, p.id DESC")
+    List<PedidoResumoDTO> findHistoricoClienteApos(@Param("clienteId") Long clienteId,
+                                                   @Param("dataPedido") LocalDateTime dataPedido,
+                                                   @Param("id") Long id,
+                                                   Limit limite);
+
+    // ========== RECONSTRUÇÃO DOS CONTADORES DE VENDAS ==========
+
+    /**
+     * Quantidade de pedidos por status.
+     *
+     * @return Array de Objects contendo [status, quantidade]
+     */
+    @Query("SELECT p.status, COUNT(p) FROM Pedido p GROUP BY p.status")
+    List<Object[]> contarPorStatus();
+
+    /**
+     * Vendas (pedidos entregues) agrupadas pelo dia do pedido.
+     *
+     * @return Array de Objects contendo [dia, quantidade, valor_total]
+     */
+    @Query("SELECT CAST(p.dataPedido AS LocalDate), COUNT(p), COALESCE(SUM(p.valor), 0) FROM Pedido p "
+         + "WHERE p.status = 'ENTREGUE' GROUP BY CAST(p.dataPedido AS LocalDate)")
+    List<Object[]> totalizarVendasPorDia();
+
+    /**
+     * Vendas (pedidos entregues) agrupadas por restaurante.
+     * O restaurante do pedido é o dos seus produtos (todos do mesmo restaurante).
+     *
+     * @return Array de Objects contendo [restaurante_id, quantidade, valor_total]
+     */
+    @Query("SELECT pr.restaurante.id, COUNT(p), COALESCE(SUM(p.valor), 0) FROM Pedido p, Produto pr "
+         + "WHERE p.status = 'ENTREGUE' "
+         + "AND pr.id = (SELECT MIN(i.produto.id) FROM ItemPedido i WHERE i.pedido = p) "
+         + "GROUP BY pr.restaurante.id")
+    List<Object[]> totalizarVendasPorRestaurante();
+
+    /**
+     * Pedidos ainda não finalizados (nem entregues nem cancelados).
+     *
+     * @return Array de Objects contendo [id, status, valor, data_pedido, restaurante_id,
+     *         data_confirmacao, data_inicio_preparo, data_pronto]
+     */
+    @Query("SELECT p.id, p.status, p.valor, p.dataPedido, "
+         + "(SELECT MIN(i.produto.restaurante.id) FROM ItemPedido i WHERE i.pedido = p), "
+         + "p.dataConfirmacao, p.dataInicioPreparo, p.dataPronto "
+         + "FROM Pedido p WHERE p.status NOT IN ('ENTREGUE', 'CANCELADO')")
+    List<Object[]> findPedidosEmAndamento();
+
     // ========== MÉTODOS ADICIONAIS PARA TESTES ==========
 
     /**
@@ -143,8 +295,9 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
     BigDecimal calcularTotalVendasPeriodo(@Param("inicio") LocalDateTime inicio, @Param("fim") LocalDateTime fim);
 
     /**
-     * Calcula tempo médio de preparação em minutos
+     * Calcula tempo médio de preparação em minutos (início do preparo → pronto)
      */
-    @Query("SELECT AVG(TIMESTAMPDIFF(MINUTE, p.dataPedido, p.dataPedido)) FROM Pedido p WHERE p.status = 'ENTREGUE'")
+    @Query("SELECT AVG(TIMESTAMPDIFF(MINUTE, p.dataInicioPreparo, p.dataPronto)) FROM Pedido p "
+         + "WHERE p.dataInicioPreparo IS NOT NULL AND p.dataPronto IS NOT NULL")
     Double calcularTempoMedioPreparacao();
 }
\ No newline at end of file
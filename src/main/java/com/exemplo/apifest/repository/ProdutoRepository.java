@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -114,6 +115,26 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
      */
     @Query("SELECT p.categoria, COUNT(p) FROM Produto p WHERE p.ativo = true GROUP BY p.categoria")
     List<Object[]> countProdutosPorCategoria();
+
+    /**
+     * Consulta em lote: Produtos por IDs já com o restaurante carregado
+     * Usada na precificação de pedidos para evitar um SELECT por item do carrinho
+     *
+     * @param ids IDs dos produtos do carrinho
+     * @return Lista de produtos encontrados (IDs inexistentes são ignorados)
+     */
+    @Query("SELECT p FROM Produto p JOIN FETCH p.restaurante WHERE p.id IN :ids")
+    List<Produto> findAllComRestauranteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * IDs dos produtos de um restaurante
+     * Usada para invalidar os DTOs de produto cacheados quando o restaurante muda
+     *
+     * @param restauranteId ID do restaurante
+     * @return IDs dos produtos do restaurante
+     */
+    @Query("SELECT p.id FROM Produto p WHERE p.restaurante.id = :restauranteId")
+    List<Long> findIdsByRestauranteId(@Param("restauranteId") Long restauranteId);
     
     // ========== MÉTODOS DE COMPATIBILIDADE PARA TESTES ==========
     
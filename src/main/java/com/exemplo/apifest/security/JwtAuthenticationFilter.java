@@ -1,6 +1,7 @@
 package com.exemplo.apifest.security;
 
 import com.exemplo.apifest.service.CustomUserDetailsService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,8 +25,8 @@ import java.io.IOException;
  * 
  * Este filtro:
  * - Extrai o token JWT do header Authorization
- * - Valida o token usando JwtUtil
- * - Carrega o usuário e seta no SecurityContext
+ * - Valida o token usando JwtUtil (uma verificação por token, ver JwtUtil.verificar)
+ * - Carrega o usuário (uma vez) e seta no SecurityContext
  * - Permite que a requisição continue se o token for válido
  * 
  * @author DeliveryTech Team
@@ -49,8 +50,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                   @NonNull FilterChain filterChain) throws ServletException, IOException {        try {
             String jwt = parseJwt(request);
             
-            if (jwt != null && jwtUtil.validateToken(jwt, getUserDetails(jwt))) {
-                String username = jwtUtil.extractUsername(jwt);
+            if (jwt != null) {
+                // Única verificação de assinatura da requisição (ou nenhuma, se já em cache)
+                Claims claims = jwtUtil.verificar(jwt);
+                String username = claims.getSubject();
                 
                 UserDetails userDetails = userDetailsService.loadUserByUsername(username);
                 
@@ -92,19 +95,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         return null;
     }
 
-    /**
-     * Carrega UserDetails para validação inicial do token
-     */
-    private UserDetails getUserDetails(String jwt) {
-        try {
-            String username = jwtUtil.extractUsername(jwt);
-            return userDetailsService.loadUserByUsername(username);
-        } catch (Exception e) {
-            logger.error("Erro ao carregar UserDetails para token: {}", e.getMessage());
-            return null;
-        }
-    }
-
     /**
      * Pula o filtro para endpoints públicos
      */
@@ -40,6 +40,18 @@ public class JwtProperties {
      */
     private String audience = "api-fest-users";
 
+    /**
+     * Máximo de tokens já verificados mantidos em cache
+     * 0 desliga o cache (toda requisição verifica a assinatura)
+     */
+    private long cacheTokensMaximo = 10_000;
+
+    /**
+     * Tempo máximo em millisegundos de um token verificado no cache
+     * Nunca passa da expiração (exp) do próprio token
+     */
+    private long cacheTokensTtl = 300_000L; // 5 minutos
+
     // Getters e Setters
 
     public String getSecret() {
@@ -74,6 +86,22 @@ public class JwtProperties {
         this.audience = audience;
     }
 
+    public long getCacheTokensMaximo() {
+        return cacheTokensMaximo;
+    }
+
+    public void setCacheTokensMaximo(long cacheTokensMaximo) {
+        this.cacheTokensMaximo = cacheTokensMaximo;
+    }
+
+    public long getCacheTokensTtl() {
+        return cacheTokensTtl;
+    }
+
+    public void setCacheTokensTtl(long cacheTokensTtl) {
+        this.cacheTokensTtl = cacheTokensTtl;
+    }
+
     /**
      * Retorna o tempo de expiração em segundos
      * Útil para configurações que requerem tempo em segundos
@@ -1,16 +1,26 @@
 package com.exemplo.apifest.security;
 
 import com.exemplo.apifest.model.Usuario;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -24,6 +34,14 @@ import java.util.function.Function;
  * - Validar tokens recebidos nas requisições
  * - Extrair informações dos tokens (username, claims, etc.)
  * 
+ * Chave HMAC e parser são montados uma vez, no primeiro uso. verificar() faz a
+ * única verificação de assinatura de um token e devolve os claims; tokens
+ * já verificados ficam num cache limitado (chave = SHA-256 do token, nunca
+ * o token em si) até a sua expiração (exp) ou app.jwt.cache-tokens-ttl, o
+ * que vier antes. Todos os extract* passam por ele: a mesma requisição (ou
+ * o mesmo cliente, requisição após requisição) não reverifica o token.
+ * Métricas do cache: cache.gets/cache.size com cache=jwt.tokens-verificados.
+ * 
  * @author DeliveryTech Team
  * @version 1.0
  * @since Roteiro 7 - Sistema de Autenticação JWT
@@ -33,15 +51,101 @@ public class JwtUtil {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
 
+    public static final String CACHE_TOKENS = "jwt.tokens-verificados";
+
     @Autowired
     private JwtProperties jwtProperties;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private volatile Key chaveAssinatura;
+
+    private volatile JwtParser parser;
+
+    /** Claims dos tokens já verificados, pelo hash do token; null com cache desligado */
+    private Cache<String, Claims> tokensVerificados;
+
+    /**
+     * Monta o cache de tokens verificados
+     */
+    @PostConstruct
+    void inicializar() {
+        if (jwtProperties.getCacheTokensMaximo() > 0) {
+            tokensVerificados = Caffeine.newBuilder()
+                    .maximumSize(jwtProperties.getCacheTokensMaximo())
+                    .expireAfter(new Expiry<String, Claims>() {
+                        @Override
+                        public long expireAfterCreate(String chave, Claims claims, long agora) {
+                            return nanosNoCache(claims);
+                        }
+
+                        @Override
+                        public long expireAfterUpdate(String chave, Claims claims, long agora, long restante) {
+                            return nanosNoCache(claims);
+                        }
+
+                        @Override
+                        public long expireAfterRead(String chave, Claims claims, long agora, long restante) {
+                            return restante;
+                        }
+                    })
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, tokensVerificados, CACHE_TOKENS, "cache.manager", "jwtUtil");
+        }
+    }
+
     /**
-     * Gera a chave de assinatura baseada no secret
+     * Gera a chave de assinatura baseada no secret (uma vez; um secret
+     * inválido falha a cada uso, sem impedir a subida)
      */
     private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtProperties.getSecret());
-        return Keys.hmacShaKeyFor(keyBytes);
+        Key chave = chaveAssinatura;
+        if (chave == null) {
+            byte[] keyBytes = Decoders.BASE64.decode(jwtProperties.getSecret());
+            chave = Keys.hmacShaKeyFor(keyBytes);
+            chaveAssinatura = chave;
+        }
+        return chave;
+    }
+
+    /**
+     * Parser com a chave de assinatura (montado uma vez)
+     */
+    private JwtParser getParser() {
+        JwtParser atual = parser;
+        if (atual == null) {
+            atual = Jwts.parserBuilder().setSigningKey(getSignInKey()).build();
+            parser = atual;
+        }
+        return atual;
+    }
+
+    /**
+     * Verifica assinatura e expiração do token uma única vez e devolve os
+     * claims; se o token já foi verificado e ainda não expirou, devolve os
+     * claims do cache sem nova verificação
+     *
+     * Os claims devolvidos podem ser compartilhados entre requisições: só leitura.
+     *
+     * @param token Token JWT
+     * @return Claims do token
+     * @throws JwtException se o token é inválido, adulterado ou expirado
+     */
+    public Claims verificar(String token) {
+        if (tokensVerificados == null) {
+            return extrairClaimsVerificados(token);
+        }
+
+        String chave = hashToken(token);
+        Claims claims = tokensVerificados.getIfPresent(chave);
+        if (claims != null && !expirado(claims)) {
+            return claims;
+        }
+        claims = extrairClaimsVerificados(token);
+        tokensVerificados.put(chave, claims);
+        return claims;
     }
 
     /**
@@ -143,18 +247,50 @@ public class JwtUtil {
      * Extrai todos os claims do token
      */
     private Claims extractAllClaims(String token) {
+        return verificar(token);
+    }
+
+    /**
+     * Verifica a assinatura e extrai os claims (sem cache)
+     */
+    private Claims extrairClaimsVerificados(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSignInKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return getParser().parseClaimsJws(token).getBody();
         } catch (JwtException e) {
             logger.error("Erro ao extrair claims do token: {}", e.getMessage());
             throw e;
         }
     }
 
+    /**
+     * Tempo de um token verificado no cache: até o exp, no máximo o TTL configurado
+     */
+    private long nanosNoCache(Claims claims) {
+        long ttl = jwtProperties.getCacheTokensTtl();
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            ttl = Math.min(ttl, expiration.getTime() - System.currentTimeMillis());
+        }
+        return Math.max(0, ttl) * 1_000_000L;
+    }
+
+    private static boolean expirado(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.before(new Date());
+    }
+
+    /**
+     * SHA-256 do token: o cache não guarda tokens utilizáveis
+     */
+    private static String hashToken(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
     /**
      * Verifica se o token está expirado
      */
@@ -173,8 +309,8 @@ public class JwtUtil {
      */
     public boolean validateToken(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+            final Claims claims = verificar(token);
+            return (claims.getSubject().equals(userDetails.getUsername()) && !expirado(claims));
         } catch (MalformedJwtException e) {
             logger.error("Token JWT malformado: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -0,0 +1,417 @@
+package com.exemplo.apifest.service;
+
+import com.exemplo.apifest.config.MetricasVendasProperties;
+import com.exemplo.apifest.event.PedidoCriadoEvent;
+import com.exemplo.apifest.event.StatusPedidoAlteradoEvent;
+import com.exemplo.apifest.model.StatusPedido;
+import com.exemplo.apifest.repository.PedidoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * ===============================================================================
+ * CONTADORES DE VENDAS EM MEMÓRIA
+ * ===============================================================================
+ *
+ * Mantém, de forma incremental, os números que o dashboard de operações
+ * consulta continuamente e que antes eram agregados sobre a tabela pedidos a
+ * cada chamada (calcularTotalVendasDia, contarPedidosPorStatus).
+ *
+ * CONTADORES:
+ * - Pedidos por status atual
+ * - Vendas (pedidos entregues) por dia do pedido: quantidade e valor
+ * - Vendas (pedidos entregues) por restaurante: quantidade e valor
+ *
+ * Valores são somados em centavos e todos os contadores são LongAdder
+ * (striped): as atualizações concorrentes de criação e transição de pedidos
+ * não disputam a mesma célula, e a leitura apenas soma as células.
+ *
+ * ALIMENTAÇÃO:
+ * - Reconstruídos a partir do banco no ApplicationReadyEvent e a cada
+ *   app.metricas-vendas.intervalo-reconciliacao (reconciliação exata)
+ * - PedidoCriadoEvent e StatusPedidoAlteradoEvent, após o commit
+ *
+ * Os contadores são locais a cada instância: entre duas reconciliações cada
+ * uma só vê as próprias escritas, e a reconciliação traz as das demais (e as
+ * gravadas por fora do PedidoService, ex: scripts SQL).
+ *
+ * A reconstrução lê o banco em uma única transação REPEATABLE_READ (um
+ * retrato consistente). Os eventos que chegam enquanto ela roda são guardados
+ * e reaplicados aos novos contadores antes da troca, exceto os que o retrato
+ * já inclui: como o status só avança, basta comparar o status do pedido no
+ * retrato com o do evento.
+ *
+ * Para creditar uma venda na entrega sem reler o pedido, os pedidos ainda em
+ * andamento ficam indexados com dia, restaurante e valor; o índice perde a
+ * entrada quando o pedido é entregue ou cancelado, e a reconciliação descarta
+ * os pedidos mais antigos que app.metricas-vendas.expiracao-em-andamento (as
+ * transições deles passam a entrar só pela reconciliação).
+ *
+ * @author DeliveryTech Development Team
+ * @version 1.0
+ * ===============================================================================
+ */
+@Service
+public class MetricasVendasService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricasVendasService.class);
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private MetricasVendasProperties metricasVendasProperties;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /** Trocado por inteiro a cada reconstrução */
+    private volatile Contadores contadores = new Contadores();
+
+    /** Eventos recebidos durante a reconstrução em andamento; nulo fora dela */
+    private volatile Queue<Object> eventosDuranteReconstrucao;
+
+    /**
+     * Eventos aplicam com o lock de leitura (entre si não se bloqueiam); a
+     * reaplicação dos eventos guardados e a troca dos contadores usam o de escrita
+     */
+    private final ReentrantReadWriteLock trocaContadores = new ReentrantReadWriteLock();
+
+    private final Object reconstrucao = new Object();
+
+    // ========== RECONSTRUÇÃO ==========
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciarAplicacao() {
+        reconstruir();
+    }
+
+    @Scheduled(fixedDelayString = "#{@metricasVendasProperties.intervaloReconciliacao.toMillis()}",
+               initialDelayString = "#{@metricasVendasProperties.intervaloReconciliacao.toMillis()}")
+    public void reconciliacaoPeriodica() {
+        reconstruir();
+    }
+
+    /**
+     * Recalcula todos os contadores a partir do banco.
+     * Os novos contadores só substituem os atuais quando estão completos,
+     * com os eventos recebidos durante a leitura já reaplicados.
+     */
+    public void reconstruir() {
+        synchronized (reconstrucao) {
+            long inicio = System.currentTimeMillis();
+            Queue<Object> eventos = new ConcurrentLinkedQueue<>();
+            eventosDuranteReconstrucao = eventos;
+            int reaplicados = 0;
+            Contadores novos;
+            try {
+                TransactionTemplate leitura = new TransactionTemplate(transactionManager);
+                leitura.setReadOnly(true);
+                leitura.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+                Retrato retrato = leitura.execute(tx -> lerRetrato(eventos));
+                novos = retrato.contadores;
+
+                trocaContadores.writeLock().lock();
+                try {
+                    for (Object evento : eventos) {
+                        if (!retrato.jaInclui(evento)) {
+                            aplicar(novos, evento);
+                            reaplicados++;
+                        }
+                    }
+                    contadores = novos;
+                } finally {
+                    trocaContadores.writeLock().unlock();
+                }
+            } finally {
+                eventosDuranteReconstrucao = null;
+            }
+            logger.info("Contadores de vendas reconstruídos em {} ms ({} pedidos em andamento, {} eventos reaplicados)",
+                System.currentTimeMillis() - inicio, novos.emAndamento.size(), reaplicados);
+        }
+    }
+
+    /**
+     * Lê os contadores do banco e o status, no mesmo retrato, dos pedidos
+     * citados pelos eventos recebidos até aqui.
+     */
+    private Retrato lerRetrato(Queue<Object> eventos) {
+        Contadores novos = new Contadores();
+        LocalDateTime limiteEmAndamento = LocalDateTime.now().minus(metricasVendasProperties.getExpiracaoEmAndamento());
+
+        for (Object[] linha : pedidoRepository.contarPorStatus()) {
+            if (linha[0] != null) {
+                novos.porStatus.get((StatusPedido) linha[0]).add(((Number) linha[1]).longValue());
+            }
+        }
+        for (Object[] linha : pedidoRepository.totalizarVendasPorDia()) {
+            novos.vendasPorDia.computeIfAbsent((LocalDate) linha[0], dia -> new Totais())
+                .somar(((Number) linha[1]).longValue(), emCentavos((Number) linha[2]));
+        }
+        for (Object[] linha : pedidoRepository.totalizarVendasPorRestaurante()) {
+            novos.vendasPorRestaurante.computeIfAbsent((Long) linha[0], id -> new Totais())
+                .somar(((Number) linha[1]).longValue(), emCentavos((Number) linha[2]));
+        }
+        for (Object[] linha : pedidoRepository.findPedidosEmAndamento()) {
+            LocalDateTime dataPedido = (LocalDateTime) linha[3];
+            if (dataPedido != null && dataPedido.isBefore(limiteEmAndamento)) {
+                continue;
+            }
+            novos.emAndamento.put((Long) linha[0], new PedidoEmAndamento(
+                (StatusPedido) linha[1], emCentavos((Number) linha[2]), dataPedido, (Long) linha[4]));
+        }
+
+        Set<Long> citados = new HashSet<>();
+        for (Object evento : eventos) {
+            citados.add(pedidoId(evento));
+        }
+        Map<Long, StatusPedido> statusNoRetrato = new HashMap<>();
+        if (!citados.isEmpty()) {
+            for (Object[] linha : pedidoRepository.findStatusByIdIn(citados)) {
+                statusNoRetrato.put((Long) linha[0], (StatusPedido) linha[1]);
+            }
+        }
+        return new Retrato(novos, statusNoRetrato);
+    }
+
+    // ========== ATUALIZAÇÃO INCREMENTAL ==========
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoCriarPedido(PedidoCriadoEvent evento) {
+        receber(evento);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarStatus(StatusPedidoAlteradoEvent evento) {
+        receber(evento);
+    }
+
+    private void receber(Object evento) {
+        trocaContadores.readLock().lock();
+        try {
+            aplicar(contadores, evento);
+            Queue<Object> eventos = eventosDuranteReconstrucao;
+            if (eventos != null) {
+                eventos.add(evento);
+            }
+        } finally {
+            trocaContadores.readLock().unlock();
+        }
+    }
+
+    private static void aplicar(Contadores atuais, Object evento) {
+        if (evento instanceof PedidoCriadoEvent criado) {
+            aplicarCriacao(atuais, criado);
+        } else {
+            aplicarStatus(atuais, (StatusPedidoAlteradoEvent) evento);
+        }
+    }
+
+    private static Long pedidoId(Object evento) {
+        return evento instanceof PedidoCriadoEvent criado
+            ? criado.getPedidoId()
+            : ((StatusPedidoAlteradoEvent) evento).getPedidoId();
+    }
+
+    private static void aplicarCriacao(Contadores atuais, PedidoCriadoEvent evento) {
+        atuais.porStatus.get(evento.getStatus()).increment();
+        atuais.emAndamento.put(evento.getPedidoId(), new PedidoEmAndamento(
+            evento.getStatus(), emCentavos(evento.getValor()),
+            evento.getDataPedido(), evento.getRestauranteId()));
+    }
+
+    private static void aplicarStatus(Contadores atuais, StatusPedidoAlteradoEvent evento) {
+        PedidoEmAndamento pedido = atuais.emAndamento.get(evento.getPedidoId());
+        if (pedido == null) {
+            // Pedido não acompanhado (de outra instância, antigo ou já finalizado)
+            return;
+        }
+
+        StatusPedido novoStatus = evento.getStatus();
+        StatusPedido statusAnterior = pedido.trocarStatus(evento.getStatusAnterior(), novoStatus);
+        atuais.porStatus.get(statusAnterior).decrement();
+        atuais.porStatus.get(novoStatus).increment();
+
+        if (novoStatus == StatusPedido.ENTREGUE) {
+            if (pedido.dia != null) {
+                atuais.vendasPorDia.computeIfAbsent(pedido.dia, dia -> new Totais()).somar(1, pedido.centavos);
+            }
+            if (pedido.restauranteId != null) {
+                atuais.vendasPorRestaurante.computeIfAbsent(pedido.restauranteId, id -> new Totais())
+                    .somar(1, pedido.centavos);
+            }
+        }
+        if (novoStatus == StatusPedido.ENTREGUE || novoStatus == StatusPedido.CANCELADO) {
+            atuais.emAndamento.remove(evento.getPedidoId());
+        }
+    }
+
+    // ========== CONSULTAS ==========
+
+    /**
+     * @param status Status do pedido
+     * @return Quantidade de pedidos atualmente no status
+     */
+    public long contarPedidos(StatusPedido status) {
+        return contadores.porStatus.get(status).sum();
+    }
+
+    /**
+     * @param dia Dia do pedido
+     * @return Valor total dos pedidos do dia já entregues
+     */
+    public BigDecimal totalVendasDia(LocalDate dia) {
+        Totais totais = contadores.vendasPorDia.get(dia);
+        return totais != null ? totais.valor() : BigDecimal.ZERO.setScale(2);
+    }
+
+    /**
+     * @param inicio Primeiro dia do período (inclusive)
+     * @param fim Último dia do período (inclusive)
+     * @return Valor total dos pedidos do período já entregues
+     */
+    public BigDecimal totalVendasPeriodo(LocalDate inicio, LocalDate fim) {
+        long centavos = 0;
+        for (Map.Entry<LocalDate, Totais> entrada : contadores.vendasPorDia.entrySet()) {
+            LocalDate dia = entrada.getKey();
+            if (!dia.isBefore(inicio) && !dia.isAfter(fim)) {
+                centavos += entrada.getValue().centavos.sum();
+            }
+        }
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    /**
+     * @param restauranteId ID do restaurante
+     * @return Valor total dos pedidos entregues do restaurante
+     */
+    public BigDecimal totalVendasRestaurante(Long restauranteId) {
+        Totais totais = contadores.vendasPorRestaurante.get(restauranteId);
+        return totais != null ? totais.valor() : BigDecimal.ZERO.setScale(2);
+    }
+
+    /**
+     * @param restauranteId ID do restaurante
+     * @return Quantidade de pedidos entregues do restaurante
+     */
+    public long quantidadeVendasRestaurante(Long restauranteId) {
+        Totais totais = contadores.vendasPorRestaurante.get(restauranteId);
+        return totais != null ? totais.quantidade.sum() : 0;
+    }
+
+    private static long emCentavos(Number valor) {
+        return valor != null ? Math.round(valor.doubleValue() * 100) : 0;
+    }
+
+    // ========== ESTRUTURAS ==========
+
+    /**
+     * Contadores lidos do banco e o status, no mesmo retrato, dos pedidos
+     * citados pelos eventos recebidos durante a leitura.
+     */
+    private record Retrato(Contadores contadores, Map<Long, StatusPedido> statusNoRetrato) {
+
+        /**
+         * O retrato já inclui o evento se o pedido já estava nele com o status
+         * do evento ou com um posterior (o fluxo segue a ordem do enum, e
+         * ENTREGUE e CANCELADO são finais). Pedido ausente do retrato (ou
+         * citado só depois da leitura) é posterior a ela.
+         */
+        boolean jaInclui(Object evento) {
+            StatusPedido noRetrato = statusNoRetrato.get(pedidoId(evento));
+            if (noRetrato == null) {
+                return false;
+            }
+            if (evento instanceof PedidoCriadoEvent) {
+                return true;
+            }
+            StatusPedido novo = ((StatusPedidoAlteradoEvent) evento).getStatus();
+            return noRetrato == novo
+                || noRetrato == StatusPedido.ENTREGUE
+                || noRetrato == StatusPedido.CANCELADO
+                || (novo != StatusPedido.CANCELADO && noRetrato.ordinal() > novo.ordinal());
+        }
+    }
+
+    private static final class Contadores {
+        private final Map<StatusPedido, LongAdder> porStatus;
+        private final Map<LocalDate, Totais> vendasPorDia = new ConcurrentHashMap<>();
+        private final Map<Long, Totais> vendasPorRestaurante = new ConcurrentHashMap<>();
+        private final Map<Long, PedidoEmAndamento> emAndamento = new ConcurrentHashMap<>();
+
+        private Contadores() {
+            // Todas as chaves criadas aqui: o mapa não muda mais e pode ser lido sem sincronização
+            Map<StatusPedido, LongAdder> mapa = new EnumMap<>(StatusPedido.class);
+            for (StatusPedido status : StatusPedido.values()) {
+                mapa.put(status, new LongAdder());
+            }
+            this.porStatus = Collections.unmodifiableMap(mapa);
+        }
+    }
+
+    private static final class Totais {
+        private final LongAdder quantidade = new LongAdder();
+        private final LongAdder centavos = new LongAdder();
+
+        void somar(long pedidos, long valorCentavos) {
+            quantidade.add(pedidos);
+            centavos.add(valorCentavos);
+        }
+
+        BigDecimal valor() {
+            return BigDecimal.valueOf(centavos.sum(), 2);
+        }
+    }
+
+    /**
+     * Dados de um pedido não finalizado necessários para creditar a venda na entrega.
+     */
+    private static final class PedidoEmAndamento {
+        private final long centavos;
+        private final LocalDate dia;
+        private final Long restauranteId;
+        private StatusPedido status;
+
+        private PedidoEmAndamento(StatusPedido status, long centavos, LocalDateTime dataPedido, Long restauranteId) {
+            this.status = status;
+            this.centavos = centavos;
+            this.dia = dataPedido != null ? dataPedido.toLocalDate() : null;
+            this.restauranteId = restauranteId;
+        }
+
+        /**
+         * Registra o novo status e retorna o anterior. Quando o evento não traz
+         * o status anterior (ex: cancelamento por atualizarStatusPedido, que
+         * aceita vários status de origem), vale o último status registrado.
+         */
+        synchronized StatusPedido trocarStatus(StatusPedido informado, StatusPedido novoStatus) {
+            StatusPedido anterior = informado != null ? informado : status;
+            status = novoStatus;
+            return anterior;
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.exemplo.apifest.service;
 
+import com.exemplo.apifest.dto.AtualizacaoStatusLoteDTO;
 import com.exemplo.apifest.dto.ItemPedidoDTO;
 import com.exemplo.apifest.dto.PedidoDTO;
 import com.exemplo.apifest.dto.response.PedidoResponseDTO;
+import com.exemplo.apifest.dto.response.CursorPagedResponse;
 import com.exemplo.apifest.dto.response.PedidoResumoDTO;
+import com.exemplo.apifest.dto.response.ResultadoAtualizacaoStatusDTO;
 import com.exemplo.apifest.model.StatusPedido;
 import java.math.BigDecimal;
 import java.util.List;
@@ -66,13 +69,20 @@ public interface PedidoService {
     PedidoResponseDTO buscarPedidoPorId(Long id);
 
     /**
-     * Busca histórico de pedidos de um cliente.
+     * Busca histórico de pedidos de um cliente, paginado por cursor.
+     * 
+     * Ordenação: mais recentes primeiro, por (dataPedido, id). Cada página
+     * retorna um token opaco para a próxima; o custo da consulta é o mesmo
+     * em qualquer profundidade do histórico.
      * 
      * @param clienteId ID do cliente
-     * @return List<PedidoResumoDTO> Lista de pedidos do cliente (resumidos)
+     * @param cursor Token da página anterior (nulo para a primeira página)
+     * @param tamanho Quantidade de pedidos por página
+     * @return CursorPagedResponse<PedidoResumoDTO> Página de pedidos do cliente (resumidos)
      * @throws EntityNotFoundException Se cliente não existir
+     * @throws BusinessException Se o cursor for inválido ou o tamanho fora do limite
      */
-    List<PedidoResumoDTO> buscarPedidosPorCliente(Long clienteId);
+    CursorPagedResponse<PedidoResumoDTO> buscarPedidosPorCliente(Long clienteId, String cursor, int tamanho);
 
     /**
      * Atualiza status do pedido com validação de transições permitidas.
@@ -91,12 +101,25 @@ public interface PedidoService {
      * 
      * @param id ID do pedido
      * @param novoStatus Novo status do pedido
-     * @return PedidoResponseDTO Pedido com status atualizado
+     * @return PedidoResponseDTO com ID e novo status (o pedido não é relido)
      * @throws EntityNotFoundException Se pedido não existir
      * @throws BusinessException Se transição não for permitida
+     * @throws ConflictException Se outra atualização concorrente alterou o status
      */
     PedidoResponseDTO atualizarStatusPedido(Long id, StatusPedido novoStatus);
 
+    /**
+     * Atualiza o status de vários pedidos em uma única transação.
+     * 
+     * Aplica as mesmas regras de transição de atualizarStatusPedido, mas um
+     * pedido recusado não interrompe o lote: cada item recebe seu resultado
+     * (ATUALIZADO, NAO_ENCONTRADO, TRANSICAO_INVALIDA ou CONFLITO).
+     * 
+     * @param lote Pares (pedidoId, status) na ordem em que devem ser aplicados
+     * @return Resultados por pedido, na mesma ordem do lote
+     */
+    List<ResultadoAtualizacaoStatusDTO> atualizarStatusEmLote(AtualizacaoStatusLoteDTO lote);
+
     /**
      * Calcula o total de um pedido com precisão decimal.
      * 
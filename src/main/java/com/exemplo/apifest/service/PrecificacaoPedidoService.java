@@ -0,0 +1,181 @@
+package com.exemplo.apifest.service;
+
+import com.exemplo.apifest.dto.ItemPedidoDTO;
+import com.exemplo.apifest.dto.PedidoDTO;
+import com.exemplo.apifest.exception.BusinessException;
+import com.exemplo.apifest.exception.EntityNotFoundException;
+import com.exemplo.apifest.model.Money;
+import com.exemplo.apifest.model.Produto;
+import com.exemplo.apifest.repository.ProdutoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ===============================================================================
+ * ETAPA DE PRECIFICAÇÃO DE PEDIDOS
+ * ===============================================================================
+ *
+ * Carrega todos os produtos referenciados por um carrinho (com seus restaurantes)
+ * em UMA única consulta e valida/precifica os itens em memória.
+ *
+ * Antes, criarPedido e calcularTotalPedido faziam um findById por item (e
+ * criarPedido repetia a busca mais duas vezes), o que transformava carrinhos
+ * grandes em dezenas de statements por pedido.
+ *
+ * Os valores são calculados em centavos (Money): o preço de cada item é
+ * convertido para long uma vez e multiplicações e somas são exatas em long.
+ * Os produtos e itens seguem com BigDecimal, então a conversão na entrada e
+ * o valor do item gravado (ItemPedido) ainda criam um BigDecimal por item.
+ *
+ * REGRAS VALIDADAS (na ordem dos itens do carrinho):
+ * - Produto existe
+ * - Produto está disponível
+ * - Produto pertence ao restaurante do pedido (quando informado)
+ *
+ * @author DeliveryTech Development Team
+ * @version 1.0
+ * ===============================================================================
+ */
+@Service
+@Transactional(readOnly = true)
+public class PrecificacaoPedidoService {
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    /**
+     * Precifica os itens de um novo pedido, validando que todos pertencem ao restaurante.
+     *
+     * @param restauranteId Restaurante do pedido
+     * @param itens Itens do carrinho
+     * @return Carrinho precificado com produtos já carregados
+     */
+    public CarrinhoPrecificado precificarPedido(Long restauranteId, List<PedidoDTO.ItemPedidoDTO> itens) {
+        List<Long> produtoIds = new ArrayList<>(itens.size());
+        List<Integer> quantidades = new ArrayList<>(itens.size());
+        for (PedidoDTO.ItemPedidoDTO item : itens) {
+            produtoIds.add(item.getProdutoId());
+            quantidades.add(item.getQuantidade());
+        }
+        return precificar(restauranteId, produtoIds, quantidades);
+    }
+
+    /**
+     * Precifica uma lista avulsa de itens (cálculo de total sem persistir).
+     *
+     * @param itens Itens a serem precificados
+     * @return Carrinho precificado com produtos já carregados
+     */
+    public CarrinhoPrecificado precificarItens(List<ItemPedidoDTO> itens) {
+        List<Long> produtoIds = new ArrayList<>(itens.size());
+        List<Integer> quantidades = new ArrayList<>(itens.size());
+        for (ItemPedidoDTO item : itens) {
+            produtoIds.add(item.getProdutoId());
+            quantidades.add(item.getQuantidade());
+        }
+        return precificar(null, produtoIds, quantidades);
+    }
+
+    private CarrinhoPrecificado precificar(Long restauranteId, List<Long> produtoIds, List<Integer> quantidades) {
+        Map<Long, Produto> produtos = carregarProdutos(produtoIds);
+
+        List<LinhaPrecificada> linhas = new ArrayList<>(produtoIds.size());
+        long subtotalCentavos = 0;
+
+        for (int i = 0; i < produtoIds.size(); i++) {
+            Long produtoId = produtoIds.get(i);
+            Produto produto = produtos.get(produtoId);
+
+            // Verificar se produto existe
+            if (produto == null) {
+                throw new EntityNotFoundException(
+                    String.format("Produto não encontrado com ID: %d", produtoId)
+                );
+            }
+
+            // Verificar se produto está disponível
+            if (!produto.getDisponivel()) {
+                throw new BusinessException(
+                    String.format("Produto '%s' não está disponível", produto.getNome())
+                );
+            }
+
+            // Verificar se produto pertence ao restaurante do pedido
+            if (restauranteId != null && !produto.getRestaurante().getId().equals(restauranteId)) {
+                throw new BusinessException(
+                    String.format("Produto '%s' não pertence ao restaurante selecionado", produto.getNome())
+                );
+            }
+
+            int quantidade = quantidades.get(i);
+            long valorItemCentavos = Money.multiplicar(Money.centavosDe(produto.getPreco()), quantidade);
+            subtotalCentavos = Math.addExact(subtotalCentavos, valorItemCentavos);
+            linhas.add(new LinhaPrecificada(produto, quantidade, Money.ofCentavos(valorItemCentavos)));
+        }
+
+        return new CarrinhoPrecificado(linhas, Money.ofCentavos(subtotalCentavos));
+    }
+
+    /**
+     * Busca todos os produtos distintos do carrinho em uma única consulta.
+     */
+    private Map<Long, Produto> carregarProdutos(List<Long> produtoIds) {
+        Set<Long> idsDistintos = new LinkedHashSet<>(produtoIds);
+        idsDistintos.remove(null);
+        if (idsDistintos.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<Long, Produto> produtos = new HashMap<>(idsDistintos.size() * 2);
+        for (Produto produto : produtoRepository.findAllComRestauranteByIdIn(idsDistintos)) {
+            produtos.put(produto.getId(), produto);
+        }
+        return produtos;
+    }
+
+    // ========== RESULTADO DA PRECIFICAÇÃO ==========
+
+    /**
+     * Item do carrinho já validado, com o produto carregado e o valor calculado.
+     */
+    public static class LinhaPrecificada {
+        private final Produto produto;
+        private final int quantidade;
+        private final Money precoTotal;
+
+        public LinhaPrecificada(Produto produto, int quantidade, Money precoTotal) {
+            this.produto = produto;
+            this.quantidade = quantidade;
+            this.precoTotal = precoTotal;
+        }
+
+        public Produto getProduto() { return produto; }
+        public int getQuantidade() { return quantidade; }
+        public Money getPrecoTotal() { return precoTotal; }
+    }
+
+    /**
+     * Carrinho validado e precificado (itens na ordem original + subtotal).
+     */
+    public static class CarrinhoPrecificado {
+        private final List<LinhaPrecificada> linhas;
+        private final Money subtotal;
+
+        public CarrinhoPrecificado(List<LinhaPrecificada> linhas, Money subtotal) {
+            this.linhas = linhas;
+            this.subtotal = subtotal;
+        }
+
+        public List<LinhaPrecificada> getLinhas() { return linhas; }
+        public Money getSubtotal() { return subtotal; }
+    }
+}
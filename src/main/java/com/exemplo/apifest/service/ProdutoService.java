@@ -51,6 +51,16 @@ public interface ProdutoService {
      */
     List<ProdutoResponseDTO> buscarProdutosPorRestaurante(Long restauranteId);
 
+    /**
+     * Lê do banco os produtos disponíveis do restaurante, sem passar pelo cache.
+     * Carregador das recargas em segundo plano do cache de cardápios.
+     *
+     * @param restauranteId ID do restaurante
+     * @return List<ProdutoResponseDTO> Lista de produtos disponíveis do restaurante
+     * @throws EntityNotFoundException Se restaurante não existir
+     */
+    List<ProdutoResponseDTO> carregarProdutosPorRestaurante(Long restauranteId);
+
     /**
      * Busca um produto por ID com validação de disponibilidade.
      * 
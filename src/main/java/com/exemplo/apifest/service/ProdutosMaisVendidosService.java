@@ -0,0 +1,259 @@
+package com.exemplo.apifest.service;
+
+import com.exemplo.apifest.config.MaisVendidosProperties;
+import com.exemplo.apifest.dto.response.ProdutoMaisVendidoDTO;
+import com.exemplo.apifest.event.PedidoCriadoEvent;
+import com.exemplo.apifest.exception.BusinessException;
+import com.exemplo.apifest.repository.ItemPedidoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ===============================================================================
+ * RANKING DE PRODUTOS MAIS VENDIDOS EM MEMÓRIA
+ * ===============================================================================
+ *
+ * Mantém o top-K de produtos mais vendidos (geral e por restaurante) sem
+ * agrupar a tabela itens_pedido a cada consulta.
+ *
+ * ALGORITMO (Space-Saving):
+ * - Cada ranking monitora no máximo N produtos (app.mais-vendidos.capacidade-*)
+ * - Produto monitorado: soma a quantidade vendida
+ * - Produto novo com o ranking cheio: substitui o de menor contagem e herda
+ *   essa contagem como erro máximo, de modo que a estimativa nunca fica
+ *   abaixo da quantidade real
+ * - Qualquer produto com vendas acima de total/N está garantidamente no ranking
+ *
+ * ALIMENTAÇÃO:
+ * - Incremental: itens de cada PedidoCriadoEvent, após o commit
+ * - Reconciliação: soma exata por produto no banco (pedidos não cancelados) na
+ *   inicialização e a cada app.mais-vendidos.intervalo-reconciliacao, que
+ *   zera o erro acumulado e descarta itens de pedidos cancelados
+ *
+ * @author DeliveryTech Development Team
+ * @version 1.0
+ * ===============================================================================
+ */
+@Service
+public class ProdutosMaisVendidosService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProdutosMaisVendidosService.class);
+
+    @Autowired
+    private ItemPedidoRepository itemPedidoRepository;
+
+    @Autowired
+    private MaisVendidosProperties maisVendidosProperties;
+
+    /** Rankings em uso; trocados por inteiro a cada reconciliação */
+    private volatile Rankings rankings;
+
+    // ========== RECONCILIAÇÃO COM O BANCO ==========
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciarAplicacao() {
+        reconciliar();
+    }
+
+    @Scheduled(fixedDelayString = "#{@maisVendidosProperties.intervaloReconciliacao.toMillis()}",
+               initialDelayString = "#{@maisVendidosProperties.intervaloReconciliacao.toMillis()}")
+    public void reconciliacaoPeriodica() {
+        reconciliar();
+    }
+
+    /**
+     * Recalcula os rankings a partir das quantidades exatas do banco.
+     *
+     * Itens de pedidos criados durante a consulta podem ficar de fora até a
+     * próxima reconciliação.
+     */
+    public void reconciliar() {
+        Rankings anteriores = rankings;
+        List<Object[]> linhas = itemPedidoRepository.totalizarQuantidadesPorProduto();
+        linhas.sort(Comparator.comparingLong((Object[] linha) -> ((Number) linha[3]).longValue()).reversed());
+
+        Rankings novos = new Rankings(maisVendidosProperties);
+        long desvioMaximo = 0;
+        for (Object[] linha : linhas) {
+            Long produtoId = (Long) linha[0];
+            String produtoNome = (String) linha[1];
+            Long restauranteId = (Long) linha[2];
+            long quantidade = ((Number) linha[3]).longValue();
+
+            novos.global.incluirExato(produtoId, produtoNome, quantidade);
+            if (restauranteId != null) {
+                novos.doRestaurante(restauranteId).incluirExato(produtoId, produtoNome, quantidade);
+            }
+            if (anteriores != null) {
+                desvioMaximo = Math.max(desvioMaximo,
+                    Math.abs(anteriores.global.estimativa(produtoId) - quantidade));
+            }
+        }
+        rankings = novos;
+        logger.info("Ranking de mais vendidos reconciliado: {} produtos com vendas, desvio máximo {}",
+            linhas.size(), desvioMaximo);
+    }
+
+    // ========== ATUALIZAÇÃO INCREMENTAL ==========
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoCriarPedido(PedidoCriadoEvent evento) {
+        Rankings atuais = rankings;
+        if (atuais == null) {
+            return;
+        }
+        for (PedidoCriadoEvent.ItemVendido item : evento.getItens()) {
+            atuais.global.adicionar(item.getProdutoId(), item.getProdutoNome(), item.getQuantidade());
+            if (evento.getRestauranteId() != null) {
+                atuais.doRestaurante(evento.getRestauranteId())
+                    .adicionar(item.getProdutoId(), item.getProdutoNome(), item.getQuantidade());
+            }
+        }
+    }
+
+    // ========== CONSULTAS ==========
+
+    /**
+     * Produtos mais vendidos de todos os restaurantes, sem consultar o banco.
+     *
+     * @param limite Quantidade de posições (1 até a capacidade global)
+     * @return Ranking em ordem decrescente de quantidade
+     */
+    public List<ProdutoMaisVendidoDTO> maisVendidos(int limite) {
+        validarLimite(limite, maisVendidosProperties.getCapacidadeGlobal());
+        Rankings atuais = rankings;
+        return atuais != null ? atuais.global.topo(limite) : List.of();
+    }
+
+    /**
+     * Produtos mais vendidos de um restaurante, sem consultar o banco.
+     *
+     * @param restauranteId ID do restaurante
+     * @param limite Quantidade de posições (1 até a capacidade por restaurante)
+     * @return Ranking em ordem decrescente de quantidade (vazio se não há vendas)
+     */
+    public List<ProdutoMaisVendidoDTO> maisVendidosDoRestaurante(Long restauranteId, int limite) {
+        validarLimite(limite, maisVendidosProperties.getCapacidadeRestaurante());
+        Rankings atuais = rankings;
+        EsbocoSpaceSaving ranking = atuais != null ? atuais.porRestaurante.get(restauranteId) : null;
+        return ranking != null ? ranking.topo(limite) : List.of();
+    }
+
+    private void validarLimite(int limite, int capacidade) {
+        if (limite < 1 || limite > capacidade) {
+            throw new BusinessException(String.format("Limite deve estar entre 1 e %d", capacidade));
+        }
+    }
+
+    /**
+     * Ranking geral e rankings por restaurante de uma mesma reconciliação.
+     */
+    private static final class Rankings {
+        private final int capacidadeRestaurante;
+        private final EsbocoSpaceSaving global;
+        private final Map<Long, EsbocoSpaceSaving> porRestaurante = new ConcurrentHashMap<>();
+
+        private Rankings(MaisVendidosProperties propriedades) {
+            this.capacidadeRestaurante = propriedades.getCapacidadeRestaurante();
+            this.global = new EsbocoSpaceSaving(propriedades.getCapacidadeGlobal());
+        }
+
+        EsbocoSpaceSaving doRestaurante(Long restauranteId) {
+            return porRestaurante.computeIfAbsent(restauranteId, id -> new EsbocoSpaceSaving(capacidadeRestaurante));
+        }
+    }
+
+    /**
+     * Contadores Space-Saving de capacidade fixa, ordenados por contagem.
+     */
+    static final class EsbocoSpaceSaving {
+
+        private static final Comparator<Contador> POR_CONTAGEM = Comparator
+            .comparingLong((Contador contador) -> contador.contagem)
+            .thenComparing(contador -> contador.produtoId);
+
+        private final int capacidade;
+        private final Map<Long, Contador> porProduto = new HashMap<>();
+        private final TreeSet<Contador> ordenados = new TreeSet<>(POR_CONTAGEM);
+
+        EsbocoSpaceSaving(int capacidade) {
+            this.capacidade = capacidade;
+        }
+
+        synchronized void adicionar(Long produtoId, String produtoNome, long quantidade) {
+            Contador contador = porProduto.get(produtoId);
+            if (contador != null) {
+                ordenados.remove(contador);
+                contador.contagem += quantidade;
+                ordenados.add(contador);
+                return;
+            }
+
+            long erro = 0;
+            if (porProduto.size() >= capacidade) {
+                Contador menor = ordenados.pollFirst();
+                porProduto.remove(menor.produtoId);
+                erro = menor.contagem;
+            }
+            contador = new Contador(produtoId, produtoNome, erro + quantidade, erro);
+            porProduto.put(produtoId, contador);
+            ordenados.add(contador);
+        }
+
+        /**
+         * Inclui uma contagem exata; chamado em ordem decrescente, descarta o que não cabe.
+         */
+        synchronized void incluirExato(Long produtoId, String produtoNome, long quantidade) {
+            if (porProduto.size() < capacidade) {
+                Contador contador = new Contador(produtoId, produtoNome, quantidade, 0);
+                porProduto.put(produtoId, contador);
+                ordenados.add(contador);
+            }
+        }
+
+        synchronized long estimativa(Long produtoId) {
+            Contador contador = porProduto.get(produtoId);
+            return contador != null ? contador.contagem : 0;
+        }
+
+        synchronized List<ProdutoMaisVendidoDTO> topo(int limite) {
+            List<ProdutoMaisVendidoDTO> topo = new ArrayList<>(Math.min(limite, ordenados.size()));
+            Iterator<Contador> maiores = ordenados.descendingIterator();
+            while (maiores.hasNext() && topo.size() < limite) {
+                Contador contador = maiores.next();
+                topo.add(new ProdutoMaisVendidoDTO(contador.produtoId, contador.produtoNome,
+                    contador.contagem, contador.erro));
+            }
+            return topo;
+        }
+    }
+
+    private static final class Contador {
+        private final Long produtoId;
+        private final String produtoNome;
+        private long contagem;
+        private final long erro;
+
+        private Contador(Long produtoId, String produtoNome, long contagem, long erro) {
+            this.produtoId = produtoId;
+            this.produtoNome = produtoNome;
+            this.contagem = contagem;
+            this.erro = erro;
+        }
+    }
+}
@@ -0,0 +1,451 @@
+package com.exemplo.apifest.service;
+
+import com.exemplo.apifest.config.SseProperties;
+import com.exemplo.apifest.event.StatusPedidoAlteradoEvent;
+import com.exemplo.apifest.exception.EntityNotFoundException;
+import com.exemplo.apifest.model.StatusPedido;
+import com.exemplo.apifest.repository.ClienteRepository;
+import com.exemplo.apifest.repository.PedidoRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * ===============================================================================
+ * STREAM SSE DE STATUS DE PEDIDOS
+ * ===============================================================================
+ *
+ * Substitui o polling de GET /api/pedidos/{id}: os clientes assinam um pedido
+ * ou todos os pedidos de um cliente e recebem cada transição de status assim
+ * que a transação que a aplicou é confirmada.
+ *
+ * CUSTO POR CONEXÃO:
+ * - Nenhuma thread fica presa a uma conexão ociosa (SseEmitter usa servlet async)
+ * - Cada assinante tem apenas um buffer limitado de eventos pendentes
+ * - A escrita é feita por um pool fixo de app.sse.threads-envio threads com
+ *   fila limitada (app.sse.fila-envio); no máximo uma tarefa de envio por
+ *   assinante fica agendada por vez
+ * - O send() do SseEmitter é bloqueante: um cliente que parou de ler prende a
+ *   thread que escreve para ele até o timeout de escrita do container. As
+ *   threads do pool são, portanto, o número de escritas travadas toleradas
+ *   antes que os envios dos demais esperem na fila
+ *
+ * PROTEÇÕES:
+ * - Heartbeat periódico (comentário SSE) mantém a conexão viva em proxies
+ * - Assinante cujo buffer enche (consumidor lento) é desconectado
+ * - Pool de envio saturado (fila cheia): o heartbeat do assinante é
+ *   descartado (vai no próximo ciclo); um evento leva à desconexão, e o
+ *   EventSource reconecta recebendo o status atual
+ * - O heartbeat percorre os assinantes no ritmo em que a fila esvazia, em vez
+ *   de agendar um envio por conexão de uma vez
+ * - Assinante com uma escrita parada há mais de app.sse.timeout-envio-ms é
+ *   desconectado; a thread presa é liberada pelo timeout de escrita do container
+ * - Conexões expiram após app.sse.timeout-minutos; o EventSource reconecta
+ *
+ * @author DeliveryTech Development Team
+ * @version 1.0
+ * ===============================================================================
+ */
+@Service
+public class StatusPedidoStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatusPedidoStreamService.class);
+
+    /** Nome dos eventos de transição de status no stream */
+    public static final String EVENTO_STATUS = "status";
+
+    /** Marcador de heartbeat na fila de um assinante */
+    private static final Object HEARTBEAT = new Object();
+
+    @Autowired
+    private SseProperties sseProperties;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    private final Map<Long, Set<Assinante>> assinantesPorPedido = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Assinante>> assinantesPorCliente = new ConcurrentHashMap<>();
+    private final AtomicInteger conexoesAtivas = new AtomicInteger();
+    private final AtomicLong desconexoesPorLentidao = new AtomicLong();
+
+    private ThreadPoolExecutor executorEnvio;
+    private ScheduledExecutorService executorHeartbeat;
+
+    @PostConstruct
+    void iniciar() {
+        // Pool e fila limitados: fila cheia é rejeitada (ver Assinante.rejeitado)
+        int threads = sseProperties.getThreadsEnvio();
+        executorEnvio = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(sseProperties.getFilaEnvio()), threadFactory("sse-envio-"));
+        // Duas threads: o heartbeat aguardando a fila não atrasa a verificação de envios travados
+        executorHeartbeat = Executors.newScheduledThreadPool(2, threadFactory("sse-heartbeat-"));
+        long intervalo = sseProperties.getHeartbeatSegundos();
+        executorHeartbeat.scheduleAtFixedRate(this::enviarHeartbeat, intervalo, intervalo, TimeUnit.SECONDS);
+        long verificacao = Math.max(1, sseProperties.getTimeoutEnvioMs() / 2);
+        executorHeartbeat.scheduleAtFixedRate(this::desconectarEnviosTravados, verificacao, verificacao, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executorHeartbeat.shutdownNow();
+        assinantesPorPedido.values().forEach(assinantes -> assinantes.forEach(Assinante::fechar));
+        assinantesPorCliente.values().forEach(assinantes -> assinantes.forEach(Assinante::fechar));
+        executorEnvio.shutdownNow();
+    }
+
+    // ========== ASSINATURAS ==========
+
+    /**
+     * Assina as transições de status de um pedido.
+     * O status atual é enviado imediatamente como primeiro evento, para que o
+     * cliente não perca transições ocorridas antes da assinatura.
+     *
+     * @param pedidoId ID do pedido
+     * @return Emitter SSE da conexão
+     * @throws EntityNotFoundException se o pedido não existe
+     */
+    public SseEmitter assinarPedido(Long pedidoId) {
+        StatusPedido statusAtual = pedidoRepository.findStatusById(pedidoId)
+            .orElseThrow(() -> new EntityNotFoundException(
+                String.format("Pedido não encontrado com ID: %d", pedidoId)
+            ));
+
+        Assinante assinante = registrar(assinantesPorPedido, pedidoId);
+        assinante.enfileirar(new StatusPedidoAlteradoEvent(pedidoId, null, null, statusAtual));
+        return assinante.emitter;
+    }
+
+    /**
+     * Assina as transições de status de todos os pedidos de um cliente.
+     *
+     * @param clienteId ID do cliente
+     * @return Emitter SSE da conexão
+     * @throws EntityNotFoundException se o cliente não existe
+     */
+    public SseEmitter assinarCliente(Long clienteId) {
+        if (!clienteRepository.existsById(clienteId)) {
+            throw new EntityNotFoundException(
+                String.format("Cliente não encontrado com ID: %d", clienteId)
+            );
+        }
+        return registrar(assinantesPorCliente, clienteId).emitter;
+    }
+
+    private Assinante registrar(Map<Long, Set<Assinante>> indice, Long chave) {
+        SseEmitter emitter = novoEmitter(TimeUnit.MINUTES.toMillis(sseProperties.getTimeoutMinutos()));
+        Assinante assinante = new Assinante(emitter, indice, chave, sseProperties.getBufferPorAssinante());
+
+        emitter.onCompletion(assinante::remover);
+        emitter.onTimeout(assinante::fechar);
+        emitter.onError(erro -> assinante.fechar());
+
+        indice.compute(chave, (k, assinantes) -> {
+            Set<Assinante> conjunto = assinantes != null ? assinantes : ConcurrentHashMap.newKeySet();
+            conjunto.add(assinante);
+            return conjunto;
+        });
+        conexoesAtivas.incrementAndGet();
+        return assinante;
+    }
+
+    /**
+     * Cria o emitter de uma nova conexão.
+     *
+     * @param timeoutMillis duração máxima da conexão
+     */
+    protected SseEmitter novoEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    // ========== PUBLICAÇÃO ==========
+
+    /**
+     * Distribui uma transição de status aos assinantes do pedido e do cliente.
+     * Executado somente após o commit da transação que alterou o status.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarStatus(StatusPedidoAlteradoEvent evento) {
+        Set<Assinante> doPedido = assinantesPorPedido.get(evento.getPedidoId());
+
+        // O clienteId só é resolvido quando há alguém assinando pedidos de clientes
+        if (evento.getClienteId() == null && !assinantesPorCliente.isEmpty()) {
+            Long clienteId = pedidoRepository.findClienteIdById(evento.getPedidoId()).orElse(null);
+            evento = evento.comClienteId(clienteId);
+        }
+        Set<Assinante> doCliente = evento.getClienteId() != null
+            ? assinantesPorCliente.get(evento.getClienteId())
+            : null;
+
+        if (doPedido == null && doCliente == null) {
+            return;
+        }
+
+        StatusPedidoAlteradoEvent publicado = evento;
+        if (doPedido != null) {
+            doPedido.forEach(assinante -> assinante.enfileirar(publicado));
+        }
+        if (doCliente != null) {
+            doCliente.forEach(assinante -> assinante.enfileirar(publicado));
+        }
+    }
+
+    private void enviarHeartbeat() {
+        try {
+            long prazo = System.nanoTime() + TimeUnit.SECONDS.toNanos(sseProperties.getHeartbeatSegundos());
+            assinantesPorPedido.values().forEach(assinantes ->
+                assinantes.forEach(assinante -> enviarHeartbeat(assinante, prazo)));
+            assinantesPorCliente.values().forEach(assinantes ->
+                assinantes.forEach(assinante -> enviarHeartbeat(assinante, prazo)));
+        } catch (RuntimeException e) {
+            // Uma falha não pode cancelar o agendamento do heartbeat
+            logger.warn("Falha ao enviar heartbeat SSE: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Espera haver lugar na fila de envio (até o próximo ciclo de heartbeat)
+     * antes de agendar o heartbeat do assinante: com milhares de conexões, o
+     * ciclo acompanha o ritmo do pool em vez de encher a fila de uma vez.
+     */
+    private void enviarHeartbeat(Assinante assinante, long prazoNanos) {
+        while (executorEnvio.getQueue().remainingCapacity() == 0
+                && System.nanoTime() - prazoNanos < 0
+                && !executorEnvio.isShutdown()) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        assinante.enfileirarHeartbeat();
+    }
+
+    /**
+     * Desconecta os assinantes com uma escrita em andamento há mais do que
+     * app.sse.timeout-envio-ms: o cliente parou de ler e o socket encheu.
+     */
+    private void desconectarEnviosTravados() {
+        try {
+            long limite = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(sseProperties.getTimeoutEnvioMs());
+            assinantesPorPedido.values().forEach(assinantes ->
+                assinantes.forEach(assinante -> assinante.desconectarSeTravado(limite)));
+            assinantesPorCliente.values().forEach(assinantes ->
+                assinantes.forEach(assinante -> assinante.desconectarSeTravado(limite)));
+        } catch (RuntimeException e) {
+            // Uma falha não pode cancelar o agendamento da verificação
+            logger.warn("Falha ao verificar envios SSE travados: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Monta o evento SSE. Um SseEventBuilder não pode ser reaproveitado entre
+     * conexões (build() altera o builder), por isso é criado a cada envio.
+     */
+    private static SseEmitter.SseEventBuilder paraSse(Object item) {
+        if (item == HEARTBEAT) {
+            return SseEmitter.event().comment("ping");
+        }
+        StatusPedidoAlteradoEvent evento = (StatusPedidoAlteradoEvent) item;
+        return SseEmitter.event()
+            .name(EVENTO_STATUS)
+            .id(evento.getPedidoId() + ":" + evento.getStatus().name())
+            .data(evento, MediaType.APPLICATION_JSON);
+    }
+
+    // ========== MÉTRICAS ==========
+
+    public int getConexoesAtivas() {
+        return conexoesAtivas.get();
+    }
+
+    public long getDesconexoesPorLentidao() {
+        return desconexoesPorLentidao.get();
+    }
+
+    private static ThreadFactory threadFactory(String prefixo) {
+        AtomicInteger contador = new AtomicInteger();
+        return tarefa -> {
+            Thread thread = new Thread(tarefa, prefixo + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // ========== ASSINANTE ==========
+
+    /**
+     * Conexão SSE com buffer limitado de eventos pendentes.
+     */
+    private final class Assinante {
+        private final SseEmitter emitter;
+        private final Map<Long, Set<Assinante>> indice;
+        private final Long chave;
+        private final Queue<Object> pendentes;
+        private final AtomicBoolean envioAgendado = new AtomicBoolean();
+        private final AtomicBoolean ativo = new AtomicBoolean(true);
+        private final AtomicBoolean encerrado = new AtomicBoolean();
+
+        /** Início (nanoTime) do send() em andamento; 0 quando nenhum */
+        private volatile long inicioEnvio;
+
+        private Assinante(SseEmitter emitter, Map<Long, Set<Assinante>> indice, Long chave, int buffer) {
+            this.emitter = emitter;
+            this.indice = indice;
+            this.chave = chave;
+            this.pendentes = new ArrayBlockingQueue<>(buffer);
+        }
+
+        void enfileirar(Object item) {
+            if (!ativo.get()) {
+                return;
+            }
+            if (!pendentes.offer(item)) {
+                // Consumidor lento: não acompanha nem o heartbeat, libera a conexão
+                desconexoesPorLentidao.incrementAndGet();
+                logger.debug("Assinante SSE lento desconectado (chave {})", chave);
+                fechar();
+                return;
+            }
+            agendarEnvio();
+        }
+
+        /**
+         * Heartbeat só para conexões ociosas: com envio pendente ou em
+         * andamento, a conexão já está trafegando.
+         */
+        void enfileirarHeartbeat() {
+            if (ativo.get() && !envioAgendado.get() && pendentes.isEmpty() && pendentes.offer(HEARTBEAT)) {
+                agendarEnvio();
+            }
+        }
+
+        private void agendarEnvio() {
+            if (envioAgendado.compareAndSet(false, true)) {
+                try {
+                    executorEnvio.execute(this::drenar);
+                } catch (RejectedExecutionException e) {
+                    envioAgendado.set(false);
+                    rejeitado();
+                }
+            }
+        }
+
+        /**
+         * Envio recusado pelo pool. Com o pool saturado, o heartbeat pendente é
+         * descartado e, se restar um evento, o assinante é desconectado: a
+         * fila de envio não cresce além do limite.
+         */
+        private void rejeitado() {
+            if (executorEnvio.isShutdown()) {
+                // Shutdown da aplicação
+                remover();
+                return;
+            }
+            pendentes.remove(HEARTBEAT);
+            if (!pendentes.isEmpty() && remover()) {
+                desconexoesPorLentidao.incrementAndGet();
+                logger.debug("Assinante SSE desconectado com o pool de envio saturado (chave {})", chave);
+                encerrar();
+            }
+        }
+
+        private void drenar() {
+            try {
+                Object item;
+                while (ativo.get() && (item = pendentes.poll()) != null) {
+                    inicioEnvio = System.nanoTime();
+                    emitter.send(paraSse(item));
+                    inicioEnvio = 0;
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Cliente desconectou
+                inicioEnvio = 0;
+                if (remover() && encerrado.compareAndSet(false, true)) {
+                    emitter.completeWithError(e);
+                }
+            } finally {
+                envioAgendado.set(false);
+            }
+            if (!ativo.get()) {
+                // Fechado durante o envio (ex.: escrita travada): completa agora
+                encerrar();
+            } else if (!pendentes.isEmpty()) {
+                agendarEnvio();
+            }
+        }
+
+        /**
+         * Desconecta o assinante se o send() em andamento começou antes do limite.
+         */
+        void desconectarSeTravado(long limiteNanos) {
+            long inicio = inicioEnvio;
+            if (inicio != 0 && inicio - limiteNanos < 0 && remover()) {
+                desconexoesPorLentidao.incrementAndGet();
+                logger.debug("Assinante SSE com escrita travada desconectado (chave {})", chave);
+            }
+        }
+
+        /**
+         * Encerra a conexão sem bloquear quem chamou: complete() espera um
+         * send() em andamento, então é executado pelo pool de envio, ou pelo
+         * próprio envio em andamento quando ele terminar.
+         */
+        void fechar() {
+            if (remover() && !envioAgendado.get()) {
+                try {
+                    executorEnvio.execute(this::encerrar);
+                } catch (RejectedExecutionException e) {
+                    if (!executorEnvio.isShutdown()) {
+                        // Pool saturado; sem envio agendado, complete() não espera
+                        encerrar();
+                    }
+                }
+            }
+        }
+
+        private void encerrar() {
+            if (encerrado.compareAndSet(false, true)) {
+                try {
+                    emitter.complete();
+                } catch (RuntimeException e) {
+                    // Conexão já encerrada pelo container
+                }
+            }
+        }
+
+        boolean remover() {
+            if (!ativo.compareAndSet(true, false)) {
+                return false;
+            }
+            pendentes.clear();
+            indice.computeIfPresent(chave, (k, assinantes) -> {
+                assinantes.remove(this);
+                return assinantes.isEmpty() ? null : assinantes;
+            });
+            conexoesAtivas.decrementAndGet();
+            return true;
+        }
+    }
+}
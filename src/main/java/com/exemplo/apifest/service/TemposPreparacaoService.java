@@ -0,0 +1,255 @@
+package com.exemplo.apifest.service;
+
+import com.exemplo.apifest.config.PreparacaoProperties;
+import com.exemplo.apifest.dto.response.TemposPreparacaoDTO;
+import com.exemplo.apifest.event.PedidoCriadoEvent;
+import com.exemplo.apifest.event.StatusPedidoAlteradoEvent;
+import com.exemplo.apifest.model.StatusPedido;
+import com.exemplo.apifest.repository.PedidoRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ===============================================================================
+ * TEMPOS DE PREPARO E ENTREGA POR RESTAURANTE
+ * ===============================================================================
+ *
+ * Mede a duração de cada etapa do pedido a partir dos marcos gravados nas
+ * transições de status (dataConfirmacao, dataInicioPreparo, dataPronto,
+ * dataEntrega) e mantém, por restaurante, os percentis p50/p90/p99.
+ *
+ * ETAPAS:
+ * - ESPERA:  CONFIRMADO → PREPARANDO (fila da cozinha)
+ * - PREPARO: PREPARANDO → PRONTO
+ * - ENTREGA: PRONTO → ENTREGUE
+ *
+ * Cada (restaurante, etapa) é um Timer do Micrometer com percentis calculados
+ * em memória: um histograma de tamanho fixo por parte da janela
+ * (app.preparacao.janela-minutos), que gira sem guardar as amostras. Os
+ * percentis também são publicados como gauges (pedidos.etapa.duracao.percentile).
+ *
+ * O início de cada etapa vem do índice dos pedidos em andamento, alimentado
+ * por PedidoCriadoEvent e reconstruído do banco na inicialização; nenhuma
+ * medição relê o pedido. O índice é limitado (app.preparacao.maximo-em-andamento)
+ * e expira as entradas após app.preparacao.expiracao-em-andamento: pedidos
+ * finalizados por outra instância, ou nunca finalizados, não ficam para sempre.
+ * A carga inicial ignora os pedidos mais antigos que a expiração.
+ *
+ * @author DeliveryTech Development Team
+ * @version 1.0
+ * ===============================================================================
+ */
+@Service
+public class TemposPreparacaoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TemposPreparacaoService.class);
+
+    /** Nome do Timer (e dos gauges de percentil) no Micrometer */
+    public static final String METRICA_DURACAO_ETAPA = "pedidos.etapa.duracao";
+
+    private static final double[] PERCENTIS = { 0.5, 0.9, 0.99 };
+
+    /**
+     * Etapas medidas: do marco de início ao marco de fim.
+     */
+    public enum Etapa {
+        ESPERA(StatusPedido.CONFIRMADO, StatusPedido.PREPARANDO),
+        PREPARO(StatusPedido.PREPARANDO, StatusPedido.PRONTO),
+        ENTREGA(StatusPedido.PRONTO, StatusPedido.ENTREGUE);
+
+        private final StatusPedido inicio;
+        private final StatusPedido fim;
+
+        Etapa(StatusPedido inicio, StatusPedido fim) {
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        public StatusPedido getInicio() { return inicio; }
+        public StatusPedido getFim() { return fim; }
+    }
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PreparacaoProperties preparacaoProperties;
+
+    private Cache<Long, Acompanhamento> emAndamento;
+    private final Map<Long, Map<Etapa, Timer>> timersPorRestaurante = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void iniciar() {
+        emAndamento = Caffeine.newBuilder()
+            .maximumSize(preparacaoProperties.getMaximoEmAndamento())
+            .expireAfterWrite(preparacaoProperties.getExpiracaoEmAndamento())
+            .build();
+    }
+
+    // ========== ACOMPANHAMENTO DOS PEDIDOS ==========
+
+    /**
+     * Carrega os marcos já gravados dos pedidos em andamento mais novos que a expiração.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciarAplicacao() {
+        LocalDateTime limite = LocalDateTime.now().minus(preparacaoProperties.getExpiracaoEmAndamento());
+        for (Object[] linha : pedidoRepository.findPedidosEmAndamento()) {
+            Long restauranteId = (Long) linha[4];
+            LocalDateTime dataPedido = (LocalDateTime) linha[3];
+            if (restauranteId == null || (dataPedido != null && dataPedido.isBefore(limite))) {
+                continue;
+            }
+            Acompanhamento acompanhamento = new Acompanhamento(restauranteId);
+            acompanhamento.registrar(StatusPedido.CONFIRMADO, (LocalDateTime) linha[5]);
+            acompanhamento.registrar(StatusPedido.PREPARANDO, (LocalDateTime) linha[6]);
+            acompanhamento.registrar(StatusPedido.PRONTO, (LocalDateTime) linha[7]);
+            emAndamento.put((Long) linha[0], acompanhamento);
+        }
+        logger.info("Tempos de preparo: {} pedidos em andamento acompanhados", emAndamento.estimatedSize());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoCriarPedido(PedidoCriadoEvent evento) {
+        if (evento.getRestauranteId() != null) {
+            emAndamento.put(evento.getPedidoId(), new Acompanhamento(evento.getRestauranteId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarStatus(StatusPedidoAlteradoEvent evento) {
+        StatusPedido status = evento.getStatus();
+        Acompanhamento acompanhamento = status == StatusPedido.ENTREGUE || status == StatusPedido.CANCELADO
+            ? emAndamento.asMap().remove(evento.getPedidoId())
+            : emAndamento.getIfPresent(evento.getPedidoId());
+        if (acompanhamento == null) {
+            return;
+        }
+
+        acompanhamento.registrar(status, evento.getDataHora());
+        for (Etapa etapa : Etapa.values()) {
+            if (etapa.fim != status) {
+                continue;
+            }
+            LocalDateTime inicio = acompanhamento.marco(etapa.inicio);
+            if (inicio != null && !evento.getDataHora().isBefore(inicio)) {
+                timer(acompanhamento.restauranteId, etapa).record(Duration.between(inicio, evento.getDataHora()));
+            }
+        }
+    }
+
+    // ========== CONSULTAS ==========
+
+    /**
+     * Estatísticas das etapas de um restaurante, sem consultar o banco.
+     *
+     * @param restauranteId ID do restaurante
+     * @return Quantidade, média e percentis de cada etapa (zerados se não há medições)
+     */
+    public TemposPreparacaoDTO temposDoRestaurante(Long restauranteId) {
+        Map<Etapa, Timer> timers = timersPorRestaurante.get(restauranteId);
+        List<TemposPreparacaoDTO.EtapaDTO> etapas = new ArrayList<>(Etapa.values().length);
+
+        for (Etapa etapa : Etapa.values()) {
+            TemposPreparacaoDTO.EtapaDTO dto = new TemposPreparacaoDTO.EtapaDTO();
+            dto.setEtapa(etapa.name());
+            dto.setInicio(etapa.inicio.name());
+            dto.setFim(etapa.fim.name());
+
+            Timer timer = timers != null ? timers.get(etapa) : null;
+            if (timer != null) {
+                dto.setAmostras(timer.count());
+                dto.setMediaMinutos(timer.mean(TimeUnit.MINUTES));
+                for (ValueAtPercentile valor : timer.takeSnapshot().percentileValues()) {
+                    double minutos = valor.value(TimeUnit.MINUTES);
+                    if (valor.percentile() == 0.5) {
+                        dto.setP50Minutos(minutos);
+                    } else if (valor.percentile() == 0.9) {
+                        dto.setP90Minutos(minutos);
+                    } else if (valor.percentile() == 0.99) {
+                        dto.setP99Minutos(minutos);
+                    }
+                }
+            }
+            etapas.add(dto);
+        }
+        return new TemposPreparacaoDTO(restauranteId, preparacaoProperties.getJanelaMinutos(), etapas);
+    }
+
+    /**
+     * Tempo médio de preparo (PREPARANDO → PRONTO) de todos os restaurantes.
+     *
+     * @return Média em minutos, ou nulo se nenhum preparo foi medido
+     */
+    public Double tempoMedioPreparoMinutos() {
+        double totalMinutos = 0;
+        long amostras = 0;
+        for (Map<Etapa, Timer> timers : timersPorRestaurante.values()) {
+            Timer timer = timers.get(Etapa.PREPARO);
+            if (timer != null) {
+                totalMinutos += timer.totalTime(TimeUnit.MINUTES);
+                amostras += timer.count();
+            }
+        }
+        return amostras > 0 ? totalMinutos / amostras : null;
+    }
+
+    private Timer timer(Long restauranteId, Etapa etapa) {
+        return timersPorRestaurante
+            .computeIfAbsent(restauranteId, id -> new ConcurrentHashMap<>())
+            .computeIfAbsent(etapa, e -> Timer.builder(METRICA_DURACAO_ETAPA)
+                .description("Duração das etapas do pedido por restaurante")
+                .tag("etapa", e.name().toLowerCase())
+                .tag("restaurante", String.valueOf(restauranteId))
+                .publishPercentiles(PERCENTIS)
+                .percentilePrecision(2)
+                .distributionStatisticExpiry(Duration.ofMinutes(preparacaoProperties.getJanelaMinutos()))
+                .distributionStatisticBufferLength(preparacaoProperties.getPartesJanela())
+                .register(meterRegistry));
+    }
+
+    /**
+     * Restaurante e marcos de tempo já atingidos por um pedido em andamento.
+     */
+    private static final class Acompanhamento {
+        private final Long restauranteId;
+        private final Map<StatusPedido, LocalDateTime> marcos = new EnumMap<>(StatusPedido.class);
+
+        private Acompanhamento(Long restauranteId) {
+            this.restauranteId = restauranteId;
+        }
+
+        synchronized void registrar(StatusPedido status, LocalDateTime dataHora) {
+            if (dataHora != null) {
+                marcos.put(status, dataHora);
+            }
+        }
+
+        synchronized LocalDateTime marco(StatusPedido status) {
+            return marcos.get(status);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.exemplo.apifest.service.impl;
 
+import com.exemplo.apifest.cache.EntidadesAusentes;
 import com.exemplo.apifest.dto.ClienteDTO;
 import com.exemplo.apifest.dto.response.ClienteResponseDTO;
 import com.exemplo.apifest.exception.BusinessException;
@@ -49,6 +50,9 @@ public class ClienteServiceImpl implements ClienteService {
     @Autowired
     private ModelMapper modelMapper;
 
+    @Autowired
+    private EntidadesAusentes entidadesAusentes;
+
     /**
      * Cadastra um novo cliente com validações rigorosas de negócio.
      */
@@ -73,6 +77,7 @@ public class ClienteServiceImpl implements ClienteService {
 
         // 5. PERSISTÊNCIA: Salvar no banco de dados
         Cliente clienteSalvo = clienteRepository.save(cliente);
+        entidadesAusentes.criada(EntidadesAusentes.CLIENTE, clienteSalvo.getId());
 
         // 6. CONVERSÃO: Entidade → ResponseDTO
         return modelMapper.map(clienteSalvo, ClienteResponseDTO.class);
@@ -80,17 +85,26 @@ public class ClienteServiceImpl implements ClienteService {
 
     /**
      * Busca cliente por ID com tratamento de não encontrado.
+     * CACHE: id inexistente fica no cache negativo (EntidadesAusentes).
      */
     @Override
     public ClienteResponseDTO buscarClientePorId(Long id) {
+        entidadesAusentes.verificar(EntidadesAusentes.CLIENTE, id);
         Cliente cliente = clienteRepository.findById(id)
-            .orElseThrow(() -> new EntityNotFoundException(
-                String.format("Cliente não encontrado com ID: %d", id)
-            ));
+            .orElseThrow(() -> clienteAusente(id));
 
         return modelMapper.map(cliente, ClienteResponseDTO.class);
     }
 
+    /**
+     * Registra o cliente no cache negativo e devolve a exceção a lançar.
+     */
+    private EntityNotFoundException clienteAusente(Long id) {
+        String mensagem = String.format("Cliente não encontrado com ID: %d", id);
+        entidadesAusentes.registrar(EntidadesAusentes.CLIENTE, id, mensagem);
+        return new EntityNotFoundException(mensagem);
+    }
+
     /**
      * Busca cliente por email (usado para autenticação).
      */
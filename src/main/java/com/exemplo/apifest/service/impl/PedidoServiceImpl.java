@@ -1,27 +1,59 @@
 package com.exemplo.apifest.service.impl;
 
+import com.exemplo.apifest.cache.EntidadesAusentes;
+import com.exemplo.apifest.dto.AtualizacaoStatusLoteDTO;
 import com.exemplo.apifest.dto.ItemPedidoDTO;
 import com.exemplo.apifest.dto.PedidoDTO;
+import com.exemplo.apifest.dto.response.CursorPagedResponse;
+import com.exemplo.apifest.dto.response.ItemPedidoResponseDTO;
 import com.exemplo.apifest.dto.response.PedidoResponseDTO;
 import com.exemplo.apifest.dto.response.PedidoResumoDTO;
+import com.exemplo.apifest.dto.response.RestauranteResponseDTO;
+import com.exemplo.apifest.dto.response.ResultadoAtualizacaoStatusDTO;
+import com.exemplo.apifest.event.PedidoCriadoEvent;
+import com.exemplo.apifest.event.StatusPedidoAlteradoEvent;
 import com.exemplo.apifest.exception.BusinessException;
+import com.exemplo.apifest.exception.ConflictException;
 import com.exemplo.apifest.exception.EntityNotFoundException;
 import com.exemplo.apifest.model.*;
 import com.exemplo.apifest.repository.*;
+import com.exemplo.apifest.service.MetricasVendasService;
 import com.exemplo.apifest.service.PedidoService;
+import com.exemplo.apifest.service.PrecificacaoPedidoService;
+import com.exemplo.apifest.service.TemposPreparacaoService;
+import com.exemplo.apifest.service.PrecificacaoPedidoService.CarrinhoPrecificado;
+import com.exemplo.apifest.service.PrecificacaoPedidoService.LinhaPrecificada;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import com.exemplo.apifest.config.CacheConfig;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -53,6 +85,24 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class PedidoServiceImpl implements PedidoService {
 
+    /** Tamanho da coluna pedidos.descricao */
+    private static final int TAMANHO_MAXIMO_DESCRICAO = 255;
+
+    /** Limite de pedidos por página do histórico do cliente */
+    private static final int TAMANHO_MAXIMO_PAGINA_HISTORICO = 100;
+
+    /** Separador entre dataPedido e id dentro do cursor do histórico */
+    private static final char SEPARADOR_CURSOR = '|';
+
+    /** UPDATE condicional usado no lote JDBC de atualizarStatusEmLote (grava também o marco de tempo do status) */
+    private static final String SQL_ATUALIZAR_STATUS_SE_ATUAL =
+        "UPDATE pedidos SET status = :novoStatus, versao = versao + 1, "
+        + "data_confirmacao = CASE WHEN :novoStatus = 'CONFIRMADO' THEN :dataHora ELSE data_confirmacao END, "
+        + "data_inicio_preparo = CASE WHEN :novoStatus = 'PREPARANDO' THEN :dataHora ELSE data_inicio_preparo END, "
+        + "data_pronto = CASE WHEN :novoStatus = 'PRONTO' THEN :dataHora ELSE data_pronto END, "
+        + "data_entrega = CASE WHEN :novoStatus = 'ENTREGUE' THEN :dataHora ELSE data_entrega END "
+        + "WHERE id = :id AND status = :statusAnterior";
+
     @Autowired
     private PedidoRepository pedidoRepository;
 
@@ -68,6 +118,27 @@ public class PedidoServiceImpl implements PedidoService {
     @Autowired
     private ItemPedidoRepository itemPedidoRepository;
 
+    @Autowired
+    private PrecificacaoPedidoService precificacaoPedidoService;
+
+    @Autowired
+    private MetricasVendasService metricasVendasService;
+
+    @Autowired
+    private TemposPreparacaoService temposPreparacaoService;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntidadesAusentes entidadesAusentes;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Autowired
     private ModelMapper modelMapper;
 
@@ -105,153 +176,365 @@ public class PedidoServiceImpl implements PedidoService {
             throw new BusinessException("Restaurante está fechado e não aceita pedidos");
         }
 
-        // ========== ETAPA 3: VALIDAÇÃO DOS PRODUTOS ==========
-        BigDecimal subtotal = BigDecimal.ZERO;
-        
-        for (PedidoDTO.ItemPedidoDTO itemDto : dto.getItens()) {
-            // Verificar se produto existe
-            Produto produto = produtoRepository.findById(itemDto.getProdutoId())
-                .orElseThrow(() -> new EntityNotFoundException(
-                    String.format("Produto não encontrado com ID: %d", itemDto.getProdutoId())
-                ));
-
-            // Verificar se produto está disponível
-            if (!produto.getDisponivel()) {
-                throw new BusinessException(
-                    String.format("Produto '%s' não está disponível", produto.getNome())
-                );
-            }
-
-            // Verificar se produto pertence ao restaurante do pedido
-            if (!produto.getRestaurante().getId().equals(dto.getRestauranteId())) {
-                throw new BusinessException(
-                    String.format("Produto '%s' não pertence ao restaurante selecionado", produto.getNome())
-                );
-            }
-
-            // Calcular subtotal do item
-            BigDecimal valorItem = produto.getPreco().multiply(new BigDecimal(itemDto.getQuantidade()));
-            subtotal = subtotal.add(valorItem);
-        }
+        // ========== ETAPA 3: VALIDAÇÃO E PRECIFICAÇÃO DOS PRODUTOS ==========
+        // Todos os produtos do carrinho são carregados em uma única consulta
+        CarrinhoPrecificado carrinho = precificacaoPedidoService
+            .precificarPedido(dto.getRestauranteId(), dto.getItens());
 
         // ========== ETAPA 4: CÁLCULO DO TOTAL ==========
-        BigDecimal taxaEntrega = restaurante.getTaxaEntrega();
-        BigDecimal total = subtotal.add(taxaEntrega);
+        // Em centavos (Money): exato até a conversão final para Pedido.valor
+        Money total = carrinho.getSubtotal().plus(Money.of(restaurante.getTaxaEntrega()));
 
         // ========== ETAPA 5: CRIAÇÃO DO PEDIDO SIMPLIFICADO ==========
         // O modelo Pedido atual é muito simples: apenas descrição, valor, cliente, status e data
-        String descricaoItens = dto.getItens().stream()
-            .map(item -> item.getQuantidade() + "x " + produtoRepository.findById(item.getProdutoId()).get().getNome())
+        String descricaoItens = carrinho.getLinhas().stream()
+            .map(linha -> linha.getQuantidade() + "x " + linha.getProduto().getNome())
             .collect(Collectors.joining(", "));
         
-        Pedido pedido = new Pedido(descricaoItens, total.doubleValue(), cliente);
-
-        // Salvar pedido primeiro para obter ID
-        Pedido pedidoSalvo = pedidoRepository.save(pedido);
+        Pedido pedido = new Pedido(abreviarDescricao(descricaoItens), total.toDouble(), cliente);
 
         // ========== ETAPA 6: CRIAÇÃO DOS ITENS DO PEDIDO ==========
-        for (PedidoDTO.ItemPedidoDTO itemDto : dto.getItens()) {
-            Produto produto = produtoRepository.findById(itemDto.getProdutoId()).get();
-
+        // Itens persistidos em cascata junto com o pedido (CascadeType.ALL)
+        for (LinhaPrecificada linha : carrinho.getLinhas()) {
             ItemPedido itemPedido = new ItemPedido();
-            itemPedido.setPedido(pedidoSalvo);
-            itemPedido.setProduto(produto);
-            itemPedido.setQuantidade(itemDto.getQuantidade());
-            itemPedido.setPrecoUnitario(produto.getPreco());
-            itemPedido.setPrecoTotal(produto.getPreco().multiply(new BigDecimal(itemDto.getQuantidade())));
+            itemPedido.setPedido(pedido);
+            itemPedido.setProduto(linha.getProduto());
+            itemPedido.precificar(linha.getQuantidade(), linha.getProduto().getPreco(),
+                linha.getPrecoTotal().toBigDecimal());
 
-            itemPedidoRepository.save(itemPedido);
+            pedido.getItens().add(itemPedido);
         }
 
+        Pedido pedidoSalvo = pedidoRepository.save(pedido);
+        entidadesAusentes.criada(EntidadesAusentes.PEDIDO, pedidoSalvo.getId());
+
+        // EVENTO: Contadores de vendas e ranking de produtos passam a acompanhar o pedido
+        List<PedidoCriadoEvent.ItemVendido> itensVendidos = carrinho.getLinhas().stream()
+            .map(linha -> new PedidoCriadoEvent.ItemVendido(
+                linha.getProduto().getId(), linha.getProduto().getNome(), linha.getQuantidade()))
+            .collect(Collectors.toList());
+        eventPublisher.publishEvent(new PedidoCriadoEvent(pedidoSalvo.getId(), restaurante.getId(),
+            pedidoSalvo.getStatus(), pedidoSalvo.getValor(), pedidoSalvo.getDataPedido(), itensVendidos));
+
         // ========== ETAPA 7: RETORNO DO PEDIDO COMPLETO ==========
-        return buscarPedidoPorId(pedidoSalvo.getId());
+        // Montado a partir das entidades já em memória, sem reler o pedido
+        return montarResposta(pedidoSalvo, restaurante);
+    }
+
+    /**
+     * Limita a descrição ao tamanho da coluna (carrinhos grandes geram textos longos).
+     */
+    private String abreviarDescricao(String descricao) {
+        if (descricao.length() <= TAMANHO_MAXIMO_DESCRICAO) {
+            return descricao;
+        }
+        return descricao.substring(0, TAMANHO_MAXIMO_DESCRICAO - 3) + "...";
+    }
+
+    /**
+     * Converte um pedido recém-criado em DTO usando apenas dados já carregados.
+     */
+    private PedidoResponseDTO montarResposta(Pedido pedido, Restaurante restaurante) {
+        PedidoResponseDTO responseDTO = modelMapper.map(pedido, PedidoResponseDTO.class);
+        responseDTO.setRestaurante(modelMapper.map(restaurante, RestauranteResponseDTO.class));
+        responseDTO.setItens(pedido.getItens().stream()
+            .map(item -> modelMapper.map(item, ItemPedidoResponseDTO.class))
+            .collect(Collectors.toList()));
+        return responseDTO;
     }
 
     /**
      * Busca pedido completo com todos os itens.
-     * CACHE: Pedido completo cacheado por 2 minutos.
+     * CACHE: Pedido completo cacheado por 2 minutos; id inexistente fica no
+     * cache negativo (EntidadesAusentes).
      */
     @Override
     @Cacheable(value = CacheConfig.PEDIDOS_CACHE, key = "'pedido:' + #id")
     public PedidoResponseDTO buscarPedidoPorId(Long id) {
+        entidadesAusentes.verificar(EntidadesAusentes.PEDIDO, id);
         Pedido pedido = pedidoRepository.findById(id)
-            .orElseThrow(() -> new EntityNotFoundException(
-                String.format("Pedido não encontrado com ID: %d", id)
-            ));
+            .orElseThrow(() -> pedidoAusente(id));
 
         PedidoResponseDTO responseDTO = modelMapper.map(pedido, PedidoResponseDTO.class);
         
         // Buscar e mapear itens do pedido
         List<ItemPedido> itens = itemPedidoRepository.findByPedidoId(id);
         responseDTO.setItens(itens.stream()
-            .map(item -> modelMapper.map(item, com.exemplo.apifest.dto.response.ItemPedidoResponseDTO.class))
+            .map(item -> modelMapper.map(item, ItemPedidoResponseDTO.class))
             .collect(Collectors.toList()));
 
         return responseDTO;
     }
 
     /**
-     * Busca histórico de pedidos do cliente.
+     * Registra o pedido no cache negativo e devolve a exceção a lançar.
+     */
+    private EntityNotFoundException pedidoAusente(Long id) {
+        String mensagem = String.format("Pedido não encontrado com ID: %d", id);
+        entidadesAusentes.registrar(EntidadesAusentes.PEDIDO, id, mensagem);
+        return new EntityNotFoundException(mensagem);
+    }
+
+    /**
+     * Busca histórico de pedidos do cliente com paginação por cursor (keyset).
+     *
+     * Em vez de OFFSET, cada página continua a partir do (dataPedido, id) do
+     * último pedido entregue, codificado em um token opaco. A consulta projeta
+     * direto para PedidoResumoDTO e busca tamanho + 1 linhas para saber se há
+     * próxima página sem COUNT. A existência do cliente só é consultada quando
+     * a página vem vazia.
      */
     @Override
-    public List<PedidoResumoDTO> buscarPedidosPorCliente(Long clienteId) {
-        // VALIDAÇÃO: Verificar se cliente existe
-        if (!clienteRepository.existsById(clienteId)) {
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<PedidoResumoDTO> buscarPedidosPorCliente(Long clienteId, String cursor, int tamanho) {
+        if (tamanho < 1 || tamanho > TAMANHO_MAXIMO_PAGINA_HISTORICO) {
+            throw new BusinessException(String.format(
+                "Tamanho da página deve estar entre 1 e %d", TAMANHO_MAXIMO_PAGINA_HISTORICO));
+        }
+
+        Limit limite = Limit.of(tamanho + 1);
+        List<PedidoResumoDTO> pedidos;
+        if (cursor == null || cursor.isBlank()) {
+            pedidos = pedidoRepository.findHistoricoCliente(clienteId, limite);
+        } else {
+            PedidoResumoDTO ultimo = decodificarCursor(cursor);
+            pedidos = pedidoRepository.findHistoricoClienteApos(
+                clienteId, ultimo.getDataPedido(), ultimo.getId(), limite);
+        }
+
+        // VALIDAÇÃO: Página vazia pode ser cliente inexistente
+        if (pedidos.isEmpty() && !clienteRepository.existsById(clienteId)) {
             throw new EntityNotFoundException(
                 String.format("Cliente não encontrado com ID: %d", clienteId)
             );
         }
 
-        List<Pedido> pedidos = pedidoRepository.findByClienteId(clienteId);
-        
-        return pedidos.stream()
-            .map(pedido -> modelMapper.map(pedido, PedidoResumoDTO.class))
-            .collect(Collectors.toList());
+        boolean temProxima = pedidos.size() > tamanho;
+        if (temProxima) {
+            pedidos = pedidos.subList(0, tamanho);
+        }
+        String proximoCursor = temProxima ? codificarCursor(pedidos.get(tamanho - 1)) : null;
+
+        return new CursorPagedResponse<>(pedidos, tamanho, temProxima, proximoCursor);
+    }
+
+    /**
+     * Token opaco do histórico: Base64 URL-safe de "dataPedido|id".
+     */
+    private String codificarCursor(PedidoResumoDTO ultimo) {
+        String posicao = ultimo.getDataPedido().toString() + SEPARADOR_CURSOR + ultimo.getId();
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(posicao.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Lê a posição (dataPedido, id) de um token gerado por codificarCursor.
+     *
+     * @throws BusinessException se o token não foi gerado pela API
+     */
+    private PedidoResumoDTO decodificarCursor(String cursor) {
+        try {
+            String posicao = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = posicao.lastIndexOf(SEPARADOR_CURSOR);
+            PedidoResumoDTO ultimo = new PedidoResumoDTO();
+            ultimo.setDataPedido(LocalDateTime.parse(posicao.substring(0, separador)));
+            ultimo.setId(Long.parseLong(posicao.substring(separador + 1)));
+            return ultimo;
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BusinessException("Cursor de paginação inválido");
+        }
     }
 
     /**
      * Atualiza status do pedido com validação de transições.
+     *
+     * COMPARE-AND-SET: a transição é um único UPDATE condicional
+     * ("status = :novo WHERE id = :id AND status IN :predecessores"), que também
+     * incrementa a versão do pedido. Não há leitura prévia nem releitura: a
+     * resposta contém o ID e o novo status. Com vários predecessores possíveis
+     * (ex: CANCELADO) é feito um UPDATE condicional por predecessor, até um
+     * alterar a linha, para que o evento traga o status anterior real. O status
+     * atual só é lido quando nenhum UPDATE altera a linha, para reportar o motivo.
+     *
+     * CACHE: Invalida o pedido cacheado após o commit da transição.
+     *
+     * @throws EntityNotFoundException se o pedido não existe
+     * @throws BusinessException se a transição não é permitida a partir do status atual
+     * @throws ConflictException se outra transição concorrente alterou o pedido
      */
     @Override
     @Transactional
     public PedidoResponseDTO atualizarStatusPedido(Long id, StatusPedido novoStatus) {
-        // 1. VALIDAÇÃO: Verificar se pedido existe
-        Pedido pedido = pedidoRepository.findById(id)
+        LocalDateTime dataHora = LocalDateTime.now();
+
+        StatusPedido statusAnterior = null;
+        for (StatusPedido predecessor : StatusPedido.predecessoresDe(novoStatus)) {
+            if (pedidoRepository.atualizarStatusSeAtualEm(id, novoStatus, Set.of(predecessor), dataHora) > 0) {
+                statusAnterior = predecessor;
+                break;
+            }
+        }
+        if (statusAnterior == null) {
+            throw diagnosticarTransicaoRecusada(id, novoStatus);
+        }
+
+        // EVENTO: Notificar assinantes
+        eventPublisher.publishEvent(new StatusPedidoAlteradoEvent(id, null, statusAnterior, novoStatus, dataHora));
+        aposCommit(() -> invalidarPedidos(Set.of(id)));
+
+        PedidoResponseDTO responseDTO = new PedidoResponseDTO();
+        responseDTO.setId(id);
+        responseDTO.setStatus(novoStatus);
+        return responseDTO;
+    }
+
+    /**
+     * Identifica por que o UPDATE condicional não alterou o pedido.
+     */
+    private RuntimeException diagnosticarTransicaoRecusada(Long id, StatusPedido novoStatus) {
+        StatusPedido statusAtual = pedidoRepository.findStatusById(id)
             .orElseThrow(() -> new EntityNotFoundException(
                 String.format("Pedido não encontrado com ID: %d", id)
             ));
 
-        // 2. VALIDAÇÃO: Verificar transições válidas
-        StatusPedido statusAtual = pedido.getStatus();
-        
-        if (!isTransicaoValida(statusAtual, novoStatus)) {
-            throw new BusinessException(
-                String.format("Transição inválida: %s → %s", statusAtual, novoStatus)
+        if (statusAtual != novoStatus && isTransicaoValida(statusAtual, novoStatus)) {
+            // O status mudou entre o UPDATE e esta leitura: outra transição venceu a corrida
+            return new ConflictException(
+                String.format("Pedido %d foi alterado concorrentemente (status atual: %s)", id, statusAtual)
             );
         }
 
-        // 3. ATUALIZAÇÃO: Alterar status
-        pedido.setStatus(novoStatus);
-        // Campo dataAtualizacao não existe no modelo
+        return new BusinessException(
+            String.format("Transição inválida: %s → %s", statusAtual, novoStatus)
+        );
+    }
 
-        // 4. PERSISTÊNCIA: Salvar alteração
-        pedidoRepository.save(pedido);
+    /**
+     * Atualiza status de vários pedidos em uma única transação.
+     *
+     * FLUXO:
+     * 1. Um SELECT com o status atual de todos os pedidos do lote
+     * 2. Validação das transições em memória (transições repetidas do mesmo
+     *    pedido são encadeadas, ex: CONFIRMADO e depois PREPARANDO)
+     * 3. Um único lote JDBC de UPDATEs condicionais ("WHERE status = anterior");
+     *    a contagem por statement revela os pedidos alterados por outra requisição
+     * 4. Publicação dos eventos de status dos pedidos atualizados e, em uma
+     *    única passada após o commit, invalidação do cache (uma leitura
+     *    concorrente antes do commit não volta a gravar o status antigo)
+     */
+    @Override
+    @Transactional
+    public List<ResultadoAtualizacaoStatusDTO> atualizarStatusEmLote(AtualizacaoStatusLoteDTO lote) {
+        List<AtualizacaoStatusLoteDTO.ItemStatusDTO> itens = lote.getItens();
+
+        // 1. LEITURA: Status atual de todos os pedidos do lote
+        Set<Long> ids = new LinkedHashSet<>();
+        for (AtualizacaoStatusLoteDTO.ItemStatusDTO item : itens) {
+            ids.add(item.getPedidoId());
+        }
+        Map<Long, StatusPedido> statusAtual = new HashMap<>(ids.size() * 2);
+        for (Object[] linha : pedidoRepository.findStatusByIdIn(ids)) {
+            statusAtual.put((Long) linha[0], (StatusPedido) linha[1]);
+        }
+
+        // 2. VALIDAÇÃO: Transições aplicadas em memória, na ordem do lote
+        List<ResultadoAtualizacaoStatusDTO> resultados = new ArrayList<>(itens.size());
+        List<ResultadoAtualizacaoStatusDTO> aplicados = new ArrayList<>();
+        List<SqlParameterSource> parametros = new ArrayList<>();
+        LocalDateTime dataHora = LocalDateTime.now();
+
+        for (AtualizacaoStatusLoteDTO.ItemStatusDTO item : itens) {
+            Long pedidoId = item.getPedidoId();
+            StatusPedido novoStatus = item.getStatus();
+            StatusPedido anterior = statusAtual.get(pedidoId);
+
+            ResultadoAtualizacaoStatusDTO resultado = new ResultadoAtualizacaoStatusDTO();
+            resultado.setPedidoId(pedidoId);
+            resultado.setStatusAnterior(anterior);
+            resultado.setStatus(novoStatus);
+
+            if (anterior == null) {
+                resultado.setResultado(ResultadoAtualizacaoStatusDTO.Resultado.NAO_ENCONTRADO);
+                resultado.setMensagem(String.format("Pedido não encontrado com ID: %d", pedidoId));
+            } else if (!isTransicaoValida(anterior, novoStatus)) {
+                resultado.setResultado(ResultadoAtualizacaoStatusDTO.Resultado.TRANSICAO_INVALIDA);
+                resultado.setMensagem(String.format("Transição inválida: %s → %s", anterior, novoStatus));
+            } else {
+                resultado.setResultado(ResultadoAtualizacaoStatusDTO.Resultado.ATUALIZADO);
+                parametros.add(new MapSqlParameterSource()
+                    .addValue("novoStatus", novoStatus.name())
+                    .addValue("dataHora", dataHora)
+                    .addValue("id", pedidoId)
+                    .addValue("statusAnterior", anterior.name()));
+                aplicados.add(resultado);
+                statusAtual.put(pedidoId, novoStatus);
+            }
+            resultados.add(resultado);
+        }
+
+        // 3. PERSISTÊNCIA: UPDATEs condicionais em um único lote JDBC
+        if (!parametros.isEmpty()) {
+            int[] alterados = jdbcTemplate.batchUpdate(SQL_ATUALIZAR_STATUS_SE_ATUAL,
+                parametros.toArray(new SqlParameterSource[0]));
+            for (int i = 0; i < alterados.length; i++) {
+                if (alterados[i] == 0) {
+                    ResultadoAtualizacaoStatusDTO resultado = aplicados.get(i);
+                    resultado.setResultado(ResultadoAtualizacaoStatusDTO.Resultado.CONFLITO);
+                    resultado.setMensagem(String.format(
+                        "Pedido %d foi alterado concorrentemente", resultado.getPedidoId()));
+                }
+            }
+        }
+
+        // 4. EVENTOS E CACHE: Notificação dos pedidos atualizados; invalidação após o commit
+        Set<Long> invalidados = new LinkedHashSet<>();
+        for (ResultadoAtualizacaoStatusDTO resultado : aplicados) {
+            if (!resultado.isSucesso()) {
+                continue;
+            }
+            invalidados.add(resultado.getPedidoId());
+            eventPublisher.publishEvent(new StatusPedidoAlteradoEvent(
+                resultado.getPedidoId(), null, resultado.getStatusAnterior(), resultado.getStatus(), dataHora));
+        }
+        if (!invalidados.isEmpty()) {
+            aposCommit(() -> invalidarPedidos(invalidados));
+        }
+
+        return resultados;
+    }
 
-        return buscarPedidoPorId(id);
+    private void invalidarPedidos(Set<Long> pedidoIds) {
+        Cache cache = cacheManager.getCache(CacheConfig.PEDIDOS_CACHE);
+        if (cache == null) {
+            return;
+        }
+        for (Long pedidoId : pedidoIds) {
+            cache.evict("pedido:" + pedidoId);
+        }
+    }
+
+    /**
+     * Executa a operação após o commit da transação atual (na hora, se não
+     * houver transação), como a InvalidacaoCatalogo.
+     */
+    private static void aposCommit(Runnable operacao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            operacao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                operacao.run();
+            }
+        });
     }
 
     /**
      * Valida se uma transição de status é permitida.
      */
     private boolean isTransicaoValida(StatusPedido statusAtual, StatusPedido novoStatus) {
-        return switch (statusAtual) {
-            case PENDENTE -> novoStatus == StatusPedido.CONFIRMADO || novoStatus == StatusPedido.CANCELADO;
-            case CONFIRMADO -> novoStatus == StatusPedido.PREPARANDO || novoStatus == StatusPedido.CANCELADO;
-            case PREPARANDO -> novoStatus == StatusPedido.PRONTO || novoStatus == StatusPedido.CANCELADO;
-            case PRONTO -> novoStatus == StatusPedido.SAIU_PARA_ENTREGA;
-            case SAIU_PARA_ENTREGA -> novoStatus == StatusPedido.ENTREGUE;
-            case ENTREGUE, CANCELADO -> false; // Estados finais
-        };
+        return statusAtual.podeTransicionarPara(novoStatus);
     }
 
     /**
@@ -259,25 +542,7 @@ public class PedidoServiceImpl implements PedidoService {
      */
     @Override
     public BigDecimal calcularTotalPedido(List<ItemPedidoDTO> itens) {
-        BigDecimal subtotal = BigDecimal.ZERO;
-
-        for (ItemPedidoDTO itemDto : itens) {
-            Produto produto = produtoRepository.findById(itemDto.getProdutoId())
-                .orElseThrow(() -> new EntityNotFoundException(
-                    String.format("Produto não encontrado com ID: %d", itemDto.getProdutoId())
-                ));
-
-            if (!produto.getDisponivel()) {
-                throw new BusinessException(
-                    String.format("Produto '%s' não está disponível", produto.getNome())
-                );
-            }
-
-            BigDecimal valorItem = produto.getPreco().multiply(new BigDecimal(itemDto.getQuantidade()));
-            subtotal = subtotal.add(valorItem);
-        }
-
-        return subtotal;
+        return precificacaoPedidoService.precificarItens(itens).getSubtotal().toBigDecimal();
     }
 
     /**
@@ -285,6 +550,7 @@ public class PedidoServiceImpl implements PedidoService {
      */
     @Override
     @Transactional
+    @CacheEvict(value = CacheConfig.PEDIDOS_CACHE, key = "'pedido:' + #id")
     public PedidoResponseDTO cancelarPedido(Long id) {
         return cancelarPedido(id, "Cancelado pelo sistema");
     }
@@ -315,6 +581,10 @@ public class PedidoServiceImpl implements PedidoService {
         // 4. PERSISTÊNCIA: Salvar alteração
         pedidoRepository.save(pedido);
 
+        // EVENTO: Notificar assinantes do pedido e do cliente
+        Long clienteId = pedido.getCliente() != null ? pedido.getCliente().getId() : null;
+        eventPublisher.publishEvent(new StatusPedidoAlteradoEvent(id, clienteId, status, StatusPedido.CANCELADO));
+
         // 5. CONVERSÃO: Retornar DTO
         return modelMapper.map(pedido, PedidoResponseDTO.class);
     }
@@ -381,9 +651,12 @@ public class PedidoServiceImpl implements PedidoService {
         Pedido pedido = pedidoRepository.findById(pedidoId)
                 .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado: " + pedidoId));
         
-        return pedido.getItens().stream()
-                .map(item -> item.getPrecoUnitario().multiply(new BigDecimal(item.getQuantidade())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long totalCentavos = 0;
+        for (ItemPedido item : pedido.getItens()) {
+            totalCentavos = Math.addExact(totalCentavos,
+                Money.multiplicar(Money.centavosDe(item.getPrecoUnitario()), item.getQuantidade()));
+        }
+        return Money.ofCentavos(totalCentavos).toBigDecimal();
     }
 
     /**
@@ -457,25 +730,34 @@ public class PedidoServiceImpl implements PedidoService {
 
     /**
      * Calcula total de vendas do dia
+     * Servido pelos contadores em memória, sem consultar o banco.
      */
     public BigDecimal calcularTotalVendasDia() {
-        LocalDateTime inicioDia = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0);
-        LocalDateTime fimDia = LocalDateTime.now().withHour(23).withMinute(59).withSecond(59);
-        return pedidoRepository.calcularTotalVendasPeriodo(inicioDia, fimDia);
+        return metricasVendasService.totalVendasDia(LocalDate.now());
+    }
+
+    /**
+     * Calcula total de vendas de um período de dias (inclusive)
+     * Servido pelos contadores em memória, sem consultar o banco.
+     */
+    public BigDecimal calcularTotalVendasPeriodo(LocalDate inicio, LocalDate fim) {
+        return metricasVendasService.totalVendasPeriodo(inicio, fim);
     }
 
     /**
      * Conta pedidos por status
+     * Servido pelos contadores em memória, sem consultar o banco.
      */
     public long contarPedidosPorStatus(StatusPedido status) {
-        return pedidoRepository.countByStatus(status);
+        return metricasVendasService.contarPedidos(status);
     }
 
     /**
-     * Calcula tempo médio de preparação
+     * Calcula tempo médio de preparação em minutos (PREPARANDO → PRONTO)
+     * Servido pelos tempos medidos em memória, sem consultar o banco.
      */
     public Double calcularTempoMedioPreparacao() {
-        return pedidoRepository.calcularTempoMedioPreparacao();
+        return temposPreparacaoService.tempoMedioPreparoMinutos();
     }
 
     /**
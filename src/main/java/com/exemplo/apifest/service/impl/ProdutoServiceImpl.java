@@ -1,5 +1,7 @@
 package com.exemplo.apifest.service.impl;
 
+import com.exemplo.apifest.cache.EntidadesAusentes;
+import com.exemplo.apifest.cache.InvalidacaoCatalogo;
 import com.exemplo.apifest.dto.ProdutoDTO;
 import com.exemplo.apifest.dto.response.ProdutoResponseDTO;
 import com.exemplo.apifest.exception.BusinessException;
@@ -12,7 +14,6 @@ import com.exemplo.apifest.service.ProdutoService;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.cache.annotation.CacheEvict;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -58,6 +59,12 @@ public class ProdutoServiceImpl implements ProdutoService {
     @Autowired
     private ModelMapper modelMapper;
 
+    @Autowired
+    private InvalidacaoCatalogo invalidacaoCatalogo;
+
+    @Autowired
+    private EntidadesAusentes entidadesAusentes;
+
     // Categorias válidas para produtos
     private static final List<String> CATEGORIAS_VALIDAS = Arrays.asList(
         "ENTRADA", "PRATO_PRINCIPAL", "SOBREMESA", "BEBIDA", "LANCHE", 
@@ -67,12 +74,10 @@ public class ProdutoServiceImpl implements ProdutoService {
 
     /**
      * Cadastra um novo produto com validações de negócio.
-     * CACHE: Invalida cache de produtos do restaurante após criação.
+     * CACHE: Após o commit invalida o cardápio do restaurante e muda a sua ETag.
      */
     @Override
     @Transactional
-    @CacheEvict(value = CacheConfig.PRODUTOS_CACHE, 
-                key = "'restaurante:' + #dto.restauranteId", beforeInvocation = false)
     public ProdutoResponseDTO cadastrarProduto(ProdutoDTO dto) {
         // 1. VALIDAÇÃO: Verificar se restaurante existe e está ativo
         Restaurante restaurante = restauranteRepository.findById(dto.getRestauranteId())
@@ -110,6 +115,8 @@ public class ProdutoServiceImpl implements ProdutoService {
 
         // 7. PERSISTÊNCIA: Salvar no banco
         Produto produtoSalvo = produtoRepository.save(produto);
+        invalidacaoCatalogo.cardapioAlterado(restaurante.getId());
+        entidadesAusentes.criada(EntidadesAusentes.PRODUTO, produtoSalvo.getId());
 
         return modelMapper.map(produtoSalvo, ProdutoResponseDTO.class);
     }
@@ -117,15 +124,28 @@ public class ProdutoServiceImpl implements ProdutoService {
     /**
      * Busca produtos por restaurante (apenas disponíveis).
      * CACHE: Produtos por restaurante são cacheados por 10 minutos.
+     * sync = true: numa falta de cache só uma chamada por restaurante consulta o
+     * banco; as concorrentes aguardam o mesmo resultado.
+     * Restaurante inexistente fica no cache negativo (EntidadesAusentes).
      */
     @Override
-    @Cacheable(value = CacheConfig.PRODUTOS_CACHE, key = "'restaurante:' + #restauranteId")
+    @Cacheable(value = CacheConfig.PRODUTOS_CACHE, key = "'restaurante:' + #restauranteId", sync = true)
     public List<ProdutoResponseDTO> buscarProdutosPorRestaurante(Long restauranteId) {
+        return carregarProdutosPorRestaurante(restauranteId);
+    }
+
+    /**
+     * Mesma leitura de buscarProdutosPorRestaurante, sem cache: usada pela
+     * recarga em segundo plano (stale-while-revalidate) do cache de cardápios.
+     */
+    @Override
+    public List<ProdutoResponseDTO> carregarProdutosPorRestaurante(Long restauranteId) {
         // VALIDAÇÃO: Verificar se restaurante existe
+        entidadesAusentes.verificar(EntidadesAusentes.RESTAURANTE, restauranteId);
         if (!restauranteRepository.existsById(restauranteId)) {
-            throw new EntityNotFoundException(
-                String.format("Restaurante não encontrado com ID: %d", restauranteId)
-            );
+            String mensagem = String.format("Restaurante não encontrado com ID: %d", restauranteId);
+            entidadesAusentes.registrar(EntidadesAusentes.RESTAURANTE, restauranteId, mensagem);
+            throw new EntityNotFoundException(mensagem);
         }
 
         List<Produto> produtos = produtoRepository.findProdutosDisponiveisPorRestaurante(restauranteId);
@@ -137,15 +157,15 @@ public class ProdutoServiceImpl implements ProdutoService {
 
     /**
      * Busca produto por ID com validação de disponibilidade.
-     * CACHE: Produto individual cacheado por 5 minutos.
+     * CACHE: Produto individual cacheado por 5 minutos (single-flight, sync = true);
+     * id inexistente fica no cache negativo (EntidadesAusentes).
      */
     @Override
-    @Cacheable(value = CacheConfig.PRODUTO_CACHE, key = "'produto:' + #id")
+    @Cacheable(value = CacheConfig.PRODUTO_CACHE, key = "'produto:' + #id", sync = true)
     public ProdutoResponseDTO buscarProdutoPorId(Long id) {
+        entidadesAusentes.verificar(EntidadesAusentes.PRODUTO, id);
         Produto produto = produtoRepository.findById(id)
-            .orElseThrow(() -> new EntityNotFoundException(
-                String.format("Produto não encontrado com ID: %d", id)
-            ));
+            .orElseThrow(() -> produtoAusente(id));
 
         // REGRA DE NEGÓCIO: Só retorna se produto estiver disponível
         if (!produto.getDisponivel()) {
@@ -155,14 +175,23 @@ public class ProdutoServiceImpl implements ProdutoService {
         return modelMapper.map(produto, ProdutoResponseDTO.class);
     }
 
+    /**
+     * Registra o produto no cache negativo e devolve a exceção a lançar.
+     */
+    private EntityNotFoundException produtoAusente(Long id) {
+        String mensagem = String.format("Produto não encontrado com ID: %d", id);
+        entidadesAusentes.registrar(EntidadesAusentes.PRODUTO, id, mensagem);
+        return new EntityNotFoundException(mensagem);
+    }
+
     /**
      * Atualiza dados do produto com validações.
-     * CACHE: Invalida cache do produto e lista de produtos do restaurante.
+     * CACHE: Após o commit grava o produto novo em produto:{id} e remove só o
+     * cardápio do restaurante atual e do anterior, mudando as suas ETags
+     * (ver InvalidacaoCatalogo).
      */
     @Override
     @Transactional
-    @CacheEvict(value = {CacheConfig.PRODUTO_CACHE, CacheConfig.PRODUTOS_CACHE}, 
-                allEntries = true, beforeInvocation = false)
     public ProdutoResponseDTO atualizarProduto(Long id, ProdutoDTO dto) {
         // 1. VALIDAÇÃO: Verificar se produto existe
         Produto produto = produtoRepository.findById(id)
@@ -203,7 +232,8 @@ public class ProdutoServiceImpl implements ProdutoService {
             throw new BusinessException("Preço do produto deve ser maior que zero");
         }
 
-        // 6. ATUALIZAÇÃO: Mapear novos dados
+        // 6. ATUALIZAÇÃO: Mapear novos dados (guardando o restaurante anterior)
+        Long restauranteAnteriorId = produto.getRestaurante() != null ? produto.getRestaurante().getId() : null;
         modelMapper.map(dto, produto);
         produto.setId(id);
         produto.setRestaurante(restaurante);
@@ -213,11 +243,16 @@ public class ProdutoServiceImpl implements ProdutoService {
         // 7. PERSISTÊNCIA: Salvar alterações
         Produto produtoAtualizado = produtoRepository.save(produto);
 
-        return modelMapper.map(produtoAtualizado, ProdutoResponseDTO.class);
+        ProdutoResponseDTO resposta = modelMapper.map(produtoAtualizado, ProdutoResponseDTO.class);
+        invalidacaoCatalogo.produtoAlterado(resposta, Boolean.TRUE.equals(produtoAtualizado.getDisponivel()),
+            restaurante.getId(), restauranteAnteriorId);
+        return resposta;
     }
 
     /**
      * Altera disponibilidade do produto (toggle).
+     * CACHE: Após o commit atualiza produto:{id} (ou o remove, se indisponível)
+     * e remove o cardápio do restaurante do produto.
      */
     @Override
     @Transactional
@@ -235,7 +270,10 @@ public class ProdutoServiceImpl implements ProdutoService {
         // 3. PERSISTÊNCIA: Salvar alteração
         Produto produtoAtualizado = produtoRepository.save(produto);
 
-        return modelMapper.map(produtoAtualizado, ProdutoResponseDTO.class);
+        ProdutoResponseDTO resposta = modelMapper.map(produtoAtualizado, ProdutoResponseDTO.class);
+        invalidacaoCatalogo.produtoAlterado(resposta, disponivel,
+            produtoAtualizado.getRestaurante() != null ? produtoAtualizado.getRestaurante().getId() : null);
+        return resposta;
     }
 
     /**
@@ -6,10 +6,15 @@ import com.exemplo.apifest.exception.BusinessException;
 import com.exemplo.apifest.exception.EntityNotFoundException;
 import com.exemplo.apifest.model.Restaurante;
 import com.exemplo.apifest.model.StatusRestaurante;
+import com.exemplo.apifest.repository.ProdutoRepository;
 import com.exemplo.apifest.repository.RestauranteRepository;
 import com.exemplo.apifest.service.RestauranteService;
 import org.modelmapper.ModelMapper;
+import com.exemplo.apifest.cache.EntidadesAusentes;
+import com.exemplo.apifest.cache.InvalidacaoCatalogo;
+import com.exemplo.apifest.config.CacheConfig;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -45,9 +50,18 @@ public class RestauranteServiceImpl implements RestauranteService {
     @Autowired
     private RestauranteRepository restauranteRepository;
 
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
     @Autowired
     private ModelMapper modelMapper;
 
+    @Autowired
+    private InvalidacaoCatalogo invalidacaoCatalogo;
+
+    @Autowired
+    private EntidadesAusentes entidadesAusentes;
+
     // Categorias válidas para restaurantes
     private static final List<String> CATEGORIAS_VALIDAS = Arrays.asList(
         "PIZZA", "HAMBURGER", "JAPONESA", "ITALIANA", "BRASILEIRA", 
@@ -57,6 +71,7 @@ public class RestauranteServiceImpl implements RestauranteService {
 
     /**
      * Cadastra um novo restaurante com validações completas.
+     * CACHE: Após o commit invalida a lista de restaurantes disponíveis e muda a sua ETag.
      */
     @Override
     @Transactional
@@ -86,12 +101,15 @@ public class RestauranteServiceImpl implements RestauranteService {
 
         // 7. PERSISTÊNCIA: Salvar no banco
         Restaurante restauranteSalvo = restauranteRepository.save(restaurante);
+        invalidacaoCatalogo.restaurantesAlterados();
+        entidadesAusentes.criada(EntidadesAusentes.RESTAURANTE, restauranteSalvo.getId());
 
         return modelMapper.map(restauranteSalvo, RestauranteResponseDTO.class);
     }
 
     /**
      * Método alias para cadastrarRestaurante() - usado em testes
+     * CACHE: Após o commit invalida a lista de restaurantes disponíveis e muda a sua ETag.
      */
     @Override
     @Transactional
@@ -118,6 +136,8 @@ public class RestauranteServiceImpl implements RestauranteService {
         
         // Salvar
         Restaurante restauranteSalvo = restauranteRepository.save(restaurante);
+        invalidacaoCatalogo.restaurantesAlterados();
+        entidadesAusentes.criada(EntidadesAusentes.RESTAURANTE, restauranteSalvo.getId());
         
         // Mapear resposta
         RestauranteResponseDTO response = modelMapper.map(restauranteSalvo, RestauranteResponseDTO.class);
@@ -128,17 +148,26 @@ public class RestauranteServiceImpl implements RestauranteService {
 
     /**
      * Busca restaurante por ID com validação de existência.
+     * CACHE: id inexistente fica no cache negativo (EntidadesAusentes).
      */
     @Override
     public RestauranteResponseDTO buscarRestaurantePorId(Long id) {
+        entidadesAusentes.verificar(EntidadesAusentes.RESTAURANTE, id);
         Restaurante restaurante = restauranteRepository.findById(id)
-            .orElseThrow(() -> new EntityNotFoundException(
-                String.format("Restaurante não encontrado com ID: %d", id)
-            ));
+            .orElseThrow(() -> restauranteAusente(id));
 
         return modelMapper.map(restaurante, RestauranteResponseDTO.class);
     }
 
+    /**
+     * Registra o restaurante no cache negativo e devolve a exceção a lançar.
+     */
+    private EntityNotFoundException restauranteAusente(Long id) {
+        String mensagem = String.format("Restaurante não encontrado com ID: %d", id);
+        entidadesAusentes.registrar(EntidadesAusentes.RESTAURANTE, id, mensagem);
+        return new EntityNotFoundException(mensagem);
+    }
+
     /**
      * Busca restaurantes por categoria específica.
      */
@@ -173,6 +202,8 @@ public class RestauranteServiceImpl implements RestauranteService {
 
     /**
      * Atualiza dados do restaurante com validações.
+     * CACHE: Após o commit invalida a lista de restaurantes disponíveis, o cardápio
+     * e os produtos do restaurante (que trazem o nome dele) e muda as ETags.
      */
     @Override
     @Transactional
@@ -199,6 +230,7 @@ public class RestauranteServiceImpl implements RestauranteService {
 
         // 4. PERSISTÊNCIA: Salvar alterações
         Restaurante restauranteAtualizado = restauranteRepository.save(restaurante);
+        invalidacaoCatalogo.restauranteAlterado(id, produtoRepository.findIdsByRestauranteId(id));
 
         return modelMapper.map(restauranteAtualizado, RestauranteResponseDTO.class);
     }
@@ -254,7 +286,12 @@ public class RestauranteServiceImpl implements RestauranteService {
         return buscarRestaurantesPorCategoria(categoria);
     }
 
+    /**
+     * Restaurantes ativos.
+     * CACHE: Lista cacheada em restaurantes:disponiveis (30 minutos, single-flight).
+     */
     @Override
+    @Cacheable(value = CacheConfig.RESTAURANTES_CACHE, key = "'" + InvalidacaoCatalogo.RESTAURANTES_DISPONIVEIS + "'", sync = true)
     public List<RestauranteResponseDTO> listarRestaurantesDisponiveis() {
         return buscarRestaurantesDisponiveis();
     }
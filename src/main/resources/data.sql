@@ -17,6 +17,10 @@ INSERT INTO usuarios (id, nome, email, senha, telefone, role, ativo, data_criaca
 (5, 'Maria Cliente', 'maria@email.com', '$2a$10$N.zmdr9k7uOCQb376NoUnuTJ8iKXulpZR8J4OY6Nd4EMCFyZw4ufC', '(11) 99999-0005', 'CLIENTE', true, NOW(), null),
 (6, 'Burger House', 'burger@house.com', '$2a$10$N.zmdr9k7uOCQb376NoUnuTJ8iKXulpZR8J4OY6Nd4EMCFyZw4ufC', '(11) 99999-0006', 'RESTAURANTE', true, NOW(), 2);
 
+-- Os IDs acima são fixos: reposiciona a sequence (pooled, incremento 50) para
+-- que os próximos usuários não colidam com eles
+ALTER SEQUENCE usuarios_seq RESTART WITH 1001;
+
 -- ==========================================================================
 -- INFORMAÇÕES IMPORTANTES:
 -- 
@@ -15,6 +15,10 @@ CREATE TABLE IF NOT EXISTS usuarios (
     PRIMARY KEY (id)
 );
 
+-- Sequence de IDs (pooled, allocationSize = 50 na entidade Usuario)
+-- Começa após os IDs fixos inseridos em data.sql
+CREATE SEQUENCE IF NOT EXISTS usuarios_seq START WITH 1001 INCREMENT BY 50;
+
 -- Índices para otimização de consultas
 CREATE INDEX IF NOT EXISTS idx_usuarios_email ON usuarios(email);
 CREATE INDEX IF NOT EXISTS idx_usuarios_role ON usuarios(role);
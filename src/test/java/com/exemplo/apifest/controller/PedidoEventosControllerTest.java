@@ -0,0 +1,140 @@
+package com.exemplo.apifest.controller;
+
+import com.exemplo.apifest.model.Cliente;
+import com.exemplo.apifest.model.Pedido;
+import com.exemplo.apifest.model.StatusPedido;
+import com.exemplo.apifest.service.PedidoService;
+import com.exemplo.apifest.service.StatusPedidoStreamService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Testes do stream SSE de status de pedidos.
+ *
+ * Verifica que os assinantes de um pedido e de um cliente recebem as
+ * transições publicadas por atualizarStatusPedido e cancelarPedido.
+ *
+ * @author DeliveryTech Team
+ */
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+@WithMockUser(authorities = "ADMIN")
+@DisplayName("📡 PedidoController - Stream SSE de Status")
+class PedidoEventosControllerTest {
+
+    private static final long ESPERA_MAXIMA_MS = 5_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private StatusPedidoStreamService statusPedidoStreamService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Long clienteId;
+    private Long pedidoId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(tx -> {
+            Cliente cliente = new Cliente("Cliente SSE", "sse@teste.com", "11999990000", "Rua do Stream, 1");
+            entityManager.persist(cliente);
+            Pedido pedido = new Pedido("Pedido SSE", 30.0, cliente);
+            entityManager.persist(pedido);
+            clienteId = cliente.getId();
+            pedidoId = pedido.getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(tx -> {
+            entityManager.createQuery("DELETE FROM Pedido p WHERE p.cliente.id = :clienteId")
+                .setParameter("clienteId", clienteId).executeUpdate();
+            entityManager.createQuery("DELETE FROM Cliente c WHERE c.id = :clienteId")
+                .setParameter("clienteId", clienteId).executeUpdate();
+        });
+    }
+
+    @Test
+    @DisplayName("✅ Assinante do pedido deve receber status atual e transições")
+    void assinanteDoPedidoDeveReceberTransicoes() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/api/pedidos/{id}/eventos", pedidoId))
+            .andExpect(status().isOk())
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        MockHttpServletResponse resposta = resultado.getResponse();
+
+        aguardarConteudo(resposta, "\"status\":\"PENDENTE\"");
+
+        pedidoService.atualizarStatusPedido(pedidoId, StatusPedido.CONFIRMADO);
+
+        String conteudo = aguardarConteudo(resposta, "\"status\":\"CONFIRMADO\"");
+        assertThat(conteudo).contains("event:status");
+        assertThat(conteudo).contains("\"statusAnterior\":\"PENDENTE\"");
+    }
+
+    @Test
+    @DisplayName("✅ Assinante do cliente deve receber cancelamento dos seus pedidos")
+    void assinanteDoClienteDeveReceberCancelamento() throws Exception {
+        int conexoesAntes = statusPedidoStreamService.getConexoesAtivas();
+
+        MvcResult resultado = mockMvc.perform(get("/api/pedidos/cliente/{clienteId}/eventos", clienteId))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        assertThat(statusPedidoStreamService.getConexoesAtivas()).isEqualTo(conexoesAntes + 1);
+
+        pedidoService.cancelarPedido(pedidoId);
+
+        String conteudo = aguardarConteudo(resultado.getResponse(), "\"status\":\"CANCELADO\"");
+        assertThat(conteudo).contains("\"pedidoId\":" + pedidoId);
+        assertThat(conteudo).contains("\"clienteId\":" + clienteId);
+    }
+
+    @Test
+    @DisplayName("❌ Assinar pedido inexistente deve retornar 404")
+    void assinarPedidoInexistenteDeveRetornar404() throws Exception {
+        mockMvc.perform(get("/api/pedidos/{id}/eventos", 999_999L))
+            .andExpect(status().isNotFound());
+    }
+
+    private String aguardarConteudo(MockHttpServletResponse resposta, String esperado) throws Exception {
+        long limite = System.currentTimeMillis() + ESPERA_MAXIMA_MS;
+        String conteudo = resposta.getContentAsString();
+        while (!conteudo.contains(esperado) && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+            conteudo = resposta.getContentAsString();
+        }
+        assertThat(conteudo).contains(esperado);
+        return conteudo;
+    }
+}
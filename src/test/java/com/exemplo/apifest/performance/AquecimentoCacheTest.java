@@ -0,0 +1,169 @@
+package com.exemplo.apifest.performance;
+
+import com.exemplo.apifest.cache.AquecimentoCache;
+import com.exemplo.apifest.cache.InvalidacaoCatalogo;
+import com.exemplo.apifest.config.CacheConfig;
+import com.exemplo.apifest.config.CacheProperties;
+import com.exemplo.apifest.model.Produto;
+import com.exemplo.apifest.model.Restaurante;
+import com.exemplo.apifest.service.ProdutoService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes do aquecimento dos caches na subida.
+ *
+ * Verifica que o aquecimento carrega a listagem de restaurantes disponíveis,
+ * os cardápios só dos restaurantes ativos
+ * e os produtos listados no instantâneo (ignorando ids inválidos ou
+ * inexistentes), que o instantâneo gravado traz os produtos mais acessados
+ * e que a aplicação só fica pronta (readiness) depois do aquecimento.
+ *
+ * @author DeliveryTech Team
+ */
+@SpringBootTest(properties = {
+    "app.cache.aquecimento.habilitado=true",
+    "app.cache.aquecimento.arquivo=target/aquecimento-cache/produtos-quentes.txt",
+    "app.cache.aquecimento.concorrencia=2"
+})
+@ActiveProfiles("test")
+@DisplayName("🔥 Aquecimento do Cache - Cardápios e Produtos Quentes")
+class AquecimentoCacheTest {
+
+    @Autowired
+    private AquecimentoCache aquecimentoCache;
+
+    @Autowired
+    private CacheProperties cacheProperties;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private final List<Long> restaurantesIds = new ArrayList<>();
+    private final List<Long> produtosIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        limparCaches();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(tx -> {
+            for (String nome : List.of("Aberto", "Fechado")) {
+                Restaurante restaurante = new Restaurante("Restaurante " + nome, "Rua " + nome + ", 3", "1166660000",
+                    nome.toLowerCase() + "@aquecimento.com", "BRASILEIRA", new BigDecimal("5.00"));
+                restaurante.setAtivo("Aberto".equals(nome));
+                entityManager.persist(restaurante);
+                restaurantesIds.add(restaurante.getId());
+
+                Produto produto = new Produto("Prato " + nome, "Do dia", new BigDecimal("30.00"),
+                    "PRATO_PRINCIPAL", restaurante);
+                entityManager.persist(produto);
+                produtosIds.add(produto.getId());
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        limparCaches();
+        Files.deleteIfExists(cacheProperties.getAquecimento().getArquivo());
+        transactionTemplate.executeWithoutResult(tx -> {
+            entityManager.createQuery("DELETE FROM Produto p WHERE p.restaurante.id IN :restaurantesIds")
+                .setParameter("restaurantesIds", restaurantesIds).executeUpdate();
+            entityManager.createQuery("DELETE FROM Restaurante r WHERE r.id IN :restaurantesIds")
+                .setParameter("restaurantesIds", restaurantesIds).executeUpdate();
+        });
+        restaurantesIds.clear();
+        produtosIds.clear();
+    }
+
+    @Test
+    @DisplayName("✅ Deve carregar restaurantes disponíveis, cardápios dos ativos e produtos do instantâneo")
+    void deveCarregarCardapiosEProdutosQuentes() throws IOException {
+        Long produtoAberto = produtosIds.get(0);
+        gravarInstantaneo(String.valueOf(produtoAberto), "invalido", "", String.valueOf(Long.MAX_VALUE));
+
+        AquecimentoCache.Resultado resultado = aquecimentoCache.aquecer();
+
+        assertThat(cacheManager.getCache(CacheConfig.RESTAURANTES_CACHE)
+            .get(InvalidacaoCatalogo.RESTAURANTES_DISPONIVEIS)).isNotNull();
+        assertThat(resultado.restaurantesDisponiveis()).isTrue();
+
+        Cache cardapios = cacheManager.getCache(CacheConfig.PRODUTOS_CACHE);
+        assertThat(cardapios.get("restaurante:" + restaurantesIds.get(0))).isNotNull();
+        assertThat(cardapios.get("restaurante:" + restaurantesIds.get(1))).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.PRODUTO_CACHE).get("produto:" + produtoAberto)).isNotNull();
+        assertThat(resultado.cardapios()).isPositive();
+        assertThat(resultado.produtos()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("💾 Instantâneo deve guardar os produtos mais acessados")
+    void instantaneoDeveGuardarProdutosQuentes() throws IOException {
+        Long produtoAberto = produtosIds.get(0);
+        for (int i = 0; i < 3; i++) {
+            produtoService.buscarProdutoPorId(produtoAberto);
+        }
+
+        aquecimentoCache.salvarInstantaneo();
+
+        assertThat(Files.readAllLines(cacheProperties.getAquecimento().getArquivo()))
+            .containsExactly(String.valueOf(produtoAberto));
+
+        // Próxima subida: o produto volta ao cache sem nenhuma requisição
+        limparCaches();
+        assertThat(aquecimentoCache.aquecer().produtos()).isEqualTo(1);
+        assertThat(cacheManager.getCache(CacheConfig.PRODUTO_CACHE).get("produto:" + produtoAberto)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("🚦 Aplicação só deve aceitar tráfego depois do aquecimento")
+    void readinessDeveVirDepoisDoAquecimento() {
+        assertThat(applicationAvailability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+    }
+
+    private void gravarInstantaneo(String... linhas) throws IOException {
+        Path arquivo = cacheProperties.getAquecimento().getArquivo();
+        Files.createDirectories(arquivo.toAbsolutePath().getParent());
+        Files.write(arquivo, List.of(linhas));
+    }
+
+    private void limparCaches() {
+        cacheManager.getCache(CacheConfig.RESTAURANTES_CACHE).clear();
+        cacheManager.getCache(CacheConfig.PRODUTOS_CACHE).clear();
+        cacheManager.getCache(CacheConfig.PRODUTO_CACHE).clear();
+    }
+}
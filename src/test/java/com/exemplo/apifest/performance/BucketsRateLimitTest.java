@@ -0,0 +1,67 @@
+package com.exemplo.apifest.performance;
+
+import com.exemplo.apifest.config.RateLimitingConfig;
+import io.github.bucket4j.Bucket;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes do armazenamento de buckets do rate limiting.
+ *
+ * Uma enxurrada de IPs distintos (X-Forwarded-For forjado) não pode passar de
+ * app.rate-limit.maximo-buckets por política, o mesmo IP deve reaproveitar o
+ * seu bucket e as políticas não compartilham buckets. Tamanho e remoções devem
+ * aparecer no Micrometer.
+ *
+ * @author DeliveryTech Team
+ */
+@SpringBootTest(properties = "app.rate-limit.maximo-buckets=50")
+@ActiveProfiles("test")
+@DisplayName("🪣 Rate Limiting - Buckets Limitados e com Expiração")
+class BucketsRateLimitTest {
+
+    @Autowired
+    private RateLimitingConfig rateLimitingConfig;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("✅ IPs forjados não devem passar do máximo de buckets da política")
+    void ipsForjadosNaoDevemPassarDoMaximo() {
+        for (int i = 0; i < 5_000; i++) {
+            rateLimitingConfig.resolveBucket("10." + (i >> 16) + "." + ((i >> 8) & 0xFF) + "." + (i & 0xFF))
+                .tryConsume(1);
+        }
+
+        assertThat(rateLimitingConfig.bucketsGuardados("geral")).isLessThanOrEqualTo(50);
+        assertThat(meterRegistry.get("cache.evictions").tag("cache", "rate-limit.geral").functionCounter().count())
+            .isGreaterThanOrEqualTo(5_000 - 50);
+        assertThat(meterRegistry.get("cache.size").tag("cache", "rate-limit.geral").gauge().value())
+            .isLessThanOrEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("🔁 Mesmo IP deve reaproveitar o bucket, separado por política")
+    void mesmoIpDeveReaproveitarBucketPorPolitica() {
+        String ip = "203.0.113.7";
+        Bucket auth = rateLimitingConfig.resolveAuthBucket(ip);
+        for (int i = 0; i < 10; i++) {
+            assertThat(rateLimitingConfig.resolveAuthBucket(ip).tryConsume(1)).isTrue();
+        }
+
+        assertThat(rateLimitingConfig.resolveAuthBucket(ip)).isSameAs(auth);
+        assertThat(auth.tryConsume(1)).isFalse();
+        assertThat(rateLimitingConfig.resolveAdminBucket(ip)).isNotSameAs(auth);
+        assertThat(rateLimitingConfig.resolveAdminBucket(ip).getAvailableTokens())
+            .isEqualTo(20);
+        assertThat(rateLimitingConfig.resolveBucket(ip).getAvailableTokens())
+            .isEqualTo(100);
+    }
+}
@@ -0,0 +1,250 @@
+package com.exemplo.apifest.performance;
+
+import com.exemplo.apifest.cache.CacheEmCamadasManager;
+import com.exemplo.apifest.config.CacheConfig;
+import com.exemplo.apifest.dto.response.ProdutoResponseDTO;
+import com.exemplo.apifest.model.Produto;
+import com.exemplo.apifest.model.Restaurante;
+import com.exemplo.apifest.service.ProdutoService;
+import com.github.fppt.jedismock.RedisServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes do cache em camadas (Caffeine L1 + Redis L2).
+ *
+ * Usa um servidor Redis em memória (jedis-mock, protocolo RESP) e simula um
+ * segundo nó com outro CacheEmCamadasManager sobre o mesmo Redis: valores
+ * gravados por um nó são lidos do L2 pelo outro, e put/evict/clear de um nó
+ * chegam pelo pub/sub e descartam o L1 do outro. Também verifica o TTL por
+ * cache no Redis e a recarga do L1 a partir do L2 (refresh-after-write).
+ *
+ * @author DeliveryTech Team
+ */
+@SpringBootTest(properties = {
+    "app.cache.provider=redis",
+    "app.cache.caches.clientes.refresh-after-write=200ms"
+})
+@ActiveProfiles("test")
+@DisplayName("🧊 Cache em Camadas - Caffeine L1 + Redis L2")
+class CacheEmCamadasTest {
+
+    private static final RedisServer REDIS = iniciarRedis();
+
+    @DynamicPropertySource
+    static void redis(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.redis.host", REDIS::getHost);
+        registry.add("spring.data.redis.port", REDIS::getBindPort);
+    }
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CacheConfig cacheConfig;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private RedisConnectionFactory connectionFactory;
+
+    @Autowired
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private CacheEmCamadasManager outroNo;
+    private RedisMessageListenerContainer listenerOutroNo;
+    private Long restauranteId;
+    private Long produtoId;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(tx -> {
+            Restaurante restaurante = new Restaurante("Restaurante Camadas", "Av. Camadas, 2", "1133330000",
+                "camadas@restaurante.com", "BRASILEIRA", new BigDecimal("5.00"));
+            entityManager.persist(restaurante);
+            Produto produto = new Produto("Prato", "Prato do dia", new BigDecimal("20.00"), "PRATO_PRINCIPAL", restaurante);
+            entityManager.persist(produto);
+            restauranteId = restaurante.getId();
+            produtoId = produto.getId();
+        });
+
+        // Segundo nó: mesmo Redis, L1 e assinatura próprios
+        outroNo = new CacheEmCamadasManager(CacheConfig.NOMES_CACHES, cacheConfig.redisCacheManager(connectionFactory),
+            nome -> cacheConfig.caffeineConfig(nome, true), stringRedisTemplate, "apifest:cache:invalidacao");
+        outroNo.afterPropertiesSet();
+
+        listenerOutroNo = new RedisMessageListenerContainer();
+        listenerOutroNo.setConnectionFactory(connectionFactory);
+        listenerOutroNo.addMessageListener(outroNo, new ChannelTopic(outroNo.getCanalInvalidacao()));
+        listenerOutroNo.afterPropertiesSet();
+        listenerOutroNo.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        listenerOutroNo.destroy();
+        CacheConfig.NOMES_CACHES.forEach(nome -> cacheManager.getCache(nome).clear());
+        transactionTemplate.executeWithoutResult(tx -> {
+            entityManager.createQuery("DELETE FROM Produto p WHERE p.restaurante.id = :restauranteId")
+                .setParameter("restauranteId", restauranteId).executeUpdate();
+            entityManager.createQuery("DELETE FROM Restaurante r WHERE r.id = :restauranteId")
+                .setParameter("restauranteId", restauranteId).executeUpdate();
+        });
+    }
+
+    @AfterAll
+    static void pararRedis() throws IOException {
+        REDIS.stop();
+    }
+
+    @Test
+    @DisplayName("✅ Valor cacheado por um nó deve ser lido do L2 pelo outro e ficar no L1 dele")
+    void valorCacheadoDeveSerCompartilhadoPeloL2() {
+        assertThat(cacheManager).isInstanceOf(CacheEmCamadasManager.class);
+        String chave = "produto:" + produtoId;
+
+        ProdutoResponseDTO produto = produtoService.buscarProdutoPorId(produtoId);
+
+        Cache cacheOutroNo = outroNo.getCache(CacheConfig.PRODUTO_CACHE);
+        assertThat(localDe(cacheOutroNo).getIfPresent(chave)).isNull();
+        assertThat(cacheOutroNo.get(chave, ProdutoResponseDTO.class)).isEqualTo(produto);
+
+        // A invalidação do put do primeiro nó pode chegar depois e descartar a cópia
+        // do L1; a leitura seguinte a repõe a partir do L2
+        aguardar(() -> cacheOutroNo.get(chave) != null
+            && produto.equals(localDe(cacheOutroNo).getIfPresent(chave)));
+    }
+
+    @Test
+    @DisplayName("🔄 put, evict e clear de um nó devem descartar o L1 do outro via pub/sub")
+    void alteracoesDevemInvalidarL1DoOutroNo() {
+        Cache cacheNo = cacheManager.getCache(CacheConfig.PEDIDOS_CACHE);
+        Cache cacheOutroNo = outroNo.getCache(CacheConfig.PEDIDOS_CACHE);
+
+        cacheNo.put("pedido:1", "versao-1");
+        assertThat(cacheOutroNo.get("pedido:1", String.class)).isEqualTo("versao-1");
+
+        // put: o outro nó descarta o L1 e passa a ler a nova versão do L2
+        cacheNo.put("pedido:1", "versao-2");
+        aguardar(() -> localDe(cacheOutroNo).getIfPresent("pedido:1") == null);
+        assertThat(cacheOutroNo.get("pedido:1", String.class)).isEqualTo("versao-2");
+
+        // evict feito pelo outro nó chega a este
+        assertThat(cacheNo.get("pedido:1", String.class)).isEqualTo("versao-2");
+        cacheOutroNo.evict("pedido:1");
+        aguardar(() -> localDe(cacheNo).getIfPresent("pedido:1") == null);
+        assertThat(cacheNo.get("pedido:1")).isNull();
+
+        // clear descarta o L1 inteiro
+        cacheNo.put("pedido:2", "a");
+        cacheNo.put("pedido:3", "b");
+        assertThat(cacheOutroNo.get("pedido:2", String.class)).isEqualTo("a");
+        assertThat(cacheOutroNo.get("pedido:3", String.class)).isEqualTo("b");
+        cacheNo.clear();
+        aguardar(() -> localDe(cacheOutroNo).estimatedSize() == 0);
+        assertThat(cacheOutroNo.get("pedido:2")).isNull();
+    }
+
+    @Test
+    @DisplayName("📈 L1 de cada cache em camadas deve estar vinculado ao Micrometer")
+    void l1DeveExportarEstatisticas() {
+        cacheManager.getCache(CacheConfig.RESTAURANTES_CACHE).get("restaurantes:inexistente");
+
+        assertThat(meterRegistry.get("cache.gets")
+            .tags("cache", CacheConfig.RESTAURANTES_CACHE, "result", "miss")
+            .functionCounter().count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("⏱️ Cada cache deve gravar no Redis com o TTL da sua política")
+    void l2DeveUsarTtlDaPolitica() {
+        cacheManager.getCache(CacheConfig.PRODUTO_CACHE).put("produto:ttl", "p");
+        cacheManager.getCache(CacheConfig.RESTAURANTES_CACHE).put("restaurantes:ttl", "r");
+
+        assertThat(stringRedisTemplate.getExpire("produto::produto:ttl"))
+            .isBetween(Duration.ofMinutes(4).toSeconds(), Duration.ofMinutes(5).toSeconds());
+        assertThat(stringRedisTemplate.getExpire("restaurantes::restaurantes:ttl"))
+            .isBetween(Duration.ofMinutes(29).toSeconds(), Duration.ofMinutes(30).toSeconds());
+    }
+
+    @Test
+    @DisplayName("🔁 refresh-after-write deve reler do L2 uma alteração cuja invalidação se perdeu")
+    void l1DeveSerRecarregadoDoL2() {
+        Cache cacheOutroNo = outroNo.getCache(CacheConfig.CLIENTES_CACHE);
+        cacheManager.getCache(CacheConfig.CLIENTES_CACHE).put("cliente:1", "versao-1");
+        assertThat(cacheOutroNo.get("cliente:1", String.class)).isEqualTo("versao-1");
+
+        // Grava direto no Redis, sem publicar invalidação: só a recarga traz a versão nova
+        cacheConfig.redisCacheManager(connectionFactory).getCache(CacheConfig.CLIENTES_CACHE)
+            .put("cliente:1", "versao-2");
+
+        aguardar(() -> "versao-2".equals(cacheOutroNo.get("cliente:1", String.class)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static com.github.benmanes.caffeine.cache.Cache<String, Object> localDe(Cache cache) {
+        return (com.github.benmanes.caffeine.cache.Cache<String, Object>) cache.getNativeCache();
+    }
+
+    private static void aguardar(BooleanSupplier condicao) {
+        Instant limite = Instant.now().plus(Duration.ofSeconds(5));
+        while (!condicao.getAsBoolean()) {
+            assertThat(Instant.now()).as("invalidação não recebida a tempo").isBefore(limite);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static RedisServer iniciarRedis() {
+        try {
+            RedisServer servidor = RedisServer.newRedisServer();
+            servidor.start();
+            return servidor;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
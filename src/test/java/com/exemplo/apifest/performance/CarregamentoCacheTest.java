@@ -0,0 +1,170 @@
+package com.exemplo.apifest.performance;
+
+import com.exemplo.apifest.cache.CacheRevalidavel;
+import com.exemplo.apifest.config.CacheConfig;
+import com.exemplo.apifest.dto.response.ProdutoResponseDTO;
+import com.exemplo.apifest.model.Produto;
+import com.exemplo.apifest.model.Restaurante;
+import com.exemplo.apifest.service.ProdutoService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes do carregamento do cache de cardápio: single-flight nas faltas e
+ * stale-while-revalidate.
+ *
+ * Conta os SELECTs pelo ContadorStatementsSql: 16 chamadas simultâneas com o
+ * cache vazio devem gerar os mesmos SELECTs de uma única carga, e uma entrada
+ * vencida deve ser servida enquanto uma só recarga em segundo plano traz o
+ * cardápio novo.
+ *
+ * @author DeliveryTech Team
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.exemplo.apifest.performance.ContadorStatementsSql",
+    "app.cache.caches.produtos.revalidar-apos=300ms"
+})
+@ActiveProfiles("test")
+@DisplayName("🚦 Carregamento do Cache - Single-flight e Stale-while-revalidate")
+class CarregamentoCacheTest {
+
+    private static final int CHAMADAS_CONCORRENTES = 16;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Long restauranteId;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.PRODUTOS_CACHE).clear();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(tx -> {
+            Restaurante restaurante = new Restaurante("Restaurante Almoço", "Av. Meio-dia, 12", "1155550000",
+                "almoco@restaurante.com", "BRASILEIRA", new BigDecimal("5.00"));
+            entityManager.persist(restaurante);
+            entityManager.persist(new Produto("Feijoada", "Completa", new BigDecimal("42.00"), "PRATO_PRINCIPAL", restaurante));
+            restauranteId = restaurante.getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.getCache(CacheConfig.PRODUTOS_CACHE).clear();
+        transactionTemplate.executeWithoutResult(tx -> {
+            entityManager.createQuery("DELETE FROM Produto p WHERE p.restaurante.id = :restauranteId")
+                .setParameter("restauranteId", restauranteId).executeUpdate();
+            entityManager.createQuery("DELETE FROM Restaurante r WHERE r.id = :restauranteId")
+                .setParameter("restauranteId", restauranteId).executeUpdate();
+        });
+    }
+
+    @Test
+    @DisplayName("✅ Faltas simultâneas na mesma chave devem consultar o banco uma única vez")
+    void faltasSimultaneasDevemConsultarUmaVez() throws Exception {
+        int selectsPorCarga = selectsDeUmaCarga();
+
+        ExecutorService executor = Executors.newFixedThreadPool(CHAMADAS_CONCORRENTES);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<List<ProdutoResponseDTO>>> resultados = new ArrayList<>();
+        try {
+            for (int i = 0; i < CHAMADAS_CONCORRENTES; i++) {
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    return produtoService.buscarProdutosPorRestaurante(restauranteId);
+                }));
+            }
+            ContadorStatementsSql.zerar();
+            largada.countDown();
+            for (Future<List<ProdutoResponseDTO>> resultado : resultados) {
+                assertThat(resultado.get()).hasSize(1);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(ContadorStatementsSql.selects()).isEqualTo(selectsPorCarga);
+    }
+
+    @Test
+    @DisplayName("♻️ Entrada vencida deve ser servida enquanto uma recarga traz o valor novo")
+    void entradaVencidaDeveSerServidaERevalidada() {
+        assertThat(cacheManager.getCache(CacheConfig.PRODUTOS_CACHE)).isInstanceOf(CacheRevalidavel.class);
+        int selectsPorCarga = selectsDeUmaCarga();
+        assertThat(produtoService.buscarProdutosPorRestaurante(restauranteId)).hasSize(1);
+
+        // Produto novo gravado direto no banco, sem evict do cache
+        transactionTemplate.executeWithoutResult(tx -> entityManager.persist(new Produto("Caipirinha", "Limão",
+            new BigDecimal("15.00"), "BEBIDA", entityManager.find(Restaurante.class, restauranteId))));
+        pausar(Duration.ofMillis(400));
+
+        // Vencida: as leituras seguem imediatas com o valor antigo e só uma recarga vai ao banco
+        ContadorStatementsSql.zerar();
+        for (int i = 0; i < 5; i++) {
+            assertThat(produtoService.buscarProdutosPorRestaurante(restauranteId)).hasSizeBetween(1, 2);
+        }
+        aguardar(() -> produtoService.buscarProdutosPorRestaurante(restauranteId).size() == 2);
+        assertThat(ContadorStatementsSql.selects()).isEqualTo(selectsPorCarga);
+    }
+
+    /**
+     * SELECTs de uma carga do cardápio (deixa a entrada no cache).
+     */
+    private int selectsDeUmaCarga() {
+        cacheManager.getCache(CacheConfig.PRODUTOS_CACHE).clear();
+        ContadorStatementsSql.zerar();
+        produtoService.buscarProdutosPorRestaurante(restauranteId);
+        int selects = ContadorStatementsSql.selects();
+        cacheManager.getCache(CacheConfig.PRODUTOS_CACHE).clear();
+        return selects;
+    }
+
+    private static void aguardar(BooleanSupplier condicao) {
+        Instant limite = Instant.now().plus(Duration.ofSeconds(5));
+        while (!condicao.getAsBoolean()) {
+            assertThat(Instant.now()).as("revalidação não concluída a tempo").isBefore(limite);
+            pausar(Duration.ofMillis(20));
+        }
+    }
+
+    private static void pausar(Duration duracao) {
+        try {
+            Thread.sleep(duracao.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.exemplo.apifest.performance;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * StatementInspector do Hibernate usado pelos testes de performance para contar
+ * quantos statements SQL cada operação envia ao banco.
+ *
+ * Registrado via propriedade
+ * spring.jpa.properties.hibernate.session_factory.statement_inspector.
+ *
+ * @author DeliveryTech Team
+ */
+public class ContadorStatementsSql implements StatementInspector {
+
+    private static final AtomicInteger SELECTS = new AtomicInteger();
+    private static final AtomicInteger INSERTS = new AtomicInteger();
+    private static final AtomicInteger UPDATES = new AtomicInteger();
+    private static final AtomicInteger SEQUENCES = new AtomicInteger();
+    private static final AtomicInteger OUTROS = new AtomicInteger();
+
+    @Override
+    public String inspect(String sql) {
+        String comando = sql.stripLeading().toLowerCase(Locale.ROOT);
+        if (comando.contains("next value for") || comando.contains("nextval(")) {
+            SEQUENCES.incrementAndGet();
+        } else if (comando.startsWith("select")) {
+            SELECTS.incrementAndGet();
+        } else if (comando.startsWith("insert")) {
+            INSERTS.incrementAndGet();
+        } else if (comando.startsWith("update")) {
+            UPDATES.incrementAndGet();
+        } else {
+            OUTROS.incrementAndGet();
+        }
+        return sql;
+    }
+
+    public static void zerar() {
+        SELECTS.set(0);
+        INSERTS.set(0);
+        UPDATES.set(0);
+        SEQUENCES.set(0);
+        OUTROS.set(0);
+    }
+
+    public static int selects() { return SELECTS.get(); }
+    public static int inserts() { return INSERTS.get(); }
+    public static int updates() { return UPDATES.get(); }
+    public static int sequences() { return SEQUENCES.get(); }
+    public static int total() { return SELECTS.get() + INSERTS.get() + UPDATES.get() + SEQUENCES.get() + OUTROS.get(); }
+}
@@ -0,0 +1,100 @@
+package com.exemplo.apifest.performance;
+
+import com.exemplo.apifest.dto.PedidoDTO;
+import com.exemplo.apifest.dto.response.PedidoResponseDTO;
+import com.exemplo.apifest.model.Cliente;
+import com.exemplo.apifest.model.Produto;
+import com.exemplo.apifest.model.Restaurante;
+import com.exemplo.apifest.service.PedidoService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes de quantidade de statements SQL na criação de pedidos.
+ *
+ * Garante que a precificação carrega todos os produtos do carrinho em uma
+ * única consulta e que a resposta é montada sem reler o pedido.
+ *
+ * @author DeliveryTech Team
+ */
+@SpringBootTest(properties =
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.exemplo.apifest.performance.ContadorStatementsSql")
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("🧮 Criação de Pedido - Quantidade de Statements SQL")
+class CriacaoPedidoStatementsTest {
+
+    private static final int ITENS_CARRINHO = 20;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private PedidoDTO pedidoDTO;
+
+    @BeforeEach
+    void setUp() {
+        Cliente cliente = new Cliente("Cliente Carrinho", "carrinho@teste.com", "11999990000", "Rua do Teste, 100");
+        entityManager.persist(cliente);
+
+        Restaurante restaurante = new Restaurante("Restaurante Carrinho", "Av. Teste, 200", "1133330000",
+            "carrinho@restaurante.com", "BRASILEIRA", new BigDecimal("5.00"));
+        entityManager.persist(restaurante);
+
+        List<PedidoDTO.ItemPedidoDTO> itens = new ArrayList<>();
+        for (int i = 1; i <= ITENS_CARRINHO; i++) {
+            Produto produto = new Produto("Produto " + i, "Descrição " + i,
+                new BigDecimal("10.50"), "PRATO_PRINCIPAL", restaurante);
+            entityManager.persist(produto);
+
+            PedidoDTO.ItemPedidoDTO item = new PedidoDTO.ItemPedidoDTO();
+            item.setProdutoId(produto.getId());
+            item.setQuantidade(2);
+            itens.add(item);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        pedidoDTO = new PedidoDTO();
+        pedidoDTO.setClienteId(cliente.getId());
+        pedidoDTO.setRestauranteId(restaurante.getId());
+        pedidoDTO.setItens(itens);
+
+        ContadorStatementsSql.zerar();
+    }
+
+    @Test
+    @DisplayName("✅ Carrinho com 20 itens deve usar 3 SELECTs (cliente, restaurante, produtos)")
+    void deveCriarPedidoGrandeComConsultasConstantes() {
+        PedidoResponseDTO resposta = pedidoService.criarPedido(pedidoDTO);
+        entityManager.flush();
+
+        assertThat(ContadorStatementsSql.selects()).isEqualTo(3);
+        assertThat(ContadorStatementsSql.inserts()).isLessThanOrEqualTo(1 + ITENS_CARRINHO);
+        assertThat(ContadorStatementsSql.updates()).isZero();
+        // IDs por sequence pooled: no máximo duas leituras por sequence (pedidos e itens_pedido)
+        assertThat(ContadorStatementsSql.sequences()).isLessThanOrEqualTo(4);
+
+        assertThat(resposta.getId()).isNotNull();
+        assertThat(resposta.getItens()).hasSize(ITENS_CARRINHO);
+        assertThat(resposta.getRestaurante().getId()).isEqualTo(pedidoDTO.getRestauranteId());
+        // 20 itens × 2 × 10,50 + 5,00 de taxa de entrega
+        assertThat(resposta.getValor()).isEqualByComparingTo("425.00");
+    }
+}
@@ -0,0 +1,160 @@
+package com.exemplo.apifest.performance;
+
+import com.exemplo.apifest.cache.EntidadesAusentes;
+import com.exemplo.apifest.config.CacheConfig;
+import com.exemplo.apifest.config.CacheProperties;
+import com.exemplo.apifest.dto.RestauranteDTO;
+import com.exemplo.apifest.dto.response.RestauranteResponseDTO;
+import com.exemplo.apifest.exception.EntityNotFoundException;
+import com.exemplo.apifest.service.ClienteService;
+import com.exemplo.apifest.service.PedidoService;
+import com.exemplo.apifest.service.ProdutoService;
+import com.exemplo.apifest.service.RestauranteService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Testes do cache negativo de entidades inexistentes.
+ *
+ * A segunda busca por um id inexistente de produto, restaurante, cliente ou
+ * pedido deve lançar o mesmo "não encontrado" sem nenhum SELECT, e o id deve
+ * sair do cache negativo assim que uma entidade com ele é criada.
+ *
+ * @author DeliveryTech Team
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.exemplo.apifest.performance.ContadorStatementsSql"
+})
+@ActiveProfiles("test")
+@DisplayName("🚫 Cache Negativo - Entidades Inexistentes")
+class EntidadesAusentesTest {
+
+    private static final Long INEXISTENTE = Long.MAX_VALUE - 7;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private RestauranteService restauranteService;
+
+    @Autowired
+    private ClienteService clienteService;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private EntidadesAusentes entidadesAusentes;
+
+    @Autowired
+    private CacheProperties cacheProperties;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private final List<Long> restaurantesIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        limparCaches();
+    }
+
+    @AfterEach
+    void tearDown() {
+        limparCaches();
+        if (!restaurantesIds.isEmpty()) {
+            transactionTemplate.executeWithoutResult(tx ->
+                entityManager.createQuery("DELETE FROM Restaurante r WHERE r.id IN :restaurantesIds")
+                    .setParameter("restaurantesIds", restaurantesIds).executeUpdate());
+            restaurantesIds.clear();
+        }
+    }
+
+    @Test
+    @DisplayName("✅ Segunda busca por id inexistente não deve consultar o banco")
+    void segundaBuscaPorIdInexistenteNaoDeveConsultarBanco() {
+        Map<String, Executable> buscas = Map.of(
+            "Produto", () -> produtoService.buscarProdutoPorId(INEXISTENTE),
+            "Restaurante", () -> restauranteService.buscarRestaurantePorId(INEXISTENTE),
+            "Cliente", () -> clienteService.buscarClientePorId(INEXISTENTE),
+            "Pedido", () -> pedidoService.buscarPedidoPorId(INEXISTENTE));
+
+        buscas.forEach((entidade, busca) -> {
+            String mensagem = assertThrows(EntityNotFoundException.class, busca).getMessage();
+            assertThat(mensagem).startsWith(entidade + " não encontrado");
+
+            ContadorStatementsSql.zerar();
+            assertThat(assertThrows(EntityNotFoundException.class, busca).getMessage()).isEqualTo(mensagem);
+            assertThat(ContadorStatementsSql.selects()).as(entidade).isZero();
+        });
+
+        assertThat(cacheProperties.politica(CacheConfig.AUSENCIAS_CACHE).getTtl())
+            .isLessThan(cacheProperties.politica(CacheConfig.PRODUTO_CACHE).getTtl())
+            .isEqualTo(Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("🍽️ Cardápio de restaurante inexistente também deve usar o cache negativo")
+    void cardapioDeRestauranteInexistenteDeveUsarCacheNegativo() {
+        assertThrows(EntityNotFoundException.class, () -> produtoService.buscarProdutosPorRestaurante(INEXISTENTE));
+
+        ContadorStatementsSql.zerar();
+        assertThrows(EntityNotFoundException.class, () -> restauranteService.buscarRestaurantePorId(INEXISTENTE));
+        assertThat(ContadorStatementsSql.selects()).isZero();
+    }
+
+    @Test
+    @DisplayName("🆕 Entidade criada deve sair do cache negativo após o commit")
+    void entidadeCriadaDeveSairDoCacheNegativo() {
+        RestauranteDTO dto = new RestauranteDTO();
+        dto.setNome("Restaurante Recém-Aberto");
+        dto.setEndereco("Rua Nova, 1");
+        dto.setTelefone("1155550000");
+        dto.setEmail("recem.aberto@restaurante.com");
+        dto.setCategoria("BRASILEIRA");
+        dto.setTaxaEntrega(new BigDecimal("5.00"));
+
+        Long id = transactionTemplate.execute(tx -> {
+            RestauranteResponseDTO criado = restauranteService.cadastrarRestaurante(dto);
+            // Sondagem concorrente antes do commit: o id ainda não é visível
+            entidadesAusentes.registrar(EntidadesAusentes.RESTAURANTE, criado.getId(),
+                "Restaurante não encontrado com ID: " + criado.getId());
+            return criado.getId();
+        });
+        restaurantesIds.add(id);
+
+        assertThat(restauranteService.buscarRestaurantePorId(id).getNome()).isEqualTo("Restaurante Recém-Aberto");
+    }
+
+    private void limparCaches() {
+        CacheConfig.NOMES_CACHES.forEach(nome -> cacheManager.getCache(nome).clear());
+    }
+}
@@ -0,0 +1,174 @@
+package com.exemplo.apifest.performance;
+
+import com.exemplo.apifest.config.CacheConfig;
+import com.exemplo.apifest.dto.RestauranteDTO;
+import com.exemplo.apifest.model.Produto;
+import com.exemplo.apifest.model.Restaurante;
+import com.exemplo.apifest.service.ProdutoService;
+import com.exemplo.apifest.service.RestauranteService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Testes de ETag e GET condicional do catálogo.
+ *
+ * If-None-Match com a ETag atual deve ser respondido com 304 sem nenhum
+ * SELECT e sem tocar no cache de DTOs; escritas em produtos e restaurantes
+ * devem mudar só a ETag do cardápio ou da lista afetada.
+ *
+ * @author DeliveryTech Team
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.exemplo.apifest.performance.ContadorStatementsSql"
+})
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+@DisplayName("🏷️ ETag do Catálogo - GET Condicional por Versão")
+class EtagCatalogoTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private RestauranteService restauranteService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private final List<Long> restaurantesIds = new ArrayList<>();
+    private final List<Long> produtosIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        limparCaches();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(tx -> {
+            for (String nome : List.of("Etag", "Vizinho Etag")) {
+                Restaurante restaurante = new Restaurante("Restaurante " + nome, "Rua da Versão, 9", "1188880000",
+                    nome.replace(' ', '.').toLowerCase() + "@restaurante.com", "BRASILEIRA", new BigDecimal("5.00"));
+                entityManager.persist(restaurante);
+                Produto produto = new Produto("Pastel " + nome, "De feira", new BigDecimal("12.00"),
+                    "LANCHE", restaurante);
+                entityManager.persist(produto);
+                restaurantesIds.add(restaurante.getId());
+                produtosIds.add(produto.getId());
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        limparCaches();
+        transactionTemplate.executeWithoutResult(tx -> {
+            entityManager.createQuery("DELETE FROM Produto p WHERE p.restaurante.id IN :restaurantesIds")
+                .setParameter("restaurantesIds", restaurantesIds).executeUpdate();
+            entityManager.createQuery("DELETE FROM Restaurante r WHERE r.id IN :restaurantesIds")
+                .setParameter("restaurantesIds", restaurantesIds).executeUpdate();
+        });
+        restaurantesIds.clear();
+        produtosIds.clear();
+    }
+
+    @Test
+    @DisplayName("✅ If-None-Match atual deve receber 304 sem consultar banco nem cache")
+    void etagAtualDeveResponder304SemBancoNemCache() throws Exception {
+        String cardapio = "/api/produtos/restaurante/" + restaurantesIds.get(0);
+        MockHttpServletResponse primeira = requisitar(cardapio, null);
+        String etag = primeira.getHeader(HttpHeaders.ETAG);
+        assertThat(primeira.getStatus()).isEqualTo(200);
+        assertThat(etag).startsWith("\"").endsWith("\"");
+        assertThat(primeira.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-cache");
+
+        limparCaches();
+        ContadorStatementsSql.zerar();
+        MockHttpServletResponse condicional = requisitar(cardapio, etag);
+
+        assertThat(condicional.getStatus()).isEqualTo(304);
+        assertThat(condicional.getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+        assertThat(condicional.getContentAsByteArray()).isEmpty();
+        assertThat(ContadorStatementsSql.selects()).isZero();
+        assertThat(cacheManager.getCache(CacheConfig.PRODUTOS_CACHE)
+            .get("restaurante:" + restaurantesIds.get(0))).isNull();
+    }
+
+    @Test
+    @DisplayName("🔄 Produto alterado deve mudar só a ETag do cardápio do restaurante")
+    void alteracaoDeProdutoDeveMudarSoEtagDoCardapio() throws Exception {
+        String cardapio = "/api/produtos/restaurante/" + restaurantesIds.get(0);
+        String cardapioVizinho = "/api/produtos/restaurante/" + restaurantesIds.get(1);
+        String etag = requisitar(cardapio, null).getHeader(HttpHeaders.ETAG);
+        String etagVizinho = requisitar(cardapioVizinho, null).getHeader(HttpHeaders.ETAG);
+        String etagRestaurantes = requisitar("/api/restaurantes", null).getHeader(HttpHeaders.ETAG);
+
+        produtoService.alterarDisponibilidade(produtosIds.get(0), false);
+
+        MockHttpServletResponse depois = requisitar(cardapio, etag);
+        assertThat(depois.getStatus()).isEqualTo(200);
+        assertThat(depois.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        assertThat(depois.getContentAsString()).isEqualTo("[]");
+        assertThat(requisitar(cardapioVizinho, etagVizinho).getStatus()).isEqualTo(304);
+        assertThat(requisitar("/api/restaurantes", etagRestaurantes).getStatus()).isEqualTo(304);
+    }
+
+    @Test
+    @DisplayName("🏪 Restaurante alterado deve mudar a ETag da lista de restaurantes")
+    void alteracaoDeRestauranteDeveMudarEtagDaLista() throws Exception {
+        String etag = requisitar("/api/restaurantes", null).getHeader(HttpHeaders.ETAG);
+        assertThat(requisitar("/api/restaurantes/" + restaurantesIds.get(0), etag).getStatus()).isEqualTo(304);
+
+        RestauranteDTO dto = new RestauranteDTO();
+        dto.setNome("Restaurante Etag Renovado");
+        dto.setCategoria("BRASILEIRA");
+        dto.setTaxaEntrega(new BigDecimal("6.00"));
+        restauranteService.atualizarRestaurante(restaurantesIds.get(0), dto);
+
+        MockHttpServletResponse depois = requisitar("/api/restaurantes", etag);
+        assertThat(depois.getStatus()).isEqualTo(200);
+        assertThat(depois.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        assertThat(depois.getContentAsString()).contains("Restaurante Etag Renovado");
+    }
+
+    private MockHttpServletResponse requisitar(String url, String ifNoneMatch) throws Exception {
+        var requisicao = get(url);
+        if (ifNoneMatch != null) {
+            requisicao.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return mockMvc.perform(requisicao).andReturn().getResponse();
+    }
+
+    private void limparCaches() {
+        cacheManager.getCache(CacheConfig.PRODUTOS_CACHE).clear();
+        cacheManager.getCache(CacheConfig.RESTAURANTES_CACHE).clear();
+    }
+}
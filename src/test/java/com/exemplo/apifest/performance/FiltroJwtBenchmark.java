@@ -0,0 +1,128 @@
+package com.exemplo.apifest.performance;
+
+import com.exemplo.apifest.security.JwtAuthenticationFilter;
+import com.exemplo.apifest.security.JwtProperties;
+import com.exemplo.apifest.security.JwtUtil;
+import com.exemplo.apifest.service.CustomUserDetailsService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ===============================================================================
+ * BENCHMARK JMH - CUSTO DO FILTRO JWT POR REQUISIÇÃO
+ * ===============================================================================
+ *
+ * Mede o JwtAuthenticationFilter de ponta a ponta para uma requisição
+ * autenticada (header, verificação, UserDetails, SecurityContext), com o
+ * carregamento do usuário fixo em memória para isolar o custo do JWT:
+ *
+ * - filtro, cacheTokens=0: uma verificação de assinatura por requisição
+ * - filtro, cacheTokens=10000: token repetido sai do cache (hash SHA-256)
+ * - verificacaoAnterior: o que o filtro fazia antes, quatro parses completos
+ *   remontando a chave HMAC a partir do secret em Base64 em cada um
+ *
+ * Execução (fora do mvn test):
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.include=FiltroJwtBenchmark
+ *
+ * Com -prof gc (adicionar aos argumentos) o JMH também reporta bytes alocados
+ * por operação.
+ *
+ * @author DeliveryTech Team
+ * ===============================================================================
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FiltroJwtBenchmark {
+
+    private static final String SECRET = "ZGVsaXZlcnktdGVjaC1zZWNyZXQta2V5LTIwMjUtYXBpLWZlc3QtcmVzdGZ1bA==";
+    private static final String EMAIL = "cliente@apifest.com";
+
+    @Param({"0", "10000"})
+    private long cacheTokens;
+
+    private JwtAuthenticationFilter filtro;
+    private String token;
+    private String cabecalho;
+    private final MockHttpServletResponse resposta = new MockHttpServletResponse();
+    private final FilterChain cadeia = (request, response) -> { };
+
+    @Setup
+    public void montarFiltro() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setCacheTokensMaximo(cacheTokens);
+
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtProperties", properties);
+        ReflectionTestUtils.setField(jwtUtil, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(jwtUtil, "inicializar");
+
+        UserDetails usuario = User.withUsername(EMAIL).password("x").authorities("ROLE_CLIENTE").build();
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService() {
+            @Override
+            public UserDetails loadUserByUsername(String email) {
+                return usuario;
+            }
+        };
+
+        filtro = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filtro, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filtro, "userDetailsService", userDetailsService);
+
+        token = jwtUtil.generateToken(EMAIL);
+        cabecalho = "Bearer " + token;
+    }
+
+    @Benchmark
+    public Authentication filtro() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/pedidos/1");
+        request.addHeader("Authorization", cabecalho);
+        filtro.doFilter(request, resposta, cadeia);
+
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return autenticacao;
+    }
+
+    @Benchmark
+    public Claims verificacaoAnterior() {
+        // extractUsername (getUserDetails) + validateToken (username e expiração) + extractUsername
+        Claims claims = null;
+        for (int i = 0; i < 4; i++) {
+            claims = Jwts.parserBuilder()
+                    .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+        }
+        return claims;
+    }
+}
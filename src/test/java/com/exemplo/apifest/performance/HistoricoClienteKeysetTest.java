@@ -0,0 +1,161 @@
+package com.exemplo.apifest.performance;
+
+import com.exemplo.apifest.dto.response.CursorPagedResponse;
+import com.exemplo.apifest.dto.response.PedidoResumoDTO;
+import com.exemplo.apifest.exception.BusinessException;
+import com.exemplo.apifest.exception.EntityNotFoundException;
+import com.exemplo.apifest.model.Cliente;
+import com.exemplo.apifest.model.Pedido;
+import com.exemplo.apifest.service.PedidoService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes do histórico do cliente paginado por cursor (keyset).
+ *
+ * Percorre o histórico inteiro página a página e verifica que nenhum pedido
+ * é repetido ou perdido (inclusive com datas empatadas) e que cada página,
+ * em qualquer profundidade, custa uma única consulta.
+ *
+ * @author DeliveryTech Team
+ */
+@SpringBootTest(properties =
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.exemplo.apifest.performance.ContadorStatementsSql")
+@ActiveProfiles("test")
+@DisplayName("📜 Histórico do Cliente - Paginação por Cursor")
+class HistoricoClienteKeysetTest {
+
+    private static final int TOTAL_PEDIDOS = 23;
+    private static final int TAMANHO_PAGINA = 5;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Long clienteId;
+    private List<Long> idsEsperados;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        idsEsperados = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(tx -> {
+            Cliente cliente = new Cliente("Cliente Histórico", "historico@teste.com", "11999990000", "Rua do Histórico, 1");
+            entityManager.persist(cliente);
+            clienteId = cliente.getId();
+
+            // Pedidos em grupos de 3 com a mesma data, para exercitar o desempate por id
+            LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+            List<Pedido> pedidos = new ArrayList<>();
+            for (int i = 0; i < TOTAL_PEDIDOS; i++) {
+                Pedido pedido = new Pedido("Pedido histórico " + i, 10.0 + i, cliente);
+                pedido.setDataPedido(base.plusMinutes(i / 3));
+                entityManager.persist(pedido);
+                pedidos.add(pedido);
+            }
+            pedidos.sort(Comparator.comparing(Pedido::getDataPedido).thenComparing(Pedido::getId).reversed());
+            pedidos.forEach(pedido -> idsEsperados.add(pedido.getId()));
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(tx -> {
+            entityManager.createQuery("DELETE FROM Pedido p WHERE p.cliente.id = :clienteId")
+                .setParameter("clienteId", clienteId).executeUpdate();
+            entityManager.createQuery("DELETE FROM Cliente c WHERE c.id = :clienteId")
+                .setParameter("clienteId", clienteId).executeUpdate();
+        });
+    }
+
+    @Test
+    @DisplayName("✅ Percorrer todas as páginas deve retornar cada pedido uma vez, em ordem")
+    void devePercorrerHistoricoSemRepetirNemPerder() {
+        List<Long> idsLidos = new ArrayList<>();
+        String cursor = null;
+        int paginas = 0;
+
+        do {
+            ContadorStatementsSql.zerar();
+            CursorPagedResponse<PedidoResumoDTO> pagina =
+                pedidoService.buscarPedidosPorCliente(clienteId, cursor, TAMANHO_PAGINA);
+
+            assertThat(ContadorStatementsSql.selects()).isEqualTo(1);
+            assertThat(pagina.getContent()).hasSizeLessThanOrEqualTo(TAMANHO_PAGINA);
+            assertThat(pagina.getContent()).allSatisfy(pedido ->
+                assertThat(pedido.getClienteNome()).isEqualTo("Cliente Histórico"));
+
+            pagina.getContent().forEach(pedido -> idsLidos.add(pedido.getId()));
+            cursor = pagina.getNextCursor();
+            assertThat(pagina.isHasNext()).isEqualTo(cursor != null);
+            paginas++;
+        } while (cursor != null);
+
+        assertThat(paginas).isEqualTo((TOTAL_PEDIDOS + TAMANHO_PAGINA - 1) / TAMANHO_PAGINA);
+        assertThat(idsLidos).containsExactlyElementsOf(idsEsperados);
+    }
+
+    @Test
+    @DisplayName("✅ Cliente sem pedidos deve retornar página vazia")
+    void clienteSemPedidosDeveRetornarPaginaVazia() {
+        Long outroClienteId = transactionTemplate.execute(tx -> {
+            Cliente cliente = new Cliente("Cliente Vazio", "vazio@teste.com", "11999990001", "Rua Vazia, 1");
+            entityManager.persist(cliente);
+            return cliente.getId();
+        });
+        try {
+            CursorPagedResponse<PedidoResumoDTO> pagina =
+                pedidoService.buscarPedidosPorCliente(outroClienteId, null, TAMANHO_PAGINA);
+
+            assertThat(pagina.getContent()).isEmpty();
+            assertThat(pagina.isHasNext()).isFalse();
+            assertThat(pagina.getNextCursor()).isNull();
+        } finally {
+            transactionTemplate.executeWithoutResult(tx ->
+                entityManager.createQuery("DELETE FROM Cliente c WHERE c.id = :id")
+                    .setParameter("id", outroClienteId).executeUpdate());
+        }
+    }
+
+    @Test
+    @DisplayName("❌ Cliente inexistente deve lançar EntityNotFoundException")
+    void clienteInexistenteDeveFalhar() {
+        assertThatThrownBy(() -> pedidoService.buscarPedidosPorCliente(999_999L, null, TAMANHO_PAGINA))
+            .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("❌ Cursor adulterado ou tamanho fora do limite devem lançar BusinessException")
+    void deveRecusarCursorInvalidoETamanhoForaDoLimite() {
+        assertThatThrownBy(() -> pedidoService.buscarPedidosPorCliente(clienteId, "nao-e-um-cursor", TAMANHO_PAGINA))
+            .isInstanceOf(BusinessException.class)
+            .hasMessage("Cursor de paginação inválido");
+        assertThatThrownBy(() -> pedidoService.buscarPedidosPorCliente(clienteId, null, 0))
+            .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> pedidoService.buscarPedidosPorCliente(clienteId, null, 101))
+            .isInstanceOf(BusinessException.class);
+    }
+}
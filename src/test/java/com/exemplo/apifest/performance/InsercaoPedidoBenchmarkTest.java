@@ -0,0 +1,190 @@
+package com.exemplo.apifest.performance;
+
+import com.exemplo.apifest.dto.PedidoDTO;
+import com.exemplo.apifest.model.Cliente;
+import com.exemplo.apifest.model.Produto;
+import com.exemplo.apifest.model.Restaurante;
+import com.exemplo.apifest.service.PedidoService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ===============================================================================
+ * BENCHMARK - INSERÇÃO DE PEDIDOS COM JDBC BATCHING
+ * ===============================================================================
+ *
+ * Verifica, via estatísticas do Hibernate, que os itens de pedidos com 1, 10
+ * e 50 itens são enviados em lote com as mesmas propriedades de batching do
+ * perfil de produção (hibernate.jdbc.batch_size=25, order_inserts=true): com
+ * GenerationType.IDENTITY cada ItemPedido exigia seu próprio statement, o que
+ * desligava o batching silenciosamente.
+ *
+ * A medição de pedidos/s e inserts/s leva dezenas de segundos e tem
+ * @Tag("benchmark"): fica fora do mvn test e roda com
+ *   mvn -Pbenchmark test -Dtest=InsercaoPedidoBenchmarkTest
+ *
+ * @author DeliveryTech Team
+ * ===============================================================================
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.jdbc.batch_size=25",
+    "spring.jpa.properties.hibernate.order_inserts=true",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "logging.level.com.exemplo.apifest=INFO",
+    "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@ActiveProfiles("test")
+@DisplayName("📦 Benchmark - Inserção de Pedidos em Lote")
+class InsercaoPedidoBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(InsercaoPedidoBenchmarkTest.class);
+
+    private static final int BATCH_SIZE = 25;
+    private static final int AQUECIMENTO = 20;
+    private static final int ITENS_POR_RODADA = 500;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private Long clienteId;
+    private Long restauranteId;
+    private final List<Long> produtoIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Cliente cliente = new Cliente("Cliente Benchmark", "benchmark@teste.com", "11999990000", "Rua do Benchmark, 1");
+            entityManager.persist(cliente);
+
+            Restaurante restaurante = new Restaurante("Restaurante Benchmark", "Av. Benchmark, 2", "1133330000",
+                "benchmark@restaurante.com", "BRASILEIRA", new BigDecimal("5.00"));
+            entityManager.persist(restaurante);
+
+            for (int i = 1; i <= 50; i++) {
+                Produto produto = new Produto("Item " + i, "Item de benchmark",
+                    new BigDecimal("9.90"), "LANCHE", restaurante);
+                entityManager.persist(produto);
+                produtoIds.add(produto.getId());
+            }
+
+            clienteId = cliente.getId();
+            restauranteId = restaurante.getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createQuery("DELETE FROM ItemPedido i WHERE i.pedido.id IN "
+                    + "(SELECT p.id FROM Pedido p WHERE p.cliente.id = :clienteId)")
+                .setParameter("clienteId", clienteId).executeUpdate();
+            entityManager.createQuery("DELETE FROM Pedido p WHERE p.cliente.id = :clienteId")
+                .setParameter("clienteId", clienteId).executeUpdate();
+            entityManager.createQuery("DELETE FROM Produto p WHERE p.restaurante.id = :restauranteId")
+                .setParameter("restauranteId", restauranteId).executeUpdate();
+            entityManager.createQuery("DELETE FROM Restaurante r WHERE r.id = :restauranteId")
+                .setParameter("restauranteId", restauranteId).executeUpdate();
+            entityManager.createQuery("DELETE FROM Cliente c WHERE c.id = :clienteId")
+                .setParameter("clienteId", clienteId).executeUpdate();
+        });
+        produtoIds.clear();
+    }
+
+    @ParameterizedTest(name = "Pedido com {0} item(ns)")
+    @ValueSource(ints = {1, 10, 50})
+    @DisplayName("📦 Deve enviar os itens do pedido em lote")
+    void deveEnviarItensEmLote(int quantidadeItens) {
+        PedidoDTO pedido = montarPedido(quantidadeItens);
+        pedidoService.criarPedido(pedido);
+
+        statistics.clear();
+        pedidoService.criarPedido(pedido);
+        long statementsPorPedido = statistics.getPrepareStatementCount();
+
+        // SELECTs de cliente, restaurante e produtos + INSERT do pedido + lotes de itens
+        // (+ eventual busca de novo bloco nas sequences)
+        long lotesDeItens = (quantidadeItens + BATCH_SIZE - 1) / BATCH_SIZE;
+        assertThat(statementsPorPedido).isLessThanOrEqualTo(3 + 1 + lotesDeItens + 2);
+    }
+
+    @Tag("benchmark")
+    @ParameterizedTest(name = "Pedido com {0} item(ns)")
+    @ValueSource(ints = {1, 10, 50})
+    @DisplayName("⚡ Deve medir pedidos/s e inserts/s")
+    void deveMedirInsercaoDePedidos(int quantidadeItens) {
+        PedidoDTO pedido = montarPedido(quantidadeItens);
+
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            pedidoService.criarPedido(pedido);
+        }
+
+        // ========== THROUGHPUT ==========
+        int pedidos = Math.max(ITENS_POR_RODADA / quantidadeItens, 20);
+        long inicio = System.nanoTime();
+        for (int i = 0; i < pedidos; i++) {
+            pedidoService.criarPedido(pedido);
+        }
+        long duracao = System.nanoTime() - inicio;
+
+        double segundos = duracao / (double) TimeUnit.SECONDS.toNanos(1);
+        double pedidosPorSegundo = pedidos / segundos;
+        double insertsPorSegundo = pedidos * (quantidadeItens + 1) / segundos;
+
+        logger.info("📦 {} item(ns): {} pedidos/s | {} inserts/s", quantidadeItens,
+            String.format("%.1f", pedidosPorSegundo), String.format("%.1f", insertsPorSegundo));
+
+        assertThat(pedidosPorSegundo).isPositive();
+    }
+
+    private PedidoDTO montarPedido(int quantidadeItens) {
+        List<PedidoDTO.ItemPedidoDTO> itens = new ArrayList<>();
+        for (int i = 0; i < quantidadeItens; i++) {
+            PedidoDTO.ItemPedidoDTO item = new PedidoDTO.ItemPedidoDTO();
+            item.setProdutoId(produtoIds.get(i));
+            item.setQuantidade(1);
+            itens.add(item);
+        }
+
+        PedidoDTO pedido = new PedidoDTO();
+        pedido.setClienteId(clienteId);
+        pedido.setRestauranteId(restauranteId);
+        pedido.setItens(itens);
+        return pedido;
+    }
+}
@@ -0,0 +1,207 @@
+package com.exemplo.apifest.performance;
+
+import com.exemplo.apifest.cache.VersoesCatalogo;
+import com.exemplo.apifest.config.CacheConfig;
+import com.exemplo.apifest.dto.ProdutoDTO;
+import com.exemplo.apifest.dto.RestauranteDTO;
+import com.exemplo.apifest.dto.response.ProdutoResponseDTO;
+import com.exemplo.apifest.model.Produto;
+import com.exemplo.apifest.model.Restaurante;
+import com.exemplo.apifest.service.ProdutoService;
+import com.exemplo.apifest.service.RestauranteService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes da invalidação dirigida do catálogo.
+ *
+ * Alterar um produto deve tocar só as chaves afetadas: produto:{id} recebe o
+ * valor novo e saem apenas os cardápios do restaurante atual e do anterior;
+ * os cardápios dos demais restaurantes continuam no cache. Renomear um
+ * restaurante invalida o cardápio e os produtos dele, que trazem o nome. Um
+ * rollback não deve alterar o cache.
+ *
+ * @author DeliveryTech Team
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("🎯 Invalidação Dirigida - Catálogo de Produtos")
+class InvalidacaoCatalogoTest {
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private RestauranteService restauranteService;
+
+    @Autowired
+    private VersoesCatalogo versoesCatalogo;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private final List<Long> restaurantesIds = new ArrayList<>();
+    private Long produtoId;
+
+    @BeforeEach
+    void setUp() {
+        limparCaches();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(tx -> {
+            for (String nome : List.of("Origem", "Destino", "Vizinho")) {
+                Restaurante restaurante = new Restaurante("Restaurante " + nome, "Rua " + nome + ", 1", "1144440000",
+                    nome.toLowerCase() + "@restaurante.com", "BRASILEIRA", new BigDecimal("5.00"));
+                entityManager.persist(restaurante);
+                restaurantesIds.add(restaurante.getId());
+            }
+            Produto produto = new Produto("Moqueca Invalidacao", "Moqueca baiana", new BigDecimal("55.00"),
+                "PRATO_PRINCIPAL", entityManager.find(Restaurante.class, restaurantesIds.get(0)));
+            entityManager.persist(produto);
+            entityManager.persist(new Produto("Suco Invalidacao", "Caju", new BigDecimal("9.00"),
+                "BEBIDA", entityManager.find(Restaurante.class, restaurantesIds.get(2))));
+            produtoId = produto.getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        limparCaches();
+        transactionTemplate.executeWithoutResult(tx -> {
+            entityManager.createQuery("DELETE FROM Produto p WHERE p.restaurante.id IN :restaurantesIds")
+                .setParameter("restaurantesIds", restaurantesIds).executeUpdate();
+            entityManager.createQuery("DELETE FROM Restaurante r WHERE r.id IN :restaurantesIds")
+                .setParameter("restaurantesIds", restaurantesIds).executeUpdate();
+        });
+        restaurantesIds.clear();
+    }
+
+    @Test
+    @DisplayName("✅ Atualizar produto deve gravar produto:{id} e remover só os cardápios afetados")
+    void atualizacaoDeveInvalidarSoChavesAfetadas() {
+        aquecerCaches();
+        Long origem = restaurantesIds.get(0);
+        Long destino = restaurantesIds.get(1);
+        Long vizinho = restaurantesIds.get(2);
+
+        ProdutoResponseDTO atualizado = produtoService.atualizarProduto(produtoId, dto("Moqueca Capixaba", destino));
+
+        Cache cardapios = cacheManager.getCache(CacheConfig.PRODUTOS_CACHE);
+        assertThat(cardapios.get("restaurante:" + origem)).isNull();
+        assertThat(cardapios.get("restaurante:" + destino)).isNull();
+        assertThat(cardapios.get("restaurante:" + vizinho)).isNotNull();
+
+        ProdutoResponseDTO emCache = cacheManager.getCache(CacheConfig.PRODUTO_CACHE)
+            .get("produto:" + produtoId, ProdutoResponseDTO.class);
+        assertThat(emCache).isEqualTo(atualizado);
+        assertThat(emCache.getNome()).isEqualTo("Moqueca Capixaba");
+
+        // Os cardápios afetados são recarregados com o produto no restaurante novo
+        assertThat(produtoService.buscarProdutosPorRestaurante(origem)).isEmpty();
+        assertThat(produtoService.buscarProdutosPorRestaurante(destino))
+            .extracting(ProdutoResponseDTO::getNome).containsExactly("Moqueca Capixaba");
+    }
+
+    @Test
+    @DisplayName("🚫 Tornar produto indisponível deve removê-lo do cache e do cardápio")
+    void indisponibilidadeDeveRemoverProduto() {
+        aquecerCaches();
+        Long origem = restaurantesIds.get(0);
+        Long vizinho = restaurantesIds.get(2);
+
+        produtoService.alterarDisponibilidade(produtoId, false);
+
+        assertThat(cacheManager.getCache(CacheConfig.PRODUTO_CACHE).get("produto:" + produtoId)).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.PRODUTOS_CACHE).get("restaurante:" + origem)).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.PRODUTOS_CACHE).get("restaurante:" + vizinho)).isNotNull();
+        assertThat(produtoService.buscarProdutosPorRestaurante(origem)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("🏷️ Renomear restaurante deve invalidar o cardápio e os produtos dele")
+    void renomearRestauranteDeveInvalidarCardapio() {
+        aquecerCaches();
+        Long origem = restaurantesIds.get(0);
+        Long vizinho = restaurantesIds.get(2);
+        long versaoAntes = versoesCatalogo.versao(VersoesCatalogo.cardapio(origem)).getAsLong();
+
+        RestauranteDTO dto = new RestauranteDTO();
+        dto.setNome("Restaurante Renomeado");
+        dto.setCategoria("BRASILEIRA");
+        dto.setEndereco("Rua Origem, 1");
+        dto.setTaxaEntrega(new BigDecimal("5.00"));
+        restauranteService.atualizarRestaurante(origem, dto);
+
+        assertThat(versoesCatalogo.versao(VersoesCatalogo.cardapio(origem)).getAsLong()).isGreaterThan(versaoAntes);
+        assertThat(cacheManager.getCache(CacheConfig.PRODUTOS_CACHE).get("restaurante:" + origem)).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.PRODUTOS_CACHE).get("restaurante:" + vizinho)).isNotNull();
+        assertThat(cacheManager.getCache(CacheConfig.PRODUTO_CACHE).get("produto:" + produtoId)).isNull();
+
+        // Próxima leitura recarrega o cardápio do banco
+        assertThat(produtoService.buscarProdutosPorRestaurante(origem))
+            .extracting(ProdutoResponseDTO::getId).containsExactly(produtoId);
+        assertThat(cacheManager.getCache(CacheConfig.PRODUTOS_CACHE).get("restaurante:" + origem)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("↩️ Rollback não deve alterar o cache")
+    void rollbackNaoDeveAlterarCache() {
+        aquecerCaches();
+        Long origem = restaurantesIds.get(0);
+        Object produtoAntes = cacheManager.getCache(CacheConfig.PRODUTO_CACHE).get("produto:" + produtoId).get();
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(tx -> {
+            produtoService.atualizarProduto(produtoId, dto("Moqueca Revertida", origem));
+            throw new IllegalStateException("rollback");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(cacheManager.getCache(CacheConfig.PRODUTO_CACHE).get("produto:" + produtoId).get())
+            .isEqualTo(produtoAntes);
+        assertThat(cacheManager.getCache(CacheConfig.PRODUTOS_CACHE).get("restaurante:" + origem)).isNotNull();
+    }
+
+    private void aquecerCaches() {
+        restaurantesIds.forEach(produtoService::buscarProdutosPorRestaurante);
+        produtoService.buscarProdutoPorId(produtoId);
+        restaurantesIds.forEach(id ->
+            assertThat(cacheManager.getCache(CacheConfig.PRODUTOS_CACHE).get("restaurante:" + id)).isNotNull());
+    }
+
+    private static ProdutoDTO dto(String nome, Long restauranteId) {
+        ProdutoDTO dto = new ProdutoDTO();
+        dto.setNome(nome);
+        dto.setDescricao("Moqueca com pirão");
+        dto.setPreco(new BigDecimal("58.00"));
+        dto.setCategoria("PRATO_PRINCIPAL");
+        dto.setRestauranteId(restauranteId);
+        return dto;
+    }
+
+    private void limparCaches() {
+        cacheManager.getCache(CacheConfig.PRODUTO_CACHE).clear();
+        cacheManager.getCache(CacheConfig.PRODUTOS_CACHE).clear();
+    }
+}
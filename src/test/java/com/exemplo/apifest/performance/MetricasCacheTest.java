@@ -0,0 +1,133 @@
+package com.exemplo.apifest.performance;
+
+import com.exemplo.apifest.cache.ChavesQuentesEndpoint;
+import com.exemplo.apifest.cache.ChavesQuentesEndpoint.ChaveQuente;
+import com.exemplo.apifest.config.CacheConfig;
+import com.exemplo.apifest.model.Produto;
+import com.exemplo.apifest.model.Restaurante;
+import com.exemplo.apifest.service.ProdutoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes das estatísticas dos caches no Micrometer e do endpoint
+ * /actuator/chavesquentes.
+ *
+ * @author DeliveryTech Team
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("📈 Métricas de Cache - Micrometer e Chaves Quentes")
+class MetricasCacheTest {
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ChavesQuentesEndpoint chavesQuentesEndpoint;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Long restauranteId;
+    private Long produtoQuenteId;
+    private Long produtoFrioId;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.PRODUTO_CACHE).clear();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(tx -> {
+            Restaurante restaurante = new Restaurante("Restaurante Métricas", "Av. Métricas, 3", "1144440000",
+                "metricas@restaurante.com", "BRASILEIRA", new BigDecimal("5.00"));
+            entityManager.persist(restaurante);
+            Produto quente = new Produto("Prato Quente", "Pedido toda hora", new BigDecimal("30.00"), "PRATO_PRINCIPAL", restaurante);
+            Produto frio = new Produto("Prato Frio", "Pedido às vezes", new BigDecimal("25.00"), "PRATO_PRINCIPAL", restaurante);
+            entityManager.persist(quente);
+            entityManager.persist(frio);
+            restauranteId = restaurante.getId();
+            produtoQuenteId = quente.getId();
+            produtoFrioId = frio.getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.getCache(CacheConfig.PRODUTO_CACHE).clear();
+        transactionTemplate.executeWithoutResult(tx -> {
+            entityManager.createQuery("DELETE FROM Produto p WHERE p.restaurante.id = :restauranteId")
+                .setParameter("restauranteId", restauranteId).executeUpdate();
+            entityManager.createQuery("DELETE FROM Restaurante r WHERE r.id = :restauranteId")
+                .setParameter("restauranteId", restauranteId).executeUpdate();
+        });
+    }
+
+    @Test
+    @DisplayName("✅ Acertos e faltas do cache devem aparecer em cache.gets com tag do cache")
+    void acertosEFaltasDevemIrParaOMicrometer() {
+        double acertosAntes = contagem("hit");
+        double faltasAntes = contagem("miss");
+
+        produtoService.buscarProdutoPorId(produtoQuenteId);
+        produtoService.buscarProdutoPorId(produtoQuenteId);
+        produtoService.buscarProdutoPorId(produtoQuenteId);
+
+        assertThat(contagem("miss") - faltasAntes).isEqualTo(1);
+        assertThat(contagem("hit") - acertosAntes).isEqualTo(2);
+        assertThat(meterRegistry.find("cache.evictions").tag("cache", CacheConfig.PRODUTO_CACHE).meters())
+            .isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("🔥 Endpoint deve listar primeiro a chave mais acessada e recente, com bytes e idade")
+    void endpointDeveListarChavesQuentes() {
+        produtoService.buscarProdutoPorId(produtoFrioId);
+        for (int i = 0; i < 20; i++) {
+            produtoService.buscarProdutoPorId(produtoQuenteId);
+        }
+        ((com.github.benmanes.caffeine.cache.Cache<?, ?>) cacheManager.getCache(CacheConfig.PRODUTO_CACHE)
+            .getNativeCache()).cleanUp();
+
+        List<ChaveQuente> chaves = chavesQuentesEndpoint.chavesQuentesDoCache(CacheConfig.PRODUTO_CACHE, 5);
+
+        assertThat(chaves).extracting(ChaveQuente::chave)
+            .containsExactly("produto:" + produtoQuenteId, "produto:" + produtoFrioId);
+        assertThat(chaves.get(0).bytes()).isPositive();
+        assertThat(chaves.get(0).idadeSegundos()).isNotNull();
+
+        assertThat(chavesQuentesEndpoint.chavesQuentesDoCache(CacheConfig.PRODUTO_CACHE, 1)).hasSize(1);
+        assertThat(chavesQuentesEndpoint.chavesQuentes(null)).containsKeys(CacheConfig.NOMES_CACHES.toArray(String[]::new));
+        assertThat(chavesQuentesEndpoint.chavesQuentesDoCache("inexistente", null)).isNull();
+    }
+
+    private double contagem(String resultado) {
+        return meterRegistry.get("cache.gets")
+            .tags("cache", CacheConfig.PRODUTO_CACHE, "result", resultado)
+            .functionCounter().count();
+    }
+}
@@ -0,0 +1,124 @@
+package com.exemplo.apifest.performance;
+
+import com.exemplo.apifest.cache.MetricasMemoriaCache;
+import com.exemplo.apifest.config.CacheConfig;
+import com.exemplo.apifest.config.CacheProperties;
+import com.exemplo.apifest.dto.response.ProdutoResponseDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes das políticas por cache (app.cache.caches.<nome>.*).
+ *
+ * Verifica que cada cache do Caffeine é criado com o TTL e a memória máxima
+ * da sua política, que caches sem política herdam os padrões e que o peso das
+ * entradas (bytes estimados) aparece na métrica de memória do cache.
+ *
+ * @author DeliveryTech Team
+ */
+@SpringBootTest(properties = "app.cache.caches.clientes.registrar-remocoes=true")
+@ActiveProfiles("test")
+@DisplayName("📐 Políticas de Cache por Nome")
+class PoliticasCacheTest {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CacheProperties cacheProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("✅ Cada cache deve usar o TTL e o peso máximo da sua política")
+    void cachesDevemUsarSuaPolitica() {
+        Cache<Object, Object> produto = nativo(CacheConfig.PRODUTO_CACHE);
+        Cache<Object, Object> restaurantes = nativo(CacheConfig.RESTAURANTES_CACHE);
+        Cache<Object, Object> pedidos = nativo(CacheConfig.PEDIDOS_CACHE);
+
+        assertThat(produto.policy().expireAfterWrite().orElseThrow().getExpiresAfter())
+            .isEqualTo(Duration.ofMinutes(5));
+        assertThat(restaurantes.policy().expireAfterWrite().orElseThrow().getExpiresAfter())
+            .isEqualTo(Duration.ofMinutes(30));
+        assertThat(pedidos.policy().expireAfterWrite().orElseThrow().getExpiresAfter())
+            .isEqualTo(Duration.ofMinutes(2));
+
+        // Pedidos não disputam o espaço do cardápio
+        assertThat(restaurantes.policy().eviction().orElseThrow().getMaximum())
+            .isEqualTo(DataSize.ofMegabytes(2).toBytes());
+        assertThat(pedidos.policy().eviction().orElseThrow().getMaximum())
+            .isEqualTo(DataSize.ofMegabytes(16).toBytes());
+
+        // Sem loader no Caffeine isolado: refresh-after-write não se aplica
+        assertThat(produto.policy().refreshAfterWrite()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("✅ Cache sem política deve herdar default-ttl e memoria-maxima")
+    void cacheSemPoliticaDeveHerdarPadroes() {
+        CacheProperties.Politica politica = cacheProperties.politica("inexistente");
+
+        assertThat(politica.getTtl()).isEqualTo(Duration.ofMinutes(cacheProperties.getDefaultTtl()));
+        assertThat(politica.getMemoriaMaxima()).isEqualTo(cacheProperties.getMemoriaMaxima());
+        assertThat(politica.getRefreshAfterWrite()).isNull();
+        assertThat(cacheProperties.politica(CacheConfig.CLIENTES_CACHE).isRegistrarRemocoes()).isTrue();
+    }
+
+    @Test
+    @DisplayName("📊 Peso das entradas deve ser em bytes e aparecer na métrica do cache")
+    void pesoDeveSerEmBytesEPublicado() {
+        Cache<Object, Object> produtos = nativo(CacheConfig.PRODUTOS_CACHE);
+        produtos.invalidateAll();
+
+        List<ProdutoResponseDTO> cardapio = IntStream.range(0, 300)
+            .mapToObj(PoliticasCacheTest::produto)
+            .toList();
+        cacheManager.getCache(CacheConfig.PRODUTOS_CACHE).put("restaurante:1", cardapio.subList(0, 1));
+        cacheManager.getCache(CacheConfig.PRODUTOS_CACHE).put("restaurante:2", cardapio);
+        produtos.cleanUp();
+
+        long umProduto = produtos.policy().eviction().orElseThrow().weightOf("restaurante:1").orElseThrow();
+        long cardapioInteiro = produtos.policy().eviction().orElseThrow().weightOf("restaurante:2").orElseThrow();
+        assertThat(cardapioInteiro).isGreaterThan(100 * umProduto);
+
+        Gauge gauge = meterRegistry.get(MetricasMemoriaCache.METRICA_MEMORIA_ESTIMADA)
+            .tag("cache", CacheConfig.PRODUTOS_CACHE).gauge();
+        assertThat((long) gauge.value()).isEqualTo(umProduto + cardapioInteiro);
+        assertThat(meterRegistry.get(MetricasMemoriaCache.METRICA_MEMORIA_MAXIMA)
+            .tag("cache", CacheConfig.PRODUTOS_CACHE).gauge().value())
+            .isEqualTo(DataSize.ofMegabytes(16).toBytes());
+
+        produtos.invalidateAll();
+    }
+
+    private static ProdutoResponseDTO produto(int i) {
+        ProdutoResponseDTO produto = new ProdutoResponseDTO();
+        produto.setId((long) i);
+        produto.setNome("Produto " + i);
+        produto.setPreco(new BigDecimal("19.90"));
+        produto.setCategoria("PRATO_PRINCIPAL");
+        produto.setRestauranteId(1L);
+        return produto;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<Object, Object> nativo(String nome) {
+        return (Cache<Object, Object>) cacheManager.getCache(nome).getNativeCache();
+    }
+}
@@ -0,0 +1,114 @@
+package com.exemplo.apifest.performance;
+
+import com.exemplo.apifest.dto.ItemPedidoDTO;
+import com.exemplo.apifest.model.Produto;
+import com.exemplo.apifest.repository.ProdutoRepository;
+import com.exemplo.apifest.service.PrecificacaoPedidoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ===============================================================================
+ * BENCHMARK JMH - PRECIFICAÇÃO DO CARRINHO
+ * ===============================================================================
+ *
+ * Mede PrecificacaoPedidoService.precificarItens, o método usado por
+ * criarPedido e calcularTotalPedido, com o ProdutoRepository substituído por
+ * um stub que devolve os produtos já carregados (sem banco: só validação,
+ * precificação em centavos e montagem do resultado).
+ *
+ * - precificarItens: o serviço real
+ * - bigDecimalReferencia: só a aritmética do caminho anterior (um multiply e
+ *   um add em BigDecimal por item), como piso de comparação
+ *
+ * Execução (fora do mvn test):
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.include=PrecificacaoCarrinhoBenchmark
+ *
+ * Com -prof gc (adicionar aos argumentos) o JMH também reporta bytes alocados
+ * por operação.
+ *
+ * @author DeliveryTech Team
+ * ===============================================================================
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrecificacaoCarrinhoBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int itens;
+
+    private PrecificacaoPedidoService precificacaoPedidoService;
+    private List<ItemPedidoDTO> carrinho;
+    private BigDecimal[] precos;
+    private int[] quantidades;
+
+    @Setup
+    public void montarCarrinho() {
+        Random random = new Random(42);
+        List<Produto> produtos = new ArrayList<>(itens);
+        carrinho = new ArrayList<>(itens);
+        precos = new BigDecimal[itens];
+        quantidades = new int[itens];
+        for (int i = 0; i < itens; i++) {
+            // Preços como vêm do banco: numeric com 2 casas
+            precos[i] = BigDecimal.valueOf(500 + random.nextInt(9_500), 2);
+            quantidades[i] = 1 + random.nextInt(4);
+
+            Produto produto = new Produto("Produto " + i, "Benchmark", precos[i]);
+            produto.setId((long) i + 1);
+            produtos.add(produto);
+            carrinho.add(new ItemPedidoDTO(produto.getId(), quantidades[i]));
+        }
+
+        precificacaoPedidoService = new PrecificacaoPedidoService();
+        ReflectionTestUtils.setField(precificacaoPedidoService, "produtoRepository", repositorioCom(produtos));
+    }
+
+    @Benchmark
+    public Object precificarItens() {
+        return precificacaoPedidoService.precificarItens(carrinho);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalReferencia() {
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (int i = 0; i < itens; i++) {
+            subtotal = subtotal.add(precos[i].multiply(BigDecimal.valueOf(quantidades[i])));
+        }
+        return subtotal;
+    }
+
+    /**
+     * ProdutoRepository que só responde à consulta em lote da precificação.
+     */
+    private static ProdutoRepository repositorioCom(List<Produto> produtos) {
+        return (ProdutoRepository) Proxy.newProxyInstance(ProdutoRepository.class.getClassLoader(),
+            new Class<?>[] { ProdutoRepository.class }, (proxy, metodo, argumentos) -> {
+                if (metodo.getName().equals("findAllComRestauranteByIdIn")) {
+                    return produtos;
+                }
+                throw new UnsupportedOperationException(metodo.getName());
+            });
+    }
+}
@@ -0,0 +1,164 @@
+package com.exemplo.apifest.performance;
+
+import com.exemplo.apifest.ratelimit.ArrendamentoTokens;
+import com.exemplo.apifest.ratelimit.DisjuntorBackend;
+import com.exemplo.apifest.ratelimit.ProxyManagerMemoria;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.TimeMeter;
+import io.github.bucket4j.distributed.proxy.ClientSideConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes do rate limiting com bucket compartilhado e arrendamento de tokens.
+ *
+ * Dois "nós" (ArrendamentoTokens próprios) consomem o mesmo bucket de um
+ * ProxyManagerMemoria, com relógio controlado: juntos não podem passar do
+ * limite da política, devem ir ao backend uma vez por lote e não por
+ * requisição, e lotes vencidos devem ser renovados. Com o backend fora, o
+ * disjuntor desvia para o bucket local sem tentar o backend a cada requisição.
+ *
+ * @author DeliveryTech Team
+ */
+@DisplayName("🌐 Rate Limiting Distribuído - Bucket Compartilhado com Lotes")
+class RateLimitDistribuidoTest {
+
+    private static final long LIMITE = 100;
+    private static final long LOTE = 10;
+    private static final Duration VALIDADE_LOTE = Duration.ofSeconds(2);
+
+    private final RelogioManual relogio = new RelogioManual();
+
+    private ProxyManagerMemoria backend;
+    private ArrendamentoTokens noA;
+    private ArrendamentoTokens noB;
+
+    @BeforeEach
+    void setUp() {
+        backend = new ProxyManagerMemoria(ClientSideConfig.getDefault().withClientClock(relogio));
+        noA = novoNo(LOTE);
+        noB = novoNo(LOTE);
+    }
+
+    @Test
+    @DisplayName("✅ Nós juntos não devem aceitar mais que o limite do cluster")
+    void nosJuntosNaoDevemPassarDoLimite() {
+        int aceitas = 0;
+        for (int i = 0; i < 3 * LIMITE; i++) {
+            ArrendamentoTokens no = i % 3 == 0 ? noB : noA;
+            if (no.consumir().isConsumed()) {
+                aceitas++;
+            }
+        }
+
+        assertThat(aceitas).isEqualTo(LIMITE);
+        assertThat(noA.consumir().getNanosToWaitForRefill()).isPositive();
+    }
+
+    @Test
+    @DisplayName("📦 Deve ir ao backend uma vez por lote, não por requisição")
+    void deveIrAoBackendUmaVezPorLote() {
+        ArrendamentoTokens semLote = novoNo(1);
+
+        long antes = backend.operacoes();
+        for (int i = 0; i < 50; i++) {
+            assertThat(noA.consumir().isConsumed()).isTrue();
+        }
+        long porLote = backend.operacoes() - antes;
+
+        antes = backend.operacoes();
+        for (int i = 0; i < 50; i++) {
+            assertThat(semLote.consumir().isConsumed()).isTrue();
+        }
+        long porRequisicao = backend.operacoes() - antes;
+
+        assertThat(porLote).isLessThanOrEqualTo(porRequisicao / LOTE + 2);
+        assertThat(porRequisicao).isGreaterThanOrEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("⏱️ Lote vencido deve ser renovado e o bucket recarregado após o período")
+    void loteVencidoDeveSerRenovado() {
+        assertThat(noA.consumir().isConsumed()).isTrue();
+        assertThat(noA.getBucket().getAvailableTokens()).isEqualTo(LIMITE - LOTE);
+
+        relogio.avancar(VALIDADE_LOTE);
+        assertThat(noA.consumir().isConsumed()).isTrue();
+        // Os 9 tokens não usados do primeiro lote ficaram com o nó e venceram
+        assertThat(noA.getBucket().getAvailableTokens()).isEqualTo(LIMITE - 2 * LOTE);
+
+        while (noB.consumir().isConsumed()) {
+            // Esgota o bucket compartilhado
+        }
+        relogio.avancar(Duration.ofMinutes(1));
+        assertThat(noB.consumir().isConsumed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("🔌 Backend fora deve ser testado uma vez por pausa, não por requisição")
+    void backendForaDeveSerTestadoUmaVezPorPausa() {
+        Duration pausa = Duration.ofSeconds(10);
+        DisjuntorBackend disjuntor = new DisjuntorBackend(pausa, relogio);
+        assertThat(disjuntor.permitir()).isTrue();
+
+        disjuntor.falha(new IllegalStateException("Redis fora"));
+        assertThat(disjuntor.isAberto()).isTrue();
+        for (int i = 0; i < 100; i++) {
+            assertThat(disjuntor.permitir()).isFalse();
+        }
+
+        // Vencida a pausa, só uma requisição testa o backend
+        relogio.avancar(pausa);
+        assertThat(disjuntor.permitir()).isTrue();
+        assertThat(disjuntor.permitir()).isFalse();
+
+        // Nova falha reabre por mais uma pausa
+        disjuntor.falha(new IllegalStateException("Redis fora"));
+        relogio.avancar(pausa.minusSeconds(1));
+        assertThat(disjuntor.permitir()).isFalse();
+        relogio.avancar(Duration.ofSeconds(1));
+        assertThat(disjuntor.permitir()).isTrue();
+
+        disjuntor.sucesso();
+        assertThat(disjuntor.isAberto()).isFalse();
+        assertThat(disjuntor.permitir()).isTrue();
+        assertThat(disjuntor.permitir()).isTrue();
+    }
+
+    private ArrendamentoTokens novoNo(long lote) {
+        Bucket compartilhado = backend.builder().build("apifest:rate-limit:geral:198.51.100.4",
+            () -> BucketConfiguration.builder()
+                .addLimit(Bandwidth.builder().capacity(LIMITE).refillIntervally(LIMITE, Duration.ofMinutes(1)).build())
+                .build());
+        return new ArrendamentoTokens(compartilhado, lote, VALIDADE_LOTE, relogio);
+    }
+
+    /**
+     * Relógio dos buckets e dos lotes, avançado manualmente.
+     */
+    private static final class RelogioManual implements TimeMeter {
+
+        private long agoraNanos = Duration.ofHours(1).toNanos();
+
+        void avancar(Duration duracao) {
+            agoraNanos += duracao.toNanos();
+        }
+
+        @Override
+        public long currentTimeNanos() {
+            return agoraNanos;
+        }
+
+        @Override
+        public boolean isWallClockBased() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.exemplo.apifest.performance;
+
+import com.exemplo.apifest.cache.RespostasSerializadas;
+import com.exemplo.apifest.config.CacheConfig;
+import com.exemplo.apifest.model.Produto;
+import com.exemplo.apifest.model.Restaurante;
+import com.exemplo.apifest.service.ProdutoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Testes das respostas serializadas do catálogo.
+ *
+ * Com app.cache.respostas.habilitado, o cardápio de um restaurante deve ser
+ * serializado uma vez e servido com os mesmos bytes nos acertos seguintes,
+ * inclusive em gzip, e voltar a ser serializado assim que a entrada do cache
+ * de DTOs é invalidada.
+ *
+ * @author DeliveryTech Team
+ */
+@SpringBootTest(properties = {
+    "app.cache.respostas.habilitado=true",
+    "server.compression.min-response-size=64B"
+})
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+@DisplayName("📦 Respostas Serializadas - Bytes JSON do Catálogo")
+class RespostasSerializadasTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Long restauranteId;
+    private Long produtoId;
+
+    @BeforeEach
+    void setUp() {
+        limparCaches();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(tx -> {
+            Restaurante restaurante = new Restaurante("Restaurante Bytes", "Rua dos Bytes, 8", "1177770000",
+                "bytes@restaurante.com", "BRASILEIRA", new BigDecimal("5.00"));
+            entityManager.persist(restaurante);
+            Produto produto = new Produto("Acarajé", "Com vatapá e camarão", new BigDecimal("18.00"),
+                "ENTRADA", restaurante);
+            entityManager.persist(produto);
+            restauranteId = restaurante.getId();
+            produtoId = produto.getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        limparCaches();
+        transactionTemplate.executeWithoutResult(tx -> {
+            entityManager.createQuery("DELETE FROM Produto p WHERE p.restaurante.id = :restauranteId")
+                .setParameter("restauranteId", restauranteId).executeUpdate();
+            entityManager.createQuery("DELETE FROM Restaurante r WHERE r.id = :restauranteId")
+                .setParameter("restauranteId", restauranteId).executeUpdate();
+        });
+    }
+
+    @Test
+    @DisplayName("✅ Acertos devem reaproveitar os bytes serializados do cardápio")
+    void acertosDevemReaproveitarBytes() throws Exception {
+        double serializadasAntes = contador("serializada");
+        double reaproveitadasAntes = contador("reaproveitada");
+
+        byte[] primeira = cardapio(null).getContentAsByteArray();
+        byte[] segunda = cardapio(null).getContentAsByteArray();
+
+        assertThat(segunda).isEqualTo(primeira);
+        assertThat(primeira).isEqualTo(objectMapper.writeValueAsBytes(
+            produtoService.buscarProdutosPorRestaurante(restauranteId)));
+        assertThat(contador("serializada") - serializadasAntes).isEqualTo(1);
+        assertThat(contador("reaproveitada") - reaproveitadasAntes).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("🗜️ Cliente com gzip deve receber o corpo já comprimido")
+    void clienteComGzipDeveReceberCorpoComprimido() throws Exception {
+        byte[] json = cardapio(null).getContentAsByteArray();
+
+        MockHttpServletResponse resposta = cardapio("gzip, deflate");
+
+        assertThat(resposta.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(resposta.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(gunzip(resposta.getContentAsByteArray())).isEqualTo(json);
+    }
+
+    @Test
+    @DisplayName("🚫 Cliente que recusa gzip (q=0) deve receber o corpo sem compressão")
+    void clienteQueRecusaGzipDeveReceberCorpoSemCompressao() throws Exception {
+        byte[] json = cardapio(null).getContentAsByteArray();
+
+        for (String acceptEncoding : new String[] { "gzip;q=0, deflate", "br, gzip; q=0.0", "*;q=0", "identity" }) {
+            MockHttpServletResponse resposta = cardapio(acceptEncoding);
+            assertThat(resposta.getHeader(HttpHeaders.CONTENT_ENCODING)).as(acceptEncoding).isNull();
+            assertThat(resposta.getContentAsByteArray()).as(acceptEncoding).isEqualTo(json);
+        }
+        assertThat(cardapio("deflate, *;q=0.5").getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(cardapio("GZIP;q=0.8").getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+    }
+
+    @Test
+    @DisplayName("🔄 Invalidação do cache de DTOs deve gerar nova serialização")
+    void invalidacaoDeveGerarNovaSerializacao() throws Exception {
+        assertThat(cardapio(null).getContentAsString(StandardCharsets.UTF_8)).contains("Acarajé");
+
+        transactionTemplate.executeWithoutResult(tx ->
+            entityManager.find(Produto.class, produtoId).setNome("Abará"));
+        cacheManager.getCache(CacheConfig.PRODUTOS_CACHE).evict("restaurante:" + restauranteId);
+
+        String depois = cardapio(null).getContentAsString(StandardCharsets.UTF_8);
+        assertThat(depois).contains("Abará").doesNotContain("Acarajé");
+        List<?> produtos = objectMapper.readValue(depois, List.class);
+        assertThat(produtos).hasSize(1);
+    }
+
+    private MockHttpServletResponse cardapio(String acceptEncoding) throws Exception {
+        var requisicao = get("/api/produtos/restaurante/{restauranteId}", restauranteId);
+        if (acceptEncoding != null) {
+            requisicao.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        MockHttpServletResponse resposta = mockMvc.perform(requisicao).andReturn().getResponse();
+        assertThat(resposta.getStatus()).isEqualTo(200);
+        assertThat(resposta.getContentType()).startsWith("application/json");
+        return resposta;
+    }
+
+    private double contador(String resultado) {
+        return meterRegistry.get(RespostasSerializadas.METRICA_RESPOSTAS)
+            .tag("resultado", resultado).counter().count();
+    }
+
+    private static byte[] gunzip(byte[] comprimido) throws IOException {
+        try (GZIPInputStream entrada = new GZIPInputStream(new ByteArrayInputStream(comprimido))) {
+            return entrada.readAllBytes();
+        }
+    }
+
+    private void limparCaches() {
+        cacheManager.getCache(CacheConfig.PRODUTOS_CACHE).clear();
+    }
+}
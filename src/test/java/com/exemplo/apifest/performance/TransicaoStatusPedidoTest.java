@@ -0,0 +1,292 @@
+package com.exemplo.apifest.performance;
+
+import com.exemplo.apifest.config.CacheConfig;
+import com.exemplo.apifest.dto.AtualizacaoStatusLoteDTO;
+import com.exemplo.apifest.dto.response.PedidoResponseDTO;
+import com.exemplo.apifest.dto.response.ResultadoAtualizacaoStatusDTO;
+import com.exemplo.apifest.dto.response.ResultadoAtualizacaoStatusDTO.Resultado;
+import com.exemplo.apifest.event.StatusPedidoAlteradoEvent;
+import com.exemplo.apifest.exception.BusinessException;
+import com.exemplo.apifest.exception.ConflictException;
+import com.exemplo.apifest.exception.EntityNotFoundException;
+import com.exemplo.apifest.model.Cliente;
+import com.exemplo.apifest.model.Pedido;
+import com.exemplo.apifest.model.StatusPedido;
+import com.exemplo.apifest.service.PedidoService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes da transição de status por compare-and-set.
+ *
+ * Garante que cada transição é um único UPDATE condicional (sem SELECT), que a
+ * versão do pedido é incrementada e que, em uma corrida, apenas uma transição
+ * vence e as demais são recusadas de forma limpa. Cobre também a atualização
+ * de status em lote.
+ *
+ * @author DeliveryTech Team
+ */
+@SpringBootTest(properties =
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.exemplo.apifest.performance.ContadorStatementsSql")
+@ActiveProfiles("test")
+@RecordApplicationEvents
+@DisplayName("🔀 Transição de Status - Compare-and-Set")
+class TransicaoStatusPedidoTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ApplicationEvents eventos;
+
+    private TransactionTemplate transactionTemplate;
+    private Long clienteId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        clienteId = transactionTemplate.execute(status -> {
+            Cliente cliente = new Cliente("Cliente Status", "status@teste.com", "11999990000", "Rua do Status, 1");
+            entityManager.persist(cliente);
+            return cliente.getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createQuery("DELETE FROM Pedido p WHERE p.cliente.id = :clienteId")
+                .setParameter("clienteId", clienteId).executeUpdate();
+            entityManager.createQuery("DELETE FROM Cliente c WHERE c.id = :clienteId")
+                .setParameter("clienteId", clienteId).executeUpdate();
+        });
+    }
+
+    @Test
+    @DisplayName("✅ Transição válida deve usar um único UPDATE e incrementar a versão")
+    void deveTransicionarComUmUnicoUpdate() {
+        Long pedidoId = criarPedido(StatusPedido.PENDENTE);
+        ContadorStatementsSql.zerar();
+
+        PedidoResponseDTO resposta = pedidoService.atualizarStatusPedido(pedidoId, StatusPedido.CONFIRMADO);
+
+        assertThat(ContadorStatementsSql.updates()).isEqualTo(1);
+        assertThat(ContadorStatementsSql.selects()).isZero();
+        assertThat(resposta.getId()).isEqualTo(pedidoId);
+        assertThat(resposta.getStatus()).isEqualTo(StatusPedido.CONFIRMADO);
+
+        Pedido pedido = buscarPedido(pedidoId);
+        assertThat(pedido.getStatus()).isEqualTo(StatusPedido.CONFIRMADO);
+        assertThat(pedido.getVersao()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("❌ Transição inválida deve lançar BusinessException")
+    void deveRecusarTransicaoInvalida() {
+        Long pedidoId = criarPedido(StatusPedido.PENDENTE);
+
+        assertThatThrownBy(() -> pedidoService.atualizarStatusPedido(pedidoId, StatusPedido.PRONTO))
+            .isInstanceOf(BusinessException.class)
+            .hasMessage("Transição inválida: Pendente → Pronto");
+
+        assertThat(buscarPedido(pedidoId).getVersao()).isZero();
+    }
+
+    @Test
+    @DisplayName("❌ Pedido inexistente deve lançar EntityNotFoundException")
+    void deveFalharParaPedidoInexistente() {
+        assertThatThrownBy(() -> pedidoService.atualizarStatusPedido(999_999L, StatusPedido.CONFIRMADO))
+            .isInstanceOf(EntityNotFoundException.class)
+            .hasMessage("Pedido não encontrado com ID: 999999");
+    }
+
+    @Test
+    @DisplayName("❌ Repetir a mesma transição deve lançar BusinessException")
+    void deveRecusarTransicaoParaOMesmoStatus() {
+        Long pedidoId = criarPedido(StatusPedido.PENDENTE);
+        pedidoService.atualizarStatusPedido(pedidoId, StatusPedido.CONFIRMADO);
+
+        assertThatThrownBy(() -> pedidoService.atualizarStatusPedido(pedidoId, StatusPedido.CONFIRMADO))
+            .isInstanceOf(BusinessException.class)
+            .hasMessage("Transição inválida: Confirmado → Confirmado");
+        assertThatThrownBy(() -> pedidoService.atualizarStatusPedido(criarPedido(StatusPedido.PENDENTE),
+                StatusPedido.PENDENTE))
+            .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    @DisplayName("📣 Cancelamento deve publicar o status anterior real")
+    void cancelamentoDevePublicarStatusAnterior() {
+        Long pedidoId = criarPedido(StatusPedido.PREPARANDO);
+        eventos.clear();
+        ContadorStatementsSql.zerar();
+
+        PedidoResponseDTO resposta = pedidoService.atualizarStatusPedido(pedidoId, StatusPedido.CANCELADO);
+
+        // Um UPDATE condicional por predecessor até acertar, sem SELECT
+        assertThat(ContadorStatementsSql.selects()).isZero();
+        assertThat(resposta.getStatus()).isEqualTo(StatusPedido.CANCELADO);
+        assertThat(eventos.stream(StatusPedidoAlteradoEvent.class))
+            .singleElement()
+            .satisfies(evento -> {
+                assertThat(evento.getStatusAnterior()).isEqualTo(StatusPedido.PREPARANDO);
+                assertThat(evento.getStatus()).isEqualTo(StatusPedido.CANCELADO);
+            });
+    }
+
+    @Test
+    @DisplayName("🏁 Em uma corrida apenas uma transição deve vencer")
+    void apenasUmaTransicaoConcorrenteDeveVencer() throws Exception {
+        Long pedidoId = criarPedido(StatusPedido.PREPARANDO);
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        List<Future<Boolean>> resultados = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                // Cozinha marcando como pronto x cancelamento concorrente
+                StatusPedido destino = i % 2 == 0 ? StatusPedido.PRONTO : StatusPedido.CANCELADO;
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    try {
+                        pedidoService.atualizarStatusPedido(pedidoId, destino);
+                        return true;
+                    } catch (ConflictException | BusinessException e) {
+                        return false;
+                    }
+                }));
+            }
+            largada.countDown();
+
+            int vencedores = 0;
+            for (Future<Boolean> resultado : resultados) {
+                if (resultado.get()) {
+                    vencedores++;
+                }
+            }
+            assertThat(vencedores).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Pedido pedido = buscarPedido(pedidoId);
+        assertThat(pedido.getStatus()).isIn(StatusPedido.PRONTO, StatusPedido.CANCELADO);
+        assertThat(pedido.getVersao()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("📋 Lote deve aplicar transições válidas e reportar resultado por pedido")
+    void deveAtualizarStatusEmLote() {
+        Long pendente = criarPedido(StatusPedido.PENDENTE);
+        Long preparando = criarPedido(StatusPedido.PREPARANDO);
+        Long entregue = criarPedido(StatusPedido.ENTREGUE);
+
+        AtualizacaoStatusLoteDTO lote = new AtualizacaoStatusLoteDTO(List.of(
+            new AtualizacaoStatusLoteDTO.ItemStatusDTO(pendente, StatusPedido.CONFIRMADO),
+            new AtualizacaoStatusLoteDTO.ItemStatusDTO(pendente, StatusPedido.PREPARANDO),
+            new AtualizacaoStatusLoteDTO.ItemStatusDTO(preparando, StatusPedido.PRONTO),
+            new AtualizacaoStatusLoteDTO.ItemStatusDTO(entregue, StatusPedido.CANCELADO),
+            new AtualizacaoStatusLoteDTO.ItemStatusDTO(999_999L, StatusPedido.CONFIRMADO)
+        ));
+        ContadorStatementsSql.zerar();
+
+        List<ResultadoAtualizacaoStatusDTO> resultados = pedidoService.atualizarStatusEmLote(lote);
+
+        // Apenas a leitura dos status passa pelo Hibernate; os UPDATEs vão em um lote JDBC
+        assertThat(ContadorStatementsSql.selects()).isEqualTo(1);
+        assertThat(resultados).extracting(ResultadoAtualizacaoStatusDTO::getResultado).containsExactly(
+            Resultado.ATUALIZADO,
+            Resultado.ATUALIZADO,
+            Resultado.ATUALIZADO,
+            Resultado.TRANSICAO_INVALIDA,
+            Resultado.NAO_ENCONTRADO
+        );
+        assertThat(resultados.get(1).getStatusAnterior()).isEqualTo(StatusPedido.CONFIRMADO);
+
+        Pedido encadeado = buscarPedido(pendente);
+        assertThat(encadeado.getStatus()).isEqualTo(StatusPedido.PREPARANDO);
+        assertThat(encadeado.getVersao()).isEqualTo(2L);
+        assertThat(buscarPedido(preparando).getStatus()).isEqualTo(StatusPedido.PRONTO);
+        assertThat(buscarPedido(entregue).getStatus()).isEqualTo(StatusPedido.ENTREGUE);
+    }
+
+    @Test
+    @DisplayName("🗑️ Lote deve invalidar o cache dos pedidos atualizados após o commit")
+    void loteDeveInvalidarCacheDosPedidosAtualizados() {
+        Long pedidoId = criarPedido(StatusPedido.PENDENTE);
+        Cache cache = cacheManager.getCache(CacheConfig.PEDIDOS_CACHE);
+        cache.put("pedido:" + pedidoId, new PedidoResponseDTO());
+
+        transactionTemplate.executeWithoutResult(tx -> {
+            pedidoService.atualizarStatusEmLote(new AtualizacaoStatusLoteDTO(List.of(
+                new AtualizacaoStatusLoteDTO.ItemStatusDTO(pedidoId, StatusPedido.CONFIRMADO))));
+            // Ainda sem commit: a entrada só sai depois dele
+            assertThat(cache.get("pedido:" + pedidoId)).isNotNull();
+        });
+
+        assertThat(cache.get("pedido:" + pedidoId)).isNull();
+    }
+
+    @Test
+    @DisplayName("🗑️ Transição deve invalidar o cache do pedido após o commit")
+    void transicaoDeveInvalidarCacheAposCommit() {
+        Long pedidoId = criarPedido(StatusPedido.PENDENTE);
+        Cache cache = cacheManager.getCache(CacheConfig.PEDIDOS_CACHE);
+        cache.put("pedido:" + pedidoId, new PedidoResponseDTO());
+
+        transactionTemplate.executeWithoutResult(tx -> {
+            pedidoService.atualizarStatusPedido(pedidoId, StatusPedido.CONFIRMADO);
+            // Ainda sem commit: a entrada só sai depois dele
+            assertThat(cache.get("pedido:" + pedidoId)).isNotNull();
+        });
+
+        assertThat(cache.get("pedido:" + pedidoId)).isNull();
+    }
+
+    private Long criarPedido(StatusPedido status) {
+        return transactionTemplate.execute(tx -> {
+            Pedido pedido = new Pedido("Pedido status", 30.0, entityManager.find(Cliente.class, clienteId));
+            pedido.setStatus(status);
+            entityManager.persist(pedido);
+            return pedido.getId();
+        });
+    }
+
+    private Pedido buscarPedido(Long pedidoId) {
+        return transactionTemplate.execute(tx -> entityManager.find(Pedido.class, pedidoId));
+    }
+}
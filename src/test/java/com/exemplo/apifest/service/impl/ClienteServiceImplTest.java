@@ -1,5 +1,6 @@
 package com.exemplo.apifest.service.impl;
 
+import com.exemplo.apifest.cache.EntidadesAusentes;
 import com.exemplo.apifest.dto.ClienteDTO;
 import com.exemplo.apifest.dto.response.ClienteResponseDTO;
 import com.exemplo.apifest.exception.BusinessException;
@@ -43,6 +44,9 @@ class ClienteServiceImplTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private EntidadesAusentes entidadesAusentes;
+
     @InjectMocks
     private ClienteServiceImpl clienteService;
 
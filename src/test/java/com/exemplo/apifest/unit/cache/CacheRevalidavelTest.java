@@ -0,0 +1,115 @@
+package com.exemplo.apifest.unit.cache;
+
+import com.exemplo.apifest.cache.CacheRevalidavel;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.OptionalLong;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários da recarga em segundo plano do stale-while-revalidate.
+ *
+ * A recarga deve usar o carregador explícito do cache (nunca o valueLoader
+ * da requisição) e não pode regravar o valor antigo depois de uma
+ * invalidação que aconteceu enquanto ela carregava.
+ *
+ * @author DeliveryTech Team
+ */
+@DisplayName("♻️ CacheRevalidavel - Recarga em Segundo Plano")
+class CacheRevalidavelTest {
+
+    private static final String CHAVE = "restaurante:1";
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final AtomicLong versao = new AtomicLong(1);
+    private final AtomicInteger recargas = new AtomicInteger();
+    private final CountDownLatch liberarCarga = new CountDownLatch(1);
+    private final CountDownLatch cargaIniciada = new CountDownLatch(1);
+
+    private CaffeineCache delegado;
+    private CacheRevalidavel cache;
+
+    @BeforeEach
+    void setUp() {
+        delegado = new CaffeineCache("produtos", Caffeine.newBuilder().expireAfterWrite(Duration.ofMinutes(10)).build());
+        cache = new CacheRevalidavel(delegado, Duration.ZERO, executor, chave -> {
+            cargaIniciada.countDown();
+            aguardar(liberarCarga);
+            return "recarregado-" + recargas.incrementAndGet();
+        }, chave -> OptionalLong.of(versao.get()));
+        delegado.put(CHAVE, "antigo");
+    }
+
+    @AfterEach
+    void tearDown() {
+        liberarCarga.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("✅ Entrada vencida deve ser recarregada pelo carregador explícito")
+    void deveRecarregarPeloCarregadorExplicito() {
+        String valor = cache.get(CHAVE, () -> {
+            throw new AssertionError("valueLoader da requisição não deve ser reexecutado");
+        });
+        assertThat(valor).isEqualTo("antigo");
+
+        liberarCarga.countDown();
+        esperar(() -> "recarregado-1".equals(valorNoCache()));
+        assertThat(recargas).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("🚫 Recarga iniciada antes de uma invalidação não deve regravar o valor antigo")
+    void recargaAnteriorAInvalidacaoDeveSerDescartada() throws Exception {
+        assertThat(cache.get(CHAVE, () -> "nao-usado")).isEqualTo("antigo");
+        assertThat(cargaIniciada.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Invalidação como a InvalidacaoCatalogo: versão, remoção, versão
+        versao.incrementAndGet();
+        cache.evict(CHAVE);
+        versao.incrementAndGet();
+
+        liberarCarga.countDown();
+        esperar(() -> recargas.get() == 1);
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(delegado.get(CHAVE)).isNull();
+    }
+
+    private Object valorNoCache() {
+        return delegado.get(CHAVE) != null ? delegado.get(CHAVE).get() : null;
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void esperar(BooleanSupplier condicao) {
+        Instant limite = Instant.now().plus(Duration.ofSeconds(5));
+        while (!condicao.getAsBoolean()) {
+            assertThat(Instant.now()).as("condição não atingida a tempo").isBefore(limite);
+            Thread.onSpinWait();
+        }
+    }
+}
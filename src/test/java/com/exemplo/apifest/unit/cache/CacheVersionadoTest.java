@@ -0,0 +1,78 @@
+package com.exemplo.apifest.unit.cache;
+
+import com.exemplo.apifest.cache.CacheVersionado;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários da conferência de versão nas cargas @Cacheable(sync = true).
+ *
+ * Uma carga que concorre com uma invalidação devolve o valor ao chamador,
+ * mas não o grava: o corpo antigo não pode ficar no cache sob a ETag nova.
+ *
+ * @author DeliveryTech Team
+ */
+@DisplayName("🏷️ CacheVersionado - Cargas Conferidas pela Versão")
+class CacheVersionadoTest {
+
+    private static final String CHAVE = "restaurante:1";
+
+    private final AtomicLong versao = new AtomicLong(1);
+
+    private CaffeineCache delegado;
+    private CacheVersionado cache;
+
+    @BeforeEach
+    void setUp() {
+        delegado = new CaffeineCache("produtos", Caffeine.newBuilder().build());
+        cache = new CacheVersionado(delegado,
+                chave -> CHAVE.equals(chave) ? OptionalLong.of(versao.get()) : OptionalLong.empty());
+    }
+
+    @Test
+    @DisplayName("✅ Carga sem invalidação deve ser gravada")
+    void cargaSemInvalidacaoDeveSerGravada() {
+        assertThat(cache.get(CHAVE, () -> "cardapio")).isEqualTo("cardapio");
+        assertThat(delegado.get(CHAVE)).isNotNull();
+        assertThat(cache.get(CHAVE, () -> "nao-usado")).isEqualTo("cardapio");
+    }
+
+    @Test
+    @DisplayName("🚫 Carga concorrente com uma invalidação não deve ser gravada")
+    void cargaConcorrenteComInvalidacaoNaoDeveSerGravada() {
+        String valor = cache.get(CHAVE, () -> {
+            // Commit e invalidação enquanto a carga lia o banco (a remoção, de
+            // outra thread, aguarda a carga da chave terminar)
+            versao.incrementAndGet();
+            return "cardapio-antigo";
+        });
+
+        assertThat(valor).isEqualTo("cardapio-antigo");
+        assertThat(delegado.get(CHAVE)).isNull();
+        assertThat(cache.get(CHAVE, () -> "cardapio-novo")).isEqualTo("cardapio-novo");
+        assertThat(delegado.get(CHAVE).get()).isEqualTo("cardapio-novo");
+    }
+
+    @Test
+    @DisplayName("➡️ Entrada não versionada e falhas do método seguem o cache decorado")
+    void entradaNaoVersionadaDeveSerGravada() {
+        versao.incrementAndGet();
+        assertThat(cache.get("outra", () -> "valor")).isEqualTo("valor");
+        assertThat(delegado.get("outra").get()).isEqualTo("valor");
+
+        assertThatThrownBy(() -> cache.get(CHAVE, () -> {
+            throw new IllegalStateException("banco fora");
+        })).isInstanceOf(Cache.ValueRetrievalException.class)
+           .hasCauseInstanceOf(IllegalStateException.class);
+    }
+}
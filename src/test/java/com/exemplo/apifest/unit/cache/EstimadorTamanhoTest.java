@@ -0,0 +1,93 @@
+package com.exemplo.apifest.unit.cache;
+
+import com.exemplo.apifest.cache.EstimadorTamanho;
+import com.exemplo.apifest.dto.response.ItemPedidoResponseDTO;
+import com.exemplo.apifest.dto.response.PedidoResponseDTO;
+import com.exemplo.apifest.dto.response.ProdutoResponseDTO;
+import com.exemplo.apifest.model.StatusPedido;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes unitários do estimador de bytes retidos usado como weigher dos caches.
+ *
+ * @author DeliveryTech Team
+ */
+@DisplayName("⚖️ EstimadorTamanho - Bytes Retidos")
+class EstimadorTamanhoTest {
+
+    @Test
+    @DisplayName("✅ Deve calcular tipos do JDK pelo layout com compressed oops")
+    void deveCalcularTiposDoJdk() {
+        // String: objeto 24 + byte[] de 16 + 5 alinhado em 24
+        assertThat(EstimadorTamanho.estimar("abcde")).isEqualTo(48);
+        assertThat(EstimadorTamanho.estimar(1L)).isEqualTo(24);
+        assertThat(EstimadorTamanho.estimar(new BigDecimal("19.90"))).isEqualTo(40);
+        assertThat(EstimadorTamanho.estimar(StatusPedido.PENDENTE)).isZero();
+        assertThat(EstimadorTamanho.estimar(null)).isZero();
+    }
+
+    @Test
+    @DisplayName("✅ Lista deve pesar proporcionalmente aos elementos e objetos compartilhados contar uma vez")
+    void listaDeveCrescerComElementos() {
+        ProdutoResponseDTO produto = produto(1);
+        long umProduto = EstimadorTamanho.estimar(produto);
+
+        List<ProdutoResponseDTO> cardapio = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            cardapio.add(produto(i));
+        }
+        // Textos repetidos entre produtos (categoria, restaurante) são literais compartilhados
+        long cardapioDe100 = EstimadorTamanho.estimar(cardapio);
+        long cardapioDe10 = EstimadorTamanho.estimar(cardapio.subList(0, 10));
+        assertThat(cardapioDe100).isGreaterThan(50 * umProduto);
+        assertThat(cardapioDe100).isBetween(9 * cardapioDe10, 11 * cardapioDe10);
+
+        // A mesma instância repetida não é somada de novo
+        List<ProdutoResponseDTO> repetida = List.of(produto, produto, produto);
+        assertThat(EstimadorTamanho.estimar(repetida)).isLessThan(umProduto + 64);
+    }
+
+    @Test
+    @DisplayName("✅ Pedido deve incluir itens e produtos aninhados")
+    void pedidoDeveIncluirGrafoAninhado() {
+        PedidoResponseDTO semItens = new PedidoResponseDTO();
+        semItens.setId(1L);
+        semItens.setDataPedido(LocalDateTime.now());
+        semItens.setStatus(StatusPedido.PENDENTE);
+        semItens.setValor(new BigDecimal("45.00"));
+        semItens.setEnderecoEntrega("Rua das Flores, 100");
+        long vazio = EstimadorTamanho.estimar(semItens);
+
+        ItemPedidoResponseDTO item = new ItemPedidoResponseDTO();
+        item.setId(1L);
+        item.setQuantidade(2);
+        item.setPrecoUnitario(new BigDecimal("20.00"));
+        item.setPrecoTotal(new BigDecimal("40.00"));
+        item.setProduto(produto(1));
+        semItens.setItens(List.of(item));
+
+        assertThat(EstimadorTamanho.estimar(semItens))
+            .isGreaterThan(vazio + EstimadorTamanho.estimar(produto(1)));
+    }
+
+    private static ProdutoResponseDTO produto(int i) {
+        ProdutoResponseDTO produto = new ProdutoResponseDTO();
+        produto.setId((long) i);
+        produto.setNome("Produto " + i);
+        produto.setDescricao("Descrição do produto " + i);
+        produto.setPreco(new BigDecimal("19.90"));
+        produto.setCategoria("PRATO_PRINCIPAL");
+        produto.setDisponivel(true);
+        produto.setRestauranteId(1L);
+        produto.setRestauranteNome("Restaurante");
+        return produto;
+    }
+}
@@ -0,0 +1,79 @@
+package com.exemplo.apifest.unit.model;
+
+import com.exemplo.apifest.model.Money;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes unitários do valor monetário em centavos.
+ *
+ * Cobre a aritmética exata em long, as conversões de/para BigDecimal e
+ * double e a serialização JSON.
+ *
+ * @author DeliveryTech Team
+ */
+@DisplayName("💰 Money - Valor em Centavos")
+class MoneyTest {
+
+    @Nested
+    @DisplayName("Aritmética e Conversões")
+    class AritmeticaConversoes {
+
+        @Test
+        @DisplayName("✅ Deve somar e multiplicar sem perda de precisão")
+        void deveSomarEMultiplicarSemPerda() {
+            // 0,10 somado dez vezes: em double daria 0.9999999999999999
+            Money total = Money.ZERO;
+            for (int i = 0; i < 10; i++) {
+                total = total.plus(Money.of("0.10"));
+            }
+            assertThat(total).isEqualTo(Money.of("1.00"));
+
+            Money itens = Money.of("12.99").times(3).plus(Money.of("5.00"));
+            assertThat(itens.getCentavos()).isEqualTo(4397);
+            assertThat(itens.toBigDecimal()).isEqualTo(new BigDecimal("43.97"));
+            assertThat(itens.toDouble()).isEqualTo(43.97);
+            assertThat(itens.toString()).isEqualTo("43.97");
+        }
+
+        @Test
+        @DisplayName("✅ Deve arredondar para centavos como a coluna numeric")
+        void deveArredondarParaCentavos() {
+            assertThat(Money.centavosDe(new BigDecimal("9.905"))).isEqualTo(991);
+            assertThat(Money.centavosDe(new BigDecimal("9.9"))).isEqualTo(990);
+            assertThat(Money.centavosDe(new BigDecimal("10"))).isEqualTo(1000);
+            assertThat(Money.of(new BigDecimal("7.50"))).isEqualByComparingTo(Money.ofCentavos(750));
+        }
+
+        @Test
+        @DisplayName("❌ Deve lançar exceção em caso de estouro")
+        void deveLancarExcecaoEmEstouro() {
+            assertThatThrownBy(() -> Money.multiplicar(Long.MAX_VALUE / 2, 3))
+                .isInstanceOf(ArithmeticException.class);
+            assertThatThrownBy(() -> Money.ofCentavos(Long.MAX_VALUE).plus(Money.ofCentavos(1)))
+                .isInstanceOf(ArithmeticException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("JSON")
+    class Json {
+
+        @Test
+        @DisplayName("✅ JSON deve usar número decimal com 2 casas")
+        void jsonDeveUsarNumeroDecimal() throws Exception {
+            ObjectMapper objectMapper = new ObjectMapper();
+
+            assertThat(objectMapper.writeValueAsString(Money.of("12.5"))).isEqualTo("12.50");
+            assertThat(objectMapper.readValue("12.50", Money.class)).isEqualTo(Money.ofCentavos(1250));
+            assertThat(objectMapper.readValue("\"3.10\"", Money.class)).isEqualTo(Money.ofCentavos(310));
+        }
+    }
+}
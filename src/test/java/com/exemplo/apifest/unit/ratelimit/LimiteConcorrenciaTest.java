@@ -0,0 +1,176 @@
+package com.exemplo.apifest.unit.ratelimit;
+
+import com.exemplo.apifest.config.ConcorrenciaConfig;
+import com.exemplo.apifest.interceptor.LimiteConcorrenciaInterceptor;
+import com.exemplo.apifest.ratelimit.LimitadorConcorrencia;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes do limite adaptativo de concorrência (load shedding).
+ *
+ * Com latência estável e demanda o limite deve crescer; com fila se formando
+ * (latência subindo com a concorrência, como um pool de 20 conexões) deve
+ * convergir perto da capacidade real em vez de aceitar as 200 threads; erros
+ * devem derrubá-lo. O excesso deve receber 503 com Retry-After na hora, e
+ * limite e rejeições devem aparecer no Micrometer.
+ *
+ * @author DeliveryTech Team
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("🚧 Limite de Concorrência - Adaptativo por Latência")
+class LimiteConcorrenciaTest {
+
+    private static final long LATENCIA_BASE = Duration.ofMillis(10).toNanos();
+
+    @Autowired
+    private ConcorrenciaConfig concorrenciaConfig;
+
+    @Autowired
+    private LimiteConcorrenciaInterceptor limiteConcorrenciaInterceptor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("📈 Latência estável com demanda deve aumentar o limite")
+    void latenciaEstavelDeveAumentarLimite() {
+        LimitadorConcorrencia limitador = novoLimitador(10, 100);
+
+        for (int rodada = 0; rodada < 50; rodada++) {
+            rodada(limitador, 200, LATENCIA_BASE);
+        }
+
+        assertThat(limitador.getLimite()).isEqualTo(100);
+        assertThat(limitador.getRejeitadas()).isPositive();
+    }
+
+    @Test
+    @DisplayName("📉 Fila no banco deve levar o limite para perto da capacidade")
+    void filaNoBancoDeveReduzirLimite() {
+        LimitadorConcorrencia limitador = novoLimitador(10, 200);
+
+        // 20 conexões: acima disso cada requisição espera a sua vez no pool
+        int maiorLimite = 0;
+        for (int rodada = 0; rodada < 1_000; rodada++) {
+            int aceitas = limitador.getLimite();
+            rodada(limitador, 200, LATENCIA_BASE * Math.max(20, aceitas) / 20);
+            if (rodada >= 500) {
+                maiorLimite = Math.max(maiorLimite, limitador.getLimite());
+            }
+        }
+
+        // Oscila em torno da capacidade, longe das 200 threads
+        assertThat(maiorLimite).isBetween(20, 60);
+    }
+
+    @Test
+    @DisplayName("💥 Erros devem derrubar o limite até o mínimo")
+    void errosDevemDerrubarLimite() {
+        LimitadorConcorrencia limitador = novoLimitador(50, 100);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(limitador.tentarAdquirir()).isTrue();
+            limitador.liberar(LATENCIA_BASE, true);
+        }
+
+        assertThat(limitador.getLimite()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("💤 Sem demanda o limite não deve crescer")
+    void semDemandaLimiteNaoDeveCrescer() {
+        LimitadorConcorrencia limitador = novoLimitador(20, 100);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(limitador.tentarAdquirir()).isTrue();
+            limitador.liberar(LATENCIA_BASE, false);
+        }
+
+        assertThat(limitador.getLimite()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("🚫 Grupo cheio deve responder 503 com Retry-After e publicar métricas")
+    void grupoCheioDeveResponder503() throws Exception {
+        LimitadorConcorrencia pedidos = concorrenciaConfig.getLimitador("pedidos-escrita");
+        int vagas = 0;
+        while (pedidos.tentarAdquirir()) {
+            vagas++;
+        }
+        try {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/pedidos");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            assertThat(limiteConcorrenciaInterceptor.preHandle(request, response, new Object())).isFalse();
+            assertThat(response.getStatus()).isEqualTo(503);
+            assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+
+            // Outro grupo não é afetado
+            MockHttpServletResponse catalogo = new MockHttpServletResponse();
+            assertThat(limiteConcorrenciaInterceptor.preHandle(
+                new MockHttpServletRequest("GET", "/api/produtos/1"), catalogo, new Object())).isTrue();
+            assertThat(concorrenciaConfig.getLimitador("catalogo").getEmAndamento()).isEqualTo(1);
+            concorrenciaConfig.getLimitador("catalogo").liberarSemAmostra();
+        } finally {
+            for (int i = 0; i < vagas; i++) {
+                pedidos.liberarSemAmostra();
+            }
+        }
+
+        assertThat(meterRegistry.get(ConcorrenciaConfig.METRICA_REJEICOES).tag("grupo", "pedidos-escrita")
+            .functionCounter().count()).isGreaterThanOrEqualTo(2);
+        assertThat(meterRegistry.get(ConcorrenciaConfig.METRICA_LIMITE).tag("grupo", "pedidos-escrita")
+            .gauge().value()).isEqualTo(pedidos.getLimite());
+        assertThat(meterRegistry.get(ConcorrenciaConfig.METRICA_EM_ANDAMENTO).tag("grupo", "pedidos-escrita")
+            .gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("🔓 Vaga deve ser devolvida ao fim da requisição, com ou sem rota limitada")
+    void vagaDeveSerDevolvida() throws Exception {
+        LimitadorConcorrencia auth = concorrenciaConfig.getLimitador("auth");
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(limiteConcorrenciaInterceptor.preHandle(request, response, new Object())).isTrue();
+        assertThat(auth.getEmAndamento()).isEqualTo(1);
+        limiteConcorrenciaInterceptor.afterCompletion(request, response, new Object(), null);
+        assertThat(auth.getEmAndamento()).isZero();
+
+        assertThat(concorrenciaConfig.resolverLimitador("GET", "/api/pedidos/1/eventos")).isNull();
+    }
+
+    /**
+     * Uma leva de requisições: aceita até o limite (o resto é rejeitado) e
+     * conclui as aceitas com a latência informada.
+     */
+    private static void rodada(LimitadorConcorrencia limitador, int demanda, long latencia) {
+        int aceitas = 0;
+        for (int i = 0; i < demanda; i++) {
+            if (limitador.tentarAdquirir()) {
+                aceitas++;
+            }
+        }
+        for (int i = 0; i < aceitas; i++) {
+            limitador.liberar(latencia, false);
+        }
+    }
+
+    private static LimitadorConcorrencia novoLimitador(int inicial, int maximo) {
+        return new LimitadorConcorrencia("teste", List.of(), inicial, 2, maximo, 1.5, 0.2);
+    }
+}
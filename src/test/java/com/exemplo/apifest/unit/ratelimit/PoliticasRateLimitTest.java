@@ -0,0 +1,181 @@
+package com.exemplo.apifest.unit.ratelimit;
+
+import com.exemplo.apifest.config.RateLimitingConfig;
+import com.exemplo.apifest.interceptor.RateLimitInterceptor;
+import com.exemplo.apifest.ratelimit.PoliticaRateLimit;
+import com.exemplo.apifest.ratelimit.TabelaRotas;
+import io.github.bucket4j.Bandwidth;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes das políticas de rate limiting declaradas em configuração.
+ *
+ * As rotas devem cair na política mais específica (e as demais na padrão),
+ * sem alocar objetos por requisição; os buckets devem ser por usuário do JWT
+ * quando autenticado e por IP caso contrário; e todos os limites de uma
+ * política (ex.: 30/min e rajada de 5/10s) devem valer juntos.
+ *
+ * @author DeliveryTech Team
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("🚦 Rate Limiting - Políticas por Rota e por Usuário")
+class PoliticasRateLimitTest {
+
+    @Autowired
+    private RateLimitingConfig rateLimitingConfig;
+
+    @Autowired
+    private RateLimitInterceptor rateLimitInterceptor;
+
+    @AfterEach
+    void limparAutenticacao() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("🗺️ Rotas devem cair na política configurada ou na padrão")
+    void rotasDevemCairNaPoliticaConfigurada() {
+        assertThat(politica("POST", "/api/pedidos")).isEqualTo("pedidos-escrita");
+        assertThat(politica("POST", "/api/pedidos/")).isEqualTo("pedidos-escrita");
+        assertThat(politica("PATCH", "/api/pedidos/status/lote")).isEqualTo("pedidos-escrita");
+        assertThat(politica("GET", "/api/pedidos")).isEqualTo("geral");
+        assertThat(politica("POST", "/api/pedidos/calcular")).isEqualTo("geral");
+        assertThat(politica("POST", "/api/auth/login")).isEqualTo("auth");
+        assertThat(politica("GET", "/api/admin")).isEqualTo("admin");
+        assertThat(politica("GET", "/api/authx")).isEqualTo("geral");
+        assertThat(politica("GET", "/api/produtos/1")).isEqualTo("geral");
+    }
+
+    @Test
+    @DisplayName("🎯 Regra mais específica deve vencer, independente da ordem declarada")
+    void regraMaisEspecificaDeveVencer() {
+        PoliticaRateLimit padrao = novaPolitica("padrao", List.of());
+        PoliticaRateLimit pedidos = novaPolitica("pedidos", List.of("/api/pedidos/**"));
+        PoliticaRateLimit eventos = novaPolitica("eventos", List.of("GET /api/pedidos/{id}/eventos"));
+        PoliticaRateLimit status = novaPolitica("status", List.of("/api/pedidos/*/status"));
+        TabelaRotas<PoliticaRateLimit> tabela =
+            new TabelaRotas<>(List.of(pedidos, eventos, status), PoliticaRateLimit::getRotas, padrao);
+
+        assertThat(tabela.resolver("GET", "/api/pedidos/7/eventos")).isSameAs(eventos);
+        assertThat(tabela.resolver("POST", "/api/pedidos/7/eventos")).isSameAs(pedidos);
+        assertThat(tabela.resolver("PATCH", "/api/pedidos/7/status")).isSameAs(status);
+        assertThat(tabela.resolver("GET", "/api/pedidos//status")).isSameAs(pedidos);
+        assertThat(tabela.resolver("GET", "/api/pedidos")).isSameAs(pedidos);
+        assertThat(tabela.resolver("MKCOL", "/api/pedidos/7/eventos")).isSameAs(pedidos);
+        assertThat(tabela.resolver("GET", "/api/clientes")).isSameAs(padrao);
+    }
+
+    @Test
+    @DisplayName("⚡ Resolução de rota não deve alocar objetos")
+    void resolucaoDeRotaNaoDeveAlocar() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        String[] metodos = {"GET", "POST", "PATCH", "GET"};
+        String[] uris = {"/api/produtos/1", "/api/pedidos", "/api/pedidos/status/lote", "/api/auth/login"};
+        for (int i = 0; i < 200_000; i++) {
+            rateLimitingConfig.resolverPolitica(metodos[i & 3], uris[i & 3]);
+        }
+
+        long thread = Thread.currentThread().threadId();
+        long antes = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < 100_000; i++) {
+            rateLimitingConfig.resolverPolitica(metodos[i & 3], uris[i & 3]);
+        }
+        long alocados = threads.getThreadAllocatedBytes(thread) - antes;
+
+        // Margem para a própria medição; uma alocação por chamada daria megabytes
+        assertThat(alocados).isLessThan(4_096);
+    }
+
+    @Test
+    @DisplayName("🧱 Todos os limites da política devem valer juntos")
+    void todosOsLimitesDevemValerJuntos() {
+        PoliticaRateLimit pedidos = rateLimitingConfig.getPolitica("pedidos-escrita");
+        String usuario = "rajada@apifest.com";
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(rateLimitingConfig.consumirPorPrincipal(pedidos, usuario).isConsumed()).isTrue();
+        }
+        // 25 dos 30 por minuto ainda sobram, mas a rajada de 5/10s acabou
+        assertThat(rateLimitingConfig.consumirPorPrincipal(pedidos, usuario).isConsumed()).isFalse();
+        assertThat(rateLimitingConfig.resolvePrincipalBucket(pedidos, usuario).getAvailableTokens()).isZero();
+        // Usuário e IP com o mesmo texto não dividem bucket
+        assertThat(rateLimitingConfig.resolveBucket(pedidos, usuario).getAvailableTokens()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("🧭 Rotas devem casar com o caminho dentro da aplicação, como o Spring MVC")
+    void rotasDevemCasarComCaminhoDentroDaAplicacao() {
+        MockHttpServletRequest comContexto = new MockHttpServletRequest("POST", "/loja/api/pedidos");
+        comContexto.setContextPath("/loja");
+        MockHttpServletRequest codificado = new MockHttpServletRequest("POST", "/api/%70edidos");
+        MockHttpServletRequest comParametros = new MockHttpServletRequest("POST", "/api/pedidos;jsessionid=abc");
+
+        for (MockHttpServletRequest request : List.of(comContexto, codificado, comParametros)) {
+            assertThat(TabelaRotas.caminho(request)).isEqualTo("/api/pedidos");
+            assertThat(politica(request.getMethod(), TabelaRotas.caminho(request))).isEqualTo("pedidos-escrita");
+        }
+    }
+
+    @Test
+    @DisplayName("👤 Buckets devem ser por usuário autenticado e por IP sem autenticação")
+    void bucketsDevemSerPorUsuarioOuIp() throws Exception {
+        String ip = "198.51.100.23";
+        for (int i = 0; i < 5; i++) {
+            assertThat(criarPedido(ip)).isEqualTo(200);
+        }
+        assertThat(criarPedido(ip)).isEqualTo(429);
+
+        // Mesmo IP, mas autenticado: bucket do usuário
+        autenticar("ana@apifest.com");
+        for (int i = 0; i < 5; i++) {
+            assertThat(criarPedido(ip)).isEqualTo(200);
+        }
+        assertThat(criarPedido(ip)).isEqualTo(429);
+
+        // Outro usuário atrás do mesmo IP (NAT) não divide o orçamento
+        autenticar("bruno@apifest.com");
+        assertThat(criarPedido(ip)).isEqualTo(200);
+
+        // Política auth é sempre por IP, mesmo autenticado
+        assertThat(rateLimitingConfig.getPolitica("auth").isPorPrincipal()).isFalse();
+    }
+
+    private String politica(String metodo, String uri) {
+        return rateLimitingConfig.resolverPolitica(metodo, uri).getNome();
+    }
+
+    private int criarPedido(String ip) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/pedidos");
+        request.addHeader("X-Forwarded-For", ip);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitInterceptor.preHandle(request, response, new Object());
+        return response.getStatus();
+    }
+
+    private static void autenticar(String usuario) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+            usuario, null, List.of(new SimpleGrantedAuthority("ROLE_CLIENTE"))));
+    }
+
+    private static PoliticaRateLimit novaPolitica(String nome, List<String> rotas) {
+        return new PoliticaRateLimit(nome, rotas, true,
+            List.of(Bandwidth.builder().capacity(10).refillIntervally(10, Duration.ofMinutes(1)).build()));
+    }
+}
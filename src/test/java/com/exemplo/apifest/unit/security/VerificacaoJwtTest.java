@@ -0,0 +1,133 @@
+package com.exemplo.apifest.unit.security;
+
+import com.exemplo.apifest.security.JwtAuthenticationFilter;
+import com.exemplo.apifest.security.JwtProperties;
+import com.exemplo.apifest.security.JwtUtil;
+import com.exemplo.apifest.service.CustomUserDetailsService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes da verificação única de tokens JWT.
+ *
+ * O mesmo token verificado de novo deve vir do cache (pelo hash, sem nova
+ * verificação de assinatura); tokens adulterados não podem entrar no cache;
+ * a entrada não pode sobreviver ao exp do token; e o filtro deve verificar
+ * o token e carregar o usuário uma única vez por requisição.
+ *
+ * @author DeliveryTech Team
+ */
+@DisplayName("🔐 JWT - Verificação Única com Cache de Tokens")
+class VerificacaoJwtTest {
+
+    private static final String EMAIL = "cliente@apifest.com";
+
+    /** Secret em Base64 (256 bits), como em app.jwt.secret de produção */
+    private static final String SECRET = "ZGVsaXZlcnktdGVjaC1zZWNyZXQta2V5LTIwMjUtYXBpLWZlc3QtcmVzdGZ1bA==";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void limparAutenticacao() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("✅ Token já verificado deve vir do cache")
+    void tokenVerificadoDeveVirDoCache() {
+        JwtUtil jwtUtil = novoJwtUtil(new JwtProperties());
+        String token = jwtUtil.generateToken(EMAIL);
+
+        Claims primeira = jwtUtil.verificar(token);
+        Claims segunda = jwtUtil.verificar(token);
+
+        assertThat(segunda).isSameAs(primeira);
+        assertThat(jwtUtil.extractUsername(token)).isEqualTo(EMAIL);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", JwtUtil.CACHE_TOKENS).tag("result", "hit")
+            .functionCounter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("🚫 Token adulterado não deve ser aceito nem guardado")
+    void tokenAdulteradoNaoDeveSerAceito() {
+        JwtUtil jwtUtil = novoJwtUtil(new JwtProperties());
+        String token = jwtUtil.generateToken(EMAIL);
+        String adulterado = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> jwtUtil.verificar(adulterado)).isInstanceOf(JwtException.class);
+        assertThat(meterRegistry.get("cache.size").tag("cache", JwtUtil.CACHE_TOKENS).gauge().value()).isZero();
+        assertThat(jwtUtil.validateToken(adulterado, User.withUsername(EMAIL).password("x").build())).isFalse();
+    }
+
+    @Test
+    @DisplayName("⏱️ Token em cache não deve passar do exp")
+    void tokenEmCacheNaoDevePassarDoExp() throws InterruptedException {
+        JwtProperties properties = new JwtProperties();
+        properties.setExpiration(1_000);
+        JwtUtil jwtUtil = novoJwtUtil(properties);
+        String token = jwtUtil.generateToken(EMAIL);
+
+        assertThat(jwtUtil.verificar(token).getSubject()).isEqualTo(EMAIL);
+        Thread.sleep(1_100);
+
+        assertThatThrownBy(() -> jwtUtil.verificar(token)).isInstanceOf(ExpiredJwtException.class);
+        assertThat(jwtUtil.isTokenExpired(token)).isTrue();
+    }
+
+    @Test
+    @DisplayName("🔎 Filtro deve verificar o token e carregar o usuário uma vez")
+    void filtroDeveVerificarUmaVez() throws Exception {
+        JwtProperties properties = new JwtProperties();
+        properties.setCacheTokensMaximo(0);
+        JwtUtil jwtUtil = spy(novoJwtUtil(properties));
+        String token = jwtUtil.generateToken(EMAIL);
+
+        CustomUserDetailsService userDetailsService = mock(CustomUserDetailsService.class);
+        when(userDetailsService.loadUserByUsername(EMAIL))
+            .thenReturn(User.withUsername(EMAIL).password("x").authorities("ROLE_CLIENTE").build());
+        JwtAuthenticationFilter filtro = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filtro, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filtro, "userDetailsService", userDetailsService);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/pedidos/1");
+        request.addHeader("Authorization", "Bearer " + token);
+        filtro.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(jwtUtil, times(1)).verificar(token);
+        verify(userDetailsService, times(1)).loadUserByUsername(EMAIL);
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo(EMAIL);
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getAuthorities())
+            .extracting(Object::toString).isEqualTo(List.of("ROLE_CLIENTE"));
+    }
+
+    private JwtUtil novoJwtUtil(JwtProperties properties) {
+        properties.setSecret(SECRET);
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtProperties", properties);
+        ReflectionTestUtils.setField(jwtUtil, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "inicializar");
+        return jwtUtil;
+    }
+}
@@ -1,6 +1,7 @@
 package com.exemplo.apifest.unit.service;
 
 import com.exemplo.apifest.builders.ClienteTestDataBuilder;
+import com.exemplo.apifest.cache.EntidadesAusentes;
 import com.exemplo.apifest.dto.ClienteDTO;
 import com.exemplo.apifest.dto.response.ClienteResponseDTO;
 import com.exemplo.apifest.exception.BusinessException;
@@ -58,6 +59,9 @@ class ClienteServiceTest {
     @Mock
     private ClienteRepository clienteRepository;
 
+    @Mock
+    private EntidadesAusentes entidadesAusentes;
+
     @InjectMocks
     private ClienteServiceImpl clienteService;
 
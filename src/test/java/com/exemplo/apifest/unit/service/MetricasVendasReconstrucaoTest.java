@@ -0,0 +1,123 @@
+package com.exemplo.apifest.unit.service;
+
+import com.exemplo.apifest.config.MetricasVendasProperties;
+import com.exemplo.apifest.event.PedidoCriadoEvent;
+import com.exemplo.apifest.event.StatusPedidoAlteradoEvent;
+import com.exemplo.apifest.model.StatusPedido;
+import com.exemplo.apifest.repository.PedidoRepository;
+import com.exemplo.apifest.service.MetricasVendasService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes da reconstrução dos contadores de vendas com eventos concorrentes.
+ *
+ * Eventos que chegam enquanto o banco é lido não podem se perder, e os que o
+ * retrato do banco já inclui não podem ser contados duas vezes. Pedidos em
+ * andamento antigos demais não ficam no índice em memória.
+ *
+ * @author DeliveryTech Team
+ */
+@DisplayName("📈 Métricas de Vendas - Reconstrução com Eventos Concorrentes")
+class MetricasVendasReconstrucaoTest {
+
+    private static final Long RESTAURANTE_ID = 1L;
+
+    private PedidoRepository pedidoRepository;
+    private MetricasVendasService service;
+
+    @BeforeEach
+    void setUp() {
+        pedidoRepository = mock(PedidoRepository.class);
+        service = new MetricasVendasService();
+        ReflectionTestUtils.setField(service, "pedidoRepository", pedidoRepository);
+        ReflectionTestUtils.setField(service, "metricasVendasProperties", new MetricasVendasProperties());
+        ReflectionTestUtils.setField(service, "transactionManager", mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    @DisplayName("🔄 Eventos durante a leitura do banco devem ser reaplicados sem contar em dobro")
+    void eventosDuranteReconstrucaoDevemSerReaplicados() {
+        LocalDateTime agora = LocalDateTime.now();
+
+        // Retrato do banco: 10 criado e confirmado antes da leitura, 12 ainda pendente
+        when(pedidoRepository.contarPorStatus()).thenAnswer(invocacao -> {
+            // Eventos que chegam enquanto a leitura está em andamento
+            service.aoCriarPedido(new PedidoCriadoEvent(10L, RESTAURANTE_ID, StatusPedido.PENDENTE, 20.0, agora));
+            service.aoAlterarStatus(new StatusPedidoAlteradoEvent(10L, null, StatusPedido.PENDENTE, StatusPedido.CONFIRMADO));
+            service.aoAlterarStatus(new StatusPedidoAlteradoEvent(12L, null, StatusPedido.PENDENTE, StatusPedido.CONFIRMADO));
+            return linhas(new Object[] { StatusPedido.PENDENTE, 1L }, new Object[] { StatusPedido.CONFIRMADO, 1L });
+        });
+        when(pedidoRepository.findPedidosEmAndamento()).thenReturn(linhas(
+            emAndamento(10L, StatusPedido.CONFIRMADO, 20.0, agora),
+            emAndamento(12L, StatusPedido.PENDENTE, 30.0, agora)));
+        when(pedidoRepository.findStatusByIdIn(anyCollection())).thenAnswer(invocacao -> {
+            // Criado depois do retrato: o banco ainda não o tinha
+            service.aoCriarPedido(new PedidoCriadoEvent(11L, RESTAURANTE_ID, StatusPedido.PENDENTE, 40.0, agora));
+            return linhas(new Object[] { 10L, StatusPedido.CONFIRMADO }, new Object[] { 12L, StatusPedido.PENDENTE });
+        });
+
+        service.reconstruir();
+
+        // 10 já estava no retrato; 11 e a confirmação de 12 são posteriores
+        assertThat(service.contarPedidos(StatusPedido.PENDENTE)).isEqualTo(1);
+        assertThat(service.contarPedidos(StatusPedido.CONFIRMADO)).isEqualTo(2);
+
+        // Os três seguem acompanhados nos novos contadores
+        for (Long pedidoId : List.of(10L, 11L, 12L)) {
+            entregar(pedidoId, pedidoId == 11L ? StatusPedido.PENDENTE : StatusPedido.CONFIRMADO);
+        }
+        assertThat(service.contarPedidos(StatusPedido.ENTREGUE)).isEqualTo(3);
+        assertThat(service.totalVendasRestaurante(RESTAURANTE_ID)).isEqualByComparingTo("90.00");
+        assertThat(service.totalVendasDia(LocalDate.now())).isEqualByComparingTo("90.00");
+    }
+
+    @Test
+    @DisplayName("🧹 Pedidos em andamento antigos não devem ficar no índice em memória")
+    void pedidosAntigosNaoDevemSerAcompanhados() {
+        when(pedidoRepository.contarPorStatus()).thenReturn(linhas(new Object[] { StatusPedido.PREPARANDO, 2L }));
+        when(pedidoRepository.findPedidosEmAndamento()).thenReturn(linhas(
+            emAndamento(20L, StatusPedido.PREPARANDO, 10.0, LocalDateTime.now().minusDays(30)),
+            emAndamento(21L, StatusPedido.PREPARANDO, 10.0, LocalDateTime.now().minusHours(1))));
+
+        service.reconstruir();
+        entregar(20L, StatusPedido.PREPARANDO);
+        entregar(21L, StatusPedido.PREPARANDO);
+
+        // O antigo só volta a contar na próxima reconciliação com o banco
+        assertThat(service.contarPedidos(StatusPedido.ENTREGUE)).isEqualTo(1);
+        assertThat(service.totalVendasRestaurante(RESTAURANTE_ID)).isEqualByComparingTo("10.00");
+    }
+
+    private void entregar(Long pedidoId, StatusPedido statusAtual) {
+        List<StatusPedido> fluxo = new ArrayList<>(List.of(StatusPedido.CONFIRMADO, StatusPedido.PREPARANDO,
+            StatusPedido.PRONTO, StatusPedido.SAIU_PARA_ENTREGA, StatusPedido.ENTREGUE));
+        fluxo.removeIf(status -> status.ordinal() <= statusAtual.ordinal());
+        StatusPedido anterior = statusAtual;
+        for (StatusPedido status : fluxo) {
+            service.aoAlterarStatus(new StatusPedidoAlteradoEvent(pedidoId, null, anterior, status));
+            anterior = status;
+        }
+    }
+
+    private static Object[] emAndamento(Long id, StatusPedido status, double valor, LocalDateTime dataPedido) {
+        return new Object[] { id, status, valor, dataPedido, RESTAURANTE_ID, null, null, null };
+    }
+
+    private static List<Object[]> linhas(Object[]... linhas) {
+        return new ArrayList<>(List.of(linhas));
+    }
+}
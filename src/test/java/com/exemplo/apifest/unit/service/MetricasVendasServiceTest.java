@@ -0,0 +1,207 @@
+package com.exemplo.apifest.unit.service;
+
+import com.exemplo.apifest.dto.PedidoDTO;
+import com.exemplo.apifest.dto.response.PedidoResponseDTO;
+import com.exemplo.apifest.model.Cliente;
+import com.exemplo.apifest.model.Produto;
+import com.exemplo.apifest.model.Restaurante;
+import com.exemplo.apifest.performance.ContadorStatementsSql;
+import com.exemplo.apifest.model.StatusPedido;
+import com.exemplo.apifest.repository.PedidoRepository;
+import com.exemplo.apifest.service.MetricasVendasService;
+import com.exemplo.apifest.service.PedidoService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes dos contadores de vendas em memória.
+ *
+ * Acompanha um pedido da criação à entrega pelo PedidoService e verifica que
+ * os contadores por status, dia e restaurante acompanham cada transição, que
+ * as consultas não executam SQL e que a reconstrução a partir do banco chega
+ * aos mesmos números.
+ *
+ * @author DeliveryTech Team
+ */
+@SpringBootTest(properties =
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.exemplo.apifest.performance.ContadorStatementsSql")
+@ActiveProfiles("test")
+@DisplayName("📈 Métricas de Vendas - Contadores em Memória")
+class MetricasVendasServiceTest {
+
+    private static final List<StatusPedido> FLUXO_ENTREGA = List.of(
+        StatusPedido.CONFIRMADO,
+        StatusPedido.PREPARANDO,
+        StatusPedido.PRONTO,
+        StatusPedido.SAIU_PARA_ENTREGA,
+        StatusPedido.ENTREGUE
+    );
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private MetricasVendasService metricasVendasService;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Long clienteId;
+    private Long restauranteId;
+    private PedidoDTO pedidoDTO;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(tx -> {
+            Cliente cliente = new Cliente("Cliente Métricas", "metricas@teste.com", "11999990000", "Rua das Métricas, 1");
+            entityManager.persist(cliente);
+            Restaurante restaurante = new Restaurante("Restaurante Métricas", "Av. Métricas, 2", "1133330000",
+                "metricas@restaurante.com", "BRASILEIRA", new BigDecimal("5.00"));
+            entityManager.persist(restaurante);
+            Produto produto = new Produto("Prato", "Prato do dia", new BigDecimal("12.50"), "PRATO_PRINCIPAL", restaurante);
+            entityManager.persist(produto);
+
+            PedidoDTO.ItemPedidoDTO item = new PedidoDTO.ItemPedidoDTO();
+            item.setProdutoId(produto.getId());
+            item.setQuantidade(2);
+
+            pedidoDTO = new PedidoDTO();
+            pedidoDTO.setClienteId(cliente.getId());
+            pedidoDTO.setRestauranteId(restaurante.getId());
+            pedidoDTO.setItens(List.of(item));
+
+            clienteId = cliente.getId();
+            restauranteId = restaurante.getId();
+        });
+        metricasVendasService.reconstruir();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(tx -> {
+            entityManager.createQuery("DELETE FROM ItemPedido i WHERE i.pedido.cliente.id = :clienteId")
+                .setParameter("clienteId", clienteId).executeUpdate();
+            entityManager.createQuery("DELETE FROM Pedido p WHERE p.cliente.id = :clienteId")
+                .setParameter("clienteId", clienteId).executeUpdate();
+            entityManager.createQuery("DELETE FROM Produto p WHERE p.restaurante.id = :restauranteId")
+                .setParameter("restauranteId", restauranteId).executeUpdate();
+            entityManager.createQuery("DELETE FROM Restaurante r WHERE r.id = :restauranteId")
+                .setParameter("restauranteId", restauranteId).executeUpdate();
+            entityManager.createQuery("DELETE FROM Cliente c WHERE c.id = :clienteId")
+                .setParameter("clienteId", clienteId).executeUpdate();
+        });
+        metricasVendasService.reconstruir();
+    }
+
+    @Test
+    @DisplayName("✅ Contadores devem acompanhar o pedido da criação à entrega sem consultar o banco")
+    void contadoresDevemAcompanharPedidoAteEntrega() {
+        Map<StatusPedido, Long> antes = lerContadoresPorStatus();
+        BigDecimal vendasDiaAntes = metricasVendasService.totalVendasDia(LocalDate.now());
+
+        PedidoResponseDTO pedido = pedidoService.criarPedido(pedidoDTO);
+        assertThat(metricasVendasService.contarPedidos(StatusPedido.PENDENTE))
+            .isEqualTo(antes.get(StatusPedido.PENDENTE) + 1);
+
+        for (StatusPedido status : FLUXO_ENTREGA) {
+            pedidoService.atualizarStatusPedido(pedido.getId(), status);
+        }
+
+        ContadorStatementsSql.zerar();
+        Map<StatusPedido, Long> depois = lerContadoresPorStatus();
+        BigDecimal vendasDia = metricasVendasService.totalVendasDia(LocalDate.now());
+        BigDecimal vendasRestaurante = metricasVendasService.totalVendasRestaurante(restauranteId);
+        assertThat(ContadorStatementsSql.selects()).isZero();
+
+        // Intermediários voltam ao valor inicial; apenas ENTREGUE ganha o pedido
+        assertThat(depois.get(StatusPedido.PENDENTE)).isEqualTo(antes.get(StatusPedido.PENDENTE));
+        assertThat(depois.get(StatusPedido.PREPARANDO)).isEqualTo(antes.get(StatusPedido.PREPARANDO));
+        assertThat(depois.get(StatusPedido.ENTREGUE)).isEqualTo(antes.get(StatusPedido.ENTREGUE) + 1);
+
+        // 2 × 12,50 + 5,00 de taxa de entrega
+        assertThat(vendasDia.subtract(vendasDiaAntes)).isEqualByComparingTo("30.00");
+        assertThat(vendasRestaurante).isEqualByComparingTo("30.00");
+        assertThat(metricasVendasService.quantidadeVendasRestaurante(restauranteId)).isEqualTo(1);
+        assertThat(metricasVendasService.totalVendasPeriodo(LocalDate.now().minusDays(1), LocalDate.now()))
+            .isEqualByComparingTo(vendasDia);
+    }
+
+    @Test
+    @DisplayName("✅ Cancelamento sem status anterior informado deve usar o status acompanhado")
+    void cancelamentoDeveSairDoStatusAcompanhado() {
+        PedidoResponseDTO pedido = pedidoService.criarPedido(pedidoDTO);
+        pedidoService.atualizarStatusPedido(pedido.getId(), StatusPedido.CONFIRMADO);
+        pedidoService.atualizarStatusPedido(pedido.getId(), StatusPedido.PREPARANDO);
+        long preparandoAntes = metricasVendasService.contarPedidos(StatusPedido.PREPARANDO);
+        long canceladosAntes = metricasVendasService.contarPedidos(StatusPedido.CANCELADO);
+
+        // CANCELADO aceita vários status de origem: o evento não traz o anterior
+        pedidoService.atualizarStatusPedido(pedido.getId(), StatusPedido.CANCELADO);
+
+        assertThat(metricasVendasService.contarPedidos(StatusPedido.PREPARANDO)).isEqualTo(preparandoAntes - 1);
+        assertThat(metricasVendasService.contarPedidos(StatusPedido.CANCELADO)).isEqualTo(canceladosAntes + 1);
+        assertThat(metricasVendasService.totalVendasRestaurante(restauranteId)).isEqualByComparingTo("0.00");
+    }
+
+    @Test
+    @DisplayName("🔄 Reconstrução a partir do banco deve chegar aos mesmos contadores")
+    void reconstrucaoDeveConferirComIncremental() {
+        PedidoResponseDTO entregue = pedidoService.criarPedido(pedidoDTO);
+        for (StatusPedido status : FLUXO_ENTREGA) {
+            pedidoService.atualizarStatusPedido(entregue.getId(), status);
+        }
+        PedidoResponseDTO emAndamento = pedidoService.criarPedido(pedidoDTO);
+        pedidoService.atualizarStatusPedido(emAndamento.getId(), StatusPedido.CONFIRMADO);
+
+        Map<StatusPedido, Long> incrementais = lerContadoresPorStatus();
+        BigDecimal vendasDiaIncremental = metricasVendasService.totalVendasDia(LocalDate.now());
+
+        metricasVendasService.reconstruir();
+
+        assertThat(lerContadoresPorStatus()).isEqualTo(incrementais);
+        for (StatusPedido status : StatusPedido.values()) {
+            assertThat(incrementais.get(status)).isEqualTo(pedidoRepository.countByStatus(status));
+        }
+        assertThat(metricasVendasService.totalVendasDia(LocalDate.now())).isEqualByComparingTo(vendasDiaIncremental);
+        assertThat(metricasVendasService.totalVendasRestaurante(restauranteId)).isEqualByComparingTo("30.00");
+
+        // O pedido em andamento continua acompanhado após a reconstrução
+        for (StatusPedido status : FLUXO_ENTREGA.subList(1, FLUXO_ENTREGA.size())) {
+            pedidoService.atualizarStatusPedido(emAndamento.getId(), status);
+        }
+        assertThat(metricasVendasService.totalVendasRestaurante(restauranteId)).isEqualByComparingTo("60.00");
+    }
+
+    private Map<StatusPedido, Long> lerContadoresPorStatus() {
+        Map<StatusPedido, Long> contadores = new EnumMap<>(StatusPedido.class);
+        for (StatusPedido status : StatusPedido.values()) {
+            contadores.put(status, metricasVendasService.contarPedidos(status));
+        }
+        return contadores;
+    }
+}
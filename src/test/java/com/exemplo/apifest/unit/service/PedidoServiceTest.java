@@ -3,6 +3,7 @@ package com.exemplo.apifest.unit.service;
 import com.exemplo.apifest.builders.ClienteTestDataBuilder;
 import com.exemplo.apifest.builders.PedidoTestDataBuilder;
 import com.exemplo.apifest.builders.RestauranteTestDataBuilder;
+import com.exemplo.apifest.cache.EntidadesAusentes;
 import com.exemplo.apifest.dto.PedidoDTO;
 import com.exemplo.apifest.dto.response.PedidoResponseDTO;
 import com.exemplo.apifest.model.StatusPedido;
@@ -10,6 +11,8 @@ import com.exemplo.apifest.exception.BusinessException;
 import com.exemplo.apifest.exception.EntityNotFoundException;
 import com.exemplo.apifest.model.*;
 import com.exemplo.apifest.repository.*;
+import com.exemplo.apifest.service.MetricasVendasService;
+import com.exemplo.apifest.service.TemposPreparacaoService;
 import com.exemplo.apifest.service.impl.PedidoServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -26,6 +29,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -72,6 +76,15 @@ class PedidoServiceTest {
     @Mock
     private ProdutoRepository produtoRepository;
 
+    @Mock
+    private MetricasVendasService metricasVendasService;
+
+    @Mock
+    private TemposPreparacaoService temposPreparacaoService;
+
+    @Mock
+    private EntidadesAusentes entidadesAusentes;
+
     @InjectMocks
     private PedidoServiceImpl pedidoService;
 
@@ -488,12 +501,9 @@ class PedidoServiceTest {
         @Test
         @DisplayName("✅ Deve calcular total de vendas do dia")
         void deveCalcularTotalVendasDia() {
-            // Given
-            LocalDateTime inicioDia = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0);
-            LocalDateTime fimDia = LocalDateTime.now().withHour(23).withMinute(59).withSecond(59);
-            
+            // Given - Servido pelos contadores em memória
             BigDecimal totalEsperado = new BigDecimal("150.75");
-            when(pedidoRepository.calcularTotalVendasPeriodo(inicioDia, fimDia))
+            when(metricasVendasService.totalVendasDia(LocalDate.now()))
                     .thenReturn(totalEsperado);
 
             // When
@@ -509,7 +519,7 @@ class PedidoServiceTest {
             // Given
             StatusPedido status = StatusPedido.PENDENTE;
             long quantidadeEsperada = 5L;
-            when(pedidoRepository.countByStatus(status)).thenReturn(quantidadeEsperada);
+            when(metricasVendasService.contarPedidos(status)).thenReturn(quantidadeEsperada);
 
             // When
             long quantidade = pedidoService.contarPedidosPorStatus(status);
@@ -521,9 +531,9 @@ class PedidoServiceTest {
         @Test
         @DisplayName("✅ Deve calcular tempo médio de preparo")
         void deveCalcularTempoMedioPreparacao() {
-            // Given
+            // Given - Servido pelos tempos medidos em memória
             Double tempoMedioMinutos = 45.0;
-            when(pedidoRepository.calcularTempoMedioPreparacao()).thenReturn(tempoMedioMinutos);
+            when(temposPreparacaoService.tempoMedioPreparoMinutos()).thenReturn(tempoMedioMinutos);
 
             // When
             Double tempoMedio = pedidoService.calcularTempoMedioPreparacao();
@@ -2,6 +2,8 @@ package com.exemplo.apifest.unit.service;
 
 import com.exemplo.apifest.builders.ProdutoTestDataBuilder;
 import com.exemplo.apifest.builders.RestauranteTestDataBuilder;
+import com.exemplo.apifest.cache.EntidadesAusentes;
+import com.exemplo.apifest.cache.InvalidacaoCatalogo;
 import com.exemplo.apifest.dto.ProdutoDTO;
 import com.exemplo.apifest.dto.response.ProdutoResponseDTO;
 import com.exemplo.apifest.model.StatusProduto;
@@ -65,6 +67,12 @@ class ProdutoServiceTest {
     @Mock
     private RestauranteRepository restauranteRepository;
 
+    @Mock
+    private InvalidacaoCatalogo invalidacaoCatalogo;
+
+    @Mock
+    private EntidadesAusentes entidadesAusentes;
+
     @InjectMocks
     private ProdutoServiceImpl produtoService;
 
@@ -0,0 +1,187 @@
+package com.exemplo.apifest.unit.service;
+
+import com.exemplo.apifest.dto.PedidoDTO;
+import com.exemplo.apifest.dto.response.PedidoResponseDTO;
+import com.exemplo.apifest.dto.response.ProdutoMaisVendidoDTO;
+import com.exemplo.apifest.exception.BusinessException;
+import com.exemplo.apifest.model.Cliente;
+import com.exemplo.apifest.model.Produto;
+import com.exemplo.apifest.model.Restaurante;
+import com.exemplo.apifest.performance.ContadorStatementsSql;
+import com.exemplo.apifest.model.StatusPedido;
+import com.exemplo.apifest.service.PedidoService;
+import com.exemplo.apifest.service.ProdutosMaisVendidosService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Testes do ranking de produtos mais vendidos em memória.
+ *
+ * Cria pedidos pelo PedidoService e verifica que os rankings geral e do
+ * restaurante acompanham os itens sem consultar o banco, que com a
+ * capacidade esgotada o produto dominante continua no topo com estimativa
+ * limitada pelo erro, e que a reconciliação volta às quantidades exatas.
+ *
+ * @author DeliveryTech Team
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.exemplo.apifest.performance.ContadorStatementsSql",
+    "app.mais-vendidos.capacidade-restaurante=3"
+})
+@ActiveProfiles("test")
+@DisplayName("🏆 Produtos Mais Vendidos - Ranking Space-Saving")
+class ProdutosMaisVendidosServiceTest {
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ProdutosMaisVendidosService produtosMaisVendidosService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Long clienteId;
+    private Long restauranteId;
+    private final List<Long> produtoIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(tx -> {
+            Cliente cliente = new Cliente("Cliente Ranking", "ranking@teste.com", "11999990000", "Rua do Ranking, 1");
+            entityManager.persist(cliente);
+            Restaurante restaurante = new Restaurante("Restaurante Ranking", "Av. Ranking, 2", "1133330000",
+                "ranking@restaurante.com", "BRASILEIRA", new BigDecimal("5.00"));
+            entityManager.persist(restaurante);
+            for (int i = 1; i <= 5; i++) {
+                Produto produto = new Produto("Prato " + i, "Prato número " + i, new BigDecimal("10.00"),
+                    "PRATO_PRINCIPAL", restaurante);
+                entityManager.persist(produto);
+                produtoIds.add(produto.getId());
+            }
+            clienteId = cliente.getId();
+            restauranteId = restaurante.getId();
+        });
+        produtosMaisVendidosService.reconciliar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(tx -> {
+            entityManager.createQuery("DELETE FROM ItemPedido i WHERE i.pedido.cliente.id = :clienteId")
+                .setParameter("clienteId", clienteId).executeUpdate();
+            entityManager.createQuery("DELETE FROM Pedido p WHERE p.cliente.id = :clienteId")
+                .setParameter("clienteId", clienteId).executeUpdate();
+            entityManager.createQuery("DELETE FROM Produto p WHERE p.restaurante.id = :restauranteId")
+                .setParameter("restauranteId", restauranteId).executeUpdate();
+            entityManager.createQuery("DELETE FROM Restaurante r WHERE r.id = :restauranteId")
+                .setParameter("restauranteId", restauranteId).executeUpdate();
+            entityManager.createQuery("DELETE FROM Cliente c WHERE c.id = :clienteId")
+                .setParameter("clienteId", clienteId).executeUpdate();
+        });
+        produtosMaisVendidosService.reconciliar();
+    }
+
+    @Test
+    @DisplayName("✅ Rankings devem acompanhar os itens dos pedidos sem consultar o banco")
+    void rankingsDevemAcompanharItensSemConsultarBanco() {
+        criarPedido(produtoIds.get(0), 5);
+        criarPedido(produtoIds.get(1), 3);
+        criarPedido(produtoIds.get(0), 2);
+        criarPedido(produtoIds.get(2), 1);
+
+        ContadorStatementsSql.zerar();
+        List<ProdutoMaisVendidoDTO> doRestaurante = produtosMaisVendidosService.maisVendidosDoRestaurante(restauranteId, 3);
+        List<ProdutoMaisVendidoDTO> global = produtosMaisVendidosService.maisVendidos(200);
+        assertThat(ContadorStatementsSql.selects()).isZero();
+
+        assertThat(doRestaurante)
+            .extracting(ProdutoMaisVendidoDTO::getProdutoId, ProdutoMaisVendidoDTO::getQuantidade)
+            .containsExactly(
+                tuple(produtoIds.get(0), 7L),
+                tuple(produtoIds.get(1), 3L),
+                tuple(produtoIds.get(2), 1L));
+        assertThat(doRestaurante).allSatisfy(produto -> assertThat(produto.getErroMaximo()).isZero());
+        assertThat(doRestaurante.get(0).getProdutoNome()).isEqualTo("Prato 1");
+
+        assertThat(global)
+            .filteredOn(produto -> produto.getProdutoId().equals(produtoIds.get(0)))
+            .singleElement()
+            .satisfies(produto -> assertThat(produto.getQuantidade()).isEqualTo(7L));
+
+        assertThatThrownBy(() -> produtosMaisVendidosService.maisVendidosDoRestaurante(restauranteId, 4))
+            .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    @DisplayName("🔄 Capacidade esgotada deve manter o dominante e a reconciliação deve corrigir o desvio")
+    void capacidadeEsgotadaEReconciliacaoDevemCorrigirDesvio() {
+        // Produto 1 domina; os demais se alternam e disputam as 2 posições restantes
+        List<Long> pedidosDominante = new ArrayList<>();
+        for (int rodada = 0; rodada < 4; rodada++) {
+            pedidosDominante.add(criarPedido(produtoIds.get(0), 4));
+            for (int i = 1; i < produtoIds.size(); i++) {
+                criarPedido(produtoIds.get(i), 1);
+            }
+        }
+
+        List<ProdutoMaisVendidoDTO> estimado = produtosMaisVendidosService.maisVendidosDoRestaurante(restauranteId, 3);
+        assertThat(estimado).hasSize(3);
+        assertThat(estimado.get(0).getProdutoId()).isEqualTo(produtoIds.get(0));
+        assertThat(estimado.get(0).getQuantidade()).isEqualTo(16L);
+        // Os demais venderam 4 cada: estimativa nunca abaixo da real e real ≥ estimativa - erro
+        assertThat(estimado.subList(1, 3)).allSatisfy(produto -> {
+            assertThat(produto.getQuantidade()).isGreaterThanOrEqualTo(4L);
+            assertThat(produto.getQuantidade() - produto.getErroMaximo()).isLessThanOrEqualTo(4L);
+        });
+        assertThat(estimado.subList(1, 3)).anySatisfy(produto -> assertThat(produto.getErroMaximo()).isPositive());
+
+        // Cancelamento não é visto pelo incremental; a reconciliação o descarta
+        pedidoService.atualizarStatusPedido(pedidosDominante.get(0), StatusPedido.CANCELADO);
+        produtosMaisVendidosService.reconciliar();
+
+        List<ProdutoMaisVendidoDTO> exato = produtosMaisVendidosService.maisVendidosDoRestaurante(restauranteId, 3);
+        assertThat(exato.get(0).getProdutoId()).isEqualTo(produtoIds.get(0));
+        assertThat(exato.get(0).getQuantidade()).isEqualTo(12L);
+        assertThat(exato.subList(1, 3)).allSatisfy(produto -> {
+            assertThat(produto.getQuantidade()).isEqualTo(4L);
+            assertThat(produto.getErroMaximo()).isZero();
+        });
+    }
+
+    private Long criarPedido(Long produtoId, int quantidade) {
+        PedidoDTO.ItemPedidoDTO item = new PedidoDTO.ItemPedidoDTO();
+        item.setProdutoId(produtoId);
+        item.setQuantidade(quantidade);
+
+        PedidoDTO pedidoDTO = new PedidoDTO();
+        pedidoDTO.setClienteId(clienteId);
+        pedidoDTO.setRestauranteId(restauranteId);
+        pedidoDTO.setItens(List.of(item));
+
+        PedidoResponseDTO pedido = pedidoService.criarPedido(pedidoDTO);
+        return pedido.getId();
+    }
+}
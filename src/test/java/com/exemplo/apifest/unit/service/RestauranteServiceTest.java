@@ -1,12 +1,15 @@
 package com.exemplo.apifest.unit.service;
 
 import com.exemplo.apifest.builders.RestauranteTestDataBuilder;
+import com.exemplo.apifest.cache.EntidadesAusentes;
+import com.exemplo.apifest.cache.InvalidacaoCatalogo;
 import com.exemplo.apifest.dto.RestauranteDTO;
 import com.exemplo.apifest.dto.response.RestauranteResponseDTO;
 import com.exemplo.apifest.exception.BusinessException;
 import com.exemplo.apifest.exception.EntityNotFoundException;
 import com.exemplo.apifest.model.Restaurante;
 import com.exemplo.apifest.model.StatusRestaurante;
+import com.exemplo.apifest.repository.ProdutoRepository;
 import com.exemplo.apifest.repository.RestauranteRepository;
 import com.exemplo.apifest.service.impl.RestauranteServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -65,6 +68,15 @@ class RestauranteServiceTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private ProdutoRepository produtoRepository;
+
+    @Mock
+    private InvalidacaoCatalogo invalidacaoCatalogo;
+
+    @Mock
+    private EntidadesAusentes entidadesAusentes;
+
     @InjectMocks
     private RestauranteServiceImpl restauranteService;
 
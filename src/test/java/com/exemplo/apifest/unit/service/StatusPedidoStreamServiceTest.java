@@ -0,0 +1,197 @@
+package com.exemplo.apifest.unit.service;
+
+import com.exemplo.apifest.config.SseProperties;
+import com.exemplo.apifest.event.StatusPedidoAlteradoEvent;
+import com.exemplo.apifest.model.StatusPedido;
+import com.exemplo.apifest.repository.ClienteRepository;
+import com.exemplo.apifest.repository.PedidoRepository;
+import com.exemplo.apifest.service.StatusPedidoStreamService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes do envio do stream SSE com clientes que param de ler.
+ *
+ * Um send() bloqueado (socket cheio) não pode tirar as threads de envio dos
+ * clientes saudáveis, e o assinante travado deve ser desconectado depois de
+ * app.sse.timeout-envio-ms. Com o pool saturado, o pool não cresce: o
+ * assinante cujo evento não cabe na fila é desconectado.
+ *
+ * @author DeliveryTech Team
+ */
+@DisplayName("📡 StatusPedidoStreamService - Clientes que Não Leem")
+class StatusPedidoStreamServiceTest {
+
+    private static final long ESPERA_MAXIMA_MS = 5_000;
+
+    private final CountDownLatch liberarSocket = new CountDownLatch(1);
+    private final List<EmitterDeTeste> emitters = new CopyOnWriteArrayList<>();
+
+    private SseProperties properties;
+    private PedidoRepository pedidoRepository;
+    private StatusPedidoStreamService service;
+    private volatile boolean proximoTravado;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SseProperties();
+        properties.setThreadsEnvio(4);
+        properties.setFilaEnvio(16);
+        properties.setTimeoutEnvioMs(200);
+
+        pedidoRepository = mock(PedidoRepository.class);
+        service = new StatusPedidoStreamService() {
+            @Override
+            protected SseEmitter novoEmitter(long timeoutMillis) {
+                EmitterDeTeste emitter = new EmitterDeTeste(proximoTravado);
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+        ReflectionTestUtils.setField(service, "sseProperties", properties);
+        ReflectionTestUtils.setField(service, "pedidoRepository", pedidoRepository);
+        ReflectionTestUtils.setField(service, "clienteRepository", mock(ClienteRepository.class));
+    }
+
+    private void iniciar() {
+        ReflectionTestUtils.invokeMethod(service, "iniciar");
+    }
+
+    @AfterEach
+    void tearDown() {
+        liberarSocket.countDown();
+        ReflectionTestUtils.invokeMethod(service, "encerrar");
+    }
+
+    @Test
+    @DisplayName("🐢 Clientes que não leem não devem travar os demais e devem ser desconectados")
+    void clienteQueNaoLeDeveSerDesconectado() throws Exception {
+        iniciar();
+        when(pedidoRepository.findStatusById(1L)).thenReturn(Optional.of(StatusPedido.PENDENTE));
+        when(pedidoRepository.findStatusById(2L)).thenReturn(Optional.of(StatusPedido.PENDENTE));
+
+        // Clientes travados ocupando quase todas as threads de envio
+        proximoTravado = true;
+        for (int i = 0; i < 3; i++) {
+            service.assinarPedido(1L);
+        }
+        List<EmitterDeTeste> travados = new ArrayList<>(emitters);
+        esperar(() -> travados.stream().allMatch(emitter -> emitter.bloqueado));
+
+        proximoTravado = false;
+        service.assinarPedido(2L);
+        EmitterDeTeste saudavel = emitters.get(emitters.size() - 1);
+
+        // O status inicial chega mesmo com os 3 envios travados
+        esperar(() -> saudavel.recebidos.size() == 1);
+
+        // Os travados são desconectados pelo timeout de escrita
+        esperar(() -> service.getConexoesAtivas() == 1);
+        assertThat(service.getDesconexoesPorLentidao()).isEqualTo(3);
+
+        // Eventos seguem chegando ao cliente saudável, e não aos desconectados
+        service.aoAlterarStatus(new StatusPedidoAlteradoEvent(2L, null, StatusPedido.PENDENTE, StatusPedido.CONFIRMADO));
+        service.aoAlterarStatus(new StatusPedidoAlteradoEvent(1L, null, StatusPedido.PENDENTE, StatusPedido.CONFIRMADO));
+        esperar(() -> saudavel.recebidos.size() == 2);
+
+        // Quando o send() travado termina, a conexão é completada
+        liberarSocket.countDown();
+        esperar(() -> travados.stream().allMatch(emitter -> emitter.completado));
+        assertThat(travados).allMatch(emitter -> emitter.recebidos.size() == 1);
+        assertThat(saudavel.completado).isFalse();
+    }
+
+    @Test
+    @DisplayName("🚧 Pool saturado não deve crescer e deve desconectar quem não cabe na fila")
+    void poolSaturadoDeveDesconectarAssinante() throws Exception {
+        properties.setThreadsEnvio(2);
+        properties.setFilaEnvio(1);
+        iniciar();
+        when(pedidoRepository.findStatusById(1L)).thenReturn(Optional.of(StatusPedido.PENDENTE));
+
+        // Duas escritas travadas ocupam as duas threads
+        proximoTravado = true;
+        service.assinarPedido(1L);
+        service.assinarPedido(1L);
+        esperar(() -> emitters.stream().allMatch(emitter -> emitter.bloqueado));
+
+        // O terceiro envio espera na fila; o quarto não cabe
+        proximoTravado = false;
+        service.assinarPedido(1L);
+        service.assinarPedido(1L);
+        EmitterDeTeste naFila = emitters.get(2);
+        EmitterDeTeste recusado = emitters.get(3);
+
+        assertThat(recusado.completado).isTrue();
+        assertThat(naFila.completado).isFalse();
+        assertThat(service.getConexoesAtivas()).isEqualTo(3);
+        assertThat(service.getDesconexoesPorLentidao()).isEqualTo(1);
+        ThreadPoolExecutor executorEnvio = (ThreadPoolExecutor) ReflectionTestUtils.getField(service, "executorEnvio");
+        assertThat(executorEnvio.getPoolSize()).isEqualTo(2);
+
+        // Liberadas as escritas, o envio da fila é entregue
+        liberarSocket.countDown();
+        esperar(() -> naFila.recebidos.size() == 1);
+        assertThat(recusado.recebidos).isEmpty();
+    }
+
+    private static void esperar(BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.currentTimeMillis() + ESPERA_MAXIMA_MS;
+        while (!condicao.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condição não atingida a tempo").isLessThan(limite);
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Emitter sem conexão real; o travado simula um cliente que parou de ler,
+     * com o send() bloqueado no socket cheio.
+     */
+    private final class EmitterDeTeste extends SseEmitter {
+        private final boolean travado;
+        private final List<SseEventBuilder> recebidos = new CopyOnWriteArrayList<>();
+        private volatile boolean bloqueado;
+        private volatile boolean completado;
+
+        private EmitterDeTeste(boolean travado) {
+            this.travado = travado;
+        }
+
+        @Override
+        public void send(SseEventBuilder evento) throws IOException {
+            if (travado) {
+                bloqueado = true;
+                try {
+                    liberarSocket.await(ESPERA_MAXIMA_MS * 2, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            recebidos.add(evento);
+        }
+
+        @Override
+        public void complete() {
+            completado = true;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.exemplo.apifest.unit.service;
+
+import com.exemplo.apifest.dto.AtualizacaoStatusLoteDTO;
+import com.exemplo.apifest.dto.PedidoDTO;
+import com.exemplo.apifest.dto.response.PedidoResponseDTO;
+import com.exemplo.apifest.dto.response.TemposPreparacaoDTO;
+import com.exemplo.apifest.event.PedidoCriadoEvent;
+import com.exemplo.apifest.event.StatusPedidoAlteradoEvent;
+import com.exemplo.apifest.model.Cliente;
+import com.exemplo.apifest.model.Pedido;
+import com.exemplo.apifest.model.Produto;
+import com.exemplo.apifest.model.Restaurante;
+import com.exemplo.apifest.model.StatusPedido;
+import com.exemplo.apifest.service.PedidoService;
+import com.exemplo.apifest.service.TemposPreparacaoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Testes da medição dos tempos de preparo por restaurante.
+ *
+ * Verifica que as transições gravam os marcos de tempo no pedido (individual
+ * e em lote) e que os percentis por restaurante refletem a distribuição das
+ * durações medidas, inclusive nos gauges do Micrometer. Na inicialização só
+ * os pedidos mais novos que app.preparacao.expiracao-em-andamento voltam a ser
+ * acompanhados.
+ *
+ * @author DeliveryTech Team
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("⏱️ Tempos de Preparo - Percentis por Restaurante")
+class TemposPreparacaoServiceTest {
+
+    /** IDs fora da faixa das sequences: pedidos apenas simulados por eventos */
+    private static final long PRIMEIRO_PEDIDO_SIMULADO = 900_000_000L;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private TemposPreparacaoService temposPreparacaoService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Long clienteId;
+    private Long restauranteId;
+    private PedidoDTO pedidoDTO;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(tx -> {
+            Cliente cliente = new Cliente("Cliente Cozinha", "cozinha@teste.com", "11999990000", "Rua da Cozinha, 1");
+            entityManager.persist(cliente);
+            Restaurante restaurante = new Restaurante("Restaurante Cozinha", "Av. Cozinha, 2", "1133330000",
+                "cozinha@restaurante.com", "BRASILEIRA", new BigDecimal("5.00"));
+            entityManager.persist(restaurante);
+            Produto produto = new Produto("Prato", "Prato do dia", new BigDecimal("20.00"), "PRATO_PRINCIPAL", restaurante);
+            entityManager.persist(produto);
+
+            PedidoDTO.ItemPedidoDTO item = new PedidoDTO.ItemPedidoDTO();
+            item.setProdutoId(produto.getId());
+            item.setQuantidade(1);
+
+            pedidoDTO = new PedidoDTO();
+            pedidoDTO.setClienteId(cliente.getId());
+            pedidoDTO.setRestauranteId(restaurante.getId());
+            pedidoDTO.setItens(List.of(item));
+
+            clienteId = cliente.getId();
+            restauranteId = restaurante.getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(tx -> {
+            entityManager.createQuery("DELETE FROM ItemPedido i WHERE i.pedido.cliente.id = :clienteId")
+                .setParameter("clienteId", clienteId).executeUpdate();
+            entityManager.createQuery("DELETE FROM Pedido p WHERE p.cliente.id = :clienteId")
+                .setParameter("clienteId", clienteId).executeUpdate();
+            entityManager.createQuery("DELETE FROM Produto p WHERE p.restaurante.id = :restauranteId")
+                .setParameter("restauranteId", restauranteId).executeUpdate();
+            entityManager.createQuery("DELETE FROM Restaurante r WHERE r.id = :restauranteId")
+                .setParameter("restauranteId", restauranteId).executeUpdate();
+            entityManager.createQuery("DELETE FROM Cliente c WHERE c.id = :clienteId")
+                .setParameter("clienteId", clienteId).executeUpdate();
+        });
+    }
+
+    @Test
+    @DisplayName("✅ Transições devem gravar marcos de tempo e medir cada etapa")
+    void transicoesDevemGravarMarcosEMedirEtapas() {
+        PedidoResponseDTO criado = pedidoService.criarPedido(pedidoDTO);
+        Long pedidoId = criado.getId();
+
+        pedidoService.atualizarStatusPedido(pedidoId, StatusPedido.CONFIRMADO);
+        pedidoService.atualizarStatusPedido(pedidoId, StatusPedido.PREPARANDO);
+        pedidoService.atualizarStatusPedido(pedidoId, StatusPedido.PRONTO);
+        // SAIU_PARA_ENTREGA e ENTREGUE pelo lote, que grava os marcos pelo UPDATE JDBC
+        pedidoService.atualizarStatusEmLote(new AtualizacaoStatusLoteDTO(List.of(
+            new AtualizacaoStatusLoteDTO.ItemStatusDTO(pedidoId, StatusPedido.SAIU_PARA_ENTREGA),
+            new AtualizacaoStatusLoteDTO.ItemStatusDTO(pedidoId, StatusPedido.ENTREGUE))));
+
+        Pedido pedido = transactionTemplate.execute(tx -> entityManager.find(Pedido.class, pedidoId));
+        assertThat(pedido.getDataConfirmacao()).isNotNull();
+        assertThat(pedido.getDataInicioPreparo()).isAfterOrEqualTo(pedido.getDataConfirmacao());
+        assertThat(pedido.getDataPronto()).isAfterOrEqualTo(pedido.getDataInicioPreparo());
+        assertThat(pedido.getDataEntrega()).isAfterOrEqualTo(pedido.getDataPronto());
+
+        TemposPreparacaoDTO tempos = temposPreparacaoService.temposDoRestaurante(restauranteId);
+        assertThat(tempos.getEtapas())
+            .extracting(TemposPreparacaoDTO.EtapaDTO::getEtapa)
+            .containsExactly("ESPERA", "PREPARO", "ENTREGA");
+        assertThat(tempos.getEtapas())
+            .allSatisfy(etapa -> assertThat(etapa.getAmostras()).isEqualTo(1));
+    }
+
+    @Test
+    @DisplayName("🧹 Inicialização não deve acompanhar pedidos em andamento mais antigos que a expiração")
+    void inicializacaoDeveIgnorarPedidosExpirados() {
+        Long recente = pedidoService.criarPedido(pedidoDTO).getId();
+        Long antigo = pedidoService.criarPedido(pedidoDTO).getId();
+        for (Long pedidoId : List.of(recente, antigo)) {
+            pedidoService.atualizarStatusPedido(pedidoId, StatusPedido.CONFIRMADO);
+            pedidoService.atualizarStatusPedido(pedidoId, StatusPedido.PREPARANDO);
+        }
+        transactionTemplate.executeWithoutResult(tx -> entityManager
+            .createQuery("UPDATE Pedido p SET p.dataPedido = :data WHERE p.id = :id")
+            .setParameter("data", LocalDateTime.now().minusDays(3))
+            .setParameter("id", antigo)
+            .executeUpdate());
+
+        // Reinício: índice vazio, recarregado do banco
+        ReflectionTestUtils.invokeMethod(temposPreparacaoService, "iniciar");
+        temposPreparacaoService.aoIniciarAplicacao();
+
+        pedidoService.atualizarStatusPedido(recente, StatusPedido.PRONTO);
+        pedidoService.atualizarStatusPedido(antigo, StatusPedido.PRONTO);
+
+        assertThat(temposPreparacaoService.temposDoRestaurante(restauranteId).getEtapas().get(1).getAmostras())
+            .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("📊 Percentis devem refletir a distribuição das durações de preparo")
+    void percentisDevemRefletirDistribuicao() {
+        // 100 pedidos simulados com preparo de 1 a 100 minutos
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (int minutos = 1; minutos <= 100; minutos++) {
+            long pedidoId = PRIMEIRO_PEDIDO_SIMULADO + minutos;
+            temposPreparacaoService.aoCriarPedido(
+                new PedidoCriadoEvent(pedidoId, restauranteId, StatusPedido.PENDENTE, 25.0, base));
+            temposPreparacaoService.aoAlterarStatus(new StatusPedidoAlteradoEvent(
+                pedidoId, null, StatusPedido.CONFIRMADO, StatusPedido.PREPARANDO, base));
+            temposPreparacaoService.aoAlterarStatus(new StatusPedidoAlteradoEvent(
+                pedidoId, null, StatusPedido.PREPARANDO, StatusPedido.PRONTO, base.plusMinutes(minutos)));
+        }
+
+        TemposPreparacaoDTO.EtapaDTO preparo = temposPreparacaoService.temposDoRestaurante(restauranteId)
+            .getEtapas().get(1);
+        assertThat(preparo.getEtapa()).isEqualTo("PREPARO");
+        assertThat(preparo.getAmostras()).isEqualTo(100);
+        assertThat(preparo.getMediaMinutos()).isCloseTo(50.5, within(0.01));
+        assertThat(preparo.getP50Minutos()).isCloseTo(50.0, within(2.5));
+        assertThat(preparo.getP90Minutos()).isCloseTo(90.0, within(4.5));
+        assertThat(preparo.getP99Minutos()).isCloseTo(99.0, within(5.0));
+
+        // Gauges de percentil publicados no Micrometer
+        assertThat(meterRegistry.find(TemposPreparacaoService.METRICA_DURACAO_ETAPA + ".percentile")
+            .tag("restaurante", String.valueOf(restauranteId))
+            .tag("etapa", "preparo")
+            .gauges()).hasSize(3);
+    }
+}